@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.FeatureListener;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.InstanceListener;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the base index processing EMF notifications on a dynamic EMF model, with listeners
+ * subscribed to the changed types. Run with <code>-prof gc</code> to see the allocation rate per notification.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NotificationBenchmark {
+
+    private static final int BATCH_SIZE = 16;
+
+    @Param({ "true", "false" })
+    public boolean wildcardMode;
+
+    @Param({ "1000" })
+    public int modelSize;
+
+    private EClass nodeClass;
+    private EAttribute nameAttribute;
+    private EReference edgesReference;
+    private EList<EObject> roots;
+    private NavigationHelper navigationHelper;
+    private FeatureListener featureListener;
+    private InstanceListener instanceListener;
+    private List<EObject> nodes;
+    private List<EObject> batch;
+    private int counter;
+    /**
+     * Counts the listener invocations, so that dispatching cannot be optimized away
+     */
+    private long events;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IncQueryBaseException {
+        final EcoreFactory factory = EcoreFactory.eINSTANCE;
+        final EPackage ePackage = factory.createEPackage();
+        ePackage.setName("graph");
+        ePackage.setNsURI("http://org.eclipse.incquery/benchmarks/graph");
+        nodeClass = factory.createEClass();
+        nodeClass.setName("Node");
+        ePackage.getEClassifiers().add(nodeClass);
+        nameAttribute = factory.createEAttribute();
+        nameAttribute.setName("name");
+        nameAttribute.setEType(EcorePackage.Literals.ESTRING);
+        nodeClass.getEStructuralFeatures().add(nameAttribute);
+        edgesReference = factory.createEReference();
+        edgesReference.setName("edges");
+        edgesReference.setEType(nodeClass);
+        edgesReference.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+        nodeClass.getEStructuralFeatures().add(edgesReference);
+
+        final Resource resource = new ResourceImpl();
+        roots = resource.getContents();
+        nodes = new ArrayList<EObject>();
+        for (int i = 0; i < modelSize; i++) {
+            final EObject node = ePackage.getEFactoryInstance().create(nodeClass);
+            node.eSet(nameAttribute, "node" + i);
+            nodes.add(node);
+        }
+        roots.addAll(nodes);
+        batch = new ArrayList<EObject>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(ePackage.getEFactoryInstance().create(nodeClass));
+        }
+
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resource,
+                new BaseIndexOptions().withWildcardMode(wildcardMode), Logger.getLogger(getClass()));
+        if (!wildcardMode) {
+            navigationHelper.registerObservedTypes(Collections.singleton(nodeClass), null,
+                    new HashSet<EStructuralFeature>(Arrays.asList(nameAttribute, edgesReference)));
+        }
+        featureListener = new FeatureListener() {
+            @Override
+            public void featureInserted(EObject host, EStructuralFeature feature, Object value) {
+                events++;
+            }
+
+            @Override
+            public void featureDeleted(EObject host, EStructuralFeature feature, Object value) {
+                events++;
+            }
+        };
+        navigationHelper.addFeatureListener(Collections.singleton(edgesReference), featureListener);
+        instanceListener = new InstanceListener() {
+            @Override
+            public void instanceInserted(EClass clazz, EObject instance) {
+                events++;
+            }
+
+            @Override
+            public void instanceDeleted(EClass clazz, EObject instance) {
+                events++;
+            }
+        };
+        navigationHelper.addInstanceListener(Collections.singleton(nodeClass), instanceListener);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        navigationHelper.removeFeatureListener(Collections.singleton(edgesReference), featureListener);
+        navigationHelper.removeInstanceListener(Collections.singleton(nodeClass), instanceListener);
+        navigationHelper.dispose();
+    }
+
+    private EObject nextNode() {
+        counter = (counter + 1) % modelSize;
+        return nodes.get(counter);
+    }
+
+    /**
+     * A single SET notification of an attribute value.
+     */
+    @Benchmark
+    public long attributeSet() {
+        final EObject node = nextNode();
+        node.eSet(nameAttribute, (counter & 1) == 0 ? "even" : "odd");
+        return events;
+    }
+
+    /**
+     * An ADD and a REMOVE notification of a reference value.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public long referenceAddRemove() {
+        final EObject source = nextNode();
+        final EObject target = nodes.get((counter * 31) % modelSize);
+        final List<EObject> edges = (List<EObject>) source.eGet(edgesReference);
+        edges.add(target);
+        edges.remove(edges.size() - 1);
+        return events;
+    }
+
+    /**
+     * An ADD_MANY and a REMOVE_MANY notification of containment, causing instance insertions and removals.
+     */
+    @Benchmark
+    public long containmentAddManyRemoveMany() {
+        roots.addAll(batch);
+        roots.removeAll(batch);
+        return events;
+    }
+
+}
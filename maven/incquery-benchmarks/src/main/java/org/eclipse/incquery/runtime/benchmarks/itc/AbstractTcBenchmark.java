@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Common parameters of the transitive closure benchmarks. The algorithms are not correct on every graph shape (see
+ * {@link TcAlgorithm#checkApplicable(GraphShape)}); the inapplicable combinations fail in their setup and are skipped
+ * by JMH. The default graph size is kept small because of the cubic {@link TcAlgorithm#FLOYD_WARSHALL}; larger graphs
+ * can be measured with e.g. <code>-p algorithm=INC_SCC,LABELING -p nodeCount=10000</code>.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+public abstract class AbstractTcBenchmark {
+
+    @Param({ "INC_SCC", "DRED", "COUNTING", "FLOYD_WARSHALL", "LABELING" })
+    public TcAlgorithm algorithm;
+
+    @Param({ "RANDOM_DAG", "SCALE_FREE", "DEEP_TREE", "SMALL_SCCS" })
+    public GraphShape shape;
+
+    @Param({ "300" })
+    public int nodeCount;
+
+    protected Random random;
+    /**
+     * The generated edges of the graph
+     */
+    protected List<Tuple<Integer>> edges;
+
+    /**
+     * Creates a graph of the benchmarked shape and size, without any observers.
+     */
+    protected Graph<Integer> createGraph() {
+        algorithm.checkApplicable(shape);
+        random = new Random(42);
+        Graph<Integer> graph = new Graph<Integer>();
+        for (int i = 0; i < nodeCount; i++) {
+            graph.insertNode(i);
+        }
+        edges = shape.generate(nodeCount, random);
+        for (Tuple<Integer> edge : edges) {
+            graph.insertEdge(edge.getSource(), edge.getTarget());
+        }
+        return graph;
+    }
+
+    protected Tuple<Integer> randomEdge() {
+        return shape.randomEdge(nodeCount, random);
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+
+/**
+ * Generators of the benchmarked graphs. The nodes of a graph with n nodes are the integers 0..n-1. In acyclic shapes,
+ * every edge points from a smaller node to a greater one, and so do the random edges used for updates, so the graphs
+ * stay acyclic.
+ *
+ * @author agent
+ *
+ */
+public enum GraphShape {
+
+    /**
+     * Each node has two edges to uniformly chosen greater nodes.
+     */
+    RANDOM_DAG(true) {
+        @Override
+        List<Tuple<Integer>> generate(int nodeCount, Random random) {
+            List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+            for (int i = 0; i < nodeCount - 1; i++) {
+                for (int j = 0; j < 2; j++) {
+                    edges.add(new Tuple<Integer>(i, i + 1 + random.nextInt(nodeCount - i - 1)));
+                }
+            }
+            return edges;
+        }
+    },
+    /**
+     * Preferential attachment: each new node is connected to two earlier nodes chosen proportionally to their degree,
+     * resulting in a few hubs with very high degree.
+     */
+    SCALE_FREE(true) {
+        @Override
+        List<Tuple<Integer>> generate(int nodeCount, Random random) {
+            List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+            // every node appears once for each of its edges
+            List<Integer> endpoints = new ArrayList<Integer>();
+            endpoints.add(0);
+            for (int i = 1; i < nodeCount; i++) {
+                for (int j = 0; j < Math.min(2, i); j++) {
+                    int other = endpoints.get(random.nextInt(endpoints.size()));
+                    edges.add(new Tuple<Integer>(other, i));
+                    endpoints.add(other);
+                    endpoints.add(i);
+                }
+            }
+            return edges;
+        }
+    },
+    /**
+     * A tree whose nodes are attached to one of the three previous nodes, so its depth is linear in the number of
+     * nodes.
+     */
+    DEEP_TREE(true) {
+        @Override
+        List<Tuple<Integer>> generate(int nodeCount, Random random) {
+            List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+            for (int i = 1; i < nodeCount; i++) {
+                edges.add(new Tuple<Integer>(i - 1 - random.nextInt(Math.min(3, i)), i));
+            }
+            return edges;
+        }
+    },
+    /**
+     * Cycles of four nodes, connected with random edges pointing to greater nodes.
+     */
+    SMALL_SCCS(false) {
+        @Override
+        List<Tuple<Integer>> generate(int nodeCount, Random random) {
+            List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+            for (int i = 0; i < nodeCount; i++) {
+                int cycleStart = i - i % 4;
+                int next = i + 1 == Math.min(cycleStart + 4, nodeCount) ? cycleStart : i + 1;
+                if (next != i) {
+                    edges.add(new Tuple<Integer>(i, next));
+                }
+                if (cycleStart + 4 < nodeCount) {
+                    edges.add(new Tuple<Integer>(i, cycleStart + 4 + random.nextInt(nodeCount - cycleStart - 4)));
+                }
+            }
+            return edges;
+        }
+    };
+
+    private final boolean acyclic;
+
+    private GraphShape(boolean acyclic) {
+        this.acyclic = acyclic;
+    }
+
+    /**
+     * @return true if the generated graphs and the random edges keep the graph acyclic
+     */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * Generates the edges of a graph with the given number of nodes.
+     */
+    abstract List<Tuple<Integer>> generate(int nodeCount, Random random);
+
+    /**
+     * Returns a random edge that can be inserted into a graph of this shape.
+     */
+    Tuple<Integer> randomEdge(int nodeCount, Random random) {
+        int source = random.nextInt(nodeCount - 1);
+        int target = acyclic ? source + 1 + random.nextInt(nodeCount - source - 1) : random.nextInt(nodeCount);
+        return new Tuple<Integer>(source, target);
+    }
+}
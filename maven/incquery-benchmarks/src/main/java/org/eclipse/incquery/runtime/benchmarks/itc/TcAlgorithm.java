@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.dred.DRedAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.fw.FloydWarshallAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.labeling.LabelingReachabilityAlg;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
+
+/**
+ * The benchmarked transitive closure algorithms.
+ *
+ * @author agent
+ *
+ */
+public enum TcAlgorithm {
+
+    INC_SCC {
+        @Override
+        IGraphObserver<Integer> create(Graph<Integer> graph) {
+            return new IncSCCAlg<Integer>(graph);
+        }
+    },
+    DRED {
+        @Override
+        IGraphObserver<Integer> create(Graph<Integer> graph) {
+            return new DRedAlg<Integer>(graph);
+        }
+    },
+    /**
+     * Only correct on acyclic graphs.
+     */
+    COUNTING {
+        @Override
+        IGraphObserver<Integer> create(Graph<Integer> graph) {
+            return new CountingAlg<Integer>(graph);
+        }
+    },
+    /**
+     * Recomputes the closure on every change in O(|V|^3) time.
+     */
+    FLOYD_WARSHALL {
+        @Override
+        IGraphObserver<Integer> create(Graph<Integer> graph) {
+            return new FloydWarshallAlg<Integer>(graph);
+        }
+    },
+    /**
+     * Does not materialize the closure; the index is rebuilt lazily by the first query after a change.
+     */
+    LABELING {
+        @Override
+        IGraphObserver<Integer> create(Graph<Integer> graph) {
+            LabelingReachabilityAlg<Integer> alg = new LabelingReachabilityAlg<Integer>(graph);
+            alg.isReachable(0, 0);
+            return alg;
+        }
+    };
+
+    /**
+     * Creates the algorithm on the given graph, including the computation of its initial data structures.
+     */
+    abstract IGraphObserver<Integer> create(Graph<Integer> graph);
+
+    /**
+     * Checks whether the algorithm is applicable to graphs of the given shape.
+     *
+     * @throws IllegalArgumentException
+     *             if the algorithm is not correct on graphs of the given shape
+     */
+    void checkApplicable(GraphShape shape) {
+        if (this == COUNTING && !shape.isAcyclic()) {
+            throw new IllegalArgumentException("The counting algorithm requires acyclic graphs, " + shape
+                    + " is not supported");
+        }
+    }
+
+    /**
+     * Queries the algorithm, if it supports queries; lazily maintained algorithms perform their pending maintenance
+     * here.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean query(IGraphObserver<Integer> alg, Integer source, Integer target) {
+        if (alg instanceof ITcDataSource<?>) {
+            return ((ITcDataSource<Integer>) alg).isReachable(source, target);
+        }
+        return false;
+    }
+
+    /**
+     * Disposes the algorithm created on the given graph.
+     */
+    static void dispose(IGraphObserver<Integer> alg, Graph<Integer> graph) {
+        if (alg instanceof ITcDataSource<?>) {
+            ((ITcDataSource<?>) alg).dispose();
+        } else {
+            graph.detachObserver(alg);
+        }
+    }
+}
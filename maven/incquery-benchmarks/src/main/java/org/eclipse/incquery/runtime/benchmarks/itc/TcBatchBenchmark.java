@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of batch updates: one operation inserts a batch of random edges with
+ * {@link Graph#insertEdges(java.util.Collection)}, queries the algorithm, then deletes the same batch with
+ * {@link Graph#deleteEdges(java.util.Collection)} and queries again. Algorithms may process the batches edge by edge or
+ * by recomputation, see {@link org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver}.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TcBatchBenchmark extends AbstractTcBenchmark {
+
+    @Param({ "16", "256" })
+    public int batchSize;
+
+    private Graph<Integer> graph;
+    private IGraphObserver<Integer> alg;
+    private List<List<Tuple<Integer>>> batches;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = createGraph();
+        alg = algorithm.create(graph);
+        batches = new ArrayList<List<Tuple<Integer>>>();
+        for (int i = 0; i < 16; i++) {
+            List<Tuple<Integer>> batch = new ArrayList<Tuple<Integer>>();
+            for (int j = 0; j < batchSize; j++) {
+                batch.add(randomEdge());
+            }
+            batches.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TcAlgorithm.dispose(alg, graph);
+    }
+
+    @Benchmark
+    public boolean insertAndDeleteBatch() {
+        counter = (counter + 1) % batches.size();
+        List<Tuple<Integer>> batch = batches.get(counter);
+        Tuple<Integer> first = batch.get(0);
+        graph.insertEdges(batch);
+        boolean reachable = TcAlgorithm.query(alg, first.getSource(), first.getTarget());
+        graph.deleteEdges(batch);
+        return TcAlgorithm.query(alg, first.getSource(), first.getTarget()) ^ reachable;
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the initial build time of the transitive closure algorithms on a graph that is already populated. The memory
+ * cost of the build is reported by the JMH GC profiler: run with <code>-prof gc</code>, and see
+ * <code>gc.alloc.rate.norm</code> for the bytes allocated per build.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TcBuildBenchmark extends AbstractTcBenchmark {
+
+    private Graph<Integer> graph;
+    private IGraphObserver<Integer> alg;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = createGraph();
+    }
+
+    @Setup(Level.Invocation)
+    public void disposePrevious() {
+        if (alg != null) {
+            TcAlgorithm.dispose(alg, graph);
+            alg = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        disposePrevious();
+    }
+
+    @Benchmark
+    public IGraphObserver<Integer> build() {
+        alg = algorithm.create(graph);
+        return alg;
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.itc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of single edge insertions and deletions. Each update is followed by a reachability query between
+ * the endpoints of the edge, so that lazily maintained algorithms pay for their maintenance as well. The graph is
+ * restored before each invocation, outside of the measured time.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TcUpdateBenchmark extends AbstractTcBenchmark {
+
+    private Graph<Integer> graph;
+    private IGraphObserver<Integer> alg;
+    private Tuple<Integer> inserted;
+    private Tuple<Integer> deleted;
+    private Tuple<Integer> nextInsertion;
+    private int nextDeletion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = createGraph();
+        alg = algorithm.create(graph);
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreGraph() {
+        if (inserted != null) {
+            graph.deleteEdge(inserted.getSource(), inserted.getTarget());
+            inserted = null;
+        }
+        if (deleted != null) {
+            graph.insertEdge(deleted.getSource(), deleted.getTarget());
+            deleted = null;
+        }
+        TcAlgorithm.query(alg, 0, 0);
+        nextInsertion = randomEdge();
+        nextDeletion = random.nextInt(edges.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TcAlgorithm.dispose(alg, graph);
+    }
+
+    @Benchmark
+    public boolean insertEdge() {
+        inserted = nextInsertion;
+        graph.insertEdge(inserted.getSource(), inserted.getTarget());
+        return TcAlgorithm.query(alg, inserted.getSource(), inserted.getTarget());
+    }
+
+    @Benchmark
+    public boolean deleteEdge() {
+        deleted = edges.get(nextDeletion);
+        graph.deleteEdge(deleted.getSource(), deleted.getTarget());
+        return TcAlgorithm.query(alg, deleted.getSource(), deleted.getTarget());
+    }
+}
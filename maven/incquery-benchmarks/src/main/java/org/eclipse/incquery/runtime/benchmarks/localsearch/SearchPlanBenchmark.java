@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.benchmarks.localsearch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.MatchingTable;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.operations.check.InequalityCheck;
+import org.eclipse.incquery.runtime.localsearch.operations.check.InstanceOfClassCheck;
+import org.eclipse.incquery.runtime.localsearch.operations.check.StructuralFeatureCheck;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.ExtendToEStructuralFeatureTarget;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.IterateOverEClassInstances;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution of a local search plan on a dynamic EMF model. The plan finds the pairs of distinct nodes
+ * connected by edges in both directions:
+ *
+ * <pre>
+ * extend Node(a), extend Node.edges(a, b), check Node(b), check a != b, check Node.edges(b, a)
+ * </pre>
+ *
+ * The nodes form a ring with edges in both directions, so each search returns exactly twice as many matches as the
+ * model size. Run with <code>-prof gc</code> and divide <code>gc.alloc.rate.norm</code> by the number of matches to
+ * get the allocation per match.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SearchPlanBenchmark {
+
+    @Param({ "1000" })
+    public int modelSize;
+
+    private SearchPlanExecutor executor;
+    private MatchingFrame frame;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IncQueryBaseException {
+        final EcoreFactory factory = EcoreFactory.eINSTANCE;
+        final EPackage ePackage = factory.createEPackage();
+        ePackage.setName("graph");
+        ePackage.setNsURI("http://org.eclipse.incquery/benchmarks/graph");
+        final EClass nodeClass = factory.createEClass();
+        nodeClass.setName("Node");
+        ePackage.getEClassifiers().add(nodeClass);
+        final EReference edgesReference = factory.createEReference();
+        edgesReference.setName("edges");
+        edgesReference.setEType(nodeClass);
+        edgesReference.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+        nodeClass.getEStructuralFeatures().add(edgesReference);
+
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        final Resource resource = new ResourceImpl();
+        resourceSet.getResources().add(resource);
+        final List<EObject> nodes = new ArrayList<EObject>();
+        for (int i = 0; i < modelSize; i++) {
+            nodes.add(ePackage.getEFactoryInstance().create(nodeClass));
+        }
+        for (int i = 0; i < modelSize; i++) {
+            final List<EObject> edges = (List<EObject>) nodes.get(i).eGet(edgesReference);
+            edges.add(nodes.get((i + 1) % modelSize));
+            edges.add(nodes.get((i + modelSize - 1) % modelSize));
+        }
+        resource.getContents().addAll(nodes);
+
+        final SearchPlan plan = new SearchPlan();
+        plan.addOperation(new IterateOverEClassInstances(0, nodeClass));
+        plan.addOperation(new ExtendToEStructuralFeatureTarget(0, 1, edgesReference));
+        plan.addOperation(new InstanceOfClassCheck(1, nodeClass));
+        plan.addOperation(new InequalityCheck(0, 1));
+        plan.addOperation(new StructuralFeatureCheck(1, 0, edgesReference));
+
+        final ISearchContext context = new ISearchContext.SearchContext(resourceSet, Collections.<EClass> emptySet(),
+                Collections.<EDataType> emptySet(), Collections.<EStructuralFeature> emptySet());
+        executor = new SearchPlanExecutor(plan, context, Collections.<PVariable, Integer> emptyMap());
+        frame = new MatchingFrame(null, 2, 2);
+    }
+
+    /**
+     * Executes the plan without keeping the matches, measuring the search operations alone.
+     */
+    @Benchmark
+    public int executePlan() throws LocalSearchException {
+        executor.resetPlan();
+        int matches = 0;
+        while (executor.execute(frame)) {
+            matches++;
+        }
+        return matches;
+    }
+
+    /**
+     * Executes the plan and collects the distinct matches the same way as the local search matcher does.
+     */
+    @Benchmark
+    public int collectMatches() throws LocalSearchException {
+        executor.resetPlan();
+        final MatchingTable results = new MatchingTable();
+        while (executor.execute(frame)) {
+            final MatchingFrame match = frame.clone();
+            results.put(match.getKey(), match);
+        }
+        return results.size();
+    }
+
+}
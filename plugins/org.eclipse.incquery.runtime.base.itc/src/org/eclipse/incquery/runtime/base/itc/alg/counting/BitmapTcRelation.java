@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.alg.counting;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.primitives.CompressedBitmap;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.primitives.CompressedBitmap.IntIterator;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.primitives.LongIntHashMap;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.topsort.TopSort;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+
+/**
+ * Transitive closure relation implementation for the Counting algorithm, optimized for memory. Nodes are mapped to
+ * dense int ids, and both the forward and the backward index are stored as compressed bitmaps of ids. Derivation counts
+ * are only stored for tuples with more than one derivation; a tuple present in the bitmaps is derived once otherwise.
+ *
+ * <p>
+ * Unlike {@link CountingTcRelation}, the sets returned by {@link #getTupleEnds(Object)} and
+ * {@link #getTupleStarts(Object)} are read-only views; they must not be iterated while the same row is modified.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type of the nodes
+ */
+public class BitmapTcRelation<V> implements ICountingTcRelation<V> {
+
+    private final Map<V, Integer> ids = new HashMap<V, Integer>();
+    private final List<V> nodes = new ArrayList<V>();
+    private int[] freeIds = new int[16];
+    private int freeIdCount = 0;
+
+    // id -> bitmap of ids, null if empty
+    private final List<CompressedBitmap> tuplesForward = new ArrayList<CompressedBitmap>();
+    private final List<CompressedBitmap> tuplesBackward = new ArrayList<CompressedBitmap>();
+    // (source id, target id) -> count, only for counts above 1
+    private final LongIntHashMap multipleCounts = new LongIntHashMap();
+
+    public BitmapTcRelation() {
+    }
+
+    private int getOrCreateId(V node) {
+        Integer id = ids.get(node);
+        if (id != null) {
+            return id;
+        }
+        int newId;
+        if (freeIdCount > 0) {
+            newId = freeIds[--freeIdCount];
+            nodes.set(newId, node);
+        } else {
+            newId = nodes.size();
+            nodes.add(node);
+            tuplesForward.add(null);
+            tuplesBackward.add(null);
+        }
+        ids.put(node, newId);
+        return newId;
+    }
+
+    private CompressedBitmap row(List<CompressedBitmap> index, V node) {
+        Integer id = ids.get(node);
+        return id == null ? null : index.get(id);
+    }
+
+    @Override
+    public boolean addTuple(V source, V target, int count) {
+        int sourceId = getOrCreateId(source);
+        int targetId = getOrCreateId(target);
+        long pair = LongIntHashMap.pair(sourceId, targetId);
+
+        int oldCount = getCount(sourceId, targetId, pair);
+        int newCount = oldCount + count;
+        if (oldCount <= 0 && newCount <= 0) {
+            // negative counts are only used by delta relations
+            return false;
+        }
+        if (newCount > 1) {
+            multipleCounts.put(pair, newCount);
+        } else if (oldCount > 1) {
+            multipleCounts.remove(pair);
+        }
+        if (oldCount == 0) {
+            addToRow(tuplesForward, sourceId, targetId);
+            addToRow(tuplesBackward, targetId, sourceId);
+            return true;
+        } else if (newCount <= 0) {
+            removeFromRow(tuplesForward, sourceId, targetId);
+            removeFromRow(tuplesBackward, targetId, sourceId);
+            return true;
+        }
+        return false;
+    }
+
+    private void addToRow(List<CompressedBitmap> index, int id, int value) {
+        CompressedBitmap row = index.get(id);
+        if (row == null) {
+            row = new CompressedBitmap();
+            index.set(id, row);
+        }
+        row.add(value);
+    }
+
+    private void removeFromRow(List<CompressedBitmap> index, int id, int value) {
+        CompressedBitmap row = index.get(id);
+        if (row != null && row.remove(value) && row.isEmpty()) {
+            index.set(id, null);
+        }
+    }
+
+    private int getCount(int sourceId, int targetId, long pair) {
+        CompressedBitmap row = tuplesForward.get(sourceId);
+        if (row == null || !row.contains(targetId)) {
+            return 0;
+        }
+        int count = multipleCounts.get(pair);
+        return count < 0 ? 1 : count;
+    }
+
+    @Override
+    public int getCount(V source, V target) {
+        Integer sourceId = ids.get(source);
+        Integer targetId = ids.get(target);
+        if (sourceId == null || targetId == null) {
+            return 0;
+        }
+        return getCount(sourceId, targetId, LongIntHashMap.pair(sourceId, targetId));
+    }
+
+    @Override
+    public boolean containsTuple(V source, V target) {
+        CompressedBitmap row = row(tuplesForward, source);
+        if (row == null) {
+            return false;
+        }
+        Integer targetId = ids.get(target);
+        return targetId != null && row.contains(targetId);
+    }
+
+    @Override
+    public void deleteTupleEnd(V tupleEnd) {
+        Integer id = ids.get(tupleEnd);
+        if (id == null) {
+            return;
+        }
+        CompressedBitmap targets = tuplesForward.get(id);
+        if (targets != null) {
+            for (IntIterator it = targets.iterator(); it.hasNext();) {
+                int targetId = it.next();
+                multipleCounts.remove(LongIntHashMap.pair(id, targetId));
+                if (targetId != id) {
+                    removeFromRow(tuplesBackward, targetId, id);
+                }
+            }
+        }
+        CompressedBitmap sources = tuplesBackward.get(id);
+        if (sources != null) {
+            for (IntIterator it = sources.iterator(); it.hasNext();) {
+                int sourceId = it.next();
+                multipleCounts.remove(LongIntHashMap.pair(sourceId, id));
+                if (sourceId != id) {
+                    removeFromRow(tuplesForward, sourceId, id);
+                }
+            }
+        }
+        tuplesForward.set(id, null);
+        tuplesBackward.set(id, null);
+        ids.remove(tupleEnd);
+        nodes.set(id, null);
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeIdCount++] = id;
+    }
+
+    @Override
+    public Set<V> getTupleEnds(V source) {
+        CompressedBitmap row = row(tuplesForward, source);
+        return row == null ? null : new NodeSetView(row);
+    }
+
+    @Override
+    public Set<V> getTupleStarts(V target) {
+        CompressedBitmap row = row(tuplesBackward, target);
+        return row == null ? null : new NodeSetView(row);
+    }
+
+    @Override
+    public Set<V> getTupleStarts() {
+        Set<V> result = new HashSet<V>();
+        for (int id = 0; id < tuplesForward.size(); id++) {
+            if (tuplesForward.get(id) != null) {
+                result.add(nodes.get(id));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<V, Set<V>> getMissingTupleEnds(Set<V> sources, Set<V> targets) {
+        // targets unknown to the relation are not reachable from any of the sources
+        CompressedBitmap targetIds = new CompressedBitmap();
+        Set<V> unknownTargets = new HashSet<V>();
+        for (V target : targets) {
+            Integer id = ids.get(target);
+            if (id == null) {
+                unknownTargets.add(target);
+            } else {
+                targetIds.add(id);
+            }
+        }
+
+        Map<V, Set<V>> result = new HashMap<V, Set<V>>();
+        for (V source : sources) {
+            CompressedBitmap missing = targetIds.copy();
+            CompressedBitmap row = row(tuplesForward, source);
+            if (row != null) {
+                missing.andNot(row);
+            }
+            Set<V> missingNodes = new HashSet<V>(unknownTargets);
+            for (IntIterator it = missing.iterator(); it.hasNext();) {
+                missingNodes.add(nodes.get(it.next()));
+            }
+            result.put(source, missingNodes);
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        ids.clear();
+        nodes.clear();
+        freeIdCount = 0;
+        tuplesForward.clear();
+        tuplesBackward.clear();
+        multipleCounts.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("TcRelation = ");
+        for (V source : getTupleStarts()) {
+            for (V target : getTupleEnds(source)) {
+                sb.append("{(" + source + "," + target + ")," + getCount(source, target) + "} ");
+            }
+        }
+        return sb.toString();
+    }
+
+    public static <V> BitmapTcRelation<V> createFrom(IBiDirectionalGraphDataSource<V> gds) {
+        @SuppressWarnings("unchecked")
+        List<V> topologicalSorting = (List<V>) TopSort.getTopologicalSorting(gds);
+        BitmapTcRelation<V> tc = new BitmapTcRelation<V>();
+        Collections.reverse(topologicalSorting);
+        for (V n : topologicalSorting) {
+            List<V> sourceNodes = gds.getSourceNodes(n);
+            if (sourceNodes != null) {
+                Set<V> tupEnds = tc.getTupleEnds(n);
+                for (V s : sourceNodes) {
+                    tc.addTuple(s, n, 1);
+                    if (tupEnds != null) {
+                        for (V t : tupEnds) {
+                            tc.addTuple(s, t, 1);
+                        }
+                    }
+                }
+            }
+        }
+        return tc;
+    }
+
+    /**
+     * A read-only set of nodes backed by a bitmap of their ids.
+     */
+    private final class NodeSetView extends AbstractSet<V> {
+        private final CompressedBitmap bitmap;
+
+        NodeSetView(CompressedBitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer id = ids.get(o);
+            return id != null && bitmap.contains(id);
+        }
+
+        @Override
+        public int size() {
+            return bitmap.getCardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return bitmap.isEmpty();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final IntIterator it = bitmap.iterator();
+            return new Iterator<V>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    return nodes.get(it.next());
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
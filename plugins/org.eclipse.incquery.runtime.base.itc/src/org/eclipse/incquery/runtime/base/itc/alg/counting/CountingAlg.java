@@ -12,19 +12,23 @@
 package org.eclipse.incquery.runtime.base.itc.alg.counting;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.incquery.runtime.base.itc.alg.incscc.CollectionHelper;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.DFSPathFinder;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.IGraphPathFinder;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.ITcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalWrapper;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
-import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 
@@ -36,13 +40,14 @@ import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
  * @param <V>
  *            the type parameter of the nodes in the graph data source
  */
-public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+public class CountingAlg<V> implements IBatchGraphObserver<V>, ITcDataSource<V> {
 
     private static final long serialVersionUID = -2383210800242398869L;
-    private CountingTcRelation<V> tc = null;
+    private ICountingTcRelation<V> tc = null;
     private CountingTcRelation<V> dtc = null;
     private IBiDirectionalGraphDataSource<V> gds = null;
     private List<ITcObserver<V>> observers;
+    private final boolean compressedRelation;
 
     /**
      * Constructs a new Counting algorithm and initializes the transitive closure relation with the given graph data
@@ -52,6 +57,40 @@ public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
      *            the graph data source instance
      */
     public CountingAlg(IGraphDataSource<V> gds) {
+        this(gds, false);
+    }
+
+    /**
+     * Constructs a new Counting algorithm and initializes the transitive closure relation with the given graph data
+     * source. Attach itself on the graph data source as an observer.
+     * 
+     * @param gds
+     *            the graph data source instance
+     * @param compressedRelation
+     *            if true, the transitive closure relation is stored in compressed bitmaps (see
+     *            {@link BitmapTcRelation}), which requires considerably less memory for dense closures
+     * @since 1.2
+     */
+    public CountingAlg(IGraphDataSource<V> gds, boolean compressedRelation) {
+        this(gds, compressedRelation, null);
+    }
+
+    /**
+     * Constructs a new Counting algorithm and initializes the transitive closure relation with the given graph data
+     * source, using the given pool to compute the initial relation in parallel. Attach itself on the graph data source
+     * as an observer.
+     * 
+     * @param gds
+     *            the graph data source instance
+     * @param compressedRelation
+     *            if true, the transitive closure relation is stored in compressed bitmaps (see
+     *            {@link BitmapTcRelation})
+     * @param pool
+     *            the pool used for the initialization only, or null to initialize on the calling thread
+     * @since 1.2
+     */
+    public CountingAlg(IGraphDataSource<V> gds, boolean compressedRelation, ForkJoinPool pool) {
+        this.compressedRelation = compressedRelation;
 
         if (gds instanceof IBiDirectionalGraphDataSource<?>) {
             this.gds = (IBiDirectionalGraphDataSource<V>) gds;
@@ -60,10 +99,16 @@ public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         }
 
         observers = new ArrayList<ITcObserver<V>>();
-        tc = new CountingTcRelation<V>(true);
         dtc = new CountingTcRelation<V>(false);
 
-        initTc();
+        if (pool == null) {
+            initTc();
+        } else {
+            ICountingTcRelation<V> relation = compressedRelation ? new BitmapTcRelation<V>()
+                    : new CountingTcRelation<V>(true);
+            ParallelTcBuilder.build(relation, this.gds, pool);
+            this.tc = relation;
+        }
         gds.attachObserver(this);
     }
 
@@ -71,7 +116,11 @@ public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
      * Initializes the transitive closure relation.
      */
     private void initTc() {
-        this.setTcRelation(CountingTcRelation.createFrom(gds));
+        if (compressedRelation) {
+            this.tc = BitmapTcRelation.createFrom(gds);
+        } else {
+            this.setTcRelation(CountingTcRelation.createFrom(gds));
+        }
     }
 
     @Override
@@ -88,6 +137,32 @@ public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         }
     }
 
+    @Override
+    public boolean isBatchPreferred(int batchSize) {
+        return GraphHelper.isRecomputationPreferred(batchSize, gds);
+    }
+
+    @Override
+    public void edgesInserted(Collection<Tuple<V>> edges) {
+        recomputeTc();
+    }
+
+    @Override
+    public void edgesDeleted(Collection<Tuple<V>> edges) {
+        recomputeTc();
+    }
+
+    /**
+     * Recomputes the transitive closure relation from scratch and notifies the observers about the difference.
+     */
+    private void recomputeTc() {
+        ICountingTcRelation<V> oldTc = tc;
+        initTc();
+        if (!observers.isEmpty()) {
+            GraphHelper.notifyTcDifference(oldTc, tc, observers, false);
+        }
+    }
+
     @Override
     public void nodeInserted(V n) {
 
@@ -185,6 +260,16 @@ public class CountingAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         this.tc = tc;
     }
 
+    /**
+     * For each of the given sources, computes the given targets that are not reachable from the source.
+     * 
+     * @return a map from each source to the targets not reachable from it
+     * @since 1.2
+     */
+    public Map<V, Set<V>> getUnreachableTargets(Set<V> sources, Set<V> targets) {
+        return tc.getMissingTupleEnds(sources, targets);
+    }
+
     @Override
     public boolean isReachable(V source, V target) {
         return tc.containsTuple(source, target);
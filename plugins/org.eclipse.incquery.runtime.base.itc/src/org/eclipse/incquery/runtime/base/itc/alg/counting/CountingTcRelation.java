@@ -19,7 +19,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import org.eclipse.incquery.runtime.base.itc.alg.misc.ITcRelation;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.topsort.TopSort;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 
@@ -30,7 +29,7 @@ import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSourc
  * 
  * @param <V>
  */
-public class CountingTcRelation<V> implements ITcRelation<V> {
+public class CountingTcRelation<V> implements ICountingTcRelation<V> {
 
     private Map<V, Map<V, Integer>> tuplesForward = null;
     private Map<V, Map<V, Integer>> tuplesBackward = null;
@@ -45,7 +44,8 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
         return this.tuplesForward.isEmpty();
     }
 
-    protected void clear() {
+    @Override
+    public void clear() {
         this.tuplesForward.clear();
 
         if (tuplesBackward != null) {
@@ -61,6 +61,7 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
         }
     }
 
+    @Override
     public int getCount(V source, V target) {
         if (tuplesForward.containsKey(source) && tuplesForward.get(source).containsKey(target)) {
             return tuplesForward.get(source).get(target);
@@ -81,6 +82,7 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
      *            the count of the tuple
      * @return true if the relation did not contain previously the tuple
      */
+    @Override
     public boolean addTuple(V source, V target, int count) {
 
         Map<V, Integer> sMap = null;
@@ -133,6 +135,7 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
         }
     }
 
+    @Override
     public void deleteTupleEnd(V tupleEnd) {
         this.tuplesForward.remove(tupleEnd);
 
@@ -194,6 +197,7 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
      *            the target node
      * @return the set of source nodes
      */
+    @Override
     public Set<V> getTupleStarts(V target) {
         if (tuplesBackward != null) {
             Map<V, Integer> tupStarts = tuplesBackward.get(target);
@@ -221,6 +225,7 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
      *            the target node
      * @return true if tuple is present, false otherwise
      */
+    @Override
     public boolean containsTuple(V source, V target) {
         if (tuplesForward.containsKey(source)) {
             if (tuplesForward.get(source).containsKey(target))
@@ -229,6 +234,20 @@ public class CountingTcRelation<V> implements ITcRelation<V> {
         return false;
     }
 
+    @Override
+    public Map<V, Set<V>> getMissingTupleEnds(Set<V> sources, Set<V> targets) {
+        Map<V, Set<V>> result = new HashMap<V, Set<V>>();
+        for (V source : sources) {
+            Map<V, Integer> tupEnds = tuplesForward.get(source);
+            Set<V> missing = new HashSet<V>(targets);
+            if (tupEnds != null) {
+                missing.removeAll(tupEnds.keySet());
+            }
+            result.put(source, missing);
+        }
+        return result;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.alg.counting;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.ITcRelation;
+
+/**
+ * A transitive closure relation maintaining the number of derivations of each tuple, as required by the Counting
+ * algorithm.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type of the nodes
+ */
+public interface ICountingTcRelation<V> extends ITcRelation<V> {
+
+    /**
+     * Increments the count of the tuple (source, target) with the given (possibly negative) count.
+     *
+     * @return true if the tuple was inserted into or removed from the relation
+     */
+    public boolean addTuple(V source, V target, int count);
+
+    /**
+     * @return the number of derivations of the tuple, 0 if it is not in the relation
+     */
+    public int getCount(V source, V target);
+
+    /**
+     * @return true if the tuple is in the relation
+     */
+    public boolean containsTuple(V source, V target);
+
+    /**
+     * Returns the set of nodes from which the target node is reachable.
+     *
+     * @param target
+     *            the target node
+     * @return the set of source nodes, or null if there are none
+     */
+    public Set<V> getTupleStarts(V target);
+
+    /**
+     * Removes all tuples starting or ending in the given node.
+     */
+    public void deleteTupleEnd(V tupleEnd);
+
+    /**
+     * For each of the given sources, computes the given targets that are not tuple ends of the source.
+     *
+     * @return a map from each source to the targets not reachable from it
+     */
+    public Map<V, Set<V>> getMissingTupleEnds(Set<V> sources, Set<V> targets);
+
+    /**
+     * Removes all tuples.
+     */
+    public void clear();
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.alg.counting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.topsort.TopSort;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+
+/**
+ * Builds the counting transitive closure relation of a DAG in parallel. Nodes are grouped by their height (the length
+ * of the longest path to a sink); the rows of the nodes in the same group only depend on the rows of lower groups, so
+ * they are computed in parallel, and then added to the relation sequentially. The derivation counts are the same as
+ * with {@link CountingTcRelation#createFrom(IBiDirectionalGraphDataSource)}.
+ *
+ * @author agent
+ *
+ */
+class ParallelTcBuilder {
+
+    /**
+     * Groups with at most this number of nodes are processed by a single task.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private ParallelTcBuilder() {
+    }
+
+    static <V> void build(ICountingTcRelation<V> tc, IBiDirectionalGraphDataSource<V> gds, ForkJoinPool pool) {
+        @SuppressWarnings("unchecked")
+        List<V> topologicalSorting = (List<V>) TopSort.getTopologicalSorting(gds);
+        Collections.reverse(topologicalSorting);
+
+        Map<V, Integer> heights = new HashMap<V, Integer>();
+        List<List<V>> groups = new ArrayList<List<V>>();
+        for (V node : topologicalSorting) {
+            int height = 0;
+            List<V> targets = gds.getTargetNodes(node);
+            if (targets != null) {
+                for (V target : targets) {
+                    height = Math.max(height, heights.get(target) + 1);
+                }
+            }
+            heights.put(node, height);
+            if (height == groups.size()) {
+                groups.add(new ArrayList<V>());
+            }
+            groups.get(height).add(node);
+        }
+
+        for (List<V> group : groups) {
+            List<Map<V, Integer>> rows = new ArrayList<Map<V, Integer>>(Collections.<Map<V, Integer>> nCopies(
+                    group.size(), null));
+            pool.invoke(new RowTask<V>(tc, gds, group, rows, 0, group.size()));
+            for (int i = 0; i < group.size(); i++) {
+                for (Entry<V, Integer> entry : rows.get(i).entrySet()) {
+                    tc.addTuple(group.get(i), entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the rows of a range of nodes with the same height, reading the (already complete) rows of their targets.
+     */
+    private static final class RowTask<V> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final ICountingTcRelation<V> tc;
+        private final IBiDirectionalGraphDataSource<V> gds;
+        private final List<V> group;
+        private final List<Map<V, Integer>> rows;
+        private final int from;
+        private final int to;
+
+        RowTask(ICountingTcRelation<V> tc, IBiDirectionalGraphDataSource<V> gds, List<V> group,
+                List<Map<V, Integer>> rows, int from, int to) {
+            this.tc = tc;
+            this.gds = gds;
+            this.group = group;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowTask<V>(tc, gds, group, rows, from, middle), new RowTask<V>(tc, gds, group, rows,
+                        middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                rows.set(i, computeRow(group.get(i)));
+            }
+        }
+
+        // count(s, t) = number of edges (s, n) such that n = t or t is reachable from n
+        private Map<V, Integer> computeRow(V source) {
+            Map<V, Integer> row = new HashMap<V, Integer>();
+            List<V> targets = gds.getTargetNodes(source);
+            if (targets != null) {
+                for (V target : targets) {
+                    increment(row, target);
+                    Set<V> tupEnds = tc.getTupleEnds(target);
+                    if (tupEnds != null) {
+                        for (V tupEnd : tupEnds) {
+                            increment(row, tupEnd);
+                        }
+                    }
+                }
+            }
+            return row;
+        }
+
+        private void increment(Map<V, Integer> row, V node) {
+            Integer count = row.get(node);
+            row.put(node, count == null ? 1 : count + 1);
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package org.eclipse.incquery.runtime.base.itc.alg.dred;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,11 +20,12 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.incquery.runtime.base.itc.alg.misc.DFSPathFinder;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.IGraphPathFinder;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
-import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 
@@ -35,7 +37,7 @@ import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
  * @param <V>
  *            the type parameter of the nodes in the graph data source
  */
-public class DRedAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+public class DRedAlg<V> implements IBatchGraphObserver<V>, ITcDataSource<V> {
 
     private static final long serialVersionUID = 356353826099208151L;
     private IGraphDataSource<V> graphDataSource = null;
@@ -69,6 +71,7 @@ public class DRedAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
      *            the transitive closure instance
      */
     public DRedAlg(IGraphDataSource<V> gds, DRedTcRelation<V> tc) {
+        this.observers = new ArrayList<ITcObserver<V>>();
         this.graphDataSource = gds;
         this.tc = tc;
         this.dtc = new DRedTcRelation<V>();
@@ -227,6 +230,32 @@ public class DRedAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         }
     }
 
+    @Override
+    public boolean isBatchPreferred(int batchSize) {
+        return GraphHelper.isRecomputationPreferred(batchSize, graphDataSource);
+    }
+
+    @Override
+    public void edgesInserted(Collection<Tuple<V>> edges) {
+        recomputeTc();
+    }
+
+    @Override
+    public void edgesDeleted(Collection<Tuple<V>> edges) {
+        recomputeTc();
+    }
+
+    /**
+     * Recomputes the transitive closure relation from scratch and notifies the observers about the difference.
+     */
+    private void recomputeTc() {
+        DRedTcRelation<V> oldTc = tc;
+        initTc();
+        if (!observers.isEmpty()) {
+            GraphHelper.notifyTcDifference(oldTc, tc, observers, true);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
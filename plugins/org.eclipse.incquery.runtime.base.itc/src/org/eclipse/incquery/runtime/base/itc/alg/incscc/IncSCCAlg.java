@@ -12,10 +12,14 @@
 package org.eclipse.incquery.runtime.base.itc.alg.incscc;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingAlg;
 import org.eclipse.incquery.runtime.base.itc.alg.dred.DRedTcRelation;
@@ -24,13 +28,14 @@ import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.IGraphPathFinder;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.BFS;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.scc.ParallelSCC;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.scc.SCC;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.scc.SCCResult;
 import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalWrapper;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
-import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 
@@ -42,10 +47,17 @@ import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
  * @param <V>
  *            the type parameter of the nodes in the graph data source
  */
-public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+public class IncSCCAlg<V> implements IBatchGraphObserver<V>, ITcDataSource<V> {
 
     private static final long serialVersionUID = 6207002106223444807L;
 
+    /**
+     * The default number of nodes from which the initial SCCs and closure are computed in parallel.
+     * 
+     * @since 1.2
+     */
+    public static final int DEFAULT_PARALLEL_BUILD_THRESHOLD = 10000;
+
     public UnionFind<V> sccs;
     public IBiDirectionalGraphDataSource<V> gds;
     private CountingAlg<V> counting;
@@ -53,8 +65,36 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
     private IBiDirectionalGraphDataSource<V> reducedGraphIndexer;
     private List<ITcObserver<V>> observers;
     private CountingListener<V> countingListener;
+    private final boolean compressedClosure;
+    private final int parallelBuildThreshold;
 
     public IncSCCAlg(IGraphDataSource<V> graphDataSource) {
+        this(graphDataSource, false);
+    }
+
+    /**
+     * @param compressedClosure
+     *            if true, the transitive closure of the condensed graph is stored in compressed bitmaps, see
+     *            {@link CountingAlg#CountingAlg(IGraphDataSource, boolean)}
+     * @since 1.2
+     */
+    public IncSCCAlg(IGraphDataSource<V> graphDataSource, boolean compressedClosure) {
+        this(graphDataSource, compressedClosure, DEFAULT_PARALLEL_BUILD_THRESHOLD);
+    }
+
+    /**
+     * @param compressedClosure
+     *            if true, the transitive closure of the condensed graph is stored in compressed bitmaps, see
+     *            {@link CountingAlg#CountingAlg(IGraphDataSource, boolean)}
+     * @param parallelBuildThreshold
+     *            if the graph has at least this many nodes, the SCCs and the closure of the condensed graph are
+     *            computed on a fork-join pool whenever they are built from scratch; use {@link Integer#MAX_VALUE} to
+     *            always compute them on the calling thread
+     * @since 1.2
+     */
+    public IncSCCAlg(IGraphDataSource<V> graphDataSource, boolean compressedClosure, int parallelBuildThreshold) {
+        this.compressedClosure = compressedClosure;
+        this.parallelBuildThreshold = parallelBuildThreshold;
 
         if (graphDataSource instanceof IBiDirectionalGraphDataSource<?>) {
             gds = (IBiDirectionalGraphDataSource<V>) graphDataSource;
@@ -70,8 +110,30 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         gds.attachObserver(this);
     }
 
+    /**
+     * The pool shared by all instances for building the SCCs and the closure in parallel. It is created upon first
+     * use; as its worker threads are daemon threads that terminate when idle, it is never shut down.
+     */
+    private static final class ParallelBuildPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+
     private void initalizeInternalDataStructures() {
-        SCCResult<V> _sccres = SCC.computeSCC(gds);
+        if (gds.getAllNodes().size() >= parallelBuildThreshold) {
+            initalizeInternalDataStructures(ParallelBuildPool.INSTANCE);
+        } else {
+            initalizeInternalDataStructures(null);
+        }
+    }
+
+    private void initalizeInternalDataStructures(ForkJoinPool pool) {
+        SCCResult<V> _sccres = null;
+        if (pool == null) {
+            _sccres = SCC.computeSCC(gds);
+        } else {
+            // the data source may not support concurrent reads, so the decomposition works on a copy
+            _sccres = ParallelSCC.computeSCC(GraphHelper.getSubGraph(gds.getAllNodes(), gds), pool);
+        }
         Set<Set<V>> _sccs = _sccres.getSccs();
 
         for (Set<V> _set : _sccs) {
@@ -96,7 +158,7 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
                 }
         }
 
-        counting = new CountingAlg<V>(reducedGraph);
+        counting = new CountingAlg<V>(reducedGraph, compressedClosure, pool);
     }
 
     @Override
@@ -129,9 +191,9 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
                     targetSCCs.addAll(successorRoots);
 
                     // tracing back to actual nodes
+                    Map<V, Set<V>> unreachableTargets = counting.getUnreachableTargets(sourceSCCs, targetSCCs);
                     for (V sourceSCC : sourceSCCs) {
-                        for (V targetSCC : CollectionHelper.difference(targetSCCs,
-                                counting.getAllReachableTargets(sourceSCC))) {
+                        for (V targetSCC : unreachableTargets.get(sourceSCC)) {
                             boolean needsNotification = false;
 
                             //Case 1. sourceSCC and targetSCC are the same and it is a one sized scc. 
@@ -291,9 +353,9 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
                     Set<V> targetSCCs = counting.getAllReachableTargets(newTargetRoot);
                     targetSCCs.add(newTargetRoot);
 
+                    Map<V, Set<V>> unreachableTargets = counting.getUnreachableTargets(sourceSCCs, targetSCCs);
                     for (V sourceSCC : sourceSCCs) {
-                        for (V targetSCC : CollectionHelper.difference(targetSCCs,
-                                counting.getAllReachableTargets(sourceSCC))) {
+                        for (V targetSCC : unreachableTargets.get(sourceSCC)) {
                             boolean needsNotification = false;
 
                             //Case 1. sourceSCC and targetSCC are the same and it is a one sized scc. 
@@ -324,6 +386,101 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         }
     }
 
+    @Override
+    public boolean isBatchPreferred(int batchSize) {
+        return GraphHelper.isRecomputationPreferred(batchSize, gds);
+    }
+
+    @Override
+    public void edgesInserted(Collection<Tuple<V>> edges) {
+        recompute(edges, true);
+    }
+
+    @Override
+    public void edgesDeleted(Collection<Tuple<V>> edges) {
+        recompute(edges, false);
+    }
+
+    /**
+     * Recomputes the SCCs, the reduced graph and its transitive closure from scratch and notifies the observers about
+     * the difference.
+     * 
+     * <p>
+     * The difference is computed without materializing the closure: nodes belonging to the same SCC both before and
+     * after the change reach the same nodes, so the old and new targets are compared once for each such group.
+     * 
+     * @param edges
+     *            the changed edges, already applied to the graph data source
+     * @param inserted
+     *            true if the edges were inserted, false if deleted
+     */
+    private void recompute(Collection<Tuple<V>> edges, boolean inserted) {
+        UnionFind<V> oldSccs = sccs;
+        CountingAlg<V> oldCounting = counting;
+        // nodes that had a self-loop before the change iff they do not have one now
+        Set<V> toggledSelfLoops = observers.isEmpty() ? null : getToggledSelfLoops(edges, inserted);
+
+        sccs = new UnionFind<V>();
+        reducedGraph = new Graph<V>();
+        reducedGraphIndexer = new IBiDirectionalWrapper<V>(reducedGraph);
+        initalizeInternalDataStructures();
+
+        if (toggledSelfLoops != null) {
+            for (Set<V> newScc : sccs.setMap.values()) {
+                Map<V, List<V>> nodesByOldRoot = new HashMap<V, List<V>>();
+                for (V node : newScc) {
+                    V oldRoot = oldSccs.find(node);
+                    List<V> nodes = nodesByOldRoot.get(oldRoot);
+                    if (nodes == null) {
+                        nodes = new ArrayList<V>();
+                        nodesByOldRoot.put(oldRoot, nodes);
+                    }
+                    nodes.add(node);
+                }
+                for (List<V> nodes : nodesByOldRoot.values()) {
+                    V node = nodes.get(0);
+                    boolean hasSelfLoop = GraphHelper.getEdgeCount(node, gds) > 0;
+                    Set<V> oldTargets = getAllReachableTargets(oldSccs, oldCounting, node,
+                            hasSelfLoop ^ toggledSelfLoops.contains(node));
+                    Set<V> newTargets = getAllReachableTargets(sccs, counting, node, hasSelfLoop);
+                    for (V target : newTargets) {
+                        if (!oldTargets.remove(target)) {
+                            for (V source : nodes) {
+                                notifyTcObservers(source, target, Direction.INSERT);
+                            }
+                        }
+                    }
+                    for (V target : oldTargets) {
+                        for (V source : nodes) {
+                            notifyTcObservers(source, target, Direction.DELETE);
+                        }
+                    }
+                }
+            }
+        }
+        oldCounting.dispose();
+    }
+
+    private Set<V> getToggledSelfLoops(Collection<Tuple<V>> edges, boolean inserted) {
+        Map<V, Integer> changedSelfLoops = new HashMap<V, Integer>();
+        for (Tuple<V> edge : edges) {
+            V node = edge.getSource();
+            if (node.equals(edge.getTarget())) {
+                Integer count = changedSelfLoops.get(node);
+                changedSelfLoops.put(node, count == null ? 1 : count + 1);
+            }
+        }
+        Set<V> result = new HashSet<V>();
+        for (Map.Entry<V, Integer> entry : changedSelfLoops.entrySet()) {
+            int count = GraphHelper.getEdgeCount(entry.getKey(), gds);
+            // all current self-loops were inserted, or none remained after the deletion
+            if (inserted ? count == entry.getValue() : count == 0) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
     @Override
     public void nodeInserted(V n) {
         sccs.makeSet(n);
@@ -362,11 +519,20 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
 
     @Override
     public Set<V> getAllReachableTargets(V source) {
+        return getAllReachableTargets(sccs, counting, source, GraphHelper.getEdgeCount(source, gds) > 0);
+    }
+
+    private static <V> Set<V> getAllReachableTargets(UnionFind<V> sccs, CountingAlg<V> counting, V source,
+            boolean hasSelfLoop) {
         V sourceRoot = sccs.find(source);
-        Set<V> containedNodes = sccs.setMap.get(sourceRoot);
         Set<V> targets = new HashSet<V>();
+        if (sourceRoot == null) {
+            // the node was not known yet
+            return targets;
+        }
+        Set<V> containedNodes = sccs.setMap.get(sourceRoot);
 
-        if (containedNodes.size() > 1 || GraphHelper.getEdgeCount(source, gds) == 1) {
+        if (containedNodes.size() > 1 || hasSelfLoop) {
             targets.addAll(containedNodes);
         }
 
@@ -386,7 +552,7 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
         Set<V> containedNodes = sccs.setMap.get(targetRoot);
         Set<V> sources = new HashSet<V>();
 
-        if (containedNodes.size() > 1 || GraphHelper.getEdgeCount(target, gds) == 1) {
+        if (containedNodes.size() > 1 || GraphHelper.getEdgeCount(target, gds) > 0) {
             sources.addAll(containedNodes);
         }
 
@@ -540,7 +706,7 @@ public class IncSCCAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
 
         for (V sourceRoot : sccs.setMap.keySet()) {
             Set<V> sources = sccs.setMap.get(sourceRoot);
-            if (sources.size() > 1 || GraphHelper.getEdgeCount(sources.iterator().next(), gds) == 1) {
+            if (sources.size() > 1 || GraphHelper.getEdgeCount(sources.iterator().next(), gds) > 0) {
                 for (V source : sources) {
                     for (V target : sources) {
                         resultSet.add(new Tuple<V>(source, target));
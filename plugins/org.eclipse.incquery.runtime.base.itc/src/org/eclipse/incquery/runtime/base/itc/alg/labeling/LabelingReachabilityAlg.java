@@ -0,0 +1,555 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.itc.alg.labeling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.CollectionHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.DFSPathFinder;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.IGraphPathFinder;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
+
+/**
+ * A reachability index that answers {@link #isReachable(Object, Object)} queries without materializing the transitive
+ * closure. The index consists of the condensation of the graph (the DAG of its SCCs) and a constant number of interval
+ * labels per SCC, computed with randomized depth-first traversals (GRAIL labeling). The labels and the topological
+ * order of the SCCs rule out most unreachable pairs in constant time, and a spanning tree interval confirms many
+ * reachable ones; the remaining queries are answered with a depth-first search on the condensation that is pruned with
+ * the same labels. The index needs O(|V|+|E|) memory, as opposed to O(|V|^2) of the closure based algorithms.
+ *
+ * <p>
+ * The index is not maintained incrementally in general: edge insertions between already reachable nodes and deletions
+ * of parallel edges keep it valid, any other edge change invalidates it, and it is rebuilt in O(|V|+|E|) time on the next
+ * query. Thus, the algorithm fits workloads where queries dominate updates. As the closure is not maintained,
+ * {@link ITcObserver}s are not supported.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph data source
+ */
+public class LabelingReachabilityAlg<V> implements IBatchGraphObserver<V>, ITcDataSource<V> {
+
+    /**
+     * The number of random interval labels assigned to each SCC.
+     */
+    private static final int LABEL_COUNT = 3;
+
+    private final IGraphDataSource<V> gds;
+    private final Random random = new Random(0);
+    private boolean dirty = true;
+
+    // node -> node id; node ids are indices into the arrays below
+    private Map<V, Integer> ids;
+    private List<V> nodes;
+    // node id -> SCC id; SCC ids are a reverse topological order of the condensation
+    private int[] component;
+    // the members of SCC c are sccMembers[sccStart[c]] .. sccMembers[sccStart[c + 1] - 1]
+    private int[] sccStart;
+    private int[] sccMembers;
+    private int[][] sccTargets;
+    private int[][] sccSources;
+    // the length of the longest path from the SCC in the condensation
+    private int[] height;
+    // the label intervals [low, post] of the SCCs, one pair of arrays per label
+    private int[][] low;
+    private int[][] post;
+    // pre-order numbers of the spanning tree belonging to the first label
+    private int[] pre;
+    // visit marks of the pruned search; a SCC is visited if its mark equals the current epoch
+    private int[] visited;
+    private int epoch;
+
+    public LabelingReachabilityAlg(IGraphDataSource<V> gds) {
+        this.gds = gds;
+        this.gds.attachObserver(this);
+    }
+
+    @Override
+    public void edgeInserted(V source, V target) {
+        // a self-loop or a new edge between reachable nodes does not change reachability;
+        // self-loops are checked on the graph when queried
+        if (!dirty && !source.equals(target) && !isReachableInIndex(source, target)) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void edgeDeleted(V source, V target) {
+        if (!source.equals(target) && GraphHelper.getEdgeCount(source, target, gds) == 0) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void nodeInserted(V n) {
+        // an isolated node is not reachable from any other node; unknown nodes are handled by the queries
+    }
+
+    @Override
+    public void nodeDeleted(V n) {
+        // the edges of the node have already been deleted, so it is isolated in the index
+    }
+
+    @Override
+    public boolean isBatchPreferred(int batchSize) {
+        return true;
+    }
+
+    @Override
+    public void edgesInserted(Collection<Tuple<V>> edges) {
+        for (Tuple<V> edge : edges) {
+            edgeInserted(edge.getSource(), edge.getTarget());
+        }
+    }
+
+    @Override
+    public void edgesDeleted(Collection<Tuple<V>> edges) {
+        if (!edges.isEmpty()) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void attachObserver(ITcObserver<V> to) {
+        throw new UnsupportedOperationException("The labeling reachability index does not support observers");
+    }
+
+    @Override
+    public void detachObserver(ITcObserver<V> to) {
+        throw new UnsupportedOperationException("The labeling reachability index does not support observers");
+    }
+
+    @Override
+    public boolean isReachable(V source, V target) {
+        if (dirty) {
+            rebuild();
+        }
+        return isReachableInIndex(source, target);
+    }
+
+    @Override
+    public Set<V> getAllReachableTargets(V source) {
+        return collectReachable(source, true);
+    }
+
+    @Override
+    public Set<V> getAllReachableSources(V target) {
+        return collectReachable(target, false);
+    }
+
+    @Override
+    @Deprecated
+    public List<V> getReachabilityPath(V source, V target) {
+        if (!isReachable(source, target)) {
+            return null;
+        } else {
+            Set<V> nodesInSubGraph = CollectionHelper.intersection(this.getAllReachableSources(target),
+                    this.getAllReachableTargets(source));
+            nodesInSubGraph.add(source);
+            nodesInSubGraph.add(target);
+            return GraphHelper.constructPath(source, target, nodesInSubGraph, gds);
+        }
+    }
+
+    @Override
+    public IGraphPathFinder<V> getPathFinder() {
+        return new DFSPathFinder<V>(gds, this);
+    }
+
+    @Override
+    public void dispose() {
+        gds.detachObserver(this);
+        ids = null;
+        nodes = null;
+        dirty = true;
+    }
+
+    private boolean isReachableInIndex(V source, V target) {
+        Integer sourceId = ids.get(source);
+        Integer targetId = ids.get(target);
+        if (sourceId == null || targetId == null) {
+            // unknown nodes are isolated, unless they have a self-loop
+            return source.equals(target) && GraphHelper.getEdgeCount(source, gds) > 0;
+        }
+        int sourceScc = component[sourceId];
+        int targetScc = component[targetId];
+        if (sourceScc == targetScc) {
+            return sccStart[sourceScc + 1] - sccStart[sourceScc] > 1 || GraphHelper.getEdgeCount(source, gds) > 0;
+        }
+        return isSccReachable(sourceScc, targetScc);
+    }
+
+    private boolean isSccReachable(int source, int target) {
+        if (!mayReach(source, target)) {
+            return false;
+        }
+        if (isTreeDescendant(source, target)) {
+            return true;
+        }
+        epoch++;
+        int[] stack = new int[8];
+        int size = 0;
+        stack[size++] = source;
+        visited[source] = epoch;
+        while (size > 0) {
+            int scc = stack[--size];
+            for (int next : sccTargets[scc]) {
+                if (next == target) {
+                    return true;
+                }
+                if (visited[next] != epoch && mayReach(next, target)) {
+                    if (isTreeDescendant(next, target)) {
+                        return true;
+                    }
+                    visited[next] = epoch;
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns false if the target SCC is certainly not reachable from the source SCC; a necessary condition of
+     * reachability is that the source comes later in the topological order, has a greater height and its label
+     * intervals contain those of the target.
+     */
+    private boolean mayReach(int source, int target) {
+        if (source < target || height[source] <= height[target]) {
+            return false;
+        }
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            if (low[i][source] > low[i][target] || post[i][target] > post[i][source]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isTreeDescendant(int source, int target) {
+        return pre[source] <= pre[target] && post[0][target] <= post[0][source];
+    }
+
+    private Set<V> collectReachable(V node, boolean forward) {
+        if (dirty) {
+            rebuild();
+        }
+        Set<V> result = new HashSet<V>();
+        Integer id = ids.get(node);
+        if (id == null) {
+            if (GraphHelper.getEdgeCount(node, gds) > 0) {
+                result.add(node);
+            }
+            return result;
+        }
+        int start = component[id];
+        if (sccStart[start + 1] - sccStart[start] > 1 || GraphHelper.getEdgeCount(node, gds) > 0) {
+            addMembers(start, result);
+        }
+        int[][] adjacency = forward ? sccTargets : sccSources;
+        epoch++;
+        int[] stack = new int[8];
+        int size = 0;
+        stack[size++] = start;
+        visited[start] = epoch;
+        while (size > 0) {
+            int scc = stack[--size];
+            for (int next : adjacency[scc]) {
+                if (visited[next] != epoch) {
+                    visited[next] = epoch;
+                    addMembers(next, result);
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = next;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addMembers(int scc, Set<V> result) {
+        for (int i = sccStart[scc]; i < sccStart[scc + 1]; i++) {
+            result.add(nodes.get(sccMembers[i]));
+        }
+    }
+
+    private void rebuild() {
+        int[][] targets = buildAdjacency();
+        int sccCount = computeSccs(targets);
+        buildCondensation(targets, sccCount);
+        computeHeights(sccCount);
+        low = new int[LABEL_COUNT][];
+        post = new int[LABEL_COUNT][];
+        pre = new int[sccCount];
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            computeLabel(i, sccCount);
+        }
+        visited = new int[sccCount];
+        epoch = 0;
+        dirty = false;
+    }
+
+    private int[][] buildAdjacency() {
+        ids = new HashMap<V, Integer>();
+        nodes = new ArrayList<V>();
+        for (V node : gds.getAllNodes()) {
+            idOf(node);
+        }
+        List<int[]> adjacency = new ArrayList<int[]>();
+        for (int i = 0; i < nodes.size(); i++) {
+            List<V> targets = gds.getTargetNodes(nodes.get(i));
+            int[] targetIds = new int[targets == null ? 0 : targets.size()];
+            for (int j = 0; j < targetIds.length; j++) {
+                targetIds[j] = idOf(targets.get(j));
+            }
+            adjacency.add(targetIds);
+        }
+        return adjacency.toArray(new int[adjacency.size()][]);
+    }
+
+    private int idOf(V node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            id = nodes.size();
+            ids.put(node, id);
+            nodes.add(node);
+        }
+        return id;
+    }
+
+    /**
+     * Iterative Tarjan algorithm; SCCs are numbered in the order they are completed, which is a reverse topological
+     * order of the condensation.
+     */
+    private int computeSccs(int[][] targets) {
+        int n = targets.length;
+        component = new int[n];
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] sccStack = new int[n];
+        int sccStackSize = 0;
+        int[] callStack = new int[n];
+        int[] edgePosition = new int[n];
+        int nextIndex = 0;
+        int sccCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            sccStack[sccStackSize++] = root;
+            onStack[root] = true;
+            edgePosition[root] = 0;
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (edgePosition[node] < targets[node].length) {
+                    int next = targets[node][edgePosition[node]++];
+                    if (index[next] == -1) {
+                        index[next] = lowLink[next] = nextIndex++;
+                        sccStack[sccStackSize++] = next;
+                        onStack[next] = true;
+                        edgePosition[next] = 0;
+                        callStack[depth++] = next;
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                } else {
+                    depth--;
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                    }
+                    if (lowLink[node] == index[node]) {
+                        int member;
+                        do {
+                            member = sccStack[--sccStackSize];
+                            onStack[member] = false;
+                            component[member] = sccCount;
+                        } while (member != node);
+                        sccCount++;
+                    }
+                }
+            }
+        }
+        return sccCount;
+    }
+
+    private void buildCondensation(int[][] targets, int sccCount) {
+        int n = targets.length;
+        sccStart = new int[sccCount + 1];
+        for (int i = 0; i < n; i++) {
+            sccStart[component[i] + 1]++;
+        }
+        for (int c = 0; c < sccCount; c++) {
+            sccStart[c + 1] += sccStart[c];
+        }
+        sccMembers = new int[n];
+        int[] fill = Arrays.copyOf(sccStart, sccCount);
+        for (int i = 0; i < n; i++) {
+            sccMembers[fill[component[i]]++] = i;
+        }
+
+        // distinct condensation edges, using the marks to filter duplicates
+        int[] mark = new int[sccCount];
+        Arrays.fill(mark, -1);
+        int[] sourceCount = new int[sccCount];
+        sccTargets = new int[sccCount][];
+        int[] buffer = new int[8];
+        for (int c = 0; c < sccCount; c++) {
+            int size = 0;
+            for (int i = sccStart[c]; i < sccStart[c + 1]; i++) {
+                for (int target : targets[sccMembers[i]]) {
+                    int targetScc = component[target];
+                    if (targetScc != c && mark[targetScc] != c) {
+                        mark[targetScc] = c;
+                        if (size == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, size * 2);
+                        }
+                        buffer[size++] = targetScc;
+                        sourceCount[targetScc]++;
+                    }
+                }
+            }
+            sccTargets[c] = Arrays.copyOf(buffer, size);
+        }
+        sccSources = new int[sccCount][];
+        for (int c = 0; c < sccCount; c++) {
+            sccSources[c] = new int[sourceCount[c]];
+            sourceCount[c] = 0;
+        }
+        for (int c = 0; c < sccCount; c++) {
+            for (int target : sccTargets[c]) {
+                sccSources[target][sourceCount[target]++] = c;
+            }
+        }
+    }
+
+    private void computeHeights(int sccCount) {
+        height = new int[sccCount];
+        // targets always have smaller ids
+        for (int c = 0; c < sccCount; c++) {
+            int h = 0;
+            for (int target : sccTargets[c]) {
+                h = Math.max(h, height[target] + 1);
+            }
+            height[c] = h;
+        }
+    }
+
+    /**
+     * Computes a GRAIL interval label with a depth-first traversal of the condensation from its roots, visiting the
+     * children in a random order (except for the first label). The label of an SCC is [low, post], where post is its
+     * post-order rank and low is the minimum rank among its descendants; if the target is reachable from the source,
+     * its interval is contained in that of the source.
+     */
+    private void computeLabel(int label, int sccCount) {
+        int[] labelLow = new int[sccCount];
+        int[] labelPost = new int[sccCount];
+        Arrays.fill(labelPost, -1);
+        int[] callStack = new int[sccCount];
+        int[] edgePosition = new int[sccCount];
+        int[][] order = label == 0 ? sccTargets : shuffledTargets(sccCount);
+        int[] roots = new int[sccCount];
+        int rootCount = 0;
+        // roots in decreasing id order, so the first traversal follows the topological order
+        for (int c = sccCount - 1; c >= 0; c--) {
+            if (sccSources[c].length == 0) {
+                roots[rootCount++] = c;
+            }
+        }
+        if (label != 0) {
+            shuffle(roots, rootCount);
+        }
+        int nextPre = 0;
+        int nextPost = 0;
+        for (int r = 0; r < rootCount; r++) {
+            int root = roots[r];
+            int depth = 0;
+            callStack[depth++] = root;
+            edgePosition[root] = 0;
+            labelLow[root] = Integer.MAX_VALUE;
+            // a traversed, but not yet finished SCC has post rank -2
+            labelPost[root] = -2;
+            if (label == 0) {
+                pre[root] = nextPre++;
+            }
+            while (depth > 0) {
+                int scc = callStack[depth - 1];
+                if (edgePosition[scc] < order[scc].length) {
+                    int next = order[scc][edgePosition[scc]++];
+                    if (labelPost[next] == -1) {
+                        labelLow[next] = Integer.MAX_VALUE;
+                        labelPost[next] = -2;
+                        edgePosition[next] = 0;
+                        callStack[depth++] = next;
+                        if (label == 0) {
+                            pre[next] = nextPre++;
+                        }
+                    } else {
+                        labelLow[scc] = Math.min(labelLow[scc], labelLow[next]);
+                    }
+                } else {
+                    depth--;
+                    labelPost[scc] = nextPost++;
+                    labelLow[scc] = Math.min(labelLow[scc], labelPost[scc]);
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        labelLow[parent] = Math.min(labelLow[parent], labelLow[scc]);
+                    }
+                }
+            }
+        }
+        low[label] = labelLow;
+        post[label] = labelPost;
+    }
+
+    private int[][] shuffledTargets(int sccCount) {
+        int[][] shuffled = new int[sccCount][];
+        for (int c = 0; c < sccCount; c++) {
+            shuffled[c] = sccTargets[c].clone();
+            shuffle(shuffled[c], shuffled[c].length);
+        }
+        return shuffled;
+    }
+
+    private void shuffle(int[] array, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
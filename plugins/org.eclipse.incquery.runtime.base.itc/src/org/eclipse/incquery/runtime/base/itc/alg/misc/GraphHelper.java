@@ -17,8 +17,11 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 
 /**
  * Utility class for graph related operations.
@@ -166,4 +169,86 @@ public class GraphHelper {
             return count;
         }
     }
+
+    /**
+     * Smallest batch for which recomputing the transitive closure is considered instead of incremental maintenance.
+     */
+    private static final int MIN_RECOMPUTATION_BATCH_SIZE = 64;
+
+    /**
+     * Returns whether a batch of edge changes of the given size should be handled by recomputing the transitive
+     * closure from scratch, instead of maintaining it incrementally edge by edge. Recomputation is linear in the size
+     * of the graph (and of the closure), so it is preferred when the batch is large compared to the number of nodes.
+     * 
+     * @param batchSize the number of changed edges
+     * @param graphDataSource the graph data source
+     * @return true if recomputation is expected to be cheaper
+     * @since 1.2
+     */
+    public static boolean isRecomputationPreferred(int batchSize, IGraphDataSource<?> graphDataSource) {
+        if (batchSize < MIN_RECOMPUTATION_BATCH_SIZE) {
+            return false;
+        }
+        Set<?> nodes = graphDataSource.getAllNodes();
+        return nodes == null || batchSize * 4 >= nodes.size();
+    }
+
+    /**
+     * Splits the given observers according to whether they want to process a batch of the given size at once.
+     * 
+     * @param observers the observers of a graph data source
+     * @param batchSize the number of changed edges
+     * @param edgeObservers the observers to notify edge by edge are added to this list
+     * @return the observers to notify about the whole batch
+     * @since 1.2
+     */
+    public static <V> List<IBatchGraphObserver<V>> partitionObservers(List<IGraphObserver<V>> observers, int batchSize,
+            List<IGraphObserver<V>> edgeObservers) {
+        List<IBatchGraphObserver<V>> batchObservers = new ArrayList<IBatchGraphObserver<V>>();
+        for (IGraphObserver<V> observer : observers) {
+            if (observer instanceof IBatchGraphObserver<?>
+                    && ((IBatchGraphObserver<V>) observer).isBatchPreferred(batchSize)) {
+                batchObservers.add((IBatchGraphObserver<V>) observer);
+            } else {
+                edgeObservers.add(observer);
+            }
+        }
+        return batchObservers;
+    }
+
+    /**
+     * Notifies the observers about the tuples of the new transitive closure relation missing from the old one and
+     * vice versa. The relations are compared source by source, so that neither of them has to be copied.
+     * 
+     * @param oldTc the relation before the change
+     * @param newTc the relation after the change
+     * @param observers the observers to notify
+     * @param skipReflexive if true, no notifications are issued for tuples with equal source and target
+     * @since 1.2
+     */
+    public static <V> void notifyTcDifference(ITcRelation<V> oldTc, ITcRelation<V> newTc,
+            List<ITcObserver<V>> observers, boolean skipReflexive) {
+        for (V source : oldTc.getTupleStarts()) {
+            Set<V> newTargets = newTc.getTupleEnds(source);
+            for (V target : oldTc.getTupleEnds(source)) {
+                if ((newTargets == null || !newTargets.contains(target))
+                        && !(skipReflexive && source.equals(target))) {
+                    for (ITcObserver<V> observer : observers) {
+                        observer.tupleDeleted(source, target);
+                    }
+                }
+            }
+        }
+        for (V source : newTc.getTupleStarts()) {
+            Set<V> oldTargets = oldTc.getTupleEnds(source);
+            for (V target : newTc.getTupleEnds(source)) {
+                if ((oldTargets == null || !oldTargets.contains(target))
+                        && !(skipReflexive && source.equals(target))) {
+                    for (ITcObserver<V> observer : observers) {
+                        observer.tupleInserted(source, target);
+                    }
+                }
+            }
+        }
+    }
 }
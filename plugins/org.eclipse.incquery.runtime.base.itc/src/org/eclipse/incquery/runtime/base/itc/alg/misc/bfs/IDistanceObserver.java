@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.itc.alg.misc.bfs;
+
+/**
+ * Interface for observing the shortest distances maintained by a {@link WitnessPathIndex}.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph data source
+ */
+public interface IDistanceObserver<V> {
+
+    /**
+     * Used to notify when the shortest distance between a registered source and a target has changed. The index is
+     * already updated when this method is called.
+     *
+     * @param source
+     *            the registered source node
+     * @param target
+     *            the target node
+     * @param oldDistance
+     *            the previous distance, or -1 if the target was not reachable
+     * @param newDistance
+     *            the new distance, or -1 if the target is no longer reachable
+     */
+    public void distanceChanged(V source, V target, int oldDistance, int newDistance);
+}
@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.itc.alg.misc.bfs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalWrapper;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+
+/**
+ * Incrementally maintained shortest path trees for a set of registered source nodes. The tree of a source stores the
+ * breadth-first distance and the parent of each node reachable from the source by a non-empty path, so a shortest
+ * witness path can be returned in time linear in the length of the path. The source itself is only part of its tree if
+ * it lies on a cycle. Optionally, only the paths up to a maximal length are maintained.
+ *
+ * <p>
+ * An edge insertion relaxes the distances downstream of the inserted edge. An edge deletion only affects the nodes
+ * whose tree path contains the deleted edge: these are detached from the tree and reattached in the order of their new
+ * distances, using their remaining incoming edges (see Ramalingam and Reps, An incremental algorithm for a
+ * generalization of the shortest-path problem). The changes of the distances are reported to the attached
+ * {@link IDistanceObserver}s. The trees are indexed by the nodes they contain, so an edge change only visits the trees
+ * that it can affect.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph data source
+ */
+public class WitnessPathIndex<V> implements IGraphObserver<V> {
+
+    private final IGraphDataSource<V> graphDataSource;
+    private final IBiDirectionalGraphDataSource<V> gds;
+    private final int maxDepth;
+    private final Map<V, WitnessTree<V>> trees;
+    private final Map<V, Set<WitnessTree<V>>> treesByNode;
+    private final List<IDistanceObserver<V>> observers;
+
+    public WitnessPathIndex(IGraphDataSource<V> graphDataSource) {
+        this(graphDataSource, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxDepth
+     *            the maximal length of the maintained paths; farther nodes are considered unreachable
+     */
+    public WitnessPathIndex(IGraphDataSource<V> graphDataSource, int maxDepth) {
+        this.graphDataSource = graphDataSource;
+        if (graphDataSource instanceof IBiDirectionalGraphDataSource<?>) {
+            this.gds = (IBiDirectionalGraphDataSource<V>) graphDataSource;
+        } else {
+            // attached before this index, so the backward edges are up to date when this index is notified
+            this.gds = new IBiDirectionalWrapper<V>(graphDataSource);
+        }
+        this.maxDepth = maxDepth;
+        this.trees = new HashMap<V, WitnessTree<V>>();
+        this.treesByNode = new HashMap<V, Set<WitnessTree<V>>>();
+        this.observers = new ArrayList<IDistanceObserver<V>>();
+        this.gds.attachObserver(this);
+    }
+
+    public void attachObserver(IDistanceObserver<V> observer) {
+        observers.add(observer);
+    }
+
+    public void detachObserver(IDistanceObserver<V> observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Starts maintaining the shortest paths from the given source. Registering an already registered source has no
+     * effect.
+     *
+     * @param source
+     *            the source node
+     */
+    public void registerSource(V source) {
+        if (!trees.containsKey(source)) {
+            WitnessTree<V> tree = new WitnessTree<V>(source, maxDepth, treesByNode);
+            trees.put(source, tree);
+            tree.index(source);
+            Map<V, Integer> changes = new LinkedHashMap<V, Integer>();
+            tree.relax(source, gds, changes);
+            notifyObservers(tree, changes);
+        }
+    }
+
+    /**
+     * Stops maintaining the shortest paths from the given source.
+     *
+     * @param source
+     *            the source node
+     */
+    public void unregisterSource(V source) {
+        WitnessTree<V> tree = trees.remove(source);
+        if (tree != null) {
+            tree.unindex(source);
+            for (Entry<V, Integer> entry : tree.distance.entrySet()) {
+                tree.unindex(entry.getKey());
+                for (IDistanceObserver<V> observer : observers) {
+                    observer.distanceChanged(source, entry.getKey(), entry.getValue(), -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the paths from the given source are maintained
+     */
+    public boolean isRegistered(V source) {
+        return trees.containsKey(source);
+    }
+
+    /**
+     * @return the registered sources
+     */
+    public Set<V> getRegisteredSources() {
+        return Collections.unmodifiableSet(trees.keySet());
+    }
+
+    /**
+     * Returns a shortest path from the source to the target. If the source and the target are the same, a shortest
+     * cycle through the source is returned.
+     *
+     * @param source
+     *            a registered source node
+     * @param target
+     *            the target node
+     * @return the nodes of the path, starting with the source and ending with the target, or null if the target is not
+     *         reachable from the source
+     * @throws IllegalArgumentException
+     *             if the source is not registered
+     */
+    public List<V> getWitnessPath(V source, V target) {
+        WitnessTree<V> tree = getTree(source);
+        Integer targetDistance = tree.distance.get(target);
+        if (targetDistance == null) {
+            return null;
+        }
+        List<V> path = new ArrayList<V>(targetDistance + 1);
+        V node = target;
+        path.add(node);
+        do {
+            node = tree.parent.get(node);
+            path.add(node);
+        } while (!node.equals(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the length of the shortest non-empty path from the source to the target.
+     *
+     * @param source
+     *            a registered source node
+     * @param target
+     *            the target node
+     * @return the number of edges on a shortest path, or -1 if the target is not reachable from the source
+     * @throws IllegalArgumentException
+     *             if the source is not registered
+     */
+    public int getDistance(V source, V target) {
+        Integer distance = getTree(source).distance.get(target);
+        return distance == null ? -1 : distance;
+    }
+
+    /**
+     * Returns the nodes reachable from the source with their shortest distances.
+     *
+     * @param source
+     *            a registered source node
+     * @return an unmodifiable view of the distances
+     * @throws IllegalArgumentException
+     *             if the source is not registered
+     */
+    public Map<V, Integer> getDistances(V source) {
+        return Collections.unmodifiableMap(getTree(source).distance);
+    }
+
+    private WitnessTree<V> getTree(V source) {
+        WitnessTree<V> tree = trees.get(source);
+        if (tree == null) {
+            throw new IllegalArgumentException("Source " + source + " is not registered for witness paths");
+        }
+        return tree;
+    }
+
+    @Override
+    public void edgeInserted(V source, V target) {
+        // only the trees containing the source can be extended by the edge
+        for (WitnessTree<V> tree : getTreesContaining(source)) {
+            Integer sourceDistance = tree.parentDistance(source);
+            if (sourceDistance < maxDepth) {
+                Integer targetDistance = tree.distance.get(target);
+                if (targetDistance == null || targetDistance > sourceDistance + 1) {
+                    Map<V, Integer> changes = new LinkedHashMap<V, Integer>();
+                    tree.update(target, source, sourceDistance + 1, changes);
+                    tree.relax(target, gds, changes);
+                    notifyObservers(tree, changes);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void edgeDeleted(V source, V target) {
+        if (GraphHelper.getEdgeCount(source, target, gds) > 0) {
+            // a parallel edge remains, the trees are still valid
+            return;
+        }
+        // only the trees containing the target can use the edge as a tree edge
+        for (WitnessTree<V> tree : getTreesContaining(target)) {
+            if (source.equals(tree.parent.get(target))) {
+                Map<V, Integer> changes = new LinkedHashMap<V, Integer>();
+                tree.reattachSubtree(target, gds, changes);
+                notifyObservers(tree, changes);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the trees containing the given node, as the updates of the trees change the index.
+     */
+    private List<WitnessTree<V>> getTreesContaining(V node) {
+        Set<WitnessTree<V>> containing = treesByNode.get(node);
+        if (containing == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<WitnessTree<V>>(containing);
+    }
+
+    @Override
+    public void nodeInserted(V n) {
+        // a new node is isolated, it is not reachable from any source
+    }
+
+    @Override
+    public void nodeDeleted(V n) {
+        // the edges of the node have already been deleted, so it is not part of any tree
+    }
+
+    /**
+     * Call this method to properly dispose the data structures of the index.
+     */
+    public void dispose() {
+        gds.detachObserver(this);
+        if (gds != graphDataSource) {
+            graphDataSource.detachObserver((IGraphObserver<V>) gds);
+        }
+        trees.clear();
+        treesByNode.clear();
+        observers.clear();
+    }
+
+    /**
+     * Reports the changed distances, given the distances before the changes.
+     */
+    private void notifyObservers(WitnessTree<V> tree, Map<V, Integer> oldDistances) {
+        if (observers.isEmpty()) {
+            return;
+        }
+        for (Entry<V, Integer> entry : oldDistances.entrySet()) {
+            Integer newDistance = tree.distance.get(entry.getKey());
+            int oldValue = entry.getValue() == null ? -1 : entry.getValue();
+            int newValue = newDistance == null ? -1 : newDistance;
+            if (oldValue != newValue) {
+                for (IDistanceObserver<V> observer : observers) {
+                    observer.distanceChanged(tree.root, entry.getKey(), oldValue, newValue);
+                }
+            }
+        }
+    }
+
+    private static final class WitnessTree<V> {
+
+        private final V root;
+        private final int maxDepth;
+        private final Map<V, Integer> distance;
+        private final Map<V, V> parent;
+        private final Map<V, Set<WitnessTree<V>>> treesByNode;
+
+        WitnessTree(V root, int maxDepth, Map<V, Set<WitnessTree<V>>> treesByNode) {
+            this.root = root;
+            this.maxDepth = maxDepth;
+            this.distance = new HashMap<V, Integer>();
+            this.parent = new HashMap<V, V>();
+            this.treesByNode = treesByNode;
+        }
+
+        /**
+         * Records that the tree contains the given node.
+         */
+        void index(V node) {
+            Set<WitnessTree<V>> containing = treesByNode.get(node);
+            if (containing == null) {
+                containing = new HashSet<WitnessTree<V>>();
+                treesByNode.put(node, containing);
+            }
+            containing.add(this);
+        }
+
+        /**
+         * Records that the tree no longer contains the given node.
+         */
+        void unindex(V node) {
+            Set<WitnessTree<V>> containing = treesByNode.get(node);
+            if (containing != null && containing.remove(this) && containing.isEmpty()) {
+                treesByNode.remove(node);
+            }
+        }
+
+        /**
+         * Returns the distance of the given node as the start of a path, which is 0 for the root, even if it lies on
+         * a cycle, or null if the node is not reachable.
+         */
+        Integer parentDistance(V node) {
+            return root.equals(node) ? Integer.valueOf(0) : distance.get(node);
+        }
+
+        /**
+         * Sets the distance and the parent of a node, recording its previous distance in the changes.
+         */
+        void update(V node, V newParent, Integer newDistance, Map<V, Integer> changes) {
+            Integer oldDistance = distance.get(node);
+            if (!changes.containsKey(node)) {
+                changes.put(node, oldDistance);
+            }
+            if (newDistance == null) {
+                distance.remove(node);
+                parent.remove(node);
+                // the root stays indexed while the tree is registered
+                if (oldDistance != null && !root.equals(node)) {
+                    unindex(node);
+                }
+            } else {
+                distance.put(node, newDistance);
+                parent.put(node, newParent);
+                if (oldDistance == null && !root.equals(node)) {
+                    index(node);
+                }
+            }
+        }
+
+        /**
+         * Propagates the (decreased) distance of the given node to the nodes reachable from it.
+         */
+        void relax(V start, IGraphDataSource<V> gds, Map<V, Integer> changes) {
+            Deque<V> queue = new ArrayDeque<V>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                V node = queue.poll();
+                int nextDistance = parentDistance(node) + 1;
+                List<V> targets = gds.getTargetNodes(node);
+                if (targets != null && nextDistance <= maxDepth) {
+                    for (V target : targets) {
+                        Integer targetDistance = distance.get(target);
+                        if (targetDistance == null || targetDistance > nextDistance) {
+                            update(target, node, nextDistance, changes);
+                            queue.add(target);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Detaches the subtree of the given node, whose incoming tree edge has been deleted, and reattaches its nodes
+         * with their new shortest distances; the nodes that cannot be reattached are no longer reachable.
+         */
+        void reattachSubtree(V subtreeRoot, IBiDirectionalGraphDataSource<V> gds, Map<V, Integer> changes) {
+            Set<V> affected = new HashSet<V>();
+            Deque<V> queue = new ArrayDeque<V>();
+            affected.add(subtreeRoot);
+            queue.add(subtreeRoot);
+            while (!queue.isEmpty()) {
+                V node = queue.poll();
+                // the children of the root are attached to the start of the paths, not to the root on a cycle
+                List<V> targets = root.equals(node) ? null : gds.getTargetNodes(node);
+                if (targets != null) {
+                    for (V target : targets) {
+                        if (node.equals(parent.get(target)) && affected.add(target)) {
+                            queue.add(target);
+                        }
+                    }
+                }
+            }
+            for (V node : affected) {
+                update(node, null, null, changes);
+            }
+
+            PriorityQueue<Candidate<V>> candidates = new PriorityQueue<Candidate<V>>();
+            for (V node : affected) {
+                List<V> sources = gds.getSourceNodes(node);
+                if (sources != null) {
+                    for (V source : sources) {
+                        Integer sourceDistance = parentDistance(source);
+                        if (sourceDistance != null && sourceDistance < maxDepth) {
+                            candidates.add(new Candidate<V>(node, source, sourceDistance + 1));
+                        }
+                    }
+                }
+            }
+            while (!candidates.isEmpty()) {
+                Candidate<V> candidate = candidates.poll();
+                if (distance.containsKey(candidate.node)) {
+                    continue;
+                }
+                update(candidate.node, candidate.parent, candidate.distance, changes);
+                List<V> targets = root.equals(candidate.node) ? null : gds.getTargetNodes(candidate.node);
+                if (targets != null && candidate.distance < maxDepth) {
+                    for (V target : targets) {
+                        if (affected.contains(target) && !distance.containsKey(target)) {
+                            candidates.add(new Candidate<V>(target, candidate.node, candidate.distance + 1));
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "WitnessTree(" + root + ")";
+        }
+    }
+
+    private static final class Candidate<V> implements Comparable<Candidate<V>> {
+
+        private final V node;
+        private final V parent;
+        private final int distance;
+
+        Candidate(V node, V parent, int distance) {
+            this.node = node;
+            this.parent = parent;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate<V> other) {
+            return distance < other.distance ? -1 : (distance == other.distance ? 0 : 1);
+        }
+    }
+}
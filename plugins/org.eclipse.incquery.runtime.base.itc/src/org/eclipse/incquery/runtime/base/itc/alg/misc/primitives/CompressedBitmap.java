@@ -0,0 +1,537 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.alg.misc.primitives;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A compressed set of non-negative ints in the style of Roaring bitmaps. The values are partitioned into chunks of
+ * 2^16 by their high 16 bits; a sparse chunk is stored as a sorted array of its low 16 bits, a dense chunk (more than
+ * {@value #ARRAY_LIMIT} values) as a plain bitmap of 2^16 bits. Empty chunks are not stored at all.
+ *
+ * <p>
+ * Besides single element operations, the bitmap supports bulk union, intersection and difference, processed chunk by
+ * chunk.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class CompressedBitmap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximal number of values in a chunk stored as a sorted array
+     */
+    public static final int ARRAY_LIMIT = 4096;
+
+    /**
+     * Iterates over the values of a bitmap in increasing order, without boxing.
+     */
+    public interface IntIterator {
+        boolean hasNext();
+
+        int next();
+    }
+
+    // sorted high 16 bits of the chunks
+    private char[] keys = new char[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int chunkCount = 0;
+
+    public CompressedBitmap() {
+    }
+
+    private CompressedBitmap(int capacity) {
+        keys = new char[Math.max(capacity, 1)];
+        chunks = new Chunk[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @return true if the value was not contained before
+     */
+    public boolean add(int value) {
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new ArrayChunk());
+        }
+        Chunk chunk = chunks[index];
+        if (!chunk.add((char) value)) {
+            return false;
+        }
+        if (chunk instanceof ArrayChunk && chunk.cardinality() > ARRAY_LIMIT) {
+            chunks[index] = ((ArrayChunk) chunk).toBitmapChunk();
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the value was contained before
+     */
+    public boolean remove(int value) {
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Chunk chunk = chunks[index];
+        if (!chunk.remove((char) value)) {
+            return false;
+        }
+        if (chunk.cardinality() == 0) {
+            removeChunk(index);
+        } else if (chunk instanceof BitmapChunk && chunk.cardinality() <= ARRAY_LIMIT) {
+            chunks[index] = ((BitmapChunk) chunk).toArrayChunk();
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && chunks[index].contains((char) value);
+    }
+
+    public int getCardinality() {
+        int result = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            result += chunks[i].cardinality();
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    public void clear() {
+        keys = new char[4];
+        chunks = new Chunk[4];
+        chunkCount = 0;
+    }
+
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private int chunkIndex = 0;
+            private int high = 0;
+            private int position = -1;
+
+            {
+                advance();
+            }
+
+            private void advance() {
+                while (chunkIndex < chunkCount) {
+                    position = chunks[chunkIndex].nextPosition(position);
+                    if (position >= 0) {
+                        high = keys[chunkIndex] << 16;
+                        return;
+                    }
+                    chunkIndex++;
+                    position = -1;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return chunkIndex < chunkCount;
+            }
+
+            @Override
+            public int next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int result = high | chunks[chunkIndex].valueAt(position);
+                advance();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Adds all values of the other bitmap to this one.
+     */
+    public void or(CompressedBitmap other) {
+        for (int j = 0; j < other.chunkCount; j++) {
+            int index = indexOf(other.keys[j]);
+            if (index < 0) {
+                insertChunk(-index - 1, other.keys[j], other.chunks[j].copy());
+            } else {
+                chunks[index] = chunks[index].or(other.chunks[j]);
+            }
+        }
+    }
+
+    /**
+     * Removes all values of the other bitmap from this one.
+     */
+    public void andNot(CompressedBitmap other) {
+        int i = 0;
+        while (i < chunkCount) {
+            int j = other.indexOf(keys[i]);
+            if (j >= 0) {
+                Chunk chunk = chunks[i].andNot(other.chunks[j]);
+                if (chunk.cardinality() == 0) {
+                    removeChunk(i);
+                    continue;
+                }
+                chunks[i] = chunk;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Removes all values from this bitmap not contained in the other one.
+     */
+    public void and(CompressedBitmap other) {
+        int i = 0;
+        while (i < chunkCount) {
+            int j = other.indexOf(keys[i]);
+            if (j >= 0) {
+                Chunk chunk = chunks[i].and(other.chunks[j]);
+                if (chunk.cardinality() > 0) {
+                    chunks[i] = chunk;
+                    i++;
+                    continue;
+                }
+            }
+            removeChunk(i);
+        }
+    }
+
+    /**
+     * @return a new bitmap with the same values
+     */
+    public CompressedBitmap copy() {
+        CompressedBitmap result = new CompressedBitmap(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            result.keys[i] = keys[i];
+            result.chunks[i] = chunks[i].copy();
+        }
+        result.chunkCount = chunkCount;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof CompressedBitmap)) {
+            return false;
+        }
+        CompressedBitmap other = (CompressedBitmap) obj;
+        if (chunkCount != other.chunkCount) {
+            return false;
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            if (keys[i] != other.keys[i] || chunks[i].cardinality() != other.chunks[i].cardinality()
+                    || chunks[i].andNot(other.chunks[i]).cardinality() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        for (IntIterator it = iterator(); it.hasNext();) {
+            hash = 31 * hash + it.next();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (IntIterator it = iterator(); it.hasNext();) {
+            sb.append(it.next());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append("}").toString();
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int index, char key, Chunk chunk) {
+        if (chunkCount == keys.length) {
+            keys = Arrays.copyOf(keys, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    /**
+     * The low 16 bits of the values sharing the same high 16 bits. Bulk operations may return a chunk of a different
+     * representation, and may modify the receiver.
+     */
+    private abstract static class Chunk implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        abstract boolean add(char value);
+
+        abstract boolean remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        /**
+         * @return the position of the next value after the given position, or -1 if none
+         */
+        abstract int nextPosition(int position);
+
+        abstract int valueAt(int position);
+
+        abstract Chunk copy();
+
+        Chunk or(Chunk other) {
+            Chunk result = this;
+            for (int p = other.nextPosition(-1); p >= 0; p = other.nextPosition(p)) {
+                result.add((char) other.valueAt(p));
+                if (result instanceof ArrayChunk && result.cardinality() > ARRAY_LIMIT) {
+                    result = ((ArrayChunk) result).toBitmapChunk();
+                }
+            }
+            return result;
+        }
+
+        Chunk andNot(Chunk other) {
+            ArrayChunk result = new ArrayChunk();
+            for (int p = nextPosition(-1); p >= 0; p = nextPosition(p)) {
+                char value = (char) valueAt(p);
+                if (!other.contains(value)) {
+                    result.add(value);
+                }
+            }
+            return result.normalize();
+        }
+
+        Chunk and(Chunk other) {
+            Chunk smaller = cardinality() <= other.cardinality() ? this : other;
+            Chunk larger = smaller == this ? other : this;
+            ArrayChunk result = new ArrayChunk();
+            for (int p = smaller.nextPosition(-1); p >= 0; p = smaller.nextPosition(p)) {
+                char value = (char) smaller.valueAt(p);
+                if (larger.contains(value)) {
+                    result.add(value);
+                }
+            }
+            return result.normalize();
+        }
+    }
+
+    private static final class ArrayChunk extends Chunk {
+        private static final long serialVersionUID = 1L;
+
+        private char[] values = new char[4];
+        private int size = 0;
+
+        @Override
+        boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int nextPosition(int position) {
+            return position + 1 < size ? position + 1 : -1;
+        }
+
+        @Override
+        int valueAt(int position) {
+            return values[position];
+        }
+
+        @Override
+        Chunk copy() {
+            ArrayChunk result = new ArrayChunk();
+            result.values = Arrays.copyOf(values, Math.max(size, 4));
+            result.size = size;
+            return result;
+        }
+
+        Chunk normalize() {
+            return size > ARRAY_LIMIT ? toBitmapChunk() : this;
+        }
+
+        BitmapChunk toBitmapChunk() {
+            BitmapChunk result = new BitmapChunk();
+            for (int i = 0; i < size; i++) {
+                result.add(values[i]);
+            }
+            return result;
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] words = new long[1 << 10];
+        private int cardinality = 0;
+
+        @Override
+        boolean add(char value) {
+            long mask = 1L << value;
+            int index = value >>> 6;
+            if ((words[index] & mask) != 0) {
+                return false;
+            }
+            words[index] |= mask;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            long mask = 1L << value;
+            int index = value >>> 6;
+            if ((words[index] & mask) == 0) {
+                return false;
+            }
+            words[index] &= ~mask;
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int nextPosition(int position) {
+            int from = position + 1;
+            int index = from >>> 6;
+            if (index >= words.length) {
+                return -1;
+            }
+            long word = words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (index << 6) + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        @Override
+        int valueAt(int position) {
+            return position;
+        }
+
+        @Override
+        Chunk copy() {
+            BitmapChunk result = new BitmapChunk();
+            System.arraycopy(words, 0, result.words, 0, words.length);
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                long[] otherWords = ((BitmapChunk) other).words;
+                int newCardinality = 0;
+                for (int i = 0; i < words.length; i++) {
+                    words[i] |= otherWords[i];
+                    newCardinality += Long.bitCount(words[i]);
+                }
+                cardinality = newCardinality;
+                return this;
+            }
+            return super.or(other);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                long[] otherWords = ((BitmapChunk) other).words;
+                BitmapChunk result = new BitmapChunk();
+                int newCardinality = 0;
+                for (int i = 0; i < words.length; i++) {
+                    result.words[i] = words[i] & ~otherWords[i];
+                    newCardinality += Long.bitCount(result.words[i]);
+                }
+                result.cardinality = newCardinality;
+                return newCardinality > ARRAY_LIMIT ? result : result.toArrayChunk();
+            }
+            return super.andNot(other);
+        }
+
+        ArrayChunk toArrayChunk() {
+            ArrayChunk result = new ArrayChunk();
+            for (int p = nextPosition(-1); p >= 0; p = nextPosition(p)) {
+                result.add((char) p);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.alg.misc.primitives;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from long keys to non-negative int values, with linear probing. Used to index pairs of
+ * int ids without boxing, see {@link #pair(int, int)}.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class LongIntHashMap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntHashMap() {
+        allocate(64);
+    }
+
+    /**
+     * @return a key identifying the ordered pair of non-negative ints
+     */
+    public static long pair(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (keys.length - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the value associated with the key, or -1 if none
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            if (keys[i] == FREE) {
+                return -1;
+            } else if (keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        int mask = keys.length - 1;
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            if (keys[i] == FREE) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size * 2 > keys.length) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            } else if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the value previously associated with the key, or -1 if none
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        int oldValue = values[i];
+        size--;
+        // backward shift deletion keeps the probe sequences intact without tombstones
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = FREE;
+        return oldValue;
+    }
+
+    public void clear() {
+        allocate(64);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
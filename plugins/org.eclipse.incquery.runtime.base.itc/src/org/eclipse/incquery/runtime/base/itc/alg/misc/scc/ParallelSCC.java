@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.itc.alg.misc.scc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+
+/**
+ * Parallel computation of the Strongly Connected Components of a directed graph with the forward-backward
+ * decomposition: the SCC of a pivot node is the intersection of its forward and backward reachable sets, and the
+ * remaining SCCs lie entirely within the forward set, the backward set or the rest of the nodes, which are decomposed
+ * in parallel. Nodes without predecessors or successors are trimmed as singleton SCCs beforehand, and small parts are
+ * handed over to the sequential {@link SCC} algorithm.
+ *
+ * <p>
+ * The graph data source is read concurrently from multiple threads, so it must not be modified during the computation.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class ParallelSCC {
+
+    /**
+     * Parts with at most this number of nodes are decomposed sequentially.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private ParallelSCC() {
+    }
+
+    /**
+     * Computes the SCCs of the given graph on the given fork-join pool.
+     *
+     * @param g
+     *            the directed graph data source
+     * @param pool
+     *            the pool executing the decomposition
+     * @return the set of SCCs, the same as the sequential {@link SCC} algorithm computes
+     */
+    public static <V> SCCResult<V> computeSCC(IBiDirectionalGraphDataSource<V> g, ForkJoinPool pool) {
+        Queue<Set<V>> sccs = new ConcurrentLinkedQueue<Set<V>>();
+        pool.invoke(new DecompositionTask<V>(g, new HashSet<V>(g.getAllNodes()), sccs));
+        return new SCCResult<V>(new HashSet<Set<V>>(sccs), g);
+    }
+
+    private static final class DecompositionTask<V> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final IBiDirectionalGraphDataSource<V> g;
+        private final Set<V> nodes;
+        private final Queue<Set<V>> sccs;
+
+        DecompositionTask(IBiDirectionalGraphDataSource<V> g, Set<V> nodes, Queue<Set<V>> sccs) {
+            this.g = g;
+            this.nodes = nodes;
+            this.sccs = sccs;
+        }
+
+        @Override
+        protected void compute() {
+            if (nodes.size() <= SEQUENTIAL_THRESHOLD) {
+                if (!nodes.isEmpty()) {
+                    sccs.addAll(SCC.computeSCC(GraphHelper.getSubGraph(nodes, g)).getSccs());
+                }
+                return;
+            }
+
+            trim();
+            if (nodes.isEmpty()) {
+                return;
+            }
+
+            V pivot = nodes.iterator().next();
+            Set<V> forward = reach(pivot, true);
+            Set<V> backward = reach(pivot, false);
+
+            Set<V> scc = new HashSet<V>();
+            for (V node : forward.size() < backward.size() ? forward : backward) {
+                if (forward.contains(node) && backward.contains(node)) {
+                    scc.add(node);
+                }
+            }
+            sccs.add(scc);
+
+            Set<V> rest = new HashSet<V>();
+            for (V node : nodes) {
+                if (!forward.contains(node) && !backward.contains(node)) {
+                    rest.add(node);
+                }
+            }
+            forward.removeAll(scc);
+            backward.removeAll(scc);
+
+            invokeAll(new DecompositionTask<V>(g, forward, sccs), new DecompositionTask<V>(g, backward, sccs),
+                    new DecompositionTask<V>(g, rest, sccs));
+        }
+
+        /**
+         * Removes the nodes having no predecessors or no successors among the remaining nodes, as they cannot be part
+         * of a cycle.
+         */
+        private void trim() {
+            for (Iterator<V> iterator = nodes.iterator(); iterator.hasNext();) {
+                V node = iterator.next();
+                if (!hasNeighbourIn(g.getTargetNodes(node), node) || !hasNeighbourIn(g.getSourceNodes(node), node)) {
+                    iterator.remove();
+                    Set<V> scc = new HashSet<V>();
+                    scc.add(node);
+                    sccs.add(scc);
+                }
+            }
+        }
+
+        private boolean hasNeighbourIn(List<V> neighbours, V node) {
+            if (neighbours != null) {
+                for (V neighbour : neighbours) {
+                    if (!neighbour.equals(node) && nodes.contains(neighbour)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private Set<V> reach(V pivot, boolean forward) {
+            Set<V> visited = new HashSet<V>();
+            Deque<V> queue = new ArrayDeque<V>();
+            visited.add(pivot);
+            queue.add(pivot);
+            while (!queue.isEmpty()) {
+                V node = queue.poll();
+                List<V> neighbours = forward ? g.getTargetNodes(node) : g.getSourceNodes(node);
+                if (neighbours != null) {
+                    for (V neighbour : neighbours) {
+                        if (nodes.contains(neighbour) && visited.add(neighbour)) {
+                            queue.add(neighbour);
+                        }
+                    }
+                }
+            }
+            return visited;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.graphimpl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.primitives.LongIntHashMap;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
+import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
+
+/**
+ * A drop-in alternative of {@link Graph} for large graphs. Nodes are mapped to dense int ids (ids of deleted nodes are
+ * reused), and the adjacency of each node is stored in primitive arrays of distinct neighbour ids with the
+ * multiplicity of the parallel edges. Inserting and deleting an edge takes amortized constant time, independently of
+ * the degree of its end nodes.
+ *
+ * <p>
+ * The lists returned by {@link #getTargetNodes(Object)} and {@link #getSourceNodes(Object)} are read-only views
+ * containing each neighbour as many times as there are parallel edges (in no particular order); they must not be
+ * iterated while the graph is modified. Positional access takes constant time; if the node has parallel edges, the
+ * view expands the neighbour ids into an array on the first positional access after a modification.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ * @param <V>
+ *            the type of the nodes in the graph
+ */
+public class DenseGraph<V> implements IBiDirectionalGraphDataSource<V> {
+
+    private static final long serialVersionUID = 1L;
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<V, Integer> ids;
+    private Object[] nodes;
+    private int[] freeIds;
+    private int freeIdCount;
+    private int nextId;
+
+    private final Adjacency outgoing;
+    private final Adjacency incoming;
+    private final List<IGraphObserver<V>> observers;
+
+    public DenseGraph() {
+        this.ids = new HashMap<V, Integer>();
+        this.nodes = new Object[16];
+        this.freeIds = new int[16];
+        this.outgoing = new Adjacency();
+        this.incoming = new Adjacency();
+        this.observers = new ArrayList<IGraphObserver<V>>();
+    }
+
+    public void insertEdge(V source, V target) {
+        int sourceId = getOrCreateId(source);
+        int targetId = getOrCreateId(target);
+        outgoing.add(sourceId, targetId);
+        incoming.add(targetId, sourceId);
+
+        for (IGraphObserver<V> go : this.observers) {
+            go.edgeInserted(source, target);
+        }
+    }
+
+    /**
+     * Inserts a batch of edges. Observers preferring batch processing (see {@link IBatchGraphObserver}) are notified
+     * once after all edges are inserted, the other ones edge by edge.
+     * 
+     * @param edges
+     *            the edges to insert
+     */
+    public void insertEdges(Collection<Tuple<V>> edges) {
+        List<IGraphObserver<V>> edgeObservers = new ArrayList<IGraphObserver<V>>();
+        List<IBatchGraphObserver<V>> batchObservers = GraphHelper.partitionObservers(observers, edges.size(),
+                edgeObservers);
+
+        for (Tuple<V> edge : edges) {
+            int sourceId = getOrCreateId(edge.getSource());
+            int targetId = getOrCreateId(edge.getTarget());
+            outgoing.add(sourceId, targetId);
+            incoming.add(targetId, sourceId);
+            for (IGraphObserver<V> go : edgeObservers) {
+                go.edgeInserted(edge.getSource(), edge.getTarget());
+            }
+        }
+        for (IBatchGraphObserver<V> go : batchObservers) {
+            go.edgesInserted(edges);
+        }
+    }
+
+    public void deleteEdge(V source, V target) {
+        if (removeEdge(source, target)) {
+            for (IGraphObserver<V> go : this.observers) {
+                go.edgeDeleted(source, target);
+            }
+        }
+    }
+
+    /**
+     * Deletes a batch of edges. Observers preferring batch processing (see {@link IBatchGraphObserver}) are notified
+     * once after all edges are deleted, the other ones edge by edge. Edges not present in the graph are ignored.
+     * 
+     * @param edges
+     *            the edges to delete
+     */
+    public void deleteEdges(Collection<Tuple<V>> edges) {
+        List<IGraphObserver<V>> edgeObservers = new ArrayList<IGraphObserver<V>>();
+        List<IBatchGraphObserver<V>> batchObservers = GraphHelper.partitionObservers(observers, edges.size(),
+                edgeObservers);
+
+        List<Tuple<V>> deletedEdges = new ArrayList<Tuple<V>>(edges.size());
+        for (Tuple<V> edge : edges) {
+            if (removeEdge(edge.getSource(), edge.getTarget())) {
+                deletedEdges.add(edge);
+                for (IGraphObserver<V> go : edgeObservers) {
+                    go.edgeDeleted(edge.getSource(), edge.getTarget());
+                }
+            }
+        }
+        if (!deletedEdges.isEmpty()) {
+            for (IBatchGraphObserver<V> go : batchObservers) {
+                go.edgesDeleted(deletedEdges);
+            }
+        }
+    }
+
+    private boolean removeEdge(V source, V target) {
+        Integer sourceId = ids.get(source);
+        Integer targetId = ids.get(target);
+        if (sourceId == null || targetId == null || !outgoing.remove(sourceId, targetId)) {
+            return false;
+        }
+        incoming.remove(targetId, sourceId);
+        return true;
+    }
+
+    public void insertNode(V node) {
+        getOrCreateId(node);
+
+        for (IGraphObserver<V> go : this.observers) {
+            go.nodeInserted(node);
+        }
+    }
+
+    public void deleteNode(V node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            return;
+        }
+
+        // copies, as the adjacency arrays are modified by the deletions
+        for (V source : new ArrayList<V>(neighbours(incoming, id))) {
+            deleteEdge(source, node);
+        }
+        for (V target : new ArrayList<V>(neighbours(outgoing, id))) {
+            deleteEdge(node, target);
+        }
+
+        for (IGraphObserver<V> go : this.observers) {
+            go.nodeDeleted(node);
+        }
+
+        ids.remove(node);
+        nodes[id] = null;
+        outgoing.clear(id);
+        incoming.clear(id);
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeIdCount++] = id;
+    }
+
+    private int getOrCreateId(V node) {
+        Integer id = ids.get(node);
+        if (id != null) {
+            return id;
+        }
+        int newId = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        if (newId == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        nodes[newId] = node;
+        ids.put(node, newId);
+        return newId;
+    }
+
+    public void attachObserver(IGraphObserver<V> go) {
+        this.observers.add(go);
+    }
+
+    public void detachObserver(IGraphObserver<V> go) {
+        this.observers.remove(go);
+    }
+
+    @Override
+    public Set<V> getAllNodes() {
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    @Override
+    public List<V> getTargetNodes(V source) {
+        Integer id = ids.get(source);
+        return (id == null || outgoing.getDegree(id) == 0) ? null : neighbours(outgoing, id);
+    }
+
+    @Override
+    public List<V> getSourceNodes(V target) {
+        Integer id = ids.get(target);
+        return (id == null || incoming.getDegree(id) == 0) ? null : neighbours(incoming, id);
+    }
+
+    /**
+     * @return the number of edges between the given nodes
+     */
+    public int getEdgeCount(V source, V target) {
+        Integer sourceId = ids.get(source);
+        Integer targetId = ids.get(target);
+        return (sourceId == null || targetId == null) ? 0 : outgoing.getCount(sourceId, targetId);
+    }
+
+    private List<V> neighbours(final Adjacency adjacency, final int id) {
+        return new AbstractList<V>() {
+            // neighbour ids repeated according to the number of parallel edges, built on demand
+            private int[] expanded;
+            private int expandedModificationCount;
+
+            @Override
+            public int size() {
+                return adjacency.getDegree(id);
+            }
+
+            @Override
+            public V get(int index) {
+                int degree = adjacency.getDegree(id);
+                if (index < 0 || index >= degree) {
+                    throw new IndexOutOfBoundsException();
+                }
+                if (adjacency.getDistinctDegree(id) == degree) {
+                    // no parallel edges
+                    return node(adjacency.getNeighbours(id)[index]);
+                }
+                if (expanded == null || expandedModificationCount != adjacency.modificationCount) {
+                    expanded = expand();
+                    expandedModificationCount = adjacency.modificationCount;
+                }
+                return node(expanded[index]);
+            }
+
+            private int[] expand() {
+                int[] neighbourIds = adjacency.getNeighbours(id);
+                int[] counts = adjacency.getCounts(id);
+                int[] result = new int[adjacency.getDegree(id)];
+                int position = 0;
+                for (int i = 0; i < adjacency.getDistinctDegree(id); i++) {
+                    Arrays.fill(result, position, position + counts[i], neighbourIds[i]);
+                    position += counts[i];
+                }
+                return result;
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<V>() {
+                    private int slot = 0;
+                    private int repetition = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < adjacency.getDistinctDegree(id);
+                    }
+
+                    @Override
+                    public V next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        V result = node(adjacency.getNeighbours(id)[slot]);
+                        if (++repetition == adjacency.getCounts(id)[slot]) {
+                            slot++;
+                            repetition = 0;
+                        }
+                        return result;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private V node(int id) {
+        return (V) nodes[id];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("nodes = ");
+        for (V n : ids.keySet()) {
+            sb.append(n.toString() + " ");
+        }
+        sb.append(" edges = ");
+        for (V source : ids.keySet()) {
+            List<V> targets = getTargetNodes(source);
+            if (targets != null) {
+                for (V target : targets) {
+                    sb.append("(" + source + "," + target + ") ");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The adjacency of all nodes in one direction. For each node id, the distinct neighbour ids and the number of
+     * parallel edges are stored in growable arrays; the position of each (node, neighbour) pair in these arrays is
+     * indexed by a primitive hash map, so that removal can swap the last neighbour into the vacated position.
+     */
+    private static final class Adjacency implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int[][] neighbours = new int[16][];
+        private int[][] counts = new int[16][];
+        private int[] distinctDegrees = new int[16];
+        private int[] degrees = new int[16];
+        private final LongIntHashMap positions = new LongIntHashMap();
+        // incremented on each change, so that expanded neighbour arrays of views can be invalidated
+        private int modificationCount;
+
+        private void ensureCapacity(int id) {
+            if (id >= neighbours.length) {
+                int newLength = Math.max(neighbours.length * 2, id + 1);
+                neighbours = Arrays.copyOf(neighbours, newLength);
+                counts = Arrays.copyOf(counts, newLength);
+                distinctDegrees = Arrays.copyOf(distinctDegrees, newLength);
+                degrees = Arrays.copyOf(degrees, newLength);
+            }
+        }
+
+        void add(int id, int neighbour) {
+            ensureCapacity(id);
+            long key = key(id, neighbour);
+            int position = positions.get(key);
+            if (position >= 0) {
+                counts[id][position]++;
+            } else {
+                int size = distinctDegrees[id];
+                if (neighbours[id] == null) {
+                    neighbours[id] = new int[4];
+                    counts[id] = new int[4];
+                } else if (size == neighbours[id].length) {
+                    neighbours[id] = Arrays.copyOf(neighbours[id], size * 2);
+                    counts[id] = Arrays.copyOf(counts[id], size * 2);
+                }
+                neighbours[id][size] = neighbour;
+                counts[id][size] = 1;
+                positions.put(key, size);
+                distinctDegrees[id] = size + 1;
+            }
+            degrees[id]++;
+            modificationCount++;
+        }
+
+        boolean remove(int id, int neighbour) {
+            if (id >= neighbours.length) {
+                return false;
+            }
+            long key = key(id, neighbour);
+            int position = positions.get(key);
+            if (position < 0) {
+                return false;
+            }
+            if (--counts[id][position] == 0) {
+                int last = --distinctDegrees[id];
+                if (position != last) {
+                    neighbours[id][position] = neighbours[id][last];
+                    counts[id][position] = counts[id][last];
+                    positions.put(key(id, neighbours[id][position]), position);
+                }
+                positions.remove(key);
+            }
+            degrees[id]--;
+            modificationCount++;
+            return true;
+        }
+
+        void clear(int id) {
+            if (id < neighbours.length) {
+                neighbours[id] = null;
+                counts[id] = null;
+                modificationCount++;
+            }
+        }
+
+        int getCount(int id, int neighbour) {
+            int position = id < neighbours.length ? positions.get(key(id, neighbour)) : -1;
+            return position < 0 ? 0 : counts[id][position];
+        }
+
+        int getDegree(int id) {
+            return id < degrees.length ? degrees[id] : 0;
+        }
+
+        int getDistinctDegree(int id) {
+            return id < distinctDegrees.length ? distinctDegrees[id] : 0;
+        }
+
+        int[] getNeighbours(int id) {
+            return neighbours[id] == null ? EMPTY : neighbours[id];
+        }
+
+        int[] getCounts(int id) {
+            return counts[id] == null ? EMPTY : counts[id];
+        }
+
+        private static long key(int id, int neighbour) {
+            return LongIntHashMap.pair(id, neighbour);
+        }
+    }
+}
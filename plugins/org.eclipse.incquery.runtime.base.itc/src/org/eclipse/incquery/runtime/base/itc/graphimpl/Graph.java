@@ -12,11 +12,15 @@
 package org.eclipse.incquery.runtime.base.itc.graphimpl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.igraph.IBatchGraphObserver;
 import org.eclipse.incquery.runtime.base.itc.igraph.IBiDirectionalGraphDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.IGraphObserver;
@@ -35,6 +39,38 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
     }
 
     public void insertEdge(V source, V target) {
+        addEdge(source, target);
+
+        for (IGraphObserver<V> go : this.observers) {
+            go.edgeInserted(source, target);
+        }
+    }
+
+    /**
+     * Inserts a batch of edges. Observers preferring batch processing (see {@link IBatchGraphObserver}) are notified
+     * once after all edges are inserted, the other ones edge by edge.
+     * 
+     * @param edges
+     *            the edges to insert
+     * @since 1.2
+     */
+    public void insertEdges(Collection<Tuple<V>> edges) {
+        List<IGraphObserver<V>> edgeObservers = new ArrayList<IGraphObserver<V>>();
+        List<IBatchGraphObserver<V>> batchObservers = GraphHelper.partitionObservers(observers, edges.size(),
+                edgeObservers);
+
+        for (Tuple<V> edge : edges) {
+            addEdge(edge.getSource(), edge.getTarget());
+            for (IGraphObserver<V> go : edgeObservers) {
+                go.edgeInserted(edge.getSource(), edge.getTarget());
+            }
+        }
+        for (IBatchGraphObserver<V> go : batchObservers) {
+            go.edgesInserted(edges);
+        }
+    }
+
+    private void addEdge(V source, V target) {
         // insert nodes if necessary
         // if (!edgeList.containsKey(source)) {
         // this.insertNode(source);
@@ -60,14 +96,46 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
         } else {
             incomingEdges.add(source);
         }
+    }
 
-        for (IGraphObserver<V> go : this.observers) {
-            go.edgeInserted(source, target);
+    public void deleteEdge(V source, V target) {
+        if (removeEdge(source, target)) {
+            for (IGraphObserver<V> go : this.observers) {
+                go.edgeDeleted(source, target);
+            }
         }
     }
 
-    public void deleteEdge(V source, V target) {
+    /**
+     * Deletes a batch of edges. Observers preferring batch processing (see {@link IBatchGraphObserver}) are notified
+     * once after all edges are deleted, the other ones edge by edge. Edges not present in the graph are ignored.
+     * 
+     * @param edges
+     *            the edges to delete
+     * @since 1.2
+     */
+    public void deleteEdges(Collection<Tuple<V>> edges) {
+        List<IGraphObserver<V>> edgeObservers = new ArrayList<IGraphObserver<V>>();
+        List<IBatchGraphObserver<V>> batchObservers = GraphHelper.partitionObservers(observers, edges.size(),
+                edgeObservers);
+
+        List<Tuple<V>> deletedEdges = new ArrayList<Tuple<V>>(edges.size());
+        for (Tuple<V> edge : edges) {
+            if (removeEdge(edge.getSource(), edge.getTarget())) {
+                deletedEdges.add(edge);
+                for (IGraphObserver<V> go : edgeObservers) {
+                    go.edgeDeleted(edge.getSource(), edge.getTarget());
+                }
+            }
+        }
+        if (!deletedEdges.isEmpty()) {
+            for (IBatchGraphObserver<V> go : batchObservers) {
+                go.edgesDeleted(deletedEdges);
+            }
+        }
+    }
 
+    private boolean removeEdge(V source, V target) {
         boolean containedEdge = false;
         List<V> incomingEdges = edgeListReversed.get(target);
         if (incomingEdges != null) {
@@ -79,11 +147,7 @@ public class Graph<V> implements IGraphDataSource<V>, IBiDirectionalGraphDataSou
             outgoingEdges.remove(target);
         }
 
-        if (containedEdge) {
-            for (IGraphObserver<V> go : this.observers) {
-                go.edgeDeleted(source, target);
-            }
-        }
+        return containedEdge;
     }
 
     public void insertNode(V node) {
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.itc.igraph;
+
+import java.util.Collection;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+
+/**
+ * A graph observer that can process a batch of edge changes at once. When a graph data source applies a batch of edge
+ * changes, it first asks the observer with {@link #isBatchPreferred(int)} whether it wants to be notified about the
+ * whole batch; if so, the observer receives no per-edge notifications for the batch, but a single
+ * {@link #edgesInserted(Collection)} or {@link #edgesDeleted(Collection)} call after all edges have been applied.
+ * Otherwise, the observer is notified edge by edge as usual.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public interface IBatchGraphObserver<V> extends IGraphObserver<V> {
+
+    /**
+     * Returns whether the observer wants to process a batch of the given size at once, instead of edge by edge.
+     *
+     * @param batchSize
+     *            the number of edges in the batch
+     * @return true if the batch should be delivered with a single notification
+     */
+    public boolean isBatchPreferred(int batchSize);
+
+    /**
+     * Used to notify when a batch of edges has been inserted into the graph. The graph already contains all the edges
+     * when this method is called.
+     *
+     * @param edges
+     *            the inserted edges, parallel edges are present multiple times
+     */
+    public void edgesInserted(Collection<Tuple<V>> edges);
+
+    /**
+     * Used to notify when a batch of edges has been deleted from the graph. The graph already misses all the edges
+     * when this method is called.
+     *
+     * @param edges
+     *            the deleted edges, parallel edges are present multiple times
+     */
+    public void edgesDeleted(Collection<Tuple<V>> edges);
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.api;
+
+/**
+ * A snapshot of the metrics collected for a single EClass, EDataType or EStructuralFeature by a base index with index
+ * metrics enabled, see {@link BaseIndexOptions#withIndexMetrics(boolean)}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class BaseIndexMetricEntry {
+
+    private final String typeName;
+    private final long notificationCount;
+    private final long notificationProcessingNanos;
+    private final long insertionCount;
+    private final long removalCount;
+    private final long listenerDispatchNanos;
+    private final int indexSize;
+
+    public BaseIndexMetricEntry(String typeName, long notificationCount, long notificationProcessingNanos,
+            long insertionCount, long removalCount, long listenerDispatchNanos, int indexSize) {
+        this.typeName = typeName;
+        this.notificationCount = notificationCount;
+        this.notificationProcessingNanos = notificationProcessingNanos;
+        this.insertionCount = insertionCount;
+        this.removalCount = removalCount;
+        this.listenerDispatchNanos = listenerDispatchNanos;
+        this.indexSize = indexSize;
+    }
+
+    /**
+     * @return the unique name of the EClass, EDataType or EStructuralFeature
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return the number of EMF notifications received about the feature; always 0 for classifiers
+     */
+    public long getNotificationCount() {
+        return notificationCount;
+    }
+
+    /**
+     * @return the total time spent processing the EMF notifications about the feature, in nanoseconds
+     */
+    public long getNotificationProcessingNanos() {
+        return notificationProcessingNanos;
+    }
+
+    /**
+     * @return the number of insertions into the index
+     */
+    public long getInsertionCount() {
+        return insertionCount;
+    }
+
+    /**
+     * @return the number of removals from the index
+     */
+    public long getRemovalCount() {
+        return removalCount;
+    }
+
+    /**
+     * @return the total time spent in the base index listeners subscribed to the type, in nanoseconds
+     */
+    public long getListenerDispatchNanos() {
+        return listenerDispatchNanos;
+    }
+
+    /**
+     * @return the number of instances (or feature instances) currently stored in the index, 0 if not indexed
+     */
+    public int getIndexSize() {
+        return indexSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: notifications=%d (%.3f ms), insertions=%d, removals=%d, dispatch=%.3f ms, size=%d",
+                typeName, notificationCount, notificationProcessingNanos / 1e6, insertionCount, removalCount,
+                listenerDispatchNanos / 1e6, indexSize);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.api;
+
+/**
+ * JMX management interface of the metrics collected by a base index with index metrics enabled, see
+ * {@link BaseIndexOptions#withIndexMetrics(boolean)}. Each such index is registered in the platform MBean server under
+ * the domain <code>org.eclipse.incquery.runtime.base</code> until it is disposed or garbage collected.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public interface BaseIndexMetricsMBean {
+
+    /**
+     * @return the total number of EMF notifications received
+     */
+    public long getNotificationCount();
+
+    /**
+     * @return the total number of insertions into the index
+     */
+    public long getInsertionCount();
+
+    /**
+     * @return the total number of removals from the index
+     */
+    public long getRemovalCount();
+
+    /**
+     * @return the total time spent in base index listeners, in milliseconds
+     */
+    public long getListenerDispatchMillis();
+
+    /**
+     * @param n
+     *            the maximal number of lines to report
+     * @return a human-readable report of the n most expensive types, see {@link NavigationHelper#getIndexMetrics()}
+     */
+    public String reportTop(int n);
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset();
+
+}
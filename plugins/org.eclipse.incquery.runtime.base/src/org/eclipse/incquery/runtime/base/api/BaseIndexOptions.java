@@ -33,6 +33,25 @@ import com.google.common.base.Objects;
  * if duplicate EPackages with the same nsURI are encountered.
  * </p>
  * 
+ * <p>
+ * In <em>statistics mode</em>, the number of instances of each EClass, EDataType and EStructuralFeature is counted even
+ * if they are not indexed, so that query planners can estimate cardinalities cheaply. The counts are maintained
+ * incrementally, without storing the instances themselves. For each EStructuralFeature, the fan-out of its holders and
+ * values is also counted, which takes memory proportional to the number of distinct holders and values.
+ * </p>
+ * 
+ * <p>
+ * With <em>lazy resource indexing</em>, the resources of an indexed ResourceSet are skipped until they are demanded,
+ * see {@link NavigationHelper#indexResource(org.eclipse.emf.ecore.resource.Resource)}; each resource is then
+ * indexed incrementally, without re-traversing the rest of the model. Lookups only return the contents of the resources
+ * indexed so far; in particular, enumerating all instances of a type does not demand the pending resources.
+ * </p>
+ * 
+ * <p>
+ * With <em>index metrics</em> enabled, notifications, index updates and listener dispatch time are counted per type,
+ * see {@link NavigationHelper#getIndexMetrics()} and {@link BaseIndexMetricsMBean}.
+ * </p>
+ * 
  * @author Abel Hegedus
  * 
  * 
@@ -54,10 +73,34 @@ public class BaseIndexOptions {
      * By default, base indices will be constructed with dynamic EMF mode set as false.
      */
     protected static final boolean DYNAMIC_EMF_MODE_DEFAULT = false;
+    /**
+     * 
+     * By default, base indices will be constructed with concurrent read mode set as false.
+     */
+    protected static final boolean CONCURRENT_READ_MODE_DEFAULT = false;
+    /**
+     * 
+     * By default, base indices will be constructed with statistics mode set as false.
+     */
+    protected static final boolean STATISTICS_MODE_DEFAULT = false;
+    /**
+     * 
+     * By default, base indices will be constructed with lazy resource indexing set as false.
+     */
+    protected static final boolean LAZY_RESOURCE_INDEXING_DEFAULT = false;
+    /**
+     * 
+     * By default, base indices will be constructed with index metrics set as false.
+     */
+    protected static final boolean INDEX_METRICS_DEFAULT = false;
 
     protected boolean dynamicEMFMode = DYNAMIC_EMF_MODE_DEFAULT;
     protected boolean traverseOnlyWellBehavingDerivedFeatures = TRAVERS_ONLY_WELLBEHAVING_DERIVED_FEATURES_DEFAULT;
     protected boolean wildcardMode = WILDCARD_MODE_DEFAULT;
+    protected boolean concurrentReadMode = CONCURRENT_READ_MODE_DEFAULT;
+    protected boolean statisticsMode = STATISTICS_MODE_DEFAULT;
+    protected boolean lazyResourceIndexing = LAZY_RESOURCE_INDEXING_DEFAULT;
+    protected boolean indexMetrics = INDEX_METRICS_DEFAULT;
     protected IBaseIndexObjectFilter notifierFilterConfiguration;
     protected IBaseIndexResourceFilter resourceFilterConfiguration;
 
@@ -196,6 +239,86 @@ public class BaseIndexOptions {
         return wildcardMode;
     }
 
+    /**
+     * Returns a copy of the configuration with concurrent read mode set as specified.
+     * 
+     * @param concurrentReadMode
+     * @since 1.2
+     */
+    public BaseIndexOptions withConcurrentReadMode(boolean concurrentReadMode) {
+        BaseIndexOptions result = copy();
+        result.concurrentReadMode = concurrentReadMode;
+        return result;
+    }
+
+    /**
+     * @return whether the base index option has concurrent read mode set
+     * @since 1.2
+     */
+    public boolean isConcurrentReadMode() {
+        return concurrentReadMode;
+    }
+
+    /**
+     * Returns a copy of the configuration with statistics mode set as specified.
+     * 
+     * @param statisticsMode
+     * @since 1.2
+     */
+    public BaseIndexOptions withStatisticsMode(boolean statisticsMode) {
+        BaseIndexOptions result = copy();
+        result.statisticsMode = statisticsMode;
+        return result;
+    }
+
+    /**
+     * @return whether the base index option has statistics mode set
+     * @since 1.2
+     */
+    public boolean isStatisticsMode() {
+        return statisticsMode;
+    }
+
+    /**
+     * Returns a copy of the configuration with lazy resource indexing set as specified.
+     * 
+     * @param lazyResourceIndexing
+     * @since 1.2
+     */
+    public BaseIndexOptions withLazyResourceIndexing(boolean lazyResourceIndexing) {
+        BaseIndexOptions result = copy();
+        result.lazyResourceIndexing = lazyResourceIndexing;
+        return result;
+    }
+
+    /**
+     * @return whether the base index option has lazy resource indexing set
+     * @since 1.2
+     */
+    public boolean isLazyResourceIndexing() {
+        return lazyResourceIndexing;
+    }
+
+    /**
+     * Returns a copy of the configuration with index metrics set as specified.
+     * 
+     * @param indexMetrics
+     * @since 1.2
+     */
+    public BaseIndexOptions withIndexMetrics(boolean indexMetrics) {
+        BaseIndexOptions result = copy();
+        result.indexMetrics = indexMetrics;
+        return result;
+    }
+
+    /**
+     * @return whether the base index option has index metrics set
+     * @since 1.2
+     */
+    public boolean isIndexMetrics() {
+        return indexMetrics;
+    }
+
     /**
      * Creates an independent copy of itself. The values of each option will be the same as this options. This method is
      * used when a provided option must be copied to avoid external option changes afterward.
@@ -207,6 +330,10 @@ public class BaseIndexOptions {
         baseIndexOptions.traverseOnlyWellBehavingDerivedFeatures = this.traverseOnlyWellBehavingDerivedFeatures;
         baseIndexOptions.notifierFilterConfiguration = this.notifierFilterConfiguration;
         baseIndexOptions.resourceFilterConfiguration = this.resourceFilterConfiguration;
+        baseIndexOptions.concurrentReadMode = this.concurrentReadMode;
+        baseIndexOptions.statisticsMode = this.statisticsMode;
+        baseIndexOptions.lazyResourceIndexing = this.lazyResourceIndexing;
+        baseIndexOptions.indexMetrics = this.indexMetrics;
         return baseIndexOptions;
     }
 
@@ -226,6 +353,10 @@ public class BaseIndexOptions {
 		result = prime * result
 				+ (traverseOnlyWellBehavingDerivedFeatures ? 1231 : 1237);
 		result = prime * result + (wildcardMode ? 1231 : 1237);
+		result = prime * result + (concurrentReadMode ? 1231 : 1237);
+		result = prime * result + (statisticsMode ? 1231 : 1237);
+		result = prime * result + (lazyResourceIndexing ? 1231 : 1237);
+		result = prime * result + (indexMetrics ? 1231 : 1237);
 		return result;
 	}
 
@@ -256,6 +387,14 @@ public class BaseIndexOptions {
 			return false;
 		if (wildcardMode != other.wildcardMode)
 			return false;
+		if (concurrentReadMode != other.concurrentReadMode)
+			return false;
+		if (statisticsMode != other.statisticsMode)
+			return false;
+		if (lazyResourceIndexing != other.lazyResourceIndexing)
+			return false;
+		if (indexMetrics != other.indexMetrics)
+			return false;
 		return true;
 	}
     
@@ -265,6 +404,10 @@ public class BaseIndexOptions {
     	StringBuilder sb = new StringBuilder();
     	appendModifier(sb, dynamicEMFMode, DYNAMIC_EMF_MODE_DEFAULT, "dynamicEMF");
     	appendModifier(sb, wildcardMode, WILDCARD_MODE_DEFAULT, "wildcard");
+    	appendModifier(sb, concurrentReadMode, CONCURRENT_READ_MODE_DEFAULT, "concurrentRead");
+    	appendModifier(sb, statisticsMode, STATISTICS_MODE_DEFAULT, "statistics");
+    	appendModifier(sb, lazyResourceIndexing, LAZY_RESOURCE_INDEXING_DEFAULT, "lazyResources");
+    	appendModifier(sb, indexMetrics, INDEX_METRICS_DEFAULT, "metrics");
     	appendModifier(sb, traverseOnlyWellBehavingDerivedFeatures, TRAVERS_ONLY_WELLBEHAVING_DERIVED_FEATURES_DEFAULT, "wellBehavingOnly");
     	appendModifier(sb, notifierFilterConfiguration, null, "notifierFilter=");
     	appendModifier(sb, resourceFilterConfiguration, null, "resourceFilter=");
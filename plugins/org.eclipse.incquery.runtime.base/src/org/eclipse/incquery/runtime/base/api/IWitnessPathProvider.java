@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.api;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Maintains shortest witness paths incrementally from a set of registered sources. The transitive closure helpers
+ * created by {@link IncQueryBaseFactory} implement this interface.
+ * 
+ * @author agent
+ * @since 1.2
+ * 
+ */
+public interface IWitnessPathProvider {
+
+    /**
+     * Starts maintaining shortest witness paths from the given source incrementally, so that
+     * {@link #getWitnessPath(EObject, EObject)} returns a path in time linear in its length. While the source is
+     * registered, {@link TransitiveClosureHelper#getReachabilityPath(Object, Object)} also uses the maintained paths.
+     * 
+     * @param source
+     *            the source object
+     */
+    public void registerWitnessSource(EObject source);
+
+    /**
+     * Stops maintaining the witness paths from the given source.
+     * 
+     * @param source
+     *            the source object
+     */
+    public void unregisterWitnessSource(EObject source);
+
+    /**
+     * Returns a shortest path between the source and the target.
+     * 
+     * @param source
+     *            a source registered with {@link #registerWitnessSource(EObject)}
+     * @param target
+     *            the target object
+     * @return the objects of the path, starting with the source and ending with the target, or null if the target is
+     *         not reachable from the source
+     * @throws IllegalArgumentException
+     *             if the source is not registered
+     */
+    public List<EObject> getWitnessPath(EObject source, EObject target);
+}
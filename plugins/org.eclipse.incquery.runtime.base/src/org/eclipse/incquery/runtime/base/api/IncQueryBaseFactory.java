@@ -181,6 +181,25 @@ public class IncQueryBaseFactory {
     public TransitiveClosureHelper createTransitiveClosureHelper(NavigationHelper baseIndex, Set<EReference> referencesToObserve) {
         return new TransitiveClosureHelperImpl(baseIndex, false, referencesToObserve);
     }
+
+    /**
+     * The method creates a TransitiveClosureHelper instance built on an existing NavigationHelper, which only answers
+     * reachability queries. Instead of materializing the transitive closure, it maintains a reachability index of
+     * size linear in the size of the graph, so it is recommended for large models where the closure does not fit into
+     * memory. The index is rebuilt lazily after changes that may affect reachability, and observers are not supported.
+     * A new instance will be created on every call.
+     * 
+     * @param baseIndex
+     *            the already existing NavigationHelper index on the model
+     * @param referencesToObserve
+     *            the set of references to observe
+     * @return the TransitiveClosureHelper instance
+     * @since 1.2
+     */
+    public TransitiveClosureHelper createReachabilityHelper(NavigationHelper baseIndex,
+            Set<EReference> referencesToObserve) {
+        return new TransitiveClosureHelperImpl(baseIndex, false, referencesToObserve, true);
+    }
     
     
 }
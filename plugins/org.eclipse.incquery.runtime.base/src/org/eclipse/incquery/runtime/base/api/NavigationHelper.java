@@ -13,8 +13,10 @@ package org.eclipse.incquery.runtime.base.api;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.Callable;
 
 import org.eclipse.emf.common.notify.Notifier;
@@ -722,4 +724,119 @@ public interface NavigationHelper {
      */
 	Object toCanonicalValueRepresentation(Object value);
 
+    /**
+     * Estimates the number of instances of the given {@link EClass}, including the instances of its subtypes, using the
+     * statistics maintained in <em>statistics mode</em>. Does not require the class to be registered.
+     * 
+     * @param clazz
+     *            the {@link EClass}
+     * @return the estimated number of instances, or -1 if the index is not in statistics mode
+     * @since 1.2
+     */
+    public int estimateInstanceCount(EClass clazz);
+
+    /**
+     * Estimates the number of attribute values of the given {@link EDataType} in the model, using the statistics
+     * maintained in <em>statistics mode</em>. As each occurrence is counted, this is an upper bound on the number of
+     * distinct values returned by {@link #getDataTypeInstances(EDataType)}.
+     * 
+     * @param type
+     *            the {@link EDataType}
+     * @return the estimated number of values, or -1 if the index is not in statistics mode
+     * @since 1.2
+     */
+    public int estimateDataTypeInstanceCount(EDataType type);
+
+    /**
+     * Estimates the number of (holder, value) pairs of the given {@link EStructuralFeature}, using the statistics
+     * maintained in <em>statistics mode</em>. Does not require the feature to be registered.
+     * 
+     * @param feature
+     *            the {@link EStructuralFeature}
+     * @return the estimated number of feature instances, or -1 if the index is not in statistics mode
+     * @since 1.2
+     */
+    public int estimateFeatureInstanceCount(EStructuralFeature feature);
+
+    /**
+     * Estimates the average number of values of the given {@link EStructuralFeature} per instance of its containing
+     * class, using the statistics maintained in <em>statistics mode</em>.
+     * 
+     * @param feature
+     *            the {@link EStructuralFeature}
+     * @return the estimated average fan-out, 0 if there are no holders, or -1 if the index is not in statistics mode
+     * @since 1.2
+     */
+    public double estimateAverageFanOut(EStructuralFeature feature);
+
+    /**
+     * Estimates the largest number of values of the given {@link EStructuralFeature} at a single holder, or, in the
+     * inverse direction, the largest number of holders sharing a single value, using the statistics maintained in
+     * <em>statistics mode</em>.
+     * 
+     * @param feature
+     *            the {@link EStructuralFeature}
+     * @param inverse
+     *            if true, the holders of the values are counted instead of the values of the holders
+     * @return the maximal fan-out, 0 if the feature has no instances, or -1 if the index is not in statistics mode
+     * @since 1.2
+     */
+    public int estimateMaximalFanOut(EStructuralFeature feature, boolean inverse);
+
+    /**
+     * Returns the fan-out histogram of the given {@link EStructuralFeature}, using the statistics maintained in
+     * <em>statistics mode</em>. The histogram maps each fan-out occurring in the model to the number of holders (or,
+     * in the inverse direction, values) with that fan-out; holders without values are not included.
+     * 
+     * @param feature
+     *            the {@link EStructuralFeature}
+     * @param inverse
+     *            if true, the holders of the values are counted instead of the values of the holders
+     * @return a copy of the histogram, or null if the index is not in statistics mode
+     * @since 1.2
+     */
+    public SortedMap<Integer, Integer> estimateFanOutHistogram(EStructuralFeature feature, boolean inverse);
+
+    /**
+     * Indexes the contents of the given resource, if it was skipped so far due to <em>lazy resource indexing</em> (see
+     * {@link BaseIndexOptions#withLazyResourceIndexing(boolean)}). Only the given resource is traversed; listeners are
+     * notified of its contents as if they were just added to the model, before this method returns.
+     * 
+     * <p>
+     * Has no effect if lazy resource indexing is disabled, if the resource is already indexed, if it is filtered by
+     * the resource filter, or if it is not part of an indexed ResourceSet.
+     * 
+     * @param resource
+     *            the resource to index
+     * @since 1.2
+     */
+    public void indexResource(Resource resource);
+
+    /**
+     * Returns the metrics collected per EClass, EDataType and EStructuralFeature if <em>index metrics</em> are enabled
+     * (see {@link BaseIndexOptions#withIndexMetrics(boolean)}), with the most expensive types first: ordered by the
+     * number of notifications, then by the number of index updates, then by listener dispatch time.
+     * 
+     * @return a snapshot of the metrics, or an empty list if index metrics are disabled
+     * @since 1.2
+     */
+    public List<BaseIndexMetricEntry> getIndexMetrics();
+
+    /**
+     * Returns a human-readable report of the first n entries of {@link #getIndexMetrics()}.
+     * 
+     * @param n
+     *            the maximal number of lines to report
+     * @return the report, or an empty string if index metrics are disabled
+     * @since 1.2
+     */
+    public String getIndexMetricsReport(int n);
+
+    /**
+     * Resets the counters of the index metrics to zero; has no effect if index metrics are disabled.
+     * 
+     * @since 1.2
+     */
+    public void resetIndexMetrics();
+
 }
@@ -19,6 +19,8 @@ import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
  * the model and the edges will be represented by the references between them. One must provide the set of references
  * that the helper should treat as edges when creating an instance with the factory: only the notifications about these
  * references will be handled.
+ * <p>
+ * The helpers created by {@link IncQueryBaseFactory} also implement {@link IWitnessPathProvider}.
  * 
  * @author Tamas Szabo
  * 
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.api.filters;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * A resource filter used in <em>lazy resource indexing mode</em>: every resource is filtered until it is
+ * <em>promoted</em> into the index, see {@link #promote(Resource)}. Resources filtered by the delegate filter (if any)
+ * are never promoted.
+ *
+ * <p>
+ * Instances are created by the base index itself, one per index; they should not be shared between indexes.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class LazyBaseIndexResourceFilter implements IBaseIndexResourceFilter {
+
+    private final IBaseIndexResourceFilter delegate;
+    private final Set<Resource> promotedResources = Collections
+            .newSetFromMap(new ConcurrentHashMap<Resource, Boolean>());
+
+    /**
+     * @param delegate
+     *            the filter selecting the resources that must never be indexed, or null
+     */
+    public LazyBaseIndexResourceFilter(IBaseIndexResourceFilter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isResourceFiltered(Resource resource) {
+        return !promotedResources.contains(resource) || isPermanentlyFiltered(resource);
+    }
+
+    /**
+     * @return true if the resource is filtered by the delegate filter, so it can never be promoted
+     */
+    public boolean isPermanentlyFiltered(Resource resource) {
+        return delegate != null && delegate.isResourceFiltered(resource);
+    }
+
+    /**
+     * @return true if the resource was already promoted into the index
+     */
+    public boolean isPromoted(Resource resource) {
+        return promotedResources.contains(resource);
+    }
+
+    /**
+     * Marks the resource as no longer filtered. The caller is responsible for actually indexing its contents.
+     *
+     * @return true if the resource was not promoted before and is not filtered by the delegate filter
+     */
+    public boolean promote(Resource resource) {
+        if (isPermanentlyFiltered(resource)) {
+            return false;
+        }
+        return promotedResources.add(resource);
+    }
+
+}
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EAttribute;
@@ -43,6 +44,13 @@ import org.eclipse.incquery.runtime.base.api.filters.IBaseIndexResourceFilter;
  */
 public class EMFModelComprehension {
 
+    /**
+     * Denotes an unknown position in a multivalued collection; equals to {@link Notification#NO_INDEX}.
+     * 
+     * @since 1.2
+     */
+    public static final int NO_POSITION = Notification.NO_INDEX;
+
     private BaseIndexOptions options;
     
     /**
@@ -205,12 +213,12 @@ public class EMFModelComprehension {
             Iterator<?> iterator = attemptResolve ? targets.iterator() : ((InternalEList<?>)targets).basicIterator(); 
             while (iterator.hasNext()) {
                 Object target = iterator.next();
-                traverseFeatureInternal(visitor, source, feature, target, visitorPrunes, position++);                   
+                traverseFeatureInternal(visitor, source, feature, target, visitorPrunes, position++);
             }
         } else {
             Object target = source.eGet(feature, attemptResolve);
             if (target != null)
-                traverseFeatureInternal(visitor, source, feature, target, visitorPrunes, null);
+                traverseFeatureInternal(visitor, source, feature, target, visitorPrunes, NO_POSITION);
         }
     }
     private boolean unprunableFeature(EMFVisitor visitor, EObject source, EStructuralFeature feature) {
@@ -224,6 +232,19 @@ public class EMFModelComprehension {
      * @param position optional: known position in multivalued collection (for more efficient proxy resolution)
      */
     public void traverseFeature(EMFVisitor visitor, EObject source, EStructuralFeature feature, Object target, Integer position) {
+        traverseFeature(visitor, source, feature, target, position == null ? NO_POSITION : position.intValue());
+    }
+
+    /**
+     * Variant of {@link #traverseFeature(EMFVisitor, EObject, EStructuralFeature, Object, Integer)} that avoids boxing
+     * the position on the notification processing path.
+     * 
+     * @param position
+     *            known position in multivalued collection (for more efficient proxy resolution), or
+     *            {@link #NO_POSITION} if unknown
+     * @since 1.2
+     */
+    public void traverseFeature(EMFVisitor visitor, EObject source, EStructuralFeature feature, Object target, int position) {
         if (target == null)
             return;
         if (untraversableDirectly(feature))
@@ -232,10 +253,10 @@ public class EMFModelComprehension {
     }
 
     /**
-     * @param position optional: known position in multivalued collection (for more efficient proxy resolution)
+     * @param position known position in multivalued collection (for more efficient proxy resolution), or {@link #NO_POSITION}
      */
     private void traverseFeatureInternalSimple(EMFVisitor visitor, EObject source, EStructuralFeature feature,
-            Object target, Integer position) {
+            Object target, int position) {
         final boolean visitorPrunes = visitor.pruneFeature(feature);
         if (visitorPrunes && !unprunableFeature(visitor, source, feature))
             return;
@@ -245,10 +266,10 @@ public class EMFModelComprehension {
 
     /**
      * @pre target != null
-     * @param position optional: known position in multivalued collection (for more efficient proxy resolution)
+     * @param position known position in multivalued collection (for more efficient proxy resolution), or {@link #NO_POSITION}
      */
     private void traverseFeatureInternal(EMFVisitor visitor, EObject source, EStructuralFeature feature,
-            Object target, boolean visitorPrunes, Integer position) {
+            Object target, boolean visitorPrunes, int position) {
         if (feature instanceof EAttribute) {
             if (!visitorPrunes)
                 visitor.visitAttribute(source, (EAttribute) feature, target);
@@ -287,7 +308,8 @@ public class EMFModelComprehension {
             						reference.getName(), reference.getEContainingClass().getInstanceTypeName(),
             						targetObject, source));
             	}
-            	visitor.visitProxyReference(source, reference, targetObject, position);
+            	// boxing is deferred to this rare case
+            	visitor.visitProxyReference(source, reference, targetObject, position == NO_POSITION ? null : position);
             }
         }
 
@@ -302,7 +324,7 @@ public class EMFModelComprehension {
     private void emulateUntraversableFeature(EMFVisitor visitor, EObject source,
             final EStructuralFeature emulated, final Object target) {
         if (untraversableDirectly(emulated))
-            traverseFeatureInternalSimple(visitor, source, emulated, target, null);
+            traverseFeatureInternalSimple(visitor, source, emulated, target, NO_POSITION);
     }
 
     /**
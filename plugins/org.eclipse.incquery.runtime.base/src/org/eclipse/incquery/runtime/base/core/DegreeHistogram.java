@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.core;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.TreeMultiset;
+
+/**
+ * Maintains the degrees of the nodes at one end of a feature, i.e. the number of values of each holder, or the number
+ * of holders of each value, together with the histogram of the degrees. Only the nodes with at least one edge are
+ * stored.
+ *
+ * @author agent
+ */
+class DegreeHistogram {
+
+    /**
+     * node -> number of edges
+     */
+    private final Multiset<Object> degrees = HashMultiset.create();
+    /**
+     * degree -> number of nodes with the given degree
+     */
+    private final TreeMultiset<Integer> histogram = TreeMultiset.create();
+
+    public void insertEdge(Object node) {
+        final int oldDegree = degrees.add(node, 1);
+        if (oldDegree > 0) {
+            histogram.remove(oldDegree);
+        }
+        histogram.add(oldDegree + 1);
+    }
+
+    public void removeEdge(Object node) {
+        final int oldDegree = degrees.remove(node, 1);
+        if (oldDegree > 0) {
+            histogram.remove(oldDegree);
+            if (oldDegree > 1) {
+                histogram.add(oldDegree - 1);
+            }
+        }
+        // else: inconsistent deletion
+    }
+
+    /**
+     * @return the number of nodes with at least one edge
+     */
+    public int getNodeCount() {
+        return degrees.elementSet().size();
+    }
+
+    /**
+     * @return the largest degree, or 0 if there are no edges
+     */
+    public int getMaximalDegree() {
+        return histogram.isEmpty() ? 0 : histogram.lastEntry().getElement();
+    }
+
+    /**
+     * @return a copy of the histogram, mapping each occurring degree to the number of nodes with that degree
+     */
+    public SortedMap<Integer, Integer> getHistogram() {
+        final SortedMap<Integer, Integer> result = new TreeMap<Integer, Integer>();
+        for (Multiset.Entry<Integer> entry : histogram.entrySet()) {
+            result.put(entry.getElement(), entry.getCount());
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return degrees.isEmpty();
+    }
+}
@@ -11,6 +11,7 @@
 package org.eclipse.incquery.runtime.base.core;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -109,6 +110,19 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
      */
     private final Map<Object, Map<Object, Integer>> dataTypeMap;
 
+    /**
+     * key (String id or EClass, EDataType or EStructuralFeature instance) -> number of direct instances, attribute
+     * values or feature tuples; maintained in statistics mode only, without storing the instances themselves
+     */
+    private final Multiset<Object> statisticsMap = HashMultiset.create();
+
+    /**
+     * key (String id or EStructuralFeature instance) -> degrees of the holders, and of the values, of the feature;
+     * maintained in statistics mode only
+     */
+    private final Map<Object, DegreeHistogram> forwardDegreeMap = new HashMap<Object, DegreeHistogram>();
+    private final Map<Object, DegreeHistogram> inverseDegreeMap = new HashMap<Object, DegreeHistogram>();
+
     /**
      * Supports collision detection and EEnum canonicalization. Used for all EPackages that have types whose instances
      * were encountered at least once.
@@ -168,6 +182,41 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
     private IBaseIndexObjectFilter objectFilterConfiguration;
     private IBaseIndexResourceFilter resourceFilterConfiguration;
 
+    /**
+     * Set by the navigation helper if index metrics are enabled, null otherwise
+     */
+    NavigationHelperMetrics metrics;
+
+    /**
+     * The notification currently processed by {@link #notificationHandler}
+     */
+    private Notification currentNotification;
+    private final Callable<Void> notificationHandler = new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+            processNotification(currentNotification);
+            return null;
+        }
+    };
+
+    /**
+     * Change visitors reused as long as the observed types do not change
+     */
+    private NavigationHelperVisitor insertionVisitor;
+    private NavigationHelperVisitor removalVisitor;
+    private int visitorObservationVersion;
+
+    /**
+     * element type key -> flattened array of (listener, subscription type) pairs; reused for dispatching
+     * notifications as long as the listener tables do not change, see
+     * {@link NavigationHelperImpl#getListenerVersion()}
+     */
+    private final Map<Object, Object[]> instanceDispatchCache = new HashMap<Object, Object[]>();
+    private final Map<Object, Object[]> featureDispatchCache = new HashMap<Object, Object[]>();
+    private final Map<Object, Object[]> dataTypeDispatchCache = new HashMap<Object, Object[]>();
+    private int dispatchListenerVersion;
+    private static final Object[] NO_DISPATCH = new Object[0];
+
     public NavigationHelperContentAdapter(final NavigationHelperImpl navigationHelper) {
         this.navigationHelper = navigationHelper;
         final BaseIndexOptions options = this.navigationHelper.getBaseIndexOptions();
@@ -206,7 +255,7 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         if (id == null) {
             Preconditions.checkArgument(!classifier.eIsProxy(),
                     String.format("Classifier %s is an unresolved proxy", classifier));
-            id = classifier.getEPackage().getNsURI() + "##" + classifier.getName();
+            id = constructClassifierID(classifier);
             uniqueIDFromClassifier.put(classifier, id);
             uniqueIDToClassifier.put(id, classifier);
             // metamodel maintenance will call back toKey(), but now the ID maps are already filled
@@ -215,6 +264,28 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         return id;
     }
 
+    private String constructClassifierID(final EClassifier classifier) {
+        return classifier.getEPackage().getNsURI() + "##" + classifier.getName();
+    }
+
+    private String constructFeatureID(final String containerClassID, final EStructuralFeature feature) {
+        return containerClassID + "##" + feature.getEType().getName() + "##" + feature.getName();
+    }
+
+    /**
+     * @return a human-readable unique name of the classifier or feature identified by the given key
+     */
+    protected String keyToName(final Object key) {
+        if (key instanceof EClassifier) {
+            return constructClassifierID((EClassifier) key);
+        } else if (key instanceof EStructuralFeature) {
+            final EStructuralFeature feature = (EStructuralFeature) key;
+            return constructFeatureID(constructClassifierID(feature.getEContainingClass()), feature);
+        } else {
+            return String.valueOf(key);
+        }
+    }
+
     private String enumToKeyDynamicInternal(Enumerator enumerator) {
         String id = uniqueIDFromEnumerator.get(enumerator);
         if (id == null) {
@@ -261,8 +332,7 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             if (id == null) {
                 Preconditions.checkArgument(!feature.eIsProxy(),
                         String.format("Element %s is an unresolved proxy", feature));
-                id = toKeyDynamicInternal((EClassifier) feature.eContainer()) + "##" + feature.getEType().getName()
-                        + "##" + feature.getName();
+                id = constructFeatureID(toKeyDynamicInternal((EClassifier) feature.eContainer()), feature);
                 uniqueIDFromTypedElement.put(feature, id);
                 uniqueIDToTypedElement.put(id, feature);
                 // metamodel maintenance will call back toKey(), but now the ID maps are already filled
@@ -275,6 +345,68 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         }
     }
 
+    /**
+     * Returns the key of the classifier without updating any metamodel caches, so that it is safe to call during
+     * concurrent read access.
+     * 
+     * @return the key, or null if the classifier was never encountered by the index (thus nothing is indexed for it)
+     */
+    protected Object peekKey(final EClassifier classifier) {
+        if (isDynamicModel) {
+            String id = uniqueIDFromClassifier.get(classifier);
+            if (id == null && !classifier.eIsProxy()) {
+                // may be a different copy of a known classifier
+                id = constructClassifierID(classifier);
+                if (!uniqueIDToClassifier.containsKey(id)) {
+                    return null;
+                }
+            }
+            return id;
+        } else {
+            return knownClassifiers.contains(classifier) ? classifier : null;
+        }
+    }
+
+    /**
+     * Returns the key of the feature without updating any metamodel caches, so that it is safe to call during
+     * concurrent read access.
+     * 
+     * @return the key, or null if the feature was never encountered by the index (thus nothing is indexed for it)
+     */
+    protected Object peekKey(final EStructuralFeature feature) {
+        if (isDynamicModel) {
+            String id = uniqueIDFromTypedElement.get(feature);
+            if (id == null && !feature.eIsProxy()) {
+                // may be a different copy of a known feature
+                final Object containerClassID = peekKey((EClassifier) feature.eContainer());
+                if (containerClassID == null) {
+                    return null;
+                }
+                id = constructFeatureID((String) containerClassID, feature);
+                if (!uniqueIDToTypedElement.containsKey(id)) {
+                    return null;
+                }
+            }
+            return id;
+        } else {
+            return knownFeatures.contains(feature) ? feature : null;
+        }
+    }
+
+    /**
+     * Variant of {@link #toInternalValueRepresentation(Object)} that does not update any metamodel caches, so that it
+     * is safe to call during concurrent read access. Enum literals never encountered by the index are returned as is.
+     */
+    protected Object peekInternalValueRepresentation(final Object value) {
+        if (isDynamicModel && value instanceof Enumerator) {
+            final String key = uniqueIDFromEnumerator.get(value);
+            final Enumerator canonicalEnumerator = key == null ? null : uniqueIDToCanonicalEnumerator.get(key);
+            return canonicalEnumerator == null ? value : canonicalEnumerator;
+        } else {
+            return value;
+        }
+    }
+
     private Enumerator enumToCanonicalDynamicInternal(final Enumerator value) {
         final String key = enumToKeyDynamicInternal(value);
         Enumerator canonicalEnumerator = uniqueIDToCanonicalEnumerator.get(key);
@@ -301,51 +433,57 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
 
     @Override
     public void notifyChanged(final Notification notification) {
+        // the handler is reused to avoid allocations; nested notifications save and restore the current one
+        final Notification outerNotification = currentNotification;
+        currentNotification = notification;
         try {
-            this.navigationHelper.coalesceTraversals(new Callable<Void>() {
-                @Override
-                public Void call() throws Exception {
-                    NavigationHelperContentAdapter.super.notifyChanged(notification);
-
-                    final Object oFeature = notification.getFeature();
-                    final Object oNotifier = notification.getNotifier();
-                    if (oNotifier instanceof EObject && oFeature instanceof EStructuralFeature) {
-                        final EObject notifier = (EObject) oNotifier;
-                        final EStructuralFeature feature = (EStructuralFeature) oFeature;
-
-                        final boolean notifyLightweightObservers = handleNotification(notification, notifier, feature);
-
-                        if (notifyLightweightObservers) {
-                            notifyLightweightObservers(notifier, feature, notification);
-                        }
-                    } else if (oNotifier instanceof Resource) {
-                        if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED) {
-                            final Resource resource = (Resource) oNotifier;
-                            if (comprehension.isLoading(resource))
-                                navigationHelper.resolutionDelayingResources.add(resource);
-                            else
-                                navigationHelper.resolutionDelayingResources.remove(resource);
-                        }
-                    }
-                    return null;
-                }
-            });
+            this.navigationHelper.coalesceTraversals(notificationHandler);
         } catch (final InvocationTargetException ex) {
             processingFatal(ex.getCause(), "handling the following update notification: " + notification);
         } catch (final Exception ex) {
             processingFatal(ex, "handling the following update notification: " + notification);
+        } finally {
+            currentNotification = outerNotification;
         }
 
         notifyBaseIndexChangeListeners();
     }
 
+    private void processNotification(final Notification notification) {
+        super.notifyChanged(notification);
+
+        final Object oFeature = notification.getFeature();
+        final Object oNotifier = notification.getNotifier();
+        if (oNotifier instanceof EObject && oFeature instanceof EStructuralFeature) {
+            final EObject notifier = (EObject) oNotifier;
+            final EStructuralFeature feature = (EStructuralFeature) oFeature;
+
+            final long start = metrics == null ? 0 : System.nanoTime();
+            final boolean notifyLightweightObservers = handleNotification(notification, notifier, feature);
+            if (metrics != null) {
+                metrics.countNotification(toKey(feature), System.nanoTime() - start);
+            }
+
+            if (notifyLightweightObservers) {
+                notifyLightweightObservers(notifier, feature, notification);
+            }
+        } else if (oNotifier instanceof Resource) {
+            if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED) {
+                final Resource resource = (Resource) oNotifier;
+                if (comprehension.isLoading(resource))
+                    navigationHelper.resolutionDelayingResources.add(resource);
+                else
+                    navigationHelper.resolutionDelayingResources.remove(resource);
+            }
+        }
+    }
+
     @SuppressWarnings("deprecation")
     private boolean handleNotification(final Notification notification, final EObject notifier,
             final EStructuralFeature feature) {
         final Object oldValue = notification.getOldValue();
         final Object newValue = notification.getNewValue();
-        final int positionInt = notification.getPosition();
-        final Integer position = positionInt == Notification.NO_INDEX ? null : positionInt;
+        final int position = notification.getPosition();
         final int eventType = notification.getEventType();
         boolean notifyLightweightObservers = true;
         switch (eventType) {
@@ -353,8 +491,16 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             featureUpdate(true, notifier, feature, newValue, position);
             break;
         case Notification.ADD_MANY:
-            for (final Object newElement : (Collection<?>) newValue) {
-                featureUpdate(true, notifier, feature, newElement, position);
+            if (newValue instanceof List<?>) { // indexed access avoids allocating an iterator
+                final List<?> newElements = (List<?>) newValue;
+                for (int i = 0; i < newElements.size(); ++i) {
+                    featureUpdate(true, notifier, feature, newElements.get(i),
+                            position == Notification.NO_INDEX ? position : position + i);
+                }
+            } else {
+                for (final Object newElement : (Collection<?>) newValue) {
+                    featureUpdate(true, notifier, feature, newElement, Notification.NO_INDEX);
+                }
             }
             break;
         case Notification.CREATE:
@@ -367,8 +513,15 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             featureUpdate(false, notifier, feature, oldValue, position);
             break;
         case Notification.REMOVE_MANY:
-            for (final Object oldElement : (Collection<?>) oldValue) {
-                featureUpdate(false, notifier, feature, oldElement, position);
+            if (oldValue instanceof List<?>) { // indexed access avoids allocating an iterator
+                final List<?> oldElements = (List<?>) oldValue;
+                for (int i = 0; i < oldElements.size(); ++i) {
+                    featureUpdate(false, notifier, feature, oldElements.get(i), position);
+                }
+            } else {
+                for (final Object oldElement : (Collection<?>) oldValue) {
+                    featureUpdate(false, notifier, feature, oldElement, position);
+                }
             }
             break;
         case Notification.REMOVING_ADAPTER:
@@ -401,7 +554,7 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
     }
 
     private void featureUpdate(final boolean isInsertion, final EObject notifier, final EStructuralFeature feature,
-            final Object value, final Integer position) {
+            final Object value, final int position) {
         // this is a safe visitation, no reads will happen, thus no danger of notifications or matcher construction
         comprehension.traverseFeature(visitor(isInsertion), notifier, feature, value, position);
     }
@@ -523,8 +676,28 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
                 + task;
     }
 
+    /**
+     * Returns a change visitor; visitors are cached until the set of observed types changes, see
+     * {@link NavigationHelperImpl#getObservationVersion()}.
+     */
     protected EMFVisitor visitor(final boolean isInsertion) {
-        return new NavigationHelperVisitor.ChangeVisitor(navigationHelper, isInsertion);
+        final int observationVersion = navigationHelper.getObservationVersion();
+        if (observationVersion != visitorObservationVersion) {
+            insertionVisitor = null;
+            removalVisitor = null;
+            visitorObservationVersion = observationVersion;
+        }
+        if (isInsertion) {
+            if (insertionVisitor == null) {
+                insertionVisitor = new NavigationHelperVisitor.ChangeVisitor(navigationHelper, true);
+            }
+            return insertionVisitor;
+        } else {
+            if (removalVisitor == null) {
+                removalVisitor = new NavigationHelperVisitor.ChangeVisitor(navigationHelper, false);
+            }
+            return removalVisitor;
+        }
     }
 
     /**
@@ -628,6 +801,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             }
 
             isDirty = true;
+            if (metrics != null) {
+                metrics.countFeatureUpdate(featureKey, true);
+            }
             notifyFeatureListeners(holder, featureKey, value, true);
         }
     }
@@ -643,6 +819,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             }
 
             isDirty = true;
+            if (metrics != null) {
+                metrics.countFeatureUpdate(featureKey, false);
+            }
             notifyFeatureListeners(holder, featureKey, value, false);
         }
     }
@@ -665,6 +844,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         set.add(value);
 
         isDirty = true;
+        if (metrics != null) {
+            metrics.countInstanceUpdate(keyClass, true);
+        }
         notifyInstanceListeners(keyClass, value, true);
     }
 
@@ -679,6 +861,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         }
 
         isDirty = true;
+        if (metrics != null) {
+            metrics.countInstanceUpdate(keyClass, false);
+        }
         notifyInstanceListeners(keyClass, value, false);
     }
 
@@ -708,6 +893,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         }
 
         isDirty = true;
+        if (metrics != null) {
+            metrics.countDataTypeUpdate(keyType, true);
+        }
         notifyDataTypeListeners(keyType, value, true, firstOccurrence);
     }
 
@@ -726,6 +914,9 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
             }
 
             isDirty = true;
+            if (metrics != null) {
+                metrics.countDataTypeUpdate(keyType, false);
+            }
             notifyDataTypeListeners(keyType, value, false, lastOccurrence);
         }
         // else: inconsistent deletion? log error?
@@ -733,6 +924,64 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
 
     // END ********* DataTypeMap *********
 
+    // START ********* Statistics *********
+    /**
+     * @return the number of occurrences counted for the given key in statistics mode
+     */
+    public int getStatistics(final Object key) {
+        return statisticsMap.count(key);
+    }
+
+    public void insertIntoStatistics(final Object key) {
+        statisticsMap.add(key);
+    }
+
+    public void removeFromStatistics(final Object key) {
+        statisticsMap.remove(key);
+    }
+
+    /**
+     * @param inverse
+     *            if true, the degrees of the values are returned instead of the degrees of the holders
+     * @return the degrees of the given feature counted in statistics mode, or null if it has no tuples
+     */
+    public DegreeHistogram getDegreeStatistics(final Object featureKey, final boolean inverse) {
+        return (inverse ? inverseDegreeMap : forwardDegreeMap).get(featureKey);
+    }
+
+    public void insertIntoDegreeStatistics(final Object featureKey, final EObject holder, final Object value) {
+        insertIntoDegreeStatistics(forwardDegreeMap, featureKey, holder);
+        insertIntoDegreeStatistics(inverseDegreeMap, featureKey, value);
+    }
+
+    public void removeFromDegreeStatistics(final Object featureKey, final EObject holder, final Object value) {
+        removeFromDegreeStatistics(forwardDegreeMap, featureKey, holder);
+        removeFromDegreeStatistics(inverseDegreeMap, featureKey, value);
+    }
+
+    private static void insertIntoDegreeStatistics(final Map<Object, DegreeHistogram> degreeMap,
+            final Object featureKey, final Object node) {
+        DegreeHistogram degrees = degreeMap.get(featureKey);
+        if (degrees == null) {
+            degrees = new DegreeHistogram();
+            degreeMap.put(featureKey, degrees);
+        }
+        degrees.insertEdge(node);
+    }
+
+    private static void removeFromDegreeStatistics(final Map<Object, DegreeHistogram> degreeMap,
+            final Object featureKey, final Object node) {
+        final DegreeHistogram degrees = degreeMap.get(featureKey);
+        if (degrees != null) {
+            degrees.removeEdge(node);
+            if (degrees.isEmpty()) {
+                degreeMap.remove(featureKey);
+            }
+        }
+    }
+
+    // END ********* Statistics *********
+
     /**
      * Checks the {@link EStructuralFeature}'s source and target {@link EPackage} for NsURI collision. An error message
      * will be logged if a model element from an other {@link EPackage} instance with the same NsURI has been already
@@ -821,6 +1070,7 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
         if (navigationHelper.directlyObservedClasses.contains(superClassKey)) {
             navigationHelper.getAllObservedClassesInternal().add(subClassKey);
         }
+        navigationHelper.observationChanged();
         final Table<Object, InstanceListener, Set<EClass>> instanceListeners = navigationHelper.peekInstanceListeners();
         if (instanceListeners != null) { // table already constructed
             for (final Entry<InstanceListener, Set<EClass>> entry : instanceListeners.row(superClassKey).entrySet()) {
@@ -848,46 +1098,83 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
 
     private void notifyDataTypeListeners(final Object typeKey, final Object value, final boolean isInsertion,
             final boolean firstOrLastOccurrence) {
-        for (final Entry<DataTypeListener, Set<EDataType>> entry : navigationHelper.getDataTypeListeners().row(typeKey)
-                .entrySet()) {
-            final DataTypeListener listener = entry.getKey();
-            for (final EDataType subscriptionType : entry.getValue()) {
-                if (isInsertion) {
-                    listener.dataTypeInstanceInserted(subscriptionType, value, firstOrLastOccurrence);
-                } else {
-                    listener.dataTypeInstanceDeleted(subscriptionType, value, firstOrLastOccurrence);
-                }
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final Object[] dispatch = getDispatch(dataTypeDispatchCache, navigationHelper.getDataTypeListeners(), typeKey);
+        for (int i = 0; i < dispatch.length; i += 2) {
+            final DataTypeListener listener = (DataTypeListener) dispatch[i];
+            final EDataType subscriptionType = (EDataType) dispatch[i + 1];
+            if (isInsertion) {
+                listener.dataTypeInstanceInserted(subscriptionType, value, firstOrLastOccurrence);
+            } else {
+                listener.dataTypeInstanceDeleted(subscriptionType, value, firstOrLastOccurrence);
             }
         }
+        if (metrics != null) {
+            metrics.countDataTypeDispatch(typeKey, System.nanoTime() - start);
+        }
     }
 
     private void notifyFeatureListeners(final EObject host, final Object featureKey, final Object value,
             final boolean isInsertion) {
-        for (final Entry<FeatureListener, Set<EStructuralFeature>> entry : navigationHelper.getFeatureListeners()
-                .row(featureKey).entrySet()) {
-            final FeatureListener listener = entry.getKey();
-            for (final EStructuralFeature subscriptionType : entry.getValue()) {
-                if (isInsertion) {
-                    listener.featureInserted(host, subscriptionType, value);
-                } else {
-                    listener.featureDeleted(host, subscriptionType, value);
-                }
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final Object[] dispatch = getDispatch(featureDispatchCache, navigationHelper.getFeatureListeners(), featureKey);
+        for (int i = 0; i < dispatch.length; i += 2) {
+            final FeatureListener listener = (FeatureListener) dispatch[i];
+            final EStructuralFeature subscriptionType = (EStructuralFeature) dispatch[i + 1];
+            if (isInsertion) {
+                listener.featureInserted(host, subscriptionType, value);
+            } else {
+                listener.featureDeleted(host, subscriptionType, value);
             }
         }
+        if (metrics != null) {
+            metrics.countFeatureDispatch(featureKey, System.nanoTime() - start);
+        }
     }
 
     private void notifyInstanceListeners(final Object clazzKey, final EObject instance, final boolean isInsertion) {
-        for (final Entry<InstanceListener, Set<EClass>> entry : navigationHelper.getInstanceListeners().row(clazzKey)
-                .entrySet()) {
-            final InstanceListener listener = entry.getKey();
-            for (final EClass subscriptionType : entry.getValue()) {
-                if (isInsertion) {
-                    listener.instanceInserted(subscriptionType, instance);
-                } else {
-                    listener.instanceDeleted(subscriptionType, instance);
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final Object[] dispatch = getDispatch(instanceDispatchCache, navigationHelper.getInstanceListeners(), clazzKey);
+        for (int i = 0; i < dispatch.length; i += 2) {
+            final InstanceListener listener = (InstanceListener) dispatch[i];
+            final EClass subscriptionType = (EClass) dispatch[i + 1];
+            if (isInsertion) {
+                listener.instanceInserted(subscriptionType, instance);
+            } else {
+                listener.instanceDeleted(subscriptionType, instance);
+            }
+        }
+        if (metrics != null) {
+            metrics.countInstanceDispatch(clazzKey, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the (listener, subscription type) pairs to be notified about the given element type. Must be called
+     * after obtaining the listener table, as computing the table may change the listener version.
+     */
+    private Object[] getDispatch(final Map<Object, Object[]> cache, final Table<Object, ?, ? extends Set<?>> listeners,
+            final Object elementTypeKey) {
+        final int listenerVersion = navigationHelper.getListenerVersion();
+        if (listenerVersion != dispatchListenerVersion) {
+            instanceDispatchCache.clear();
+            featureDispatchCache.clear();
+            dataTypeDispatchCache.clear();
+            dispatchListenerVersion = listenerVersion;
+        }
+        Object[] dispatch = cache.get(elementTypeKey);
+        if (dispatch == null) {
+            final List<Object> pairs = new ArrayList<Object>();
+            for (final Entry<?, ? extends Set<?>> entry : listeners.row(elementTypeKey).entrySet()) {
+                for (final Object subscriptionType : entry.getValue()) {
+                    pairs.add(entry.getKey());
+                    pairs.add(subscriptionType);
                 }
             }
+            dispatch = pairs.isEmpty() ? NO_DISPATCH : pairs.toArray();
+            cache.put(elementTypeKey, dispatch);
         }
+        return dispatch;
     }
 
     private void notifyLightweightObservers(final EObject host, final EStructuralFeature feature,
@@ -1013,7 +1300,7 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
     /**
      * @return the featureToHolderMap
      */
-    protected Map<Object, Multiset<EObject>> getFeatureToHolderMap() {
+    protected synchronized Map<Object, Multiset<EObject>> getFeatureToHolderMap() {
         if (featureToHolderMap == null) {
             featureToHolderMap = new HashMap<Object, Multiset<EObject>>();
             initReversedFeatureMap();
@@ -1027,10 +1314,12 @@ public class NavigationHelperContentAdapter extends EContentAdapter {
 
     /**
      * Calling this method will construct the map for all holders and features, consuming significant memory!
+     * <p>
+     * Synchronized, as in concurrent read mode the on-demand construction may be triggered by multiple readers.
      * 
      * @return the holderToFeatureToValeMap
      */
-    protected Table<EObject, Object, Set<Object>> getHolderToFeatureToValueMap() {
+    protected synchronized Table<EObject, Object, Set<Object>> getHolderToFeatureToValueMap() {
         if (holderToFeatureToValueMap == null) {
             holderToFeatureToValueMap = HashBasedTable.create();
             initDirectFeatureMap();
@@ -13,16 +13,19 @@ package org.eclipse.incquery.runtime.base.core;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Notifier;
@@ -39,6 +42,7 @@ import org.eclipse.emf.ecore.EStructuralFeature.Setting;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.incquery.runtime.base.api.BaseIndexMetricEntry;
 import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
 import org.eclipse.incquery.runtime.base.api.DataTypeListener;
 import org.eclipse.incquery.runtime.base.api.EMFBaseIndexChangeListener;
@@ -52,6 +56,7 @@ import org.eclipse.incquery.runtime.base.api.LightweightEObjectObserver;
 import org.eclipse.incquery.runtime.base.api.NavigationHelper;
 import org.eclipse.incquery.runtime.base.api.filters.IBaseIndexObjectFilter;
 import org.eclipse.incquery.runtime.base.api.filters.IBaseIndexResourceFilter;
+import org.eclipse.incquery.runtime.base.api.filters.LazyBaseIndexResourceFilter;
 import org.eclipse.incquery.runtime.base.comprehension.EMFModelComprehension;
 import org.eclipse.incquery.runtime.base.comprehension.EMFVisitor;
 import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
@@ -106,6 +111,21 @@ public class NavigationHelperImpl implements NavigationHelper {
      * Features per EObject to be resolved later (towards the end of a coalescing period when no Resources are loading)
      */
     protected Multimap<EObject, EReference> delayedProxyResolutions = LinkedHashMultimap.create();
+
+    /**
+     * Incremented whenever the set of observed types (or the type hierarchy) changes; cached change visitors are only
+     * valid for a single version
+     */
+    private int observationVersion = 0;
+    /**
+     * Incremented whenever the listener tables change; cached listener dispatch arrays are only valid for a single
+     * version
+     */
+    private int listenerVersion = 0;
+    /**
+     * Snapshot of {@link #baseIndexChangeListeners} to be iterated over, null if must be recomputed
+     */
+    private EMFBaseIndexChangeListener[] baseIndexChangeListenerArray;
     /**
      * Reasources that are currently loading, implying the proxy resolution attempts should be delayed
      */
@@ -137,6 +157,23 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     private EMFModelComprehension comprehension;
 
+    /**
+     * Guards the index in concurrent read mode: index updates are performed under the write lock, lookups under the
+     * read lock. Null if concurrent read mode is disabled.
+     */
+    private final ReentrantReadWriteLock indexLock;
+
+    /**
+     * Filters the resources not yet demanded in lazy resource indexing mode. Null if lazy resource indexing is
+     * disabled.
+     */
+    private final LazyBaseIndexResourceFilter lazyResourceFilter;
+
+    /**
+     * Collects index metrics, registered in the platform MBean server. Null if index metrics are disabled.
+     */
+    private final NavigationHelperMetrics metrics;
+
     <T> Set<T> setMinus(Collection<? extends T> a, Collection<T> b) {
         Set<T> result = new HashSet<T>(a);
         result.removeAll(b);
@@ -198,9 +235,16 @@ public class NavigationHelperImpl implements NavigationHelper {
     }
     
     public NavigationHelperImpl(Notifier emfRoot, BaseIndexOptions options, Logger logger) throws IncQueryBaseException {
-        this.baseIndexOptions = options.copy();
+        if (options.isLazyResourceIndexing()) {
+            this.lazyResourceFilter = new LazyBaseIndexResourceFilter(options.getResourceFilterConfiguration());
+            this.baseIndexOptions = options.withResourceFilterConfiguration(lazyResourceFilter);
+        } else {
+            this.lazyResourceFilter = null;
+            this.baseIndexOptions = options.copy();
+        }
         this.logger = logger;
         assert (logger != null);
+        this.indexLock = baseIndexOptions.isConcurrentReadMode() ? new ReentrantReadWriteLock() : null;
         
         this.comprehension = new EMFModelComprehension(baseIndexOptions);
         this.subscribedInstanceListeners = new HashMap<InstanceListener, Set<EClass>>();
@@ -211,6 +255,13 @@ public class NavigationHelperImpl implements NavigationHelper {
         this.ignoreResolveNotificationFeatures = new HashSet<Object>();
         this.observedDataTypes = new HashSet<Object>();
         this.contentAdapter = new NavigationHelperContentAdapter(this);
+        if (baseIndexOptions.isIndexMetrics()) {
+            this.metrics = new NavigationHelperMetrics(this);
+            contentAdapter.metrics = metrics;
+            metrics.registerMBean(logger);
+        } else {
+            this.metrics = null;
+        }
         this.baseIndexChangeListeners = new HashSet<EMFBaseIndexChangeListener>();
         this.errorListeners = new LinkedHashSet<IEMFIndexingErrorListener>();
         
@@ -238,110 +289,162 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public void dispose() {
-    	ensureNoListenersForDispose();
-        for (Notifier root : modelRoots) {
-            contentAdapter.removeAdapter(root);
+        beginWrite();
+        try {
+            ensureNoListenersForDispose();
+            for (Notifier root : modelRoots) {
+                contentAdapter.removeAdapter(root);
+            }
+            if (metrics != null) {
+                metrics.unregisterMBean(logger);
+            }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public Set<Object> getDataTypeInstances(EDataType type) {
-    	Object typeKey = toKey(type);
-        Map<Object, Integer> valMap = contentAdapter.getDataTypeMap(typeKey);
-        if (valMap != null) {
-            return Collections.unmodifiableSet(valMap.keySet());
-        } else {
-            return Collections.emptySet();
+        beginRead();
+        try {
+            Object typeKey = toReadKey(type);
+            Map<Object, Integer> valMap = contentAdapter.getDataTypeMap(typeKey);
+            if (valMap != null) {
+                return unmodifiableView(valMap.keySet());
+            } else {
+                return Collections.emptySet();
+            }
+        } finally {
+            endRead();
         }
     }
 
     @Override
     public Set<Setting> findByAttributeValue(Object value_) {
-    	Object value = toCanonicalValueRepresentation(value_);
-        Set<Setting> retSet = new HashSet<Setting>();
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
-
-        for (Entry<Object, Collection<EObject>> entry : valMap.entrySet()) {
-            final Collection<EObject> holders = entry.getValue();
-            EStructuralFeature feature = contentAdapter.getKnownFeatureForKey(entry.getKey());
-			for (EObject holder : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
-                retSet.add(new NavigationHelperSetting(feature, holder, value));
+        beginRead();
+        try {
+            Object value = toReadValueRepresentation(value_);
+            Set<Setting> retSet = new HashSet<Setting>();
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
+
+            for (Entry<Object, Collection<EObject>> entry : valMap.entrySet()) {
+                final Collection<EObject> holders = entry.getValue();
+                EStructuralFeature feature = contentAdapter.getKnownFeatureForKey(entry.getKey());
+                for (EObject holder : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
+                    retSet.add(new NavigationHelperSetting(feature, holder, value));
+                }
             }
-        }
 
-        return retSet;
+            return retSet;
+        } finally {
+            endRead();
+        }
     }
     
     @Override
     public Set<Setting> findByAttributeValue(Object value_, Collection<EAttribute> attributes) {
-    	Object value = toCanonicalValueRepresentation(value_);
-        Set<Setting> retSet = new HashSet<Setting>();
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
-
-        for (EAttribute attr : attributes) {
-            Object feature = toKey(attr);
-            final Collection<EObject> holders = valMap.get(feature);
-			if (holders != null) {
-                for (EObject holder : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
-                    retSet.add(new NavigationHelperSetting(attr, holder, value));
+        beginRead();
+        try {
+            Object value = toReadValueRepresentation(value_);
+            Set<Setting> retSet = new HashSet<Setting>();
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
+
+            for (EAttribute attr : attributes) {
+                Object feature = toReadKey(attr);
+                final Collection<EObject> holders = valMap.get(feature);
+                if (holders != null) {
+                    for (EObject holder : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
+                        retSet.add(new NavigationHelperSetting(attr, holder, value));
+                    }
                 }
             }
-        }
 
-        return retSet;
+            return retSet;
+        } finally {
+            endRead();
+        }
     }
 
     @Override
     public Set<EObject> findByAttributeValue(Object value_, EAttribute attribute) {
-    	Object value = toCanonicalValueRepresentation(value_);
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
-        Object feature = toKey(attribute);
-        final Collection<EObject> holders = valMap.get(feature);
-		if (holders == null) {
-            return Collections.emptySet();
-        } else {
-            return Collections.unmodifiableSet(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+        beginRead();
+        try {
+            Object value = toReadValueRepresentation(value_);
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
+            Object feature = toReadKey(attribute);
+            final Collection<EObject> holders = valMap.get(feature);
+            if (holders == null) {
+                return Collections.emptySet();
+            } else {
+                return unmodifiableView(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+            }
+        } finally {
+            endRead();
         }
     }
         
     @Override
     public void processAllFeatureInstances(EStructuralFeature feature, IEStructuralFeatureProcessor processor) {
-       final Map<Object, Collection<EObject>> instanceMap = contentAdapter.getValueToFeatureToHolderMap().column(toKey(feature));
-        for (Entry<Object, Collection<EObject>> entry : instanceMap.entrySet()) {
-            final Collection<EObject> holders = entry.getValue();
-			for (EObject src : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
-                processor.process(feature, src, entry.getKey());
+        beginRead();
+        try {
+            final Object featureKey = toReadKey(feature);
+            if (featureKey == null) {
+                return;
+            }
+            final Map<Object, Collection<EObject>> instanceMap = contentAdapter.getValueToFeatureToHolderMap().column(featureKey);
+            for (Entry<Object, Collection<EObject>> entry : instanceMap.entrySet()) {
+                final Collection<EObject> holders = entry.getValue();
+                for (EObject src : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
+                    processor.process(feature, src, entry.getKey());
+                }
             }
+        } finally {
+            endRead();
         }
     }
     
     @Override
     public void processDirectInstances(EClass type, IEClassProcessor processor) {
-        Object typeKey = toKey(type);
-        processDirectInstancesInternal(type, processor, typeKey);
+        beginRead();
+        try {
+            Object typeKey = toReadKey(type);
+            processDirectInstancesInternal(type, processor, typeKey);
+        } finally {
+            endRead();
+        }
     }
 
     @Override
     public void processAllInstances(EClass type, IEClassProcessor processor) {
-        Object typeKey = toKey(type);
-        Set<Object> subTypes = contentAdapter.getSubTypeMap().get(typeKey);
-        if (subTypes != null) {
-            for (Object subTypeKey : subTypes) {
-                processDirectInstancesInternal(type, processor, subTypeKey);
-            }
-        } 
-        processDirectInstancesInternal(type, processor, typeKey);
+        beginRead();
+        try {
+            Object typeKey = toReadKey(type);
+            Set<Object> subTypes = contentAdapter.getSubTypeMap().get(typeKey);
+            if (subTypes != null) {
+                for (Object subTypeKey : subTypes) {
+                    processDirectInstancesInternal(type, processor, subTypeKey);
+                }
+            } 
+            processDirectInstancesInternal(type, processor, typeKey);
+        } finally {
+            endRead();
+        }
     }
     
     @Override
     public void processDataTypeInstances(EDataType type, IEDataTypeProcessor processor) {
-    	Object typeKey = toKey(type);
-        Map<Object, Integer> valMap = contentAdapter.getDataTypeMap(typeKey);
-        if (valMap == null) {
-            return;
-        }
-        for (Object value : valMap.keySet()) {
-        	processor.process(type, value);
+        beginRead();
+        try {
+            Object typeKey = toReadKey(type);
+            Map<Object, Integer> valMap = contentAdapter.getDataTypeMap(typeKey);
+            if (valMap == null) {
+                return;
+            }
+            for (Object value : valMap.keySet()) {
+                processor.process(type, value);
+            }
+        } finally {
+            endRead();
         }
     }
 
@@ -356,47 +459,62 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<Setting> getInverseReferences(EObject target) {
-        Set<Setting> retSet = new HashSet<Setting>();
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
+        beginRead();
+        try {
+            Set<Setting> retSet = new HashSet<Setting>();
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
 
-        for (Entry<Object, Collection<EObject>> entry : valMap.entrySet()) {
-            final Collection<EObject> holders = entry.getValue();
-			for (EObject source : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
-                EStructuralFeature feature = contentAdapter.getKnownFeatureForKey(entry.getKey());
-                retSet.add(new NavigationHelperSetting(feature, source, target));
+            for (Entry<Object, Collection<EObject>> entry : valMap.entrySet()) {
+                final Collection<EObject> holders = entry.getValue();
+                for (EObject source : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
+                    EStructuralFeature feature = contentAdapter.getKnownFeatureForKey(entry.getKey());
+                    retSet.add(new NavigationHelperSetting(feature, source, target));
+                }
             }
-        }
 
-        return retSet;
+            return retSet;
+        } finally {
+            endRead();
+        }
     }
 
     @Override
     public Set<Setting> getInverseReferences(EObject target, Collection<EReference> references) {
-        Set<Setting> retSet = new HashSet<Setting>();
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
-
-        for (EReference ref : references) {
-            Object feature = toKey(ref);
-            final Collection<EObject> holders = valMap.get(feature);
-			if (holders != null) {
-                for (EObject source : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
-                    retSet.add(new NavigationHelperSetting(ref, source, target));
+        beginRead();
+        try {
+            Set<Setting> retSet = new HashSet<Setting>();
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
+
+            for (EReference ref : references) {
+                Object feature = toReadKey(ref);
+                final Collection<EObject> holders = valMap.get(feature);
+                if (holders != null) {
+                    for (EObject source : NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders)) {
+                        retSet.add(new NavigationHelperSetting(ref, source, target));
+                    }
                 }
             }
-        }
 
-        return retSet;
+            return retSet;
+        } finally {
+            endRead();
+        }
     }
 
     @Override
     public Set<EObject> getInverseReferences(EObject target, EReference reference) {
-        Object feature = toKey(reference);
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
-        final Collection<EObject> holders = valMap.get(feature);
-		if (holders == null) {
-            return Collections.emptySet();
-        } else {
-            return Collections.unmodifiableSet(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+        beginRead();
+        try {
+            Object feature = toReadKey(reference);
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(target);
+            final Collection<EObject> holders = valMap.get(feature);
+            if (holders == null) {
+                return Collections.emptySet();
+            } else {
+                return unmodifiableView(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+            }
+        } finally {
+            endRead();
         }
     }
 
@@ -409,34 +527,58 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public Set<Object> getFeatureTargets(EObject source, EStructuralFeature _feature) {
-        Object feature = toKey(_feature);
-        final Set<Object> valSet = contentAdapter.getHolderToFeatureToValueMap().get(source, feature);
-        if (valSet == null) {
-            return Collections.emptySet();
-        } else {
-            return Collections.unmodifiableSet(valSet);
+        beginRead();
+        try {
+            Object feature = toReadKey(_feature);
+            final Set<Object> valSet = contentAdapter.getHolderToFeatureToValueMap().get(source, feature);
+            if (valSet == null) {
+                return Collections.emptySet();
+            } else {
+                return unmodifiableView(valSet);
+            }
+        } finally {
+            endRead();
         }
     }
     
     @Override
     public Map<EObject, Set<Object>> getFeatureInstances(EStructuralFeature _feature) {
-        Object feature = toKey(_feature);
-    	final Map<EObject, Set<Object>> valMap = contentAdapter.getHolderToFeatureToValueMap().column(feature);
-        if (valMap == null) {
-            return Collections.emptyMap();
-        } else {
-            return Collections.unmodifiableMap(valMap);
+        beginRead();
+        try {
+            Object feature = toReadKey(_feature);
+            if (feature == null) {
+                return Collections.emptyMap();
+            }
+            final Map<EObject, Set<Object>> valMap = contentAdapter.getHolderToFeatureToValueMap().column(feature);
+            if (valMap == null) {
+                return Collections.emptyMap();
+            } else if (indexLock != null) {
+                final Map<EObject, Set<Object>> snapshot = new HashMap<EObject, Set<Object>>();
+                for (Entry<EObject, Set<Object>> entry : valMap.entrySet()) {
+                    snapshot.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<Object>(entry.getValue())));
+                }
+                return Collections.unmodifiableMap(snapshot);
+            } else {
+                return Collections.unmodifiableMap(valMap);
+            }
+        } finally {
+            endRead();
         }
     }
 
     @Override
     public Set<EObject> getDirectInstances(EClass type) {
-    	Object typeKey = toKey(type);
-        Set<EObject> valSet = contentAdapter.getInstanceSet(typeKey);
-        if (valSet == null) {
-            return Collections.emptySet();
-        } else {
-            return Collections.unmodifiableSet(valSet);
+        beginRead();
+        try {
+            Object typeKey = toReadKey(type);
+            Set<EObject> valSet = contentAdapter.getInstanceSet(typeKey);
+            if (valSet == null) {
+                return Collections.emptySet();
+            } else {
+                return unmodifiableView(valSet);
+            }
+        } finally {
+            endRead();
         }
     }
 
@@ -447,149 +589,285 @@ public class NavigationHelperImpl implements NavigationHelper {
 		return contentAdapter.toKey(feature);
 	}
 	
+	/**
+	 * In concurrent read mode, lookups must not update the metamodel caches of the index, 
+	 * 	therefore the key is null for elements never encountered by the index.
+	 */
+	private Object toReadKey(EClassifier eClassifier) {
+		return indexLock == null ? toKey(eClassifier) : contentAdapter.peekKey(eClassifier);
+	}
+	private Object toReadKey(EStructuralFeature feature) {
+		return indexLock == null ? toKey(feature) : contentAdapter.peekKey(feature);
+	}
+	private Object toReadValueRepresentation(Object value) {
+		return indexLock == null ? toCanonicalValueRepresentation(value) : contentAdapter.peekInternalValueRepresentation(value);
+	}
+	
 	@Override
 	public Object toCanonicalValueRepresentation(Object value) {
-		return contentAdapter.toInternalValueRepresentation(value);
+		if (indexLock == null || !isInDynamicEMFMode()) {
+			return contentAdapter.toInternalValueRepresentation(value);
+		}
+		if (isReadLockedByCurrentThreadOnly()) {
+			// called back from a lookup: the read lock cannot be upgraded, so no new canonical literal is appointed
+			return contentAdapter.peekInternalValueRepresentation(value);
+		}
+		// canonicalization may appoint new canonical enum literals
+		beginWrite();
+		try {
+			return contentAdapter.toInternalValueRepresentation(value);
+		} finally {
+			endWrite();
+		}
 	}
 
     @Override
     public Set<EObject> getAllInstances(EClass type) {
-        Set<EObject> retSet = new HashSet<EObject>();
-
-        Object typeKey = toKey(type);
-        Set<Object> subTypes = contentAdapter.getSubTypeMap().get(typeKey);
-        if (subTypes != null) {
-            for (Object subTypeKey : subTypes) {
-                final Set<EObject> instances = contentAdapter.getInstanceSet(subTypeKey);
-                if (instances != null) {
-                    retSet.addAll(instances);
+        beginRead();
+        try {
+            Set<EObject> retSet = new HashSet<EObject>();
+
+            Object typeKey = toReadKey(type);
+            Set<Object> subTypes = contentAdapter.getSubTypeMap().get(typeKey);
+            if (subTypes != null) {
+                for (Object subTypeKey : subTypes) {
+                    final Set<EObject> instances = contentAdapter.getInstanceSet(subTypeKey);
+                    if (instances != null) {
+                        retSet.addAll(instances);
+                    }
                 }
+            } 
+            final Set<EObject> instances = contentAdapter.getInstanceSet(typeKey);
+            if (instances != null) {
+                retSet.addAll(instances);
             }
-        } 
-        final Set<EObject> instances = contentAdapter.getInstanceSet(typeKey);
-        if (instances != null) {
-            retSet.addAll(instances);
-        }
 
-        return retSet;
+            return retSet;
+        } finally {
+            endRead();
+        }
     }
 
     @Override
     public Set<EObject> findByFeatureValue(Object value_, EStructuralFeature _feature) {
-    	Object value = toCanonicalValueRepresentation(value_);
-        Object feature = toKey(_feature);
-        Set<EObject> retSet = new HashSet<EObject>();
-        Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
-        final Collection<EObject> holders = valMap.get(feature);
-		if (holders != null) {
-            retSet.addAll(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+        beginRead();
+        try {
+            Object value = toReadValueRepresentation(value_);
+            Object feature = toReadKey(_feature);
+            Set<EObject> retSet = new HashSet<EObject>();
+            Map<Object, Collection<EObject>> valMap = contentAdapter.getValueToFeatureToHolderMap().row(value);
+            final Collection<EObject> holders = valMap.get(feature);
+            if (holders != null) {
+                retSet.addAll(NavigationHelperContentAdapter.holderCollectionToUniqueSet(holders));
+            }
+            return retSet;
+        } finally {
+            endRead();
         }
-        return retSet;
     }
 
     @Override
     public Set<EObject> getHoldersOfFeature(EStructuralFeature _feature) {
-        Object feature = toKey(_feature);
-        Multiset<EObject> holders = contentAdapter.getFeatureToHolderMap().get(feature);
-        if (holders == null) {
-           return Collections.emptySet();
+        beginRead();
+        try {
+            Object feature = toReadKey(_feature);
+            Multiset<EObject> holders = contentAdapter.getFeatureToHolderMap().get(feature);
+            if (holders == null) {
+               return Collections.emptySet();
+            } else {
+                return unmodifiableView(holders.elementSet());
+            }
+        } finally {
+            endRead();
+        }
+    }
+    
+    /**
+     * Wraps the given index set for returning it to clients; in concurrent read mode, a snapshot copy is returned
+     * instead of a live view, as the index may change once the read lock is released.
+     */
+    private <T> Set<T> unmodifiableView(Set<T> indexedSet) {
+        if (indexLock == null) {
+            return Collections.unmodifiableSet(indexedSet);
         } else {
-            return Collections.unmodifiableSet(holders.elementSet());
+            return Collections.unmodifiableSet(new HashSet<T>(indexedSet));
+        }
+    }
+
+    /**
+     * Acquires the read lock in concurrent read mode; must be paired with {@link #endRead()} in a finally block.
+     */
+    protected void beginRead() {
+        if (indexLock != null) {
+            indexLock.readLock().lock();
+        }
+    }
+
+    protected void endRead() {
+        if (indexLock != null) {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acquires the write lock in concurrent read mode; must be paired with {@link #endWrite()} in a finally block.
+     * Reentrant; read access is allowed while holding the write lock (e.g. by listeners during notification).
+     * 
+     * @throws IllegalStateException
+     *             if the current thread holds only the read lock (e.g. a lookup callback resolves a proxy, thus
+     *             triggering an index update), as the read lock cannot be upgraded without a deadlock
+     */
+    protected void beginWrite() {
+        if (indexLock != null) {
+            if (isReadLockedByCurrentThreadOnly()) {
+                throw new IllegalStateException(
+                        "The base index cannot be updated by a thread that is reading it in concurrent read mode");
+            }
+            indexLock.writeLock().lock();
+        }
+    }
+
+    private boolean isReadLockedByCurrentThreadOnly() {
+        return indexLock.getReadHoldCount() > 0 && !indexLock.isWriteLockedByCurrentThread();
+    }
+
+    protected void endWrite() {
+        if (indexLock != null) {
+            indexLock.writeLock().unlock();
         }
     }
 
     @Override
     public void addInstanceListener(Collection<EClass> classes, InstanceListener listener) {
-        Set<EClass> registered = this.subscribedInstanceListeners.get(listener);
-        if (registered == null) {
-            registered = new HashSet<EClass>();
-            this.subscribedInstanceListeners.put(listener, registered);
-        }
-        Set<EClass> delta = setMinus(classes, registered);
-        if (!delta.isEmpty()) {
-        	registered.addAll(delta);
-        	if (instanceListeners!= null) { // if already computed
-    	        for (EClass subscriptionType : delta) {
-    	        	final Object superElementTypeKey = toKey(subscriptionType);
-					addInstanceListenerInternal(listener, subscriptionType, superElementTypeKey);
-					final Set<Object> subTypeKeys = contentAdapter.getSubTypeMap().get(superElementTypeKey);
-					if (subTypeKeys != null) for (Object subTypeKey : subTypeKeys) {
-						addInstanceListenerInternal(listener, subscriptionType, subTypeKey);
-					}
-    	        }
-        	}
+        beginWrite();
+        try {
+            Set<EClass> registered = this.subscribedInstanceListeners.get(listener);
+            if (registered == null) {
+                registered = new HashSet<EClass>();
+                this.subscribedInstanceListeners.put(listener, registered);
+            }
+            Set<EClass> delta = setMinus(classes, registered);
+            if (!delta.isEmpty()) {
+            	registered.addAll(delta);
+            	if (instanceListeners!= null) { // if already computed
+        	        for (EClass subscriptionType : delta) {
+        	        	final Object superElementTypeKey = toKey(subscriptionType);
+    					addInstanceListenerInternal(listener, subscriptionType, superElementTypeKey);
+    					final Set<Object> subTypeKeys = contentAdapter.getSubTypeMap().get(superElementTypeKey);
+    					if (subTypeKeys != null) for (Object subTypeKey : subTypeKeys) {
+    						addInstanceListenerInternal(listener, subscriptionType, subTypeKey);
+    					}
+        	        }
+            	}
+            }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void removeInstanceListener(Collection<EClass> classes, InstanceListener listener) {
-    	Set<EClass> restriction = this.subscribedInstanceListeners.get(listener);
-        if (restriction != null) {
-            boolean changed = restriction.removeAll(classes);
-            if (restriction.size() == 0) {
-                this.subscribedInstanceListeners.remove(listener);
+        beginWrite();
+        try {
+        	Set<EClass> restriction = this.subscribedInstanceListeners.get(listener);
+            if (restriction != null) {
+                boolean changed = restriction.removeAll(classes);
+                if (restriction.size() == 0) {
+                    this.subscribedInstanceListeners.remove(listener);
+                }
+                if (changed) {
+                    instanceListeners = null; // recompute later on demand
+                    listenerVersion++;
+                }
             }
-            if (changed) instanceListeners = null; // recompute later on demand
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void addFeatureListener(Collection<? extends EStructuralFeature> features, FeatureListener listener) {
-        Set<EStructuralFeature> registered = this.subscribedFeatureListeners.get(listener);
-        if (registered == null) {
-            registered = new HashSet<EStructuralFeature>();
-            this.subscribedFeatureListeners.put(listener, registered);
-        }
-        Set<EStructuralFeature> delta = setMinus(features, registered);
-        if (!delta.isEmpty()) {
-        	registered.addAll(delta);
-        	if (featureListeners!= null) { // if already computed
-    	        for (EStructuralFeature subscriptionType : delta) {
-    	        	addFeatureListenerInternal(listener, subscriptionType, toKey(subscriptionType));
-    	        }
-        	}
+        beginWrite();
+        try {
+            Set<EStructuralFeature> registered = this.subscribedFeatureListeners.get(listener);
+            if (registered == null) {
+                registered = new HashSet<EStructuralFeature>();
+                this.subscribedFeatureListeners.put(listener, registered);
+            }
+            Set<EStructuralFeature> delta = setMinus(features, registered);
+            if (!delta.isEmpty()) {
+            	registered.addAll(delta);
+            	if (featureListeners!= null) { // if already computed
+        	        for (EStructuralFeature subscriptionType : delta) {
+        	        	addFeatureListenerInternal(listener, subscriptionType, toKey(subscriptionType));
+        	        }
+            	}
+            }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void removeFeatureListener(Collection<? extends EStructuralFeature> features, FeatureListener listener) {
-        Collection<EStructuralFeature> restriction = this.subscribedFeatureListeners.get(listener);
-        if (restriction != null) {
-        	boolean changed = restriction.removeAll(features);
-            if (restriction.size() == 0) {
-                this.subscribedFeatureListeners.remove(listener);
+        beginWrite();
+        try {
+            Collection<EStructuralFeature> restriction = this.subscribedFeatureListeners.get(listener);
+            if (restriction != null) {
+            	boolean changed = restriction.removeAll(features);
+                if (restriction.size() == 0) {
+                    this.subscribedFeatureListeners.remove(listener);
+                }
+                if (changed) {
+                    featureListeners = null; // recompute later on demand
+                    listenerVersion++;
+                }
             }
-            if (changed) featureListeners = null; // recompute later on demand
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void addDataTypeListener(Collection<EDataType> types, DataTypeListener listener) {
-        Set<EDataType> registered = this.subscribedDataTypeListeners.get(listener);
-        if (registered == null) {
-            registered = new HashSet<EDataType>();
-            this.subscribedDataTypeListeners.put(listener, registered);
-        }
-        Set<EDataType> delta = setMinus(types, registered);
-        if (!delta.isEmpty()) {
-        	registered.addAll(delta);
-        	if (dataTypeListeners!= null) { // if already computed
-    	        for (EDataType subscriptionType : delta) {
-    	        	addDatatypeListenerInternal(listener, subscriptionType, toKey(subscriptionType));
-    	        }
-        	}
+        beginWrite();
+        try {
+            Set<EDataType> registered = this.subscribedDataTypeListeners.get(listener);
+            if (registered == null) {
+                registered = new HashSet<EDataType>();
+                this.subscribedDataTypeListeners.put(listener, registered);
+            }
+            Set<EDataType> delta = setMinus(types, registered);
+            if (!delta.isEmpty()) {
+            	registered.addAll(delta);
+            	if (dataTypeListeners!= null) { // if already computed
+        	        for (EDataType subscriptionType : delta) {
+        	        	addDatatypeListenerInternal(listener, subscriptionType, toKey(subscriptionType));
+        	        }
+            	}
+            }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void removeDataTypeListener(Collection<EDataType> types, DataTypeListener listener) {
-        Collection<EDataType> restriction = this.subscribedDataTypeListeners.get(listener);
-        if (restriction != null) {
-        	boolean changed = restriction.removeAll(types);
-            if (restriction.size() == 0) {
-                this.subscribedDataTypeListeners.remove(listener);
+        beginWrite();
+        try {
+            Collection<EDataType> restriction = this.subscribedDataTypeListeners.get(listener);
+            if (restriction != null) {
+            	boolean changed = restriction.removeAll(types);
+                if (restriction.size() == 0) {
+                    this.subscribedDataTypeListeners.remove(listener);
+                }
+                if (changed) {
+                    dataTypeListeners = null; // recompute later on demand
+                    listenerVersion++;
+                }
             }
-            if (changed) dataTypeListeners = null; // recompute later on demand
+        } finally {
+            endWrite();
         }
     }
 
@@ -602,25 +880,35 @@ public class NavigationHelperImpl implements NavigationHelper {
     
     @Override
     public boolean addLightweightEObjectObserver(LightweightEObjectObserver observer, EObject observedObject){
-        Collection<EObject> observedObjects = lightweightObservers.get(observer);
-        if(observedObjects == null) {
-            observedObjects = new HashSet<EObject>();
-            lightweightObservers.put(observer, observedObjects);
+        beginWrite();
+        try {
+            Collection<EObject> observedObjects = lightweightObservers.get(observer);
+            if(observedObjects == null) {
+                observedObjects = new HashSet<EObject>();
+                lightweightObservers.put(observer, observedObjects);
+            }
+            return observedObjects.add(observedObject);
+        } finally {
+            endWrite();
         }
-        return observedObjects.add(observedObject);
     }
     
     @Override
     public boolean removeLightweightEObjectObserver(LightweightEObjectObserver observer, EObject observedObject) {
-        boolean result = false;
-    	Collection<EObject> observedObjects = lightweightObservers.get(observer);
-        if(observedObjects != null) {
-        	result = observedObjects.remove(observedObject);
-            if(observedObjects.isEmpty()) {
-            	lightweightObservers.remove(observer);
+        beginWrite();
+        try {
+            boolean result = false;
+        	Collection<EObject> observedObjects = lightweightObservers.get(observer);
+            if(observedObjects != null) {
+            	result = observedObjects.remove(observedObject);
+                if(observedObjects.isEmpty()) {
+                	lightweightObservers.remove(observer);
+                }
             }
+            return result;
+        } finally {
+            endWrite();
         }
-        return result;
     }
     
     /**
@@ -635,7 +923,12 @@ public class NavigationHelperImpl implements NavigationHelper {
      */
     protected void notifyBaseIndexChangeListeners(boolean baseIndexChanged) {
         if (!baseIndexChangeListeners.isEmpty()) {
-            for (EMFBaseIndexChangeListener listener : new ArrayList<EMFBaseIndexChangeListener>(baseIndexChangeListeners)) {
+            if (baseIndexChangeListenerArray == null) {
+                baseIndexChangeListenerArray = baseIndexChangeListeners
+                        .toArray(new EMFBaseIndexChangeListener[baseIndexChangeListeners.size()]);
+            }
+            // the snapshot is not modified in place, so listeners may unsubscribe during iteration
+            for (EMFBaseIndexChangeListener listener : baseIndexChangeListenerArray) {
                 try {
                     if(!listener.onlyOnIndexChange() || baseIndexChanged) {
                         listener.notifyChanged(baseIndexChanged);
@@ -651,13 +944,17 @@ public class NavigationHelperImpl implements NavigationHelper {
     @Override
     public void addBaseIndexChangeListener(EMFBaseIndexChangeListener listener) {
         checkArgument(listener != null, "Cannot add null listener!");
-        baseIndexChangeListeners.add(listener);
+        if (baseIndexChangeListeners.add(listener)) {
+            baseIndexChangeListenerArray = null;
+        }
     }
 
     @Override
     public void removeBaseIndexChangeListener(EMFBaseIndexChangeListener listener) {
         checkArgument(listener != null, "Cannot remove null listener!");
-        baseIndexChangeListeners.remove(listener);
+        if (baseIndexChangeListeners.remove(listener)) {
+            baseIndexChangeListenerArray = null;
+        }
     }
 
     @Override
@@ -699,6 +996,10 @@ public class NavigationHelperImpl implements NavigationHelper {
     	if (root instanceof ResourceSet) {
     		expansionAllowed = true;
     	} else if (root instanceof Resource) {
+    		if (lazyResourceFilter != null) {
+    			// explicitly added roots are always demanded
+    			lazyResourceFilter.promote((Resource) root);
+    		}
     		IBaseIndexResourceFilter resourceFilter = baseIndexOptions.getResourceFilterConfiguration();
     		if (resourceFilter != null && resourceFilter.isResourceFiltered((Resource) root))
     			return;
@@ -772,6 +1073,27 @@ public class NavigationHelperImpl implements NavigationHelper {
 		return instanceListeners;
 	}
 
+	/**
+	 * @return a counter incremented whenever the listener tables change
+	 */
+	int getListenerVersion() {
+		return listenerVersion;
+	}
+
+	/**
+	 * @return a counter incremented whenever the set of observed types or the type hierarchy changes
+	 */
+	int getObservationVersion() {
+		return observationVersion;
+	}
+
+	/**
+	 * Invalidates the cached change visitors.
+	 */
+	void observationChanged() {
+		observationVersion++;
+	}
+
 	void addInstanceListenerInternal(final InstanceListener listener,
 			EClass subscriptionType, final Object elementTypeKey) {
 		Set<EClass> subscriptionTypes = instanceListeners.get(elementTypeKey,listener);
@@ -779,7 +1101,9 @@ public class NavigationHelperImpl implements NavigationHelper {
 			subscriptionTypes = new HashSet<EClass>();
 			instanceListeners.put(elementTypeKey, listener, subscriptionTypes);
 		}
-		subscriptionTypes.add(subscriptionType);
+		if (subscriptionTypes.add(subscriptionType)) {
+			listenerVersion++;
+		}
 	}
 
 	/**
@@ -807,7 +1131,9 @@ public class NavigationHelperImpl implements NavigationHelper {
 			subscriptionTypes = new HashSet<EStructuralFeature>();
 			featureListeners.put(elementTypeKey, listener, subscriptionTypes);
 		}
-		subscriptionTypes.add(subscriptionType);
+		if (subscriptionTypes.add(subscriptionType)) {
+			listenerVersion++;
+		}
 	}
 
 	/**
@@ -834,38 +1160,45 @@ public class NavigationHelperImpl implements NavigationHelper {
 			subscriptionTypes = new HashSet<EDataType>();
 			dataTypeListeners.put(elementTypeKey, listener, subscriptionTypes);
 		}
-		subscriptionTypes.add(subscriptionType);
+		if (subscriptionTypes.add(subscriptionType)) {
+			listenerVersion++;
+		}
 	}
 
 	@Override
     public void registerObservedTypes(Set<EClass> classes, Set<EDataType> dataTypes, Set<? extends EStructuralFeature> features) {
-        ensureNotInWildcardMode();
-        if (classes !=null || features != null || dataTypes!=null) {
-			final Set<Object> resolvedFeatures = resolveFeaturesToKey(features);
-			final Set<Object> resolvedClasses = resolveClassifiersToKey(classes);
-			final Set<Object> resolvedDatatypes = resolveClassifiersToKey(dataTypes);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (classes !=null || features != null || dataTypes!=null) {
+    			final Set<Object> resolvedFeatures = resolveFeaturesToKey(features);
+    			final Set<Object> resolvedClasses = resolveClassifiersToKey(classes);
+    			final Set<Object> resolvedDatatypes = resolveClassifiersToKey(dataTypes);
 			
-			try {
-			     coalesceTraversals(new Callable<Void>() {
-			         @Override
-			         public Void call() throws Exception {
-			         	delayedFeatures.addAll(resolvedFeatures);
-			         	delayedDataTypes.addAll(resolvedDatatypes);
-			         	delayedClasses.addAll(resolvedClasses);
-			         	return null;
-			         }
-			     });
-			 } catch (InvocationTargetException ex) {
-			     processingError(ex.getCause(), "register en masse the observed EClasses " + resolvedClasses
-			    		 + " and EDatatypes " + resolvedDatatypes
-			    		 + " and EStructuralFeatures " + resolvedFeatures);
-			 } catch (Exception ex) {
-			     processingError(ex, "register en masse the observed EClasses " + resolvedClasses
-			    		 + " and EDatatypes " + resolvedDatatypes
-			    		 + " and EStructuralFeatures " + resolvedFeatures);
-			 }
-	     }
-	 }
+    			try {
+    			     coalesceTraversals(new Callable<Void>() {
+    			         @Override
+    			         public Void call() throws Exception {
+    			         	delayedFeatures.addAll(resolvedFeatures);
+    			         	delayedDataTypes.addAll(resolvedDatatypes);
+    			         	delayedClasses.addAll(resolvedClasses);
+    			         	return null;
+    			         }
+    			     });
+    			 } catch (InvocationTargetException ex) {
+    			     processingError(ex.getCause(), "register en masse the observed EClasses " + resolvedClasses
+    			    		 + " and EDatatypes " + resolvedDatatypes
+    			    		 + " and EStructuralFeatures " + resolvedFeatures);
+    			 } catch (Exception ex) {
+    			     processingError(ex, "register en masse the observed EClasses " + resolvedClasses
+    			    		 + " and EDatatypes " + resolvedDatatypes
+    			    		 + " and EStructuralFeatures " + resolvedFeatures);
+    			 }
+    	     }
+        } finally {
+            endWrite();
+        }
+    }
 
     @Override
     public void unregisterObservedTypes(Set<EClass> classes,
@@ -877,65 +1210,81 @@ public class NavigationHelperImpl implements NavigationHelper {
     
     @Override
     public void registerEStructuralFeatures(Set<? extends EStructuralFeature> features) {
-        ensureNotInWildcardMode();
-        if (features != null) {
-            final Set<Object> resolved = resolveFeaturesToKey(features);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (features != null) {
+                final Set<Object> resolved = resolveFeaturesToKey(features);
             
-            try {
-                coalesceTraversals(new Callable<Void>() {
-                    @Override
-                    public Void call() throws Exception {
-                    	delayedFeatures.addAll(resolved);
-                    	return null;
-                    }
-                });
-            } catch (InvocationTargetException ex) {
-                processingError(ex.getCause(), "register the observed EStructuralFeatures: " + resolved);
-            } catch (Exception ex) {
-                processingError(ex, "register the observed EStructuralFeatures: " + resolved);
+                try {
+                    coalesceTraversals(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                        	delayedFeatures.addAll(resolved);
+                        	return null;
+                        }
+                    });
+                } catch (InvocationTargetException ex) {
+                    processingError(ex.getCause(), "register the observed EStructuralFeatures: " + resolved);
+                } catch (Exception ex) {
+                    processingError(ex, "register the observed EStructuralFeatures: " + resolved);
+                }
             }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void unregisterEStructuralFeatures(Set<? extends EStructuralFeature> features) {
-        ensureNotInWildcardMode();
-        if (features != null) {
-        	final Set<Object> resolved = resolveFeaturesToKey(features);
-            ensureNoListeners(resolved, getFeatureListeners());									
-            observedFeatures.removeAll(resolved);
-            delayedFeatures.removeAll(resolved);
-            for (Object f : resolved) {
-                contentAdapter.getValueToFeatureToHolderMap().column(f).clear();
-                if (contentAdapter.peekFeatureToHolderMap() != null) {
-                	contentAdapter.peekFeatureToHolderMap().remove(f);
-                }
-                if (contentAdapter.peekHolderToFeatureToValueMap() != null) {
-                	contentAdapter.peekHolderToFeatureToValueMap().column(f).clear();
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (features != null) {
+            	final Set<Object> resolved = resolveFeaturesToKey(features);
+                ensureNoListeners(resolved, getFeatureListeners());									
+                observedFeatures.removeAll(resolved);
+                observationChanged();
+                delayedFeatures.removeAll(resolved);
+                for (Object f : resolved) {
+                    contentAdapter.getValueToFeatureToHolderMap().column(f).clear();
+                    if (contentAdapter.peekFeatureToHolderMap() != null) {
+                    	contentAdapter.peekFeatureToHolderMap().remove(f);
+                    }
+                    if (contentAdapter.peekHolderToFeatureToValueMap() != null) {
+                    	contentAdapter.peekHolderToFeatureToValueMap().column(f).clear();
+                    }
                 }
             }
+        } finally {
+            endWrite();
         }
     }
 
 	@Override
     public void registerEClasses(Set<EClass> classes) {
-        ensureNotInWildcardMode();
-        if (classes != null) {
-            final Set<Object> resolvedClasses = resolveClassifiersToKey(classes);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (classes != null) {
+                final Set<Object> resolvedClasses = resolveClassifiersToKey(classes);
             
-            try {
-                coalesceTraversals(new Callable<Void>() {
-                    @Override
-                    public Void call() throws Exception {
-                    	delayedClasses.addAll(resolvedClasses);
-                    	return null;
-                    }
-                });
-            } catch (InvocationTargetException ex) {
-                processingError(ex.getCause(), "register the observed EClasses: " + resolvedClasses);
-            } catch (Exception ex) {
-                processingError(ex, "register the observed EClasses: " + resolvedClasses);
+                try {
+                    coalesceTraversals(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                        	delayedClasses.addAll(resolvedClasses);
+                        	return null;
+                        }
+                    });
+                } catch (InvocationTargetException ex) {
+                    processingError(ex.getCause(), "register the observed EClasses: " + resolvedClasses);
+                } catch (Exception ex) {
+                    processingError(ex, "register the observed EClasses: " + resolvedClasses);
+                }
             }
+        } finally {
+            endWrite();
         }
     }
 
@@ -951,20 +1300,27 @@ public class NavigationHelperImpl implements NavigationHelper {
                 allObservedClasses.addAll(subTypes);
             }
         }
+        observationChanged();
     }
 
     @Override
     public void unregisterEClasses(Set<EClass> classes) {
-        ensureNotInWildcardMode();
-        if (classes != null) {
-        	final Set<Object> resolved = resolveClassifiersToKey(classes);
-            ensureNoListeners(resolved, getInstanceListeners());									
-            directlyObservedClasses.removeAll(resolved);
-            allObservedClasses = null;
-            delayedClasses.removeAll(resolved);
-            for (Object c : resolved) {
-                contentAdapter.removeInstanceSet(c);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (classes != null) {
+            	final Set<Object> resolved = resolveClassifiersToKey(classes);
+                ensureNoListeners(resolved, getInstanceListeners());									
+                directlyObservedClasses.removeAll(resolved);
+                allObservedClasses = null;
+                observationChanged();
+                delayedClasses.removeAll(resolved);
+                for (Object c : resolved) {
+                    contentAdapter.removeInstanceSet(c);
+                }
             }
+        } finally {
+            endWrite();
         }
     }
 
@@ -972,47 +1328,72 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public void registerEDataTypes(Set<EDataType> dataTypes) {
-        ensureNotInWildcardMode();
-        if (dataTypes != null) {
-            final Set<Object> resolved = resolveClassifiersToKey(dataTypes);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (dataTypes != null) {
+                final Set<Object> resolved = resolveClassifiersToKey(dataTypes);
             
-            try {
-                coalesceTraversals(new Callable<Void>() {
-                    @Override
-                    public Void call() throws Exception {
-                    	delayedDataTypes.addAll(resolved);
-                    	return null;
-                    }
-                });
-            } catch (InvocationTargetException ex) {
-                processingError(ex.getCause(), "register the observed EDataTypes: " + resolved);
-            } catch (Exception ex) {
-                processingError(ex, "register the observed EDataTypes: " + resolved);
+                try {
+                    coalesceTraversals(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                        	delayedDataTypes.addAll(resolved);
+                        	return null;
+                        }
+                    });
+                } catch (InvocationTargetException ex) {
+                    processingError(ex.getCause(), "register the observed EDataTypes: " + resolved);
+                } catch (Exception ex) {
+                    processingError(ex, "register the observed EDataTypes: " + resolved);
+                }
             }
+        } finally {
+            endWrite();
         }
     }
 
     @Override
     public void unregisterEDataTypes(Set<EDataType> dataTypes) {
-        ensureNotInWildcardMode();
-        if (dataTypes != null) {
-        	final Set<Object> resolved = resolveClassifiersToKey(dataTypes);
-            ensureNoListeners(resolved, getDataTypeListeners());									
-            observedDataTypes.removeAll(resolved);
-            delayedDataTypes.removeAll(resolved);
-            for (Object dataType : resolved) {
-                contentAdapter.removeDataTypeMap(dataType);
+        beginWrite();
+        try {
+            ensureNotInWildcardMode();
+            if (dataTypes != null) {
+            	final Set<Object> resolved = resolveClassifiersToKey(dataTypes);
+                ensureNoListeners(resolved, getDataTypeListeners());									
+                observedDataTypes.removeAll(resolved);
+                observationChanged();
+                delayedDataTypes.removeAll(resolved);
+                for (Object dataType : resolved) {
+                    contentAdapter.removeDataTypeMap(dataType);
+                }
             }
+        } finally {
+            endWrite();
         }
     }
     
     @Override
     public boolean isCoalescing() {
+    	if (indexLock != null && !indexLock.isWriteLockedByCurrentThread()) {
+    		// other threads only get read access once the coalescing period is over
+    		return false;
+    	}
     	return delayTraversals;
     }
 
     @Override
     public <V> V coalesceTraversals(Callable<V> callable) throws InvocationTargetException {
+        // all updates of the index are performed in a coalesced block, thus guarded by the write lock
+        beginWrite();
+        try {
+            return coalesceTraversalsInternal(callable);
+        } finally {
+            endWrite();
+        }
+    }
+
+    private <V> V coalesceTraversalsInternal(Callable<V> callable) throws InvocationTargetException {
         V finalResult = null;
         
         if (delayTraversals) { // reentrant case, no special action needed
@@ -1026,9 +1407,16 @@ public class NavigationHelperImpl implements NavigationHelper {
         
 	    boolean firstRun = true;
         while (callable != null) {   // repeat if post-processing needed  	
-	        delayedClasses = new HashSet<Object>();
-	        delayedFeatures = new HashSet<Object>();
-	        delayedDataTypes = new HashSet<Object>();
+	        // the accumulators are reused, as most coalesced blocks (e.g. notifications) leave them empty
+	        if (delayedClasses == null) {
+	            delayedClasses = new HashSet<Object>();
+	            delayedFeatures = new HashSet<Object>();
+	            delayedDataTypes = new HashSet<Object>();
+	        } else {
+	            delayedClasses.clear();
+	            delayedFeatures.clear();
+	            delayedDataTypes.clear();
+	        }
 
         	try {
         		try {
@@ -1055,17 +1443,20 @@ public class NavigationHelperImpl implements NavigationHelper {
         			delayTraversals = false;
         			callable = null;
         			
-        			delayedFeatures = setMinus(delayedFeatures, observedFeatures);
-        			delayedClasses = setMinus(delayedClasses, directlyObservedClasses);
-        			delayedDataTypes = setMinus(delayedDataTypes, observedDataTypes);
-        			
-        			boolean classesWarrantTraversal = !setMinus(delayedClasses, getAllObservedClassesInternal()).isEmpty();
+        			if (!delayedClasses.isEmpty() || !delayedFeatures.isEmpty() || !delayedDataTypes.isEmpty()) {
+        				delayedFeatures.removeAll(observedFeatures);
+        				delayedClasses.removeAll(directlyObservedClasses);
+        				delayedDataTypes.removeAll(observedDataTypes);
+        			}
         			
         			if (!delayedClasses.isEmpty() || !delayedFeatures.isEmpty() || !delayedDataTypes.isEmpty()) {
+        				boolean classesWarrantTraversal = !setMinus(delayedClasses, getAllObservedClassesInternal()).isEmpty();
+        				
         				final Set<Object> oldClasses = new HashSet<Object>(directlyObservedClasses);
         				startObservingClasses(delayedClasses);
         				observedDataTypes.addAll(delayedDataTypes);
         				observedFeatures.addAll(delayedFeatures);
+        				observationChanged();
         				
         				// make copies so that original accumulators can be cleaned for the next cycle
         				// or for the rare case that a coalesced  traversal is invoked during visitation, 
@@ -1115,7 +1506,12 @@ public class NavigationHelperImpl implements NavigationHelper {
 
     @Override
     public void addRoot(Notifier emfRoot) throws IncQueryBaseException {
-        addRootInternal(emfRoot);
+        beginWrite();
+        try {
+            addRootInternal(emfRoot);
+        } finally {
+            endWrite();
+        }
     }
 
     
@@ -1178,9 +1574,167 @@ public class NavigationHelperImpl implements NavigationHelper {
     
     @Override
     public Set<EClass> getAllCurrentClasses() {
-    	return contentAdapter.getAllCurrentClasses();
+        beginRead();
+        try {
+        	return contentAdapter.getAllCurrentClasses();
+        } finally {
+            endRead();
+        }
     }
     
+    @Override
+    public void indexResource(Resource resource) {
+        // the filter is thread-safe, so already indexed resources can be checked without locking
+        if (lazyResourceFilter == null || resource == null || lazyResourceFilter.isPromoted(resource)) {
+            return;
+        }
+        beginWrite();
+        try {
+            final ResourceSet resourceSet = resource.getResourceSet();
+            if (resourceSet == null || !modelRoots.contains(resourceSet)) {
+                return;
+            }
+            if (lazyResourceFilter.promote(resource)) {
+                // only the new resource is traversed; the content adapter of the ResourceSet skipped it so far
+                contentAdapter.addAdapter(resource);
+                contentAdapter.notifyBaseIndexChangeListeners();
+            }
+        } finally {
+            endWrite();
+        }
+    }
+
+    @Override
+    public List<BaseIndexMetricEntry> getIndexMetrics() {
+        if (metrics == null) {
+            return Collections.emptyList();
+        }
+        beginRead();
+        try {
+            return metrics.getEntries();
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public String getIndexMetricsReport(int n) {
+        if (metrics == null) {
+            return "";
+        }
+        beginRead();
+        try {
+            return metrics.getReport(n);
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public void resetIndexMetrics() {
+        if (metrics != null) {
+            metrics.reset();
+        }
+    }
+
+    @Override
+    public int estimateInstanceCount(EClass clazz) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return -1;
+        }
+        beginRead();
+        try {
+            // peeking avoids registering the class as known, if it has no instances anyway
+            final Object classKey = contentAdapter.peekKey(clazz);
+            if (classKey == null) {
+                return 0;
+            }
+            int result = contentAdapter.getStatistics(classKey);
+            final Set<Object> subTypes = contentAdapter.getSubTypeMap().get(classKey);
+            if (subTypes != null) {
+                for (Object subTypeKey : subTypes) {
+                    result += contentAdapter.getStatistics(subTypeKey);
+                }
+            }
+            return result;
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public int estimateDataTypeInstanceCount(EDataType type) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return -1;
+        }
+        beginRead();
+        try {
+            final Object typeKey = contentAdapter.peekKey(type);
+            return typeKey == null ? 0 : contentAdapter.getStatistics(typeKey);
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public int estimateFeatureInstanceCount(EStructuralFeature feature) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return -1;
+        }
+        beginRead();
+        try {
+            final Object featureKey = contentAdapter.peekKey(feature);
+            return featureKey == null ? 0 : contentAdapter.getStatistics(featureKey);
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public double estimateAverageFanOut(EStructuralFeature feature) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return -1;
+        }
+        final int holderCount = estimateInstanceCount(feature.getEContainingClass());
+        if (holderCount == 0) {
+            return 0;
+        }
+        return ((double) estimateFeatureInstanceCount(feature)) / holderCount;
+    }
+
+    @Override
+    public int estimateMaximalFanOut(EStructuralFeature feature, boolean inverse) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return -1;
+        }
+        beginRead();
+        try {
+            final DegreeHistogram degrees = getDegreeStatistics(feature, inverse);
+            return degrees == null ? 0 : degrees.getMaximalDegree();
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Integer> estimateFanOutHistogram(EStructuralFeature feature, boolean inverse) {
+        if (!baseIndexOptions.isStatisticsMode()) {
+            return null;
+        }
+        beginRead();
+        try {
+            final DegreeHistogram degrees = getDegreeStatistics(feature, inverse);
+            return degrees == null ? new TreeMap<Integer, Integer>() : degrees.getHistogram();
+        } finally {
+            endRead();
+        }
+    }
+
+    private DegreeHistogram getDegreeStatistics(EStructuralFeature feature, boolean inverse) {
+        final Object featureKey = contentAdapter.peekKey(feature);
+        return featureKey == null ? null : contentAdapter.getDegreeStatistics(featureKey, inverse);
+    }
+
     protected void processingError(Throwable ex, String task) {
         contentAdapter.processingFatal(ex, task);
     }
@@ -1204,36 +1758,41 @@ public class NavigationHelperImpl implements NavigationHelper {
      * Resamples the values of not well-behaving derived features if those features are also indexed.
      */
     public void resampleDerivedFeatures() {
-        // otherwise notifications are delivered anyway
-        if(!baseIndexOptions.isTraverseOnlyWellBehavingDerivedFeatures()) {
-            // get all required classes
-            Set<EClass> allCurrentClasses = contentAdapter.getAllCurrentClasses();
-            Set<EStructuralFeature> featuresToSample = Sets.newHashSet();
-            // collect features to sample
-            for (EClass cls : allCurrentClasses) {
-                EList<EStructuralFeature> features = cls.getEAllStructuralFeatures();
-                for (EStructuralFeature f : features) {
-                    // is feature only sampled?
-                    if(comprehension.onlySamplingFeature(f)) {
-                        featuresToSample.add(f);
+        beginWrite();
+        try {
+            // otherwise notifications are delivered anyway
+            if(!baseIndexOptions.isTraverseOnlyWellBehavingDerivedFeatures()) {
+                // get all required classes
+                Set<EClass> allCurrentClasses = contentAdapter.getAllCurrentClasses();
+                Set<EStructuralFeature> featuresToSample = Sets.newHashSet();
+                // collect features to sample
+                for (EClass cls : allCurrentClasses) {
+                    EList<EStructuralFeature> features = cls.getEAllStructuralFeatures();
+                    for (EStructuralFeature f : features) {
+                        // is feature only sampled?
+                        if(comprehension.onlySamplingFeature(f)) {
+                            featuresToSample.add(f);
+                        }
                     }
                 }
-            }
             
-            final EMFVisitor removalVisitor = contentAdapter.visitor(false);
-            final EMFVisitor insertionVisitor = contentAdapter.visitor(true);
+                final EMFVisitor removalVisitor = contentAdapter.visitor(false);
+                final EMFVisitor insertionVisitor = contentAdapter.visitor(true);
             
-            // iterate on instances
-            for (final EStructuralFeature f : featuresToSample) {
-                EClass containingClass = f.getEContainingClass();
-                processAllInstances(containingClass, new IEClassProcessor() {
-                    @Override
-                    public void process(EClass type, EObject instance) {
-                        contentAdapter.resampleFeatureValueForHolder(instance, f, insertionVisitor, removalVisitor);
-                    }
-                });
+                // iterate on instances
+                for (final EStructuralFeature f : featuresToSample) {
+                    EClass containingClass = f.getEContainingClass();
+                    processAllInstances(containingClass, new IEClassProcessor() {
+                        @Override
+                        public void process(EClass type, EObject instance) {
+                            contentAdapter.resampleFeatureValueForHolder(instance, f, insertionVisitor, removalVisitor);
+                        }
+                    });
+                }
+                contentAdapter.notifyBaseIndexChangeListeners();
             }
-            contentAdapter.notifyBaseIndexChangeListeners();
+        } finally {
+            endWrite();
         }
     }
 }
@@ -0,0 +1,342 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.base.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.incquery.runtime.base.api.BaseIndexMetricEntry;
+import org.eclipse.incquery.runtime.base.api.BaseIndexMetricsMBean;
+
+/**
+ * Collects the metrics of a base index with index metrics enabled, per EClass, EDataType and EStructuralFeature key.
+ *
+ * <p>
+ * Counters are updated by the content adapter only; they may be read concurrently (e.g. via JMX), in which case the
+ * reported values are approximate. Unless the index is in concurrent read mode, the reported index sizes are also
+ * approximate if read from a thread other than the one modifying the model.
+ *
+ * <p>
+ * The MBean registered for the metrics only references them weakly, so that an index which is never disposed can be
+ * garbage collected; the registrations of collected indexes are removed when the next MBean is registered.
+ *
+ * @author agent
+ *
+ */
+public class NavigationHelperMetrics implements BaseIndexMetricsMBean {
+
+    /**
+     * Orders the most expensive types first: by notification count, then by index updates, then by dispatch time.
+     */
+    public static final Comparator<BaseIndexMetricEntry> COST_ORDER = new Comparator<BaseIndexMetricEntry>() {
+        @Override
+        public int compare(BaseIndexMetricEntry o1, BaseIndexMetricEntry o2) {
+            int result = compareLongs(o2.getNotificationCount(), o1.getNotificationCount());
+            if (result == 0) {
+                result = compareLongs(o2.getInsertionCount() + o2.getRemovalCount(),
+                        o1.getInsertionCount() + o1.getRemovalCount());
+            }
+            if (result == 0) {
+                result = compareLongs(o2.getListenerDispatchNanos(), o1.getListenerDispatchNanos());
+            }
+            return result;
+        }
+
+        private int compareLongs(long x, long y) {
+            return (x < y) ? -1 : ((x == y) ? 0 : 1);
+        }
+    };
+
+    private static class Counter {
+        final AtomicLong notifications = new AtomicLong();
+        final AtomicLong notificationNanos = new AtomicLong();
+        final AtomicLong insertions = new AtomicLong();
+        final AtomicLong removals = new AtomicLong();
+        final AtomicLong dispatchNanos = new AtomicLong();
+    }
+
+    /**
+     * The registered MBean, delegating to the metrics as long as they are reachable from their index.
+     */
+    private static class WeakMetricsMBean extends WeakReference<NavigationHelperMetrics> implements
+            BaseIndexMetricsMBean {
+
+        private static final ReferenceQueue<NavigationHelperMetrics> COLLECTED = new ReferenceQueue<NavigationHelperMetrics>();
+
+        private final ObjectName name;
+
+        public WeakMetricsMBean(NavigationHelperMetrics metrics, ObjectName name) {
+            super(metrics, COLLECTED);
+            this.name = name;
+        }
+
+        @Override
+        public long getNotificationCount() {
+            final NavigationHelperMetrics metrics = get();
+            return metrics == null ? 0 : metrics.getNotificationCount();
+        }
+
+        @Override
+        public long getInsertionCount() {
+            final NavigationHelperMetrics metrics = get();
+            return metrics == null ? 0 : metrics.getInsertionCount();
+        }
+
+        @Override
+        public long getRemovalCount() {
+            final NavigationHelperMetrics metrics = get();
+            return metrics == null ? 0 : metrics.getRemovalCount();
+        }
+
+        @Override
+        public long getListenerDispatchMillis() {
+            final NavigationHelperMetrics metrics = get();
+            return metrics == null ? 0 : metrics.getListenerDispatchMillis();
+        }
+
+        @Override
+        public String reportTop(int n) {
+            final NavigationHelperMetrics metrics = get();
+            return metrics == null ? "" : metrics.reportTop(n);
+        }
+
+        @Override
+        public void reset() {
+            final NavigationHelperMetrics metrics = get();
+            if (metrics != null) {
+                metrics.reset();
+            }
+        }
+    }
+
+    private final NavigationHelperImpl navigationHelper;
+    private final NavigationHelperContentAdapter store;
+
+    // key (String id or EClassifier / EStructuralFeature instance) -> counters
+    private final ConcurrentMap<Object, Counter> classCounters = new ConcurrentHashMap<Object, Counter>();
+    private final ConcurrentMap<Object, Counter> dataTypeCounters = new ConcurrentHashMap<Object, Counter>();
+    private final ConcurrentMap<Object, Counter> featureCounters = new ConcurrentHashMap<Object, Counter>();
+
+    private ObjectName mBeanName;
+
+    public NavigationHelperMetrics(NavigationHelperImpl navigationHelper) {
+        this.navigationHelper = navigationHelper;
+        this.store = navigationHelper.getContentAdapter();
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server, and removes the registrations of garbage collected indexes.
+     */
+    public void registerMBean(Logger logger) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        WeakMetricsMBean collected;
+        while ((collected = (WeakMetricsMBean) WeakMetricsMBean.COLLECTED.poll()) != null) {
+            unregisterMBean(server, collected.name, logger);
+        }
+        try {
+            mBeanName = new ObjectName("org.eclipse.incquery.runtime.base:type=BaseIndexMetrics,id="
+                    + Integer.toHexString(System.identityHashCode(this)));
+            server.registerMBean(new StandardMBean(new WeakMetricsMBean(this, mBeanName),
+                    BaseIndexMetricsMBean.class), mBeanName);
+        } catch (JMException e) {
+            logger.warn("Could not register the base index metrics in the MBean server", e);
+            mBeanName = null;
+        }
+    }
+
+    public void unregisterMBean(Logger logger) {
+        if (mBeanName != null) {
+            unregisterMBean(ManagementFactory.getPlatformMBeanServer(), mBeanName, logger);
+            mBeanName = null;
+        }
+    }
+
+    private static void unregisterMBean(MBeanServer server, ObjectName name, Logger logger) {
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            logger.warn("Could not unregister the base index metrics from the MBean server", e);
+        }
+    }
+
+    private static Counter getCounter(ConcurrentMap<Object, Counter> counters, Object key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            final Counter newCounter = new Counter();
+            counter = counters.putIfAbsent(key, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    public void countNotification(Object featureKey, long processingNanos) {
+        final Counter counter = getCounter(featureCounters, featureKey);
+        counter.notifications.incrementAndGet();
+        counter.notificationNanos.addAndGet(processingNanos);
+    }
+
+    public void countInstanceUpdate(Object classKey, boolean isInsertion) {
+        countUpdate(getCounter(classCounters, classKey), isInsertion);
+    }
+
+    public void countDataTypeUpdate(Object typeKey, boolean isInsertion) {
+        countUpdate(getCounter(dataTypeCounters, typeKey), isInsertion);
+    }
+
+    public void countFeatureUpdate(Object featureKey, boolean isInsertion) {
+        countUpdate(getCounter(featureCounters, featureKey), isInsertion);
+    }
+
+    private void countUpdate(Counter counter, boolean isInsertion) {
+        if (isInsertion) {
+            counter.insertions.incrementAndGet();
+        } else {
+            counter.removals.incrementAndGet();
+        }
+    }
+
+    public void countInstanceDispatch(Object classKey, long nanos) {
+        getCounter(classCounters, classKey).dispatchNanos.addAndGet(nanos);
+    }
+
+    public void countDataTypeDispatch(Object typeKey, long nanos) {
+        getCounter(dataTypeCounters, typeKey).dispatchNanos.addAndGet(nanos);
+    }
+
+    public void countFeatureDispatch(Object featureKey, long nanos) {
+        getCounter(featureCounters, featureKey).dispatchNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Reads the index; the caller is responsible for locking it in concurrent read mode.
+     * 
+     * @return a snapshot of the collected metrics, ordered by {@link #COST_ORDER}
+     */
+    public List<BaseIndexMetricEntry> getEntries() {
+        final List<BaseIndexMetricEntry> result = new ArrayList<BaseIndexMetricEntry>();
+        for (Entry<Object, Counter> entry : classCounters.entrySet()) {
+            final Collection<EObject> instances = store.getInstanceSet(entry.getKey());
+            result.add(toEntry(entry.getKey(), entry.getValue(), instances == null ? 0 : instances.size()));
+        }
+        for (Entry<Object, Counter> entry : dataTypeCounters.entrySet()) {
+            final Map<Object, Integer> values = store.getDataTypeMap(entry.getKey());
+            result.add(toEntry(entry.getKey(), entry.getValue(), values == null ? 0 : values.size()));
+        }
+        for (Entry<Object, Counter> entry : featureCounters.entrySet()) {
+            int size = 0;
+            for (Collection<EObject> holders : store.getValueToFeatureToHolderMap().column(entry.getKey()).values()) {
+                size += holders.size();
+            }
+            result.add(toEntry(entry.getKey(), entry.getValue(), size));
+        }
+        Collections.sort(result, COST_ORDER);
+        return result;
+    }
+
+    private BaseIndexMetricEntry toEntry(Object key, Counter counter, int indexSize) {
+        return new BaseIndexMetricEntry(store.keyToName(key), counter.notifications.get(),
+                counter.notificationNanos.get(), counter.insertions.get(), counter.removals.get(),
+                counter.dispatchNanos.get(), indexSize);
+    }
+
+    /**
+     * Reads the index; the caller is responsible for locking it in concurrent read mode.
+     * 
+     * @return a human-readable report of the n most expensive types
+     */
+    public String getReport(int n) {
+        final StringBuilder sb = new StringBuilder();
+        final List<BaseIndexMetricEntry> entries = getEntries();
+        for (BaseIndexMetricEntry entry : entries.subList(0, Math.min(n, entries.size()))) {
+            sb.append(entry).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public long getNotificationCount() {
+        long result = 0;
+        for (Counter counter : featureCounters.values()) {
+            result += counter.notifications.get();
+        }
+        return result;
+    }
+
+    @Override
+    public long getInsertionCount() {
+        long result = 0;
+        for (Counter counter : allCounters()) {
+            result += counter.insertions.get();
+        }
+        return result;
+    }
+
+    @Override
+    public long getRemovalCount() {
+        long result = 0;
+        for (Counter counter : allCounters()) {
+            result += counter.removals.get();
+        }
+        return result;
+    }
+
+    @Override
+    public long getListenerDispatchMillis() {
+        long result = 0;
+        for (Counter counter : allCounters()) {
+            result += counter.dispatchNanos.get();
+        }
+        return result / 1000000;
+    }
+
+    private List<Counter> allCounters() {
+        final List<Counter> result = new ArrayList<Counter>(classCounters.values());
+        result.addAll(dataTypeCounters.values());
+        result.addAll(featureCounters.values());
+        return result;
+    }
+
+    @Override
+    public String reportTop(int n) {
+        // goes through the navigation helper, as the index may be locked
+        return navigationHelper.getIndexMetricsReport(n);
+    }
+
+    @Override
+    public void reset() {
+        classCounters.clear();
+        dataTypeCounters.clear();
+        featureCounters.clear();
+    }
+
+}
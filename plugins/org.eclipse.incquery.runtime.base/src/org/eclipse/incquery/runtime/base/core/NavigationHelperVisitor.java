@@ -31,7 +31,8 @@ import com.google.common.collect.ImmutableSet;
 public abstract class NavigationHelperVisitor extends EMFVisitor {
 
     /**
-     * A visitor for processing a single change event. Does not traverse the model. Uses all the observed types.
+     * A visitor for processing a single change event. Does not traverse the model. Uses all the observed types. In
+     * statistics mode, it also maintains the counts of all types, observed or not.
      */
     public static class ChangeVisitor extends NavigationHelperVisitor {
         // local copies to save actual state, in case visitor has to be saved for later due unresolvable proxies
@@ -43,6 +44,7 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
 
         public ChangeVisitor(NavigationHelperImpl navigationHelper, boolean isInsertion) {
             super(navigationHelper, isInsertion, false);
+            collectStatistics = navigationHelper.getBaseIndexOptions().isStatisticsMode();
             wildcardMode = navigationHelper.isInWildcardMode();
             allObservedClasses = navigationHelper.getAllObservedClassesInternal(); // new HashSet<EClass>();
             observedDataTypes = navigationHelper.getObservedDataTypesInternal(); // new HashSet<EDataType>();
@@ -142,6 +144,15 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
     boolean isInsertion;
     boolean descendHierarchy;
     boolean traverseOnlyWellBehavingDerivedFeatures;
+    /**
+     * Only the change visitor collects statistics, as traversals for newly observed types would count elements twice.
+     */
+    boolean collectStatistics = false;
+    /**
+     * One-element cache of {@link #toKey(EStructuralFeature)}
+     */
+    private EStructuralFeature lastFeature;
+    private Object lastFeatureKey;
 
     NavigationHelperVisitor(NavigationHelperImpl navigationHelper, boolean isInsertion, boolean descendHierarchy) {
         super(isInsertion /* preOrder iff insertion */);
@@ -165,6 +176,13 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
 
     @Override
     public boolean pruneFeature(EStructuralFeature feature) {
+        return !collectStatistics && pruneUnobservedFeature(feature);
+    }
+
+    /**
+     * @return true if the feature is irrelevant for the index, regardless of statistics
+     */
+    protected boolean pruneUnobservedFeature(EStructuralFeature feature) {
         if (observesFeature(toKey(feature))) {
             return false;
         }
@@ -204,6 +222,9 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
         }
 
         final Object classKey = toKey(eClass);
+        if (collectStatistics) {
+            updateStatistics(classKey);
+        }
         if (observesClass(classKey)) {
             if (isInsertion) {
                 store.insertIntoInstanceSet(classKey, source);
@@ -218,9 +239,15 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
         Object featureKey = toKey(feature);
         final Object eAttributeType = toKey(feature.getEAttributeType());
         Object internalValueRepresentation = null;
-        if (observesFeature(featureKey)) {
-            // if (internalValueRepresentation == null) // always true
+        if (collectStatistics) {
             internalValueRepresentation = store.toInternalValueRepresentation(target);
+            updateStatistics(featureKey);
+            updateDegreeStatistics(featureKey, source, internalValueRepresentation);
+            updateStatistics(eAttributeType);
+        }
+        if (observesFeature(featureKey)) {
+            if (internalValueRepresentation == null)
+                internalValueRepresentation = store.toInternalValueRepresentation(target);
             boolean unique = feature.isUnique();
             if (isInsertion) {
                 store.insertFeatureTuple(featureKey, unique, internalValueRepresentation, source);
@@ -254,6 +281,10 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
 
     private void visitReference(EObject source, EReference feature, EObject target) {
         Object featureKey = toKey(feature);
+        if (collectStatistics) {
+            updateStatistics(featureKey);
+            updateDegreeStatistics(featureKey, source, target);
+        }
         if (observesFeature(featureKey)) {
             boolean unique = feature.isUnique();
             if (isInsertion) {
@@ -264,6 +295,22 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
         }
     }
     
+    private void updateStatistics(Object key) {
+        if (isInsertion) {
+            store.insertIntoStatistics(key);
+        } else {
+            store.removeFromStatistics(key);
+        }
+    }
+
+    private void updateDegreeStatistics(Object featureKey, EObject source, Object target) {
+        if (isInsertion) {
+            store.insertIntoDegreeStatistics(featureKey, source, target);
+        } else {
+            store.removeFromDegreeStatistics(featureKey, source, target);
+        }
+    }
+
     @Override
     // do not attempt to resolve proxies referenced from resources that are still being loaded
     public boolean attemptProxyResolutions(EObject source, EReference feature) {
@@ -284,6 +331,8 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
             // }
             if (navigationHelper.isFeatureResolveIgnored(reference))
                 return; // skip resolution; would be ignored anyways
+            if (collectStatistics && pruneUnobservedFeature(reference))
+                return; // only visited for statistics; not worth resolving
             if (position != null && reference.isMany() && attemptProxyResolutions(source, reference)) {
                 // there is added value in doing the resolution now, when we know the position
                 // this may save an iteration through the EList if successful
@@ -298,7 +347,12 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
     }
 
     protected Object toKey(EStructuralFeature feature) {
-        return store.toKey(feature);
+        // consecutive lookups of the same feature are common when processing a single change or object
+        if (feature != lastFeature) {
+            lastFeatureKey = store.toKey(feature);
+            lastFeature = feature;
+        }
+        return lastFeatureKey;
     }
 
     protected Object toKey(EClassifier eClassifier) {
@@ -320,7 +374,7 @@ public abstract class NavigationHelperVisitor extends EMFVisitor {
                 EMFModelComprehension comprehension = navigationHelper.getComprehension();
                 if (comprehension.untraversableDirectly(feature))
                     continue;
-                final boolean visitorPrunes = pruneFeature(feature);
+                final boolean visitorPrunes = pruneUnobservedFeature(feature);
                 if (visitorPrunes)
                     continue;
                 // we found a feature to be visited
@@ -22,11 +22,15 @@ import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.incquery.runtime.base.api.FeatureListener;
+import org.eclipse.incquery.runtime.base.api.IWitnessPathProvider;
 import org.eclipse.incquery.runtime.base.api.InstanceListener;
 import org.eclipse.incquery.runtime.base.api.NavigationHelper;
 import org.eclipse.incquery.runtime.base.api.TransitiveClosureHelper;
 import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.labeling.LabelingReachabilityAlg;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.IGraphPathFinder;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.WitnessPathIndex;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 
 /**
@@ -34,13 +38,19 @@ import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
  * It uses a {@link NavigationHelper} instance to wrap an EMF model 
  * and make it suitable for the {@link IncSCCAlg} algorithm. 
  * 
+ * <p>
+ * If only reachability queries are needed, the helper can use a {@link LabelingReachabilityAlg} instead, 
+ * which does not materialize the transitive closure; in this case observers are not supported.
+ * 
  * @author Tamas Szabo
  * 
  */
 public class TransitiveClosureHelperImpl extends EContentAdapter implements TransitiveClosureHelper,
-        ITcObserver<EObject>, FeatureListener, InstanceListener {
+        IWitnessPathProvider, ITcObserver<EObject>, FeatureListener, InstanceListener {
 
-    private IncSCCAlg<EObject> sccAlg;
+    private ITcDataSource<EObject> tcAlg;
+    private boolean reachabilityOnly;
+    private WitnessPathIndex<EObject> witnessPathIndex;
     private Set<EStructuralFeature> features;
     private Set<EClass> classes;
     private EMFDataSource dataSource;
@@ -49,6 +59,17 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
     private boolean disposeBaseIndexWhenDisposed;
     
     public TransitiveClosureHelperImpl(final NavigationHelper navigationHelper, boolean disposeBaseIndexWhenDisposed, Set<EReference> references) {
+        this(navigationHelper, disposeBaseIndexWhenDisposed, references, false);
+    }
+
+    /**
+     * @param reachabilityOnly
+     *            if true, a reachability index is used instead of the transitive closure; observers are not supported
+     * @since 1.2
+     */
+    public TransitiveClosureHelperImpl(final NavigationHelper navigationHelper, boolean disposeBaseIndexWhenDisposed,
+            Set<EReference> references, boolean reachabilityOnly) {
+        this.reachabilityOnly = reachabilityOnly;
         this.tcObservers = new ArrayList<ITcObserver<EObject>>();
         this.navigationHelper = navigationHelper;
         this.disposeBaseIndexWhenDisposed = disposeBaseIndexWhenDisposed;
@@ -65,8 +86,12 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
 		
 		this.dataSource = new EMFDataSource(navigationHelper, references, classes);
 		
-        this.sccAlg = new IncSCCAlg<EObject>(dataSource);
-        this.sccAlg.attachObserver(this);
+        if (reachabilityOnly) {
+            this.tcAlg = new LabelingReachabilityAlg<EObject>(dataSource);
+        } else {
+            this.tcAlg = new IncSCCAlg<EObject>(dataSource);
+            this.tcAlg.attachObserver(this);
+        }
     }
     
 	private Set<EClass> collectEClasses() {
@@ -80,6 +105,9 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
 
     @Override
     public void attachObserver(ITcObserver<EObject> to) {
+        if (reachabilityOnly) {
+            throw new UnsupportedOperationException("Observers are not supported by reachability-only helpers");
+        }
         this.tcObservers.add(to);
     }
 
@@ -90,17 +118,17 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
 
     @Override
     public Set<EObject> getAllReachableTargets(EObject source) {
-        return this.sccAlg.getAllReachableTargets(source);
+        return this.tcAlg.getAllReachableTargets(source);
     }
 
     @Override
     public Set<EObject> getAllReachableSources(EObject target) {
-        return this.sccAlg.getAllReachableSources(target);
+        return this.tcAlg.getAllReachableSources(target);
     }
 
     @Override
     public boolean isReachable(EObject source, EObject target) {
-        return this.sccAlg.isReachable(source, target);
+        return this.tcAlg.isReachable(source, target);
     }
 
     @Override
@@ -119,7 +147,10 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
 
     @Override
     public void dispose() {
-        this.sccAlg.dispose();
+        this.tcAlg.dispose();
+        if (this.witnessPathIndex != null) {
+            this.witnessPathIndex.dispose();
+        }
         this.navigationHelper.removeInstanceListener(classes, this);
         this.navigationHelper.removeFeatureListener(features, this);
         
@@ -148,12 +179,49 @@ public class TransitiveClosureHelperImpl extends EContentAdapter implements Tran
 	}
 
 	@Override
+	@Deprecated
 	public List<EObject> getReachabilityPath(EObject source, EObject target) {
-		return this.sccAlg.getReachabilityPath(source, target);
+		if (witnessPathIndex != null && witnessPathIndex.isRegistered(source)) {
+			return witnessPathIndex.getWitnessPath(source, target);
+		}
+		if (!this.tcAlg.isReachable(source, target)) {
+			return null;
+		}
+		// a shortest path from a breadth-first traversal that is not maintained afterwards
+		final WitnessPathIndex<EObject> paths = new WitnessPathIndex<EObject>(dataSource);
+		try {
+			paths.registerSource(source);
+			return paths.getWitnessPath(source, target);
+		} finally {
+			paths.dispose();
+		}
+	}
+
+	@Override
+	public void registerWitnessSource(EObject source) {
+		if (witnessPathIndex == null) {
+			witnessPathIndex = new WitnessPathIndex<EObject>(dataSource);
+		}
+		witnessPathIndex.registerSource(source);
+	}
+
+	@Override
+	public void unregisterWitnessSource(EObject source) {
+		if (witnessPathIndex != null) {
+			witnessPathIndex.unregisterSource(source);
+		}
+	}
+
+	@Override
+	public List<EObject> getWitnessPath(EObject source, EObject target) {
+		if (witnessPathIndex == null) {
+			throw new IllegalArgumentException("Source " + source + " is not registered for witness paths");
+		}
+		return witnessPathIndex.getWitnessPath(source, target);
 	}
 	
 	@Override
 	public IGraphPathFinder<EObject> getPathFinder() {
-	    return this.sccAlg.getPathFinder();
+	    return this.tcAlg.getPathFinder();
     }
 }
@@ -39,6 +39,13 @@ public class Activation<EventAtom> {
     private RuleInstance<EventAtom> instance;
     private int cachedHash = -1;
 
+    /*
+     * Links of the activation in the per-state lists of a LinkedActivationAgenda
+     */
+    LinkedActivationAgenda.ActivationList agendaList;
+    Activation<?> previousInAgenda;
+    Activation<?> nextInAgenda;
+
     protected Activation(RuleInstance<EventAtom> instance, EventAtom atom, ActivationState initState) {
         this.atom = checkNotNull(atom,"Cannot create activation with null patternmatch");
         this.instance = checkNotNull(instance,"Cannot create activation with null instance");
@@ -39,20 +39,67 @@ public class Agenda {
     private ConflictSetUpdater updatingListener;
     private final Logger logger;
 
+    /**
+     * Factory interface for creating the agenda of a rule base.
+     *
+     * @author Abel Hegedus
+     * @since 1.2
+     */
+    public interface IAgendaFactory {
+
+        /**
+         * Creates an agenda for the given rule base using the given conflict resolver.
+         *
+         * @param ruleBase
+         * @param conflictResolver
+         */
+        Agenda createAgenda(RuleBase ruleBase, ConflictResolver conflictResolver);
+    }
+
+    /**
+     * Creates agendas storing the activations in a hash multimap.
+     *
+     * @since 1.2
+     */
+    public static final IAgendaFactory DEFAULT_FACTORY = new IAgendaFactory() {
+        @Override
+        public Agenda createAgenda(final RuleBase ruleBase, final ConflictResolver conflictResolver) {
+            return new Agenda(ruleBase, conflictResolver);
+        }
+    };
+
     /**
      *
      */
     public Agenda(final RuleBase ruleBase, final ConflictResolver conflictResolver) {
+        this(ruleBase, conflictResolver, HashMultimap.<ActivationState, Activation<?>> create());
+    }
+
+    /**
+     * Creates an agenda storing the activations in the given multimap.
+     *
+     * @param activations
+     *            the multimap storing the activations, or null if the subclass stores them itself; in that case it has
+     *            to override the accessors of the activations and the hooks adding, removing and moving them
+     * @since 1.2
+     */
+    protected Agenda(final RuleBase ruleBase, final ConflictResolver conflictResolver,
+            final Multimap<ActivationState, Activation<?>> activations) {
         this.ruleBase = ruleBase;
         this.logger = ruleBase.getLogger();
         Preconditions.checkState(this.logger != null, "Rulebase logger is null!");
-        this.activations = HashMultimap.create();
+        this.activations = activations;
         this.conflictSet = conflictResolver.createConflictSet();
         this.updatingListener = new ConflictSetUpdater(conflictSet);
         this.activationListener = new DefaultActivationNotificationListener();
     }
 
     /**
+     * Returns the activations grouped by their states. The default agenda returns the live multimap it stores the
+     * activations in; subclasses storing the activations differently may return a snapshot instead, which does not
+     * follow the subsequent changes. Use {@link #getActivations(ActivationState)} and {@link #getAllActivations()}
+     * for live views.
+     *
      * @return the activations
      */
     public Multimap<ActivationState, Activation<?>> getActivations() {
@@ -108,6 +155,38 @@ public class Agenda {
         return ruleBase;
     }
 
+    /**
+     * Stores an activation that became active in the given state.
+     *
+     * @since 1.2
+     */
+    protected void addActivation(final Activation<?> activation, final ActivationState state) {
+        getActivations().put(state, activation);
+    }
+
+    /**
+     * Removes an activation that was stored in the given state.
+     *
+     * @since 1.2
+     */
+    protected void removeActivation(final Activation<?> activation, final ActivationState oldState) {
+        getActivations().remove(oldState, activation);
+    }
+
+    /**
+     * Moves an activation from the given state to its current state, or removes it if its current state is
+     * inactive.
+     *
+     * @since 1.2
+     */
+    protected void moveActivation(final Activation<?> activation, final ActivationState oldState) {
+        removeActivation(activation, oldState);
+        final ActivationState state = activation.getState();
+        if(!state.isInactive()) {
+            addActivation(activation, state);
+        }
+    }
+
     /**
      * This class is responsible for handling notifications sent by rule instances when an activation changes state.
      *
@@ -125,11 +204,7 @@ public class Agenda {
                 logger.debug(
                     String.format("%s -- %s --> %s on %s", oldState, event, activation.getState(), activation));
             }
-            getActivations().remove(oldState, activation);
-            final ActivationState state = activation.getState();
-            if(!state.isInactive()) {
-                getActivations().put(state, activation);
-            }
+            moveActivation(activation, oldState);
             updatingListener.activationChanged(activation, oldState, event);
         }
 
@@ -140,8 +215,7 @@ public class Agenda {
                     String.format("%s -- CREATE --> %s on %s", inactiveState, activation.getState(), activation));
             }
             updatingListener.activationCreated(activation, inactiveState);
-            final ActivationState state = activation.getState();
-            getActivations().put(state, activation);
+            addActivation(activation, activation.getState());
         }
 
         @Override
@@ -150,7 +224,7 @@ public class Agenda {
                 logger.debug(
                     String.format("%s -- REMOVE --> %s on %s", oldState, activation.getState(), activation));
             }
-            getActivations().remove(oldState, activation);
+            removeActivation(activation, oldState);
             updatingListener.activationRemoved(activation, oldState);
         }
     }
@@ -14,6 +14,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Set;
 
+import org.eclipse.incquery.runtime.evm.api.Agenda.IAgendaFactory;
 import org.eclipse.incquery.runtime.evm.api.Scheduler.ISchedulerFactory;
 import org.eclipse.incquery.runtime.evm.api.event.EventFilter;
 import org.eclipse.incquery.runtime.evm.api.event.EventRealm;
@@ -40,7 +41,21 @@ public final class EventDrivenVM {
      * @return the prepared rule engine
      */
     public static RuleEngine createRuleEngine(final EventRealm eventRealm) {
-        RuleBase ruleBase = new RuleBase(eventRealm);
+        return createRuleEngine(eventRealm, Agenda.DEFAULT_FACTORY);
+    }
+
+    /**
+     * Creates a new rule engine that is initialized over the given
+     * EventRealm and a rule base without rules, using an agenda 
+     * created by the given factory.
+     * 
+     * @param eventRealm
+     * @param agendaFactory e.g. {@link LinkedActivationAgenda#FACTORY}
+     * @return the prepared rule engine
+     * @since 1.2
+     */
+    public static RuleEngine createRuleEngine(final EventRealm eventRealm, final IAgendaFactory agendaFactory) {
+        RuleBase ruleBase = new RuleBase(eventRealm, agendaFactory);
         return RuleEngine.create(ruleBase);
     }
 
@@ -56,9 +71,28 @@ public final class EventDrivenVM {
      */
     public static ExecutionSchema createExecutionSchema(final EventRealm eventRealm,
             final ISchedulerFactory schedulerFactory, final Set<RuleSpecification<?>> specifications) {
+        return createExecutionSchema(eventRealm, schedulerFactory, specifications, Agenda.DEFAULT_FACTORY);
+    }
+
+    /**
+     * Creates a new execution schema that is initialized over the given
+     * EventRealm, creates an executor and rule base with the given
+     *  rule specifications and an agenda created by the given factory, 
+     *  and prepares a scheduler using the provided factory.
+     * 
+     * @param eventRealm
+     * @param schedulerFactory
+     * @param specifications
+     * @param agendaFactory e.g. {@link LinkedActivationAgenda#FACTORY}
+     * @return the prepared execution schema
+     * @since 1.2
+     */
+    public static ExecutionSchema createExecutionSchema(final EventRealm eventRealm,
+            final ISchedulerFactory schedulerFactory, final Set<RuleSpecification<?>> specifications,
+            final IAgendaFactory agendaFactory) {
         checkNotNull(schedulerFactory, "Cannot create execution schema with null scheduler factory");
         checkNotNull(specifications, "Cannot create execution schema with null rule specification set");
-        Executor executor = new Executor(eventRealm);
+        Executor executor = new Executor(eventRealm, Context.create(), agendaFactory);
         RuleBase ruleBase = executor.getRuleBase();
         for (RuleSpecification<?> specification : specifications) {
             instantiateRuleInRuleBase(ruleBase, specification);
@@ -12,6 +12,7 @@ package org.eclipse.incquery.runtime.evm.api;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.eclipse.incquery.runtime.evm.api.Agenda.IAgendaFactory;
 import org.eclipse.incquery.runtime.evm.api.event.EventRealm;
 import org.eclipse.incquery.runtime.evm.api.resolver.ChangeableConflictSet;
 
@@ -53,8 +54,21 @@ public class Executor {
      * @param context
      */
     public Executor(final EventRealm eventRealm, final Context context) {
+        this(eventRealm, context, Agenda.DEFAULT_FACTORY);
+    }
+
+    /**
+     * Creates an executor for the given IncQueryEngine and Context, 
+     * using an agenda created by the given factory.
+     * 
+     * @param eventRealm
+     * @param context
+     * @param agendaFactory
+     * @since 1.2
+     */
+    public Executor(final EventRealm eventRealm, final Context context, final IAgendaFactory agendaFactory) {
         this.context = checkNotNull(context, "Cannot create trigger engine with null context!");
-        ruleBase = new RuleBase(eventRealm);
+        ruleBase = new RuleBase(eventRealm, agendaFactory);
     }
 
     /**
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.evm.api;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.incquery.runtime.evm.api.event.ActivationState;
+import org.eclipse.incquery.runtime.evm.api.resolver.ConflictResolver;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+
+/**
+ * An agenda storing the activations of each state in a doubly linked list, where the links are held by the
+ * activations themselves. Moving an activation to another state takes constant time and allocates no memory, which
+ * makes this agenda preferable when a large number of activations change their state frequently.
+ *
+ * <p>
+ * An activation can be stored by a single linked agenda at a time. The activations of a state are available as a live
+ * view, while {@link #getActivations()} returns a copy of all activations.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class LinkedActivationAgenda extends Agenda {
+
+    /**
+     * Creates agendas storing the activations in linked lists.
+     */
+    public static final IAgendaFactory FACTORY = new IAgendaFactory() {
+        @Override
+        public Agenda createAgenda(final RuleBase ruleBase, final ConflictResolver conflictResolver) {
+            return new LinkedActivationAgenda(ruleBase, conflictResolver);
+        }
+    };
+
+    /**
+     * The unmodifiable, live collection of the activations in a given state
+     */
+    static final class ActivationList extends AbstractCollection<Activation<?>> {
+
+        private final LinkedActivationAgenda agenda;
+        private Activation<?> head;
+        private Activation<?> tail;
+        private int size;
+        private int modificationCount;
+
+        private ActivationList(final LinkedActivationAgenda agenda) {
+            this.agenda = agenda;
+        }
+
+        private void link(final Activation<?> activation) {
+            activation.agendaList = this;
+            activation.previousInAgenda = tail;
+            activation.nextInAgenda = null;
+            if (tail == null) {
+                head = activation;
+            } else {
+                tail.nextInAgenda = activation;
+            }
+            tail = activation;
+            size++;
+            modificationCount++;
+        }
+
+        private void unlink(final Activation<?> activation) {
+            final Activation<?> previous = activation.previousInAgenda;
+            final Activation<?> next = activation.nextInAgenda;
+            if (previous == null) {
+                head = next;
+            } else {
+                previous.nextInAgenda = next;
+            }
+            if (next == null) {
+                tail = previous;
+            } else {
+                next.previousInAgenda = previous;
+            }
+            activation.agendaList = null;
+            activation.previousInAgenda = null;
+            activation.nextInAgenda = null;
+            size--;
+            modificationCount++;
+        }
+
+        @Override
+        public boolean contains(final Object object) {
+            return object instanceof Activation && ((Activation<?>) object).agendaList == this;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Activation<?>> iterator() {
+            return new Iterator<Activation<?>>() {
+
+                private Activation<?> next = head;
+                private final int expectedModificationCount = modificationCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Activation<?> next() {
+                    if (modificationCount != expectedModificationCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    final Activation<?> current = next;
+                    next = current.nextInAgenda;
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("Activations cannot be removed from the agenda!");
+                }
+            };
+        }
+    }
+
+    private final Map<ActivationState, ActivationList> activationLists = Maps.newHashMap();
+
+    private final Collection<Activation<?>> allActivations = new AbstractCollection<Activation<?>>() {
+
+        @Override
+        public boolean contains(final Object object) {
+            return object instanceof Activation && isStored((Activation<?>) object);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (final ActivationList list : activationLists.values()) {
+                size += list.size();
+            }
+            return size;
+        }
+
+        @Override
+        public Iterator<Activation<?>> iterator() {
+            return Iterators.unmodifiableIterator(Iterators.concat(Iterators.transform(activationLists.values()
+                    .iterator(), new Function<ActivationList, Iterator<Activation<?>>>() {
+                @Override
+                public Iterator<Activation<?>> apply(final ActivationList list) {
+                    return list.iterator();
+                }
+            })));
+        }
+    };
+
+    public LinkedActivationAgenda(final RuleBase ruleBase, final ConflictResolver conflictResolver) {
+        // the activations are stored in the lists instead of a multimap
+        super(ruleBase, conflictResolver, null);
+    }
+
+    private ActivationList getActivationList(final ActivationState state) {
+        ActivationList list = activationLists.get(state);
+        if (list == null) {
+            list = new ActivationList(this);
+            activationLists.put(state, list);
+        }
+        return list;
+    }
+
+    private boolean isStored(final Activation<?> activation) {
+        return activation.agendaList != null && activation.agendaList.agenda == this;
+    }
+
+    /**
+     * @return a snapshot of the activations, which does not follow the subsequent changes
+     */
+    @Override
+    public Multimap<ActivationState, Activation<?>> getActivations() {
+        final ImmutableMultimap.Builder<ActivationState, Activation<?>> builder = ImmutableMultimap.builder();
+        for (final Map.Entry<ActivationState, ActivationList> entry : activationLists.entrySet()) {
+            builder.putAll(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Collection<Activation<?>> getActivations(final ActivationState state) {
+        return getActivationList(state);
+    }
+
+    @Override
+    public Collection<Activation<?>> getAllActivations() {
+        return allActivations;
+    }
+
+    @Override
+    protected void addActivation(final Activation<?> activation, final ActivationState state) {
+        final ActivationList list = getActivationList(state);
+        if (activation.agendaList != list) {
+            if (isStored(activation)) {
+                activation.agendaList.unlink(activation);
+            }
+            list.link(activation);
+        }
+    }
+
+    @Override
+    protected void removeActivation(final Activation<?> activation, final ActivationState oldState) {
+        // the activation knows its own list, so the old state is not looked up
+        if (isStored(activation)) {
+            activation.agendaList.unlink(activation);
+        }
+    }
+
+    @Override
+    protected void moveActivation(final Activation<?> activation, final ActivationState oldState) {
+        final ActivationState state = activation.getState();
+        if (state.isInactive()) {
+            removeActivation(activation, oldState);
+        } else {
+            addActivation(activation, state);
+        }
+    }
+
+}
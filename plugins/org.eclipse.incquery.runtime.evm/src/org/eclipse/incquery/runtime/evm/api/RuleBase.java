@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.eclipse.incquery.runtime.evm.api.Agenda.IAgendaFactory;
 import org.eclipse.incquery.runtime.evm.api.event.EventFilter;
 import org.eclipse.incquery.runtime.evm.api.event.EventRealm;
 import org.eclipse.incquery.runtime.evm.api.resolver.ConflictResolver;
@@ -52,10 +53,25 @@ public class RuleBase {
      *            the {@link EventRealm} instance
      */
     protected RuleBase(final EventRealm eventRealm) {
+        this(eventRealm, Agenda.DEFAULT_FACTORY);
+    }
+
+    /**
+     * Instantiates a new RuleBase instance with the given {@link EventRealm}, using an agenda created by the given
+     * factory.
+     *
+     * @param eventRealm
+     *            the {@link EventRealm} instance
+     * @param agendaFactory
+     *            the factory creating the agenda
+     * @since 1.2
+     */
+    protected RuleBase(final EventRealm eventRealm, final IAgendaFactory agendaFactory) {
         this.eventRealm = checkNotNull(eventRealm, "Cannot create RuleBase with null event source");
+        checkNotNull(agendaFactory, "Cannot create RuleBase with null agenda factory");
         this.ruleInstanceTable = HashBasedTable.create();
         this.logger = Logger.getLogger(this.toString());
-        this.agenda = new Agenda(this, new ArbitraryOrderConflictResolver());
+        this.agenda = agendaFactory.createAgenda(this, new ArbitraryOrderConflictResolver());
     }
 
     /**
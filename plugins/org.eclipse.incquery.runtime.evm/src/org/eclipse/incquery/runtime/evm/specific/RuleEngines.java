@@ -15,7 +15,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.Set;
 
 import org.eclipse.incquery.runtime.api.IncQueryEngine;
+import org.eclipse.incquery.runtime.evm.api.Agenda.IAgendaFactory;
 import org.eclipse.incquery.runtime.evm.api.EventDrivenVM;
+import org.eclipse.incquery.runtime.evm.api.LinkedActivationAgenda;
 import org.eclipse.incquery.runtime.evm.api.RuleEngine;
 import org.eclipse.incquery.runtime.evm.api.RuleSpecification;
 import org.eclipse.incquery.runtime.evm.specific.event.IncQueryEventRealm;
@@ -38,6 +40,19 @@ public class RuleEngines {
         return EventDrivenVM.createRuleEngine(IncQueryEventRealm.create(engine));
     }
 
+    /**
+     * Creates a new rule engine that is initialized over the given
+     * IncQueryEngine and an agenda without rules, created by the given factory.
+     * 
+     * @param engine
+     * @param agendaFactory e.g. {@link LinkedActivationAgenda#FACTORY}
+     * @return the prepared rule engine
+     * @since 1.2
+     */
+    public static RuleEngine createIncQueryRuleEngine(final IncQueryEngine engine, final IAgendaFactory agendaFactory) {
+        return EventDrivenVM.createRuleEngine(IncQueryEventRealm.create(engine), agendaFactory);
+    }
+
     /**
      * Creates a new rule engine that is initialized over the given
      * IncQueryEngine and an agenda with the given (unfiltered) rule specifications.
@@ -16,8 +16,6 @@ import java.util.Arrays;
 
 import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
 
-import com.google.common.base.Preconditions;
-
 /**
  * MatchingFrame represents the actual mappings of variables to constants. A MatchingFrame maintains a reference to its
  * corresponding Pattern (or possibly flattened pattern).
@@ -49,33 +47,63 @@ public class MatchingFrame extends Tuple implements Cloneable {
         this.frame = new Object[frameSize];
     }
 
+    private MatchingFrame(Object pattern, int keySize, Object[] frame) {
+        this.pattern = pattern;
+        this.keySize = keySize;
+        this.frame = frame;
+    }
+
     /**
      * Returns the value stored inside the matching frame.
      * 
      * @param position
      * @return the element stored in the selected position in the frame, or null if it is not yet set
      * @throws IndexOutOfBoundsException
-     *             if position is negative
-     * @throws IllegalArgumentException
-     *             if the position is larger then the length of the frame
+     *             if position is negative or not smaller than the length of the frame
+     * @since 1.2
      */
-	public Object getValue(Integer position) {
-        Preconditions.checkElementIndex(position, frame.length);
+	public Object getValueAt(int position) {
         return frame[position];
 	}
+
+    /**
+     * @deprecated use {@link #getValueAt(int)} instead, which does not unbox the position
+     */
+    @Deprecated
+    public Object getValue(Integer position) {
+        return getValueAt(position.intValue());
+    }
     
     /**
      * Sets the value of the variable at the given position
      * 
      * @param position the position of the variable within the frame
      * @param value the value to be set for the variable
+     * @throws IndexOutOfBoundsException
+     *             if position is negative or not smaller than the length of the frame
+     * @since 1.2
      */
-    public void setValue(Integer position, Object value) {
-        Preconditions.checkElementIndex(position, frame.length);
+    public void setValueAt(int position, Object value) {
         frame[position] = value;
     }
-    
-    public boolean testAndSetValue(Integer position, Object value) {
+
+    /**
+     * @deprecated use {@link #setValueAt(int, Object)} instead, which does not unbox the position
+     */
+    @Deprecated
+    public void setValue(Integer position, Object value) {
+        setValueAt(position.intValue(), value);
+    }
+
+    /**
+     * Sets the value of the variable at the given position, unless it is already set
+     * 
+     * @param position the position of the variable within the frame
+     * @param value the value to be set for the variable
+     * @return true if the variable was not set, or it was set to an equal value
+     * @since 1.2
+     */
+    public boolean testAndSetValueAt(int position, Object value) {
         if (frame[position] == null) {
             frame[position] = value;
             return true;
@@ -84,6 +112,14 @@ public class MatchingFrame extends Tuple implements Cloneable {
         }
     }
 
+    /**
+     * @deprecated use {@link #testAndSetValueAt(int, Object)} instead, which does not unbox the position
+     */
+    @Deprecated
+    public boolean testAndSetValue(Integer position, Object value) {
+        return testAndSetValueAt(position.intValue(), value);
+    }
+
     /**
      * @return the pattern this frame is attached to
      */
@@ -92,13 +128,11 @@ public class MatchingFrame extends Tuple implements Cloneable {
     }
     
     public MatchingKey getKey() {
-        return new MatchingKey(Arrays.copyOfRange(frame, 0, keySize));
+        return new MatchingKey(frame, keySize);
     }
 
     public MatchingFrame clone() {
-        MatchingFrame clone = new MatchingFrame(pattern, keySize, frame.length);
-        clone.frame = Arrays.copyOf(frame, frame.length);
-        return clone;
+        return new MatchingFrame(pattern, keySize, Arrays.copyOf(frame, frame.length));
     }
     
     public String toString() {
@@ -116,15 +150,12 @@ public class MatchingFrame extends Tuple implements Cloneable {
 
     @Override
     public Object get(int index) {
-        return getValue(index);
+        return frame[index];
     }
     
     @Override
     public Object[] getElements() {
         //Redefining to trim the results to keySize
-        Object[] allElements = new Object[keySize];
-        for (int i = 0; i < keySize; ++i)
-            allElements[i] = get(i);
-        return allElements;
+        return Arrays.copyOf(frame, keySize);
     }
 }
@@ -24,6 +24,15 @@ public class MatchingKey {
     public MatchingKey(Object[] keys) {
         this.keys = Arrays.copyOf(keys,keys.length);
     }
+
+    /**
+     * Creates a key from the first elements of the given array
+     * 
+     * @since 1.2
+     */
+    MatchingKey(Object[] values, int length) {
+        this.keys = Arrays.copyOf(values, length);
+    }
     
     public boolean equals(Object other) {
         if (other instanceof MatchingKey) {
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher;
+
+/**
+ * Selects one of the alternative plans of a matcher based on the observed cost of the searches, measured as the number
+ * of executed search operations.
+ *
+ * <p>
+ * First each alternative is measured for a few searches, and the one with the smallest average cost is selected; an
+ * alternative is abandoned early if it is already much more expensive than the best one. Afterwards, every few searches
+ * are measured to check whether the selected plan still costs what was expected; if the observed cost deviates
+ * strongly, the alternatives are measured again, so the selection follows the changes of the model.
+ *
+ * @author agent
+ */
+class AdaptivePlanSelector {
+
+    /**
+     * The number of searches an alternative is measured for
+     */
+    private static final int SAMPLE_SIZE = 8;
+    /**
+     * Every search with this index is measured once a plan is selected
+     */
+    private static final int MONITORING_INTERVAL = 16;
+    /**
+     * The ratio of costs considered a strong deviation
+     */
+    private static final double DEVIATION_FACTOR = 2.0;
+
+    private final long[] totalCosts;
+    private final int[] measuredSearches;
+    private int selectedPlan;
+    private boolean exploring = true;
+    private double expectedCost;
+    private long searchCount;
+    private long monitoredCost;
+    private int monitoredSearches;
+
+    public AdaptivePlanSelector(int planCount) {
+        this.totalCosts = new long[planCount];
+        this.measuredSearches = new int[planCount];
+    }
+
+    /**
+     * @return the index of the plan to be used by the next search
+     */
+    public int getSelectedPlan() {
+        return selectedPlan;
+    }
+
+    /**
+     * Notifies the selector that a new search is started with the selected plan.
+     *
+     * @return true if the cost of the search should be measured and reported by {@link #searchFinished(long)}
+     */
+    public boolean searchStarted() {
+        searchCount++;
+        return exploring || searchCount % MONITORING_INTERVAL == 0;
+    }
+
+    /**
+     * Reports the cost of a measured search executed with the selected plan.
+     */
+    public void searchFinished(long cost) {
+        if (exploring) {
+            totalCosts[selectedPlan] += cost;
+            measuredSearches[selectedPlan]++;
+            double bestCost = getBestCost();
+            if (measuredSearches[selectedPlan] >= SAMPLE_SIZE
+                    || totalCosts[selectedPlan] > DEVIATION_FACTOR * bestCost * SAMPLE_SIZE) {
+                exploreNextPlan();
+            }
+        } else {
+            monitoredCost += cost;
+            monitoredSearches++;
+            if (monitoredSearches >= SAMPLE_SIZE) {
+                double observedCost = ((double) monitoredCost) / monitoredSearches;
+                monitoredCost = 0;
+                monitoredSearches = 0;
+                if (observedCost > DEVIATION_FACTOR * expectedCost
+                        || observedCost * DEVIATION_FACTOR < expectedCost) {
+                    restartExploration();
+                }
+            }
+        }
+    }
+
+    private void exploreNextPlan() {
+        for (int i = 0; i < totalCosts.length; i++) {
+            if (measuredSearches[i] == 0) {
+                selectedPlan = i;
+                return;
+            }
+        }
+        // all alternatives are measured
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < totalCosts.length; i++) {
+            double averageCost = getAverageCost(i);
+            if (averageCost < bestCost) {
+                bestCost = averageCost;
+                selectedPlan = i;
+            }
+        }
+        expectedCost = bestCost;
+        exploring = false;
+    }
+
+    private void restartExploration() {
+        for (int i = 0; i < totalCosts.length; i++) {
+            totalCosts[i] = 0;
+            measuredSearches[i] = 0;
+        }
+        // the previously selected plan is measured first
+        exploring = true;
+    }
+
+    /**
+     * @return the smallest average cost among the completely measured alternatives, or infinity if there is none
+     */
+    private double getBestCost() {
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < totalCosts.length; i++) {
+            if (measuredSearches[i] >= SAMPLE_SIZE) {
+                bestCost = Math.min(bestCost, getAverageCost(i));
+            }
+        }
+        return bestCost;
+    }
+
+    private double getAverageCost(int plan) {
+        return measuredSearches[plan] == 0 ? Double.MAX_VALUE : ((double) totalCosts[plan]) / measuredSearches[plan];
+    }
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.incquery.runtime.base.api.EMFBaseIndexChangeListener;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.MatchingKey;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+
+/**
+ * Tabling of the results of called patterns: search operations calling other matchers (negative applications, counts
+ * and transitive closures) ask the called matcher through this table, so a called pattern is only evaluated once for
+ * each combination of bound arguments.
+ *
+ * <p>
+ * The table holds at most a given number of results, evicting the least recently used ones. By default it is cleared
+ * at the start of each search (see {@link #searchStarted()}); alternatively, it may be kept between searches, in which
+ * case it is cleared whenever the contents of the base index change.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class CallResultTable {
+
+    private enum CallType {
+        HAS_MATCH, COUNT_MATCHES, ALL_MATCHES
+    }
+
+    private static final class CallKey {
+        private final LocalSearchMatcher matcher;
+        private final CallType type;
+        private final MatchingKey arguments;
+
+        public CallKey(LocalSearchMatcher matcher, CallType type, MatchingKey arguments) {
+            this.matcher = matcher;
+            this.type = type;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * System.identityHashCode(matcher) + type.hashCode()) * 31 + arguments.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CallKey)) {
+                return false;
+            }
+            CallKey other = (CallKey) obj;
+            return matcher == other.matcher && type == other.type && arguments.equals(other.arguments);
+        }
+    }
+
+    private final int maxSize;
+    private final NavigationHelper invalidatingIndex;
+    private final Map<CallKey, Object> results;
+    private boolean listenerRegistered;
+
+    /**
+     * Clears the table on the first change of the base index, then unregisters itself; it is registered again when
+     * the next result is stored, so a discarded table is not kept alive by the index.
+     */
+    private final EMFBaseIndexChangeListener invalidationListener = new EMFBaseIndexChangeListener() {
+
+        @Override
+        public boolean onlyOnIndexChange() {
+            return true;
+        }
+
+        @Override
+        public void notifyChanged(boolean indexChanged) {
+            synchronized (results) {
+                results.clear();
+                listenerRegistered = false;
+            }
+            invalidatingIndex.removeBaseIndexChangeListener(this);
+        }
+    };
+
+    /**
+     * Creates a table that is cleared at the start of each search.
+     *
+     * @param maxSize
+     *            the maximal number of stored results; if not positive, no results are stored
+     */
+    public CallResultTable(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * @param maxSize
+     *            the maximal number of stored results; if not positive, no results are stored
+     * @param invalidatingIndex
+     *            if not null, the results are kept between searches until the contents of the given index change;
+     *            otherwise the table is cleared at the start of each search
+     */
+    public CallResultTable(final int maxSize, NavigationHelper invalidatingIndex) {
+        this.maxSize = maxSize;
+        this.invalidatingIndex = invalidatingIndex;
+        this.results = new LinkedHashMap<CallKey, Object>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CallKey, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Notifies the table that a new top-level search is started.
+     */
+    public void searchStarted() {
+        if (invalidatingIndex == null) {
+            clear();
+        }
+    }
+
+    public boolean hasMatch(LocalSearchMatcher matcher, MatchingFrame initialFrame) throws LocalSearchException {
+        if (maxSize <= 0) {
+            return matcher.hasMatch(initialFrame);
+        }
+        CallKey key = new CallKey(matcher, CallType.HAS_MATCH, initialFrame.getKey());
+        Boolean result = (Boolean) lookup(key);
+        if (result == null) {
+            result = matcher.hasMatch(initialFrame);
+            store(key, result);
+        }
+        return result;
+    }
+
+    public int countMatches(LocalSearchMatcher matcher, MatchingFrame initialFrame) throws LocalSearchException {
+        if (maxSize <= 0) {
+            return matcher.countMatches(initialFrame);
+        }
+        CallKey key = new CallKey(matcher, CallType.COUNT_MATCHES, initialFrame.getKey());
+        Integer result = (Integer) lookup(key);
+        if (result == null) {
+            result = matcher.countMatches(initialFrame);
+            store(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the matches of the called pattern; the returned collection and frames must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<MatchingFrame> getAllMatches(LocalSearchMatcher matcher, MatchingFrame initialFrame)
+            throws LocalSearchException {
+        if (maxSize <= 0) {
+            return matcher.getAllMatches(initialFrame);
+        }
+        CallKey key = new CallKey(matcher, CallType.ALL_MATCHES, initialFrame.getKey());
+        Collection<MatchingFrame> result = (Collection<MatchingFrame>) lookup(key);
+        if (result == null) {
+            result = matcher.getAllMatches(initialFrame);
+            store(key, result);
+        }
+        return result;
+    }
+
+    /*
+     * The map is only locked for the duration of the lookups and updates, but not while the called matchers are
+     * running, as the invalidation listener is notified while the base index is being updated.
+     */
+
+    private Object lookup(CallKey key) {
+        synchronized (results) {
+            return results.get(key);
+        }
+    }
+
+    private void store(CallKey key, Object result) {
+        boolean registerListener;
+        synchronized (results) {
+            registerListener = invalidatingIndex != null && !listenerRegistered;
+            listenerRegistered = listenerRegistered || registerListener;
+            results.put(key, result);
+        }
+        if (registerListener) {
+            invalidatingIndex.addBaseIndexChangeListener(invalidationListener);
+        }
+    }
+
+    /**
+     * Removes all stored results.
+     */
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Removes all stored results and stops listening to the base index, so the index can be disposed.
+     */
+    public void dispose() {
+        boolean unregisterListener;
+        synchronized (results) {
+            results.clear();
+            unregisterListener = listenerRegistered;
+            listenerRegistered = false;
+        }
+        if (unregisterListener) {
+            invalidatingIndex.removeBaseIndexChangeListener(invalidationListener);
+        }
+    }
+}
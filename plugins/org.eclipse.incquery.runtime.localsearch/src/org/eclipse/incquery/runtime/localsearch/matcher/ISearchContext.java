@@ -10,10 +10,13 @@
  *******************************************************************************/
 package org.eclipse.incquery.runtime.localsearch.matcher;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EStructuralFeature;
@@ -56,6 +59,30 @@ public interface ISearchContext{
      * @param reference
      */
     LocalSearchMatcher getMatcher(MatcherReference reference);
+
+    /**
+     * Returns the table storing the results of the patterns called during the search.
+     * 
+     * @since 1.2
+     */
+    CallResultTable getCallResultTable();
+
+    /**
+     * Returns the snapshot of the model contents used by the search operations that cannot rely on the base index.
+     * 
+     * @throws UnsupportedOperationException
+     *             if the roots of the model are not known by the context
+     * @since 1.2
+     */
+    ModelContentsSnapshot getModelContents();
+
+    /**
+     * Notifies the context that a new top-level search is started; the results of called patterns are cleared as
+     * described by {@link CallResultTable#searchStarted()}, and the snapshot of the model contents is dropped.
+     * 
+     * @since 1.2
+     */
+    void searchStarted();
     
     public class SearchContext implements ISearchContext {
 
@@ -64,15 +91,34 @@ public interface ISearchContext{
         final Logger logger = Logger.getLogger(getClass());
         
         Map<MatcherReference, LocalSearchMatcher> knownMatchers = Maps.newHashMap();
+
+        CallResultTable callResultTable = new CallResultTable(0);
+
+        Collection<? extends Notifier> scopeRoots;
+        int traversalParallelism = 1;
+        ModelContentsSnapshot modelContents;
         
         public SearchContext(IBaseIndex baseIndex) {
             //XXX this is a problematic (and in long-term unsupported) solution, see bug 456815
             this.navigationHelper = ((EMFBaseIndexWrapper)baseIndex).getNavigationHelper();
         }
+
+        /**
+         * @param tableSize
+         *            the maximal number of called pattern results stored; see {@link CallResultTable}
+         * @param keepTableBetweenSearches
+         *            if true, the stored results are only cleared when the base index changes
+         * @since 1.2
+         */
+        public SearchContext(IBaseIndex baseIndex, int tableSize, boolean keepTableBetweenSearches) {
+            this(baseIndex);
+            this.callResultTable = new CallResultTable(tableSize, keepTableBetweenSearches ? navigationHelper : null);
+        }
         
         public SearchContext(ResourceSet set, Set<EClass> classes, Set<EDataType> dataTypes, Set<EStructuralFeature> features) throws IncQueryBaseException {
             navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(set, false, logger);
             navigationHelper.registerObservedTypes(classes, dataTypes, features);
+            scopeRoots = Collections.singleton(set);
         }
         
         public SearchContext(IBaseIndex baseIndex, Set<EClass> classes, Set<EDataType> dataTypes, Set<EStructuralFeature> features) {
@@ -108,6 +154,41 @@ public interface ISearchContext{
             }
             return knownMatchers.get(reference);
         }
+
+        @Override
+        public CallResultTable getCallResultTable() {
+            return callResultTable;
+        }
+
+        /**
+         * Sets the roots of the model whose contents are collected by {@link #getModelContents()}.
+         * 
+         * @param parallelism
+         *            if greater than 1, the resources of the model are traversed using the given number of threads
+         * @since 1.2
+         */
+        public void setScopeRoots(Collection<? extends Notifier> scopeRoots, int parallelism) {
+            this.scopeRoots = scopeRoots;
+            this.traversalParallelism = parallelism;
+            this.modelContents = null;
+        }
+
+        @Override
+        public ModelContentsSnapshot getModelContents() {
+            if (modelContents == null) {
+                if (scopeRoots == null) {
+                    throw new UnsupportedOperationException("The model contents are not available in this search context.");
+                }
+                modelContents = new ModelContentsSnapshot(scopeRoots, traversalParallelism);
+            }
+            return modelContents;
+        }
+
+        @Override
+        public void searchStarted() {
+            callResultTable.searchStarted();
+            modelContents = null;
+        }
         
     }
 }
@@ -12,19 +12,28 @@
 package org.eclipse.incquery.runtime.localsearch.matcher;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.MatchingKey;
 import org.eclipse.incquery.runtime.localsearch.MatchingTable;
 import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.operations.IMatcherBasedOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan.IMatchCollector;
 import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
 import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.common.collect.UnmodifiableIterator;
 
 /**
@@ -34,10 +43,20 @@ import com.google.common.collect.UnmodifiableIterator;
 public class LocalSearchMatcher {
 
     private ImmutableList<SearchPlanExecutor> plan;
+    private ImmutableList<CompiledSearchPlan> compiledPlan;
     private int frameSize;
     private int keySize;
     private PQuery query;
     private List<ILocalSearchAdapter> adapters = Lists.newLinkedList();
+    /**
+     * The adapters notified by the current search
+     */
+    private List<ILocalSearchAdapter> searchAdapters;
+    private List<ImmutableList<SearchPlanExecutor>> alternativePlans;
+    private List<ImmutableList<CompiledSearchPlan>> alternativeCompiledPlans;
+    private AdaptivePlanSelector planSelector;
+    private PlanStatisticsAdapter statisticsAdapter;
+    private boolean measuring;
 
     public ImmutableList<SearchPlanExecutor> getPlan() {
         return plan;
@@ -117,6 +136,42 @@ public class LocalSearchMatcher {
             return frame.clone();
         }
 
+        /**
+         * Steps over the next match without copying its frame
+         */
+        public void skip() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more matches available.");
+            }
+            frameReturned = true;
+        }
+
+    }
+
+    /**
+     * Filters the frames with the same parameter values (e.g. ones found by more than one body) incrementally, the
+     * same way as {@link MatchingTable} does it for all matches.
+     */
+    private class DistinctMatchIterator extends AbstractIterator<MatchingFrame> {
+
+        private final PlanExecutionIterator iterator;
+        private final Set<MatchingKey> returnedKeys = Sets.newHashSet();
+
+        public DistinctMatchIterator(PlanExecutionIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        protected MatchingFrame computeNext() {
+            while (iterator.hasNext()) {
+                MatchingFrame frame = iterator.next();
+                if (returnedKeys.add(frame.getKey())) {
+                    return frame;
+                }
+            }
+            matchingFinished();
+            return endOfData();
+        }
     }
 
     /**
@@ -154,8 +209,118 @@ public class LocalSearchMatcher {
 
     public void removeAdapter(ILocalSearchAdapter adapter) {
     	this.adapters.remove(adapter);
+        // the executors keep the adapters of the last executed plan
+        List<ILocalSearchAdapter> removedAdapters = Collections.singletonList(adapter);
+        for (SearchPlanExecutor executor : plan) {
+            executor.removeAdapters(removedAdapters);
+        }
+        if (alternativePlans != null) {
+            for (ImmutableList<SearchPlanExecutor> alternativePlan : alternativePlans) {
+                for (SearchPlanExecutor executor : alternativePlan) {
+                    executor.removeAdapters(removedAdapters);
+                }
+            }
+        }
     }
     
+    /**
+     * Sets the compiled versions of the plan executors, in the same order. The compiled plans are used instead of the
+     * executors to find all matches, to count them, or to decide if there is a match, unless adapters are attached to
+     * the matcher.
+     * 
+     * @since 1.2
+     */
+    public void setCompiledPlan(List<CompiledSearchPlan> compiledPlan) {
+        Preconditions.checkArgument(compiledPlan.size() == plan.size(), "Compiled plans do not match the executors");
+        this.compiledPlan = ImmutableList.copyOf(compiledPlan);
+    }
+
+    /**
+     * Adds an alternative plan for the same query and adornment, e.g. one created with a different cost model, with
+     * its compiled version if available. A matcher with alternative plans measures the number of operations executed
+     * by its searches with a {@link PlanStatisticsAdapter}, and switches between its plans for the subsequent searches,
+     * converging on the cheapest plan for the current model.
+     * 
+     * @param compiledPlan
+     *            the compiled versions of the alternative plan executors in the same order, or null
+     * @since 1.2
+     */
+    public void addAlternativePlan(Collection<SearchPlanExecutor> alternativePlan,
+            List<CompiledSearchPlan> compiledPlan) {
+        Preconditions.checkArgument(compiledPlan == null || compiledPlan.size() == alternativePlan.size(),
+                "Compiled plans do not match the executors");
+        if (alternativePlans == null) {
+            alternativePlans = Lists.newArrayList();
+            alternativeCompiledPlans = Lists.newArrayList();
+            alternativePlans.add(plan);
+            alternativeCompiledPlans.add(this.compiledPlan);
+            statisticsAdapter = new PlanStatisticsAdapter();
+        }
+        alternativePlans.add(ImmutableList.copyOf(alternativePlan));
+        alternativeCompiledPlans.add(compiledPlan == null ? null : ImmutableList.copyOf(compiledPlan));
+        planSelector = new AdaptivePlanSelector(alternativePlans.size());
+    }
+
+    /**
+     * Selects the plan of a new search, and decides whether the search is measured.
+     */
+    private void searchStarted() {
+        if (planSelector == null) {
+            searchAdapters = adapters;
+            return;
+        }
+        int selectedPlan = planSelector.getSelectedPlan();
+        plan = alternativePlans.get(selectedPlan);
+        compiledPlan = alternativeCompiledPlans.get(selectedPlan);
+        measuring = planSelector.searchStarted();
+        if (measuring) {
+            statisticsAdapter.reset();
+            searchAdapters = Lists.newLinkedList(adapters);
+            searchAdapters.add(statisticsAdapter);
+        } else {
+            searchAdapters = adapters;
+        }
+    }
+
+    private void searchFinished() {
+        if (measuring) {
+            measuring = false;
+            planSelector.searchFinished(statisticsAdapter.getExecutionCount());
+            // the executors do not remove the adapters from the last executed plan and the called matchers
+            List<ILocalSearchAdapter> statisticsAdapters = Collections
+                    .<ILocalSearchAdapter> singletonList(statisticsAdapter);
+            for (SearchPlanExecutor executor : plan) {
+                executor.removeAdapters(statisticsAdapters);
+                for (ISearchOperation operation : executor.getSearchPlan().getOperations()) {
+                    if (operation instanceof IMatcherBasedOperation
+                            && ((IMatcherBasedOperation) operation).getCalledMatcher() != null) {
+                        ((IMatcherBasedOperation) operation).getCalledMatcher().getAdapters()
+                                .removeAll(statisticsAdapters);
+                    }
+                }
+            }
+            searchAdapters = adapters;
+        }
+    }
+
+    private boolean useCompiledPlan() {
+        return compiledPlan != null && adapters.isEmpty() && !measuring;
+    }
+
+    /**
+     * Executes the compiled plans one after the other on a copy of the initial frame, until the collector stops the
+     * search.
+     */
+    private void executeCompiledPlan(MatchingFrame initialFrame, IMatchCollector collector)
+            throws LocalSearchException {
+        final MatchingFrame frame = initialFrame.clone();
+        for (int i = 0; i < compiledPlan.size(); i++) {
+            if (!compiledPlan.get(i).execute(frame, plan.get(i).getContext(), collector)) {
+                return;
+            }
+        }
+    }
+
     protected void setPlan(SearchPlanExecutor plan) {
         this.plan = ImmutableList.of(plan);
     }
@@ -182,8 +347,20 @@ public class LocalSearchMatcher {
     }
 
     public boolean hasMatch(final MatchingFrame initialFrame) throws LocalSearchException {
+        searchStarted();
+        if (useCompiledPlan()) {
+            final boolean[] hasMatch = { false };
+            executeCompiledPlan(initialFrame, new IMatchCollector() {
+                @Override
+                public boolean matchFound(MatchingFrame frame) {
+                    hasMatch[0] = true;
+                    return false;
+                }
+            });
+            return hasMatch[0];
+        }
     	matchingStarted();
-        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, adapters);
+        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, searchAdapters);
         boolean hasMatch = it.hasNext();
         matchingFinished();
 		return hasMatch;
@@ -195,9 +372,25 @@ public class LocalSearchMatcher {
     }
 
     public int countMatches(MatchingFrame initialFrame) throws LocalSearchException {
+        searchStarted();
+        if (useCompiledPlan()) {
+            final int[] count = { 0 };
+            executeCompiledPlan(initialFrame, new IMatchCollector() {
+                @Override
+                public boolean matchFound(MatchingFrame frame) {
+                    count[0]++;
+                    return true;
+                }
+            });
+            return count[0];
+        }
     	matchingStarted();
-        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, adapters);
-        int result = Iterators.size(it);
+        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, searchAdapters);
+        int result = 0;
+        while (it.hasNext()) {
+            it.skip();
+            result++;
+        }
         matchingFinished();
 		return result;
     }
@@ -208,8 +401,20 @@ public class LocalSearchMatcher {
     }
 
     public MatchingFrame getOneArbitraryMatch(final MatchingFrame initialFrame) throws LocalSearchException {
+        searchStarted();
+        if (useCompiledPlan()) {
+            final MatchingFrame[] match = { null };
+            executeCompiledPlan(initialFrame, new IMatchCollector() {
+                @Override
+                public boolean matchFound(MatchingFrame frame) {
+                    match[0] = frame.clone();
+                    return false;
+                }
+            });
+            return match[0];
+        }
     	matchingStarted();
-        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, adapters);
+        PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, searchAdapters);
         MatchingFrame returnValue = null;
         if (it.hasNext()) {
 			returnValue = it.next();
@@ -233,11 +438,25 @@ public class LocalSearchMatcher {
 		for (ILocalSearchAdapter adapter : adapters) {
 			adapter.patternMatchingFinished(this);
 		}		
+		searchFinished();
 	}
 
 	public Collection<MatchingFrame> getAllMatches(final MatchingFrame initialFrame) throws LocalSearchException {
+        searchStarted();
+        if (useCompiledPlan()) {
+            final MatchingTable results = new MatchingTable();
+            executeCompiledPlan(initialFrame, new IMatchCollector() {
+                @Override
+                public boolean matchFound(MatchingFrame frame) {
+                    final MatchingFrame match = frame.clone();
+                    results.put(match.getKey(), match);
+                    return true;
+                }
+            });
+            return ImmutableList.copyOf(results.iterator());
+        }
         matchingStarted();
-		PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, adapters);        
+		PlanExecutionIterator it = new PlanExecutionIterator(plan, initialFrame, searchAdapters);        
         
         MatchingTable results = new MatchingTable();
         while (it.hasNext()) {
@@ -247,6 +466,19 @@ public class LocalSearchMatcher {
         matchingFinished();
         return ImmutableList.copyOf(results.iterator());
     }
+
+    /**
+     * Returns the matches conforming to the initial frame one by one. The search is only continued when the next match
+     * is requested, so abandoning the iterator cancels the search. The matcher must not be used again until the
+     * returned iterator is exhausted or abandoned.
+     * 
+     * @since 1.2
+     */
+    public Iterator<MatchingFrame> iterateMatches(final MatchingFrame initialFrame) {
+        searchStarted();
+        matchingStarted();
+        return new DistinctMatchIterator(new PlanExecutionIterator(plan, initialFrame, searchAdapters));
+    }
     
     /**
      * Returns the query specification this matcher used as source for the implementation
@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.BasePConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.PConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A search adapter profiling the execution of search plans: for each operation it records how many times it was
+ * invoked, how many of the invocations produced a binding and how many backtracked, and optionally the time spent in
+ * the operation. The counters are aggregated per query, adornment and plan; the adornment is the binding pattern of the
+ * query parameters when the plan is initialized, e.g. <code>bf</code> if only the first of two parameters is bound.
+ *
+ * <p>
+ * As the executors propagate their adapters to the matchers called by their operations, the plans of the called
+ * patterns are profiled as well. The elapsed time of an operation calling another matcher includes the time spent in
+ * the called matcher.
+ *
+ * <p>
+ * The profiler is not thread-safe; it should be attached to matchers executing on a single thread.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class LocalSearchProfiler implements ILocalSearchAdapter {
+
+    /**
+     * The collected counters of a search plan executed with a given adornment
+     */
+    public static final class PlanProfile {
+        private final PQuery query;
+        private final String adornment;
+        private final SearchPlanExecutor executor;
+        private final long[] invocations;
+        private final long[] bindings;
+        private final long[] backtracks;
+        private final long[] elapsedTimes;
+        private long initializations;
+        private long matches;
+
+        /*
+         * The state of the last callback of the executor; the executor is not reentrant, so it is enough to store
+         * it here
+         */
+        private int lastOperation = -1;
+        private long selectionTime;
+
+        private PlanProfile(PQuery query, String adornment, SearchPlanExecutor executor) {
+            this.query = query;
+            this.adornment = adornment;
+            this.executor = executor;
+            int operationCount = executor.getSearchPlan().getOperations().size();
+            this.invocations = new long[operationCount];
+            this.bindings = new long[operationCount];
+            this.backtracks = new long[operationCount];
+            this.elapsedTimes = new long[operationCount];
+        }
+
+        /**
+         * @return the profiled query, or null if it cannot be determined from the variables of the plan
+         */
+        public PQuery getQuery() {
+            return query;
+        }
+
+        /**
+         * @return the binding pattern of the query parameters, with a <code>b</code> for each bound and an
+         *         <code>f</code> for each free parameter
+         */
+        public String getAdornment() {
+            return adornment;
+        }
+
+        public SearchPlanExecutor getExecutor() {
+            return executor;
+        }
+
+        public List<ISearchOperation> getOperations() {
+            return executor.getSearchPlan().getOperations();
+        }
+
+        /**
+         * @return the number of times the execution of the plan was started
+         */
+        public long getInitializationCount() {
+            return initializations;
+        }
+
+        public long getMatchCount() {
+            return matches;
+        }
+
+        /**
+         * @return the number of executions of the operation with the given index
+         */
+        public long getInvocationCount(int operation) {
+            return invocations[operation];
+        }
+
+        /**
+         * @return the number of executions of the operation that bound its variables, and let the search continue
+         *         with the next operation
+         */
+        public long getBindingCount(int operation) {
+            return bindings[operation];
+        }
+
+        /**
+         * @return the number of executions of the operation that failed, and made the search step back to the
+         *         previous operation
+         */
+        public long getBacktrackCount(int operation) {
+            return backtracks[operation];
+        }
+
+        /**
+         * @return the time spent executing the operation in nanoseconds, or 0 if the time is not measured
+         */
+        public long getElapsedTime(int operation) {
+            return elapsedTimes[operation];
+        }
+
+        /**
+         * @return the number of operation executions of the plan
+         */
+        public long getTotalInvocationCount() {
+            long total = 0;
+            for (long count : invocations) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    private final boolean measureTime;
+    private final Map<SearchPlanExecutor, Map<String, PlanProfile>> profiles = Maps.newLinkedHashMap();
+    /**
+     * The profile the executors are currently collecting into, selected when they are initialized
+     */
+    private final Map<SearchPlanExecutor, PlanProfile> currentProfiles = Maps.newHashMap();
+
+    /**
+     * Creates a profiler that also measures the time spent in the operations.
+     */
+    public LocalSearchProfiler() {
+        this(true);
+    }
+
+    /**
+     * @param measureTime
+     *            if false, only the counters are collected, avoiding the overhead of reading the system timer
+     */
+    public LocalSearchProfiler(boolean measureTime) {
+        this.measureTime = measureTime;
+    }
+
+    /**
+     * @return the profiles of all plans executed since the creation or the last reset of the profiler, in the order
+     *         of their first execution
+     */
+    public Collection<PlanProfile> getProfiles() {
+        List<PlanProfile> result = Lists.newArrayList();
+        for (Map<String, PlanProfile> executorProfiles : profiles.values()) {
+            result.addAll(executorProfiles.values());
+        }
+        return result;
+    }
+
+    /**
+     * @return the profiles of the given plan executor, one for each adornment it was executed with
+     */
+    public Collection<PlanProfile> getProfiles(SearchPlanExecutor executor) {
+        Map<String, PlanProfile> executorProfiles = profiles.get(executor);
+        return executorProfiles == null ? Collections.<PlanProfile> emptyList() : Collections
+                .unmodifiableCollection(executorProfiles.values());
+    }
+
+    /**
+     * Discards all collected profiles.
+     */
+    public void reset() {
+        profiles.clear();
+        currentProfiles.clear();
+    }
+
+    /**
+     * Creates a human-readable report of the collected profiles, listing the counters of the operations of each plan.
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (PlanProfile profile : getProfiles()) {
+            sb.append(profile.query == null ? "<unknown query>" : profile.query.getFullyQualifiedName());
+            sb.append(" (").append(profile.adornment).append("), plan ");
+            sb.append(Integer.toHexString(System.identityHashCode(profile.executor)));
+            sb.append(": ").append(profile.initializations).append(" executions, ");
+            sb.append(profile.matches).append(" matches\n");
+            List<ISearchOperation> operations = profile.getOperations();
+            for (int i = 0; i < operations.size(); i++) {
+                sb.append(String.format(Locale.ENGLISH, "  [%d]\t%10d calls %10d bindings %10d backtracks", i,
+                        profile.invocations[i], profile.bindings[i], profile.backtracks[i]));
+                if (measureTime) {
+                    sb.append(String.format(Locale.ENGLISH, " %12.3f ms", profile.elapsedTimes[i] / 1000000.0));
+                }
+                sb.append("\t").append(operations.get(i)).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prints the report of the collected profiles to the given stream.
+     *
+     * @see #getReport()
+     */
+    public void dumpReport(PrintStream stream) {
+        stream.print(getReport());
+    }
+
+    private PlanProfile getProfile(SearchPlanExecutor executor, MatchingFrame frame) {
+        PQuery query = getQuery(executor);
+        String adornment = getAdornment(query, frame);
+        Map<String, PlanProfile> executorProfiles = profiles.get(executor);
+        if (executorProfiles == null) {
+            executorProfiles = Maps.newLinkedHashMap();
+            profiles.put(executor, executorProfiles);
+        }
+        PlanProfile profile = executorProfiles.get(adornment);
+        if (profile == null) {
+            profile = new PlanProfile(query, adornment, executor);
+            executorProfiles.put(adornment, profile);
+        }
+        return profile;
+    }
+
+    private PQuery getQuery(SearchPlanExecutor executor) {
+        for (PVariable variable : executor.getVariableMapping().values()) {
+            for (PConstraint constraint : variable.getReferringConstraints()) {
+                if (constraint instanceof BasePConstraint) {
+                    return ((BasePConstraint) constraint).getPSystem().getPattern();
+                }
+            }
+        }
+        return null;
+    }
+
+    private String getAdornment(PQuery query, MatchingFrame frame) {
+        if (query == null) {
+            return "";
+        }
+        int parameterCount = query.getParameters().size();
+        StringBuilder sb = new StringBuilder(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            sb.append(frame.getValueAt(i) == null ? 'f' : 'b');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void patternMatchingStarted(LocalSearchMatcher lsMatcher) {
+    }
+
+    @Override
+    public void patternMatchingFinished(LocalSearchMatcher lsMatcher) {
+    }
+
+    @Override
+    public void planChanged(SearchPlanExecutor oldPlanExecutor, SearchPlanExecutor newPlanExecutor) {
+    }
+
+    @Override
+    public void executorInitializing(SearchPlanExecutor searchPlanExecutor, MatchingFrame frame) {
+        PlanProfile profile = getProfile(searchPlanExecutor, frame);
+        profile.initializations++;
+        profile.lastOperation = -1;
+        currentProfiles.put(searchPlanExecutor, profile);
+    }
+
+    @Override
+    public void operationSelected(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+        PlanProfile profile = currentProfiles.get(planExecutor);
+        if (profile == null) {
+            return;
+        }
+        int operation = planExecutor.getCurrentOperation();
+        int lastOperation = profile.lastOperation;
+        if (lastOperation >= 0) {
+            // the executor steps forward after a successful execution and back after a failed one
+            if (operation > lastOperation) {
+                profile.bindings[lastOperation]++;
+            } else {
+                profile.backtracks[lastOperation]++;
+            }
+            profile.lastOperation = -1;
+        }
+        if (measureTime) {
+            profile.selectionTime = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void operationExecuted(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+        PlanProfile profile = currentProfiles.get(planExecutor);
+        if (profile == null) {
+            return;
+        }
+        int operation = planExecutor.getCurrentOperation();
+        if (measureTime) {
+            profile.elapsedTimes[operation] += System.nanoTime() - profile.selectionTime;
+        }
+        profile.invocations[operation]++;
+        profile.lastOperation = operation;
+    }
+
+    @Override
+    public void matchFound(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+        PlanProfile profile = currentProfiles.get(planExecutor);
+        if (profile != null) {
+            profile.matches++;
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The contents of the model partitioned by their exact types, used by the search operations that cannot rely on the
+ * base index. The contents are collected with a single traversal of the containment hierarchy when first needed; the
+ * loaded resources of the model may be traversed in parallel.
+ *
+ * <p>
+ * The instances of a type are the concatenation of the partitions of its subtypes. The subtypes are stored as a bit
+ * set over the indexes assigned to the encountered classes, so deciding whether an object is an instance of a type
+ * takes constant time, without traversing the supertype hierarchy.
+ *
+ * <p>
+ * A snapshot belongs to a single search context, and is not thread-safe. It does not follow the changes of the model;
+ * the search context drops it at the start of each search.
+ *
+ * <p>
+ * The parallel traversal must not modify the resource set from the worker threads, so it only reads resources that
+ * are already loaded, and does not resolve containment proxies. The other resources are traversed on the calling
+ * thread. Objects contained by a loaded resource through a cross-resource containment reference are collected with
+ * their own resource if it is loaded; otherwise they are only collected by the sequential traversal.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class ModelContentsSnapshot {
+
+    /**
+     * The subtypes of a class among the encountered classes, extended as new classes are encountered
+     */
+    private static final class SubtypeSet {
+        private final BitSet subtypes = new BitSet();
+        private int checkedClassCount;
+    }
+
+    /**
+     * Shared by all snapshots; each traversal submits at most as many tasks as its parallelism
+     */
+    private static final ForkJoinPool TRAVERSAL_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final Collection<? extends Notifier> roots;
+    private final int parallelism;
+
+    private Map<EClass, List<EObject>> contentsByClass;
+    private final Map<EClass, Integer> classIndexes = Maps.newHashMap();
+    private final List<EClass> classes = Lists.newArrayList();
+    private final Map<EClass, SubtypeSet> subtypeSets = Maps.newHashMap();
+    private final Map<EClass, List<List<EObject>>> instancePartitions = Maps.newHashMap();
+    private final Map<EDataType, Set<Object>> dataTypeInstances = Maps.newHashMap();
+
+    /**
+     * @param roots
+     *            the resource sets, resources or objects whose contents are collected
+     * @param parallelism
+     *            if greater than 1, the loaded resources are traversed using at most the given number of threads
+     */
+    public ModelContentsSnapshot(Collection<? extends Notifier> roots, int parallelism) {
+        this.roots = roots;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the index assigned to the given class
+     */
+    private int getClassIndex(EClass eClass) {
+        Integer index = classIndexes.get(eClass);
+        if (index == null) {
+            index = classes.size();
+            classIndexes.put(eClass, index);
+            classes.add(eClass);
+        }
+        return index;
+    }
+
+    private BitSet getSubtypes(EClass type) {
+        SubtypeSet subtypeSet = subtypeSets.get(type);
+        if (subtypeSet == null) {
+            subtypeSet = new SubtypeSet();
+            subtypeSets.put(type, subtypeSet);
+        }
+        for (int i = subtypeSet.checkedClassCount; i < classes.size(); i++) {
+            if (type.isSuperTypeOf(classes.get(i))) {
+                subtypeSet.subtypes.set(i);
+            }
+        }
+        subtypeSet.checkedClassCount = classes.size();
+        return subtypeSet.subtypes;
+    }
+
+    /**
+     * Decides whether the object is an instance of the given type; does not require the contents to be collected.
+     */
+    public boolean isInstance(EObject object, EClass type) {
+        // the class of the object is indexed first, so the subtypes are checked against it too
+        int classIndex = getClassIndex(object.eClass());
+        return getSubtypes(type).get(classIndex);
+    }
+
+    /**
+     * @return the instances of the given class, including the instances of its subclasses
+     */
+    public Iterable<EObject> getInstances(EClass type) {
+        List<List<EObject>> partitions = instancePartitions.get(type);
+        if (partitions == null) {
+            Map<EClass, List<EObject>> contents = getContentsByClass();
+            partitions = Lists.newArrayList();
+            BitSet subtypes = getSubtypes(type);
+            for (int i = subtypes.nextSetBit(0); i >= 0; i = subtypes.nextSetBit(i + 1)) {
+                List<EObject> partition = contents.get(classes.get(i));
+                if (partition != null) {
+                    partitions.add(partition);
+                }
+            }
+            instancePartitions.put(type, partitions);
+        }
+        return Iterables.concat(partitions);
+    }
+
+    /**
+     * @return the distinct values of the attributes of the given type in the model
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Object> getDataTypeInstances(EDataType type) {
+        Set<Object> values = dataTypeInstances.get(type);
+        if (values == null) {
+            values = Sets.newLinkedHashSet();
+            for (Map.Entry<EClass, List<EObject>> entry : getContentsByClass().entrySet()) {
+                List<EAttribute> attributes = Lists.newArrayList();
+                for (EAttribute attribute : entry.getKey().getEAllAttributes()) {
+                    if (type.equals(attribute.getEType())) {
+                        attributes.add(attribute);
+                    }
+                }
+                if (attributes.isEmpty()) {
+                    continue;
+                }
+                for (EObject eObject : entry.getValue()) {
+                    for (EAttribute attribute : attributes) {
+                        Object value = eObject.eGet(attribute);
+                        if (attribute.isMany()) {
+                            values.addAll((Collection<Object>) value);
+                        } else if (value != null) {
+                            values.add(value);
+                        }
+                    }
+                }
+            }
+            dataTypeInstances.put(type, values);
+        }
+        return Collections.unmodifiableSet(values);
+    }
+
+    private Map<EClass, List<EObject>> getContentsByClass() {
+        if (contentsByClass == null) {
+            contentsByClass = collectContents();
+            for (EClass eClass : contentsByClass.keySet()) {
+                getClassIndex(eClass);
+            }
+        }
+        return contentsByClass;
+    }
+
+    private Map<EClass, List<EObject>> collectContents() {
+        // the resources are collected first, so each of them is traversed once
+        Set<Resource> resources = Sets.newLinkedHashSet();
+        List<EObject> rootObjects = Lists.newArrayList();
+        for (Notifier root : roots) {
+            if (root instanceof ResourceSet) {
+                resources.addAll(((ResourceSet) root).getResources());
+            } else if (root instanceof Resource) {
+                resources.add((Resource) root);
+            } else if (root instanceof EObject) {
+                rootObjects.add((EObject) root);
+            }
+        }
+        Map<EClass, List<EObject>> contents = Maps.newLinkedHashMap();
+        if (parallelism > 1 && resources.size() > 1) {
+            List<Resource> loadedResources = Lists.newArrayList();
+            for (Resource resource : resources) {
+                if (resource.isLoaded()) {
+                    loadedResources.add(resource);
+                } else {
+                    partition(resource.getAllContents(), contents);
+                }
+            }
+            collectInParallel(loadedResources, contents);
+        } else {
+            for (Resource resource : resources) {
+                partition(resource.getAllContents(), contents);
+            }
+        }
+        for (EObject rootObject : rootObjects) {
+            // objects contained in a traversed resource are not collected again
+            if (rootObject.eResource() == null || !resources.contains(rootObject.eResource())) {
+                partition(Iterators.concat(Iterators.singletonIterator(rootObject), rootObject.eAllContents()),
+                        contents);
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Traverses the given loaded resources with at most {@link #parallelism} tasks; the proxies are not resolved, as
+     * loading a resource would modify the resource set.
+     */
+    private void collectInParallel(List<Resource> resources, Map<EClass, List<EObject>> contents) {
+        List<Callable<Map<EClass, List<EObject>>>> tasks = Lists.newArrayList();
+        int chunkSize = (resources.size() + parallelism - 1) / parallelism;
+        for (final List<Resource> chunk : Lists.partition(resources, Math.max(chunkSize, 1))) {
+            tasks.add(new Callable<Map<EClass, List<EObject>>>() {
+                @Override
+                public Map<EClass, List<EObject>> call() {
+                    Map<EClass, List<EObject>> chunkContents = Maps.newLinkedHashMap();
+                    for (Resource resource : chunk) {
+                        partition(EcoreUtil.<EObject> getAllProperContents(resource, false), chunkContents);
+                    }
+                    return chunkContents;
+                }
+            });
+        }
+        try {
+            for (Future<Map<EClass, List<EObject>>> result : TRAVERSAL_POOL.invokeAll(tasks)) {
+                for (Map.Entry<EClass, List<EObject>> entry : result.get().entrySet()) {
+                    List<EObject> partition = contents.get(entry.getKey());
+                    if (partition == null) {
+                        contents.put(entry.getKey(), entry.getValue());
+                    } else {
+                        partition.addAll(entry.getValue());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void partition(Iterator<? extends EObject> objects, Map<EClass, List<EObject>> contents) {
+        while (objects.hasNext()) {
+            EObject eObject = objects.next();
+            List<EObject> partition = contents.get(eObject.eClass());
+            if (partition == null) {
+                partition = Lists.newArrayList();
+                contents.put(eObject.eClass(), partition);
+            }
+            partition.add(eObject);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher;
+
+import java.util.Map;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Collects the branching statistics of the operations of the observed plan executors: how many times each operation
+ * was executed, and how many of these executions bound its variables successfully. The executions of the called
+ * matchers are also counted, as the adapter is propagated to them by the executors.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class PlanStatisticsAdapter implements ILocalSearchAdapter {
+
+    private static final class OperationStatistics {
+        private long initializations;
+        private final long[] executions;
+        private final long[] successes;
+
+        public OperationStatistics(int operationCount) {
+            executions = new long[operationCount];
+            successes = new long[operationCount];
+        }
+    }
+
+    private final Map<SearchPlanExecutor, OperationStatistics> statistics = Maps.newHashMap();
+    private long executionCount;
+    private SearchPlanExecutor lastExecutor;
+    private int lastOperation = -1;
+
+    private OperationStatistics getStatistics(SearchPlanExecutor executor) {
+        OperationStatistics executorStatistics = statistics.get(executor);
+        if (executorStatistics == null) {
+            executorStatistics = new OperationStatistics(executor.getSearchPlan().getOperations().size());
+            statistics.put(executor, executorStatistics);
+        }
+        return executorStatistics;
+    }
+
+    /**
+     * @return the number of operation executions since the creation or the last reset of the adapter
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * @return the number of executions of the given operation of the executor
+     */
+    public long getExecutionCount(SearchPlanExecutor executor, int operation) {
+        OperationStatistics executorStatistics = statistics.get(executor);
+        return executorStatistics == null ? 0 : executorStatistics.executions[operation];
+    }
+
+    /**
+     * Returns the observed branching factor of an operation: the average number of successful executions for each
+     * time the operation was reached by the search.
+     *
+     * @return the branching factor, or 0 if the operation was not reached yet
+     */
+    public double getBranchingFactor(SearchPlanExecutor executor, int operation) {
+        OperationStatistics executorStatistics = statistics.get(executor);
+        if (executorStatistics == null) {
+            return 0;
+        }
+        long reached = operation == 0 ? executorStatistics.initializations
+                : executorStatistics.successes[operation - 1];
+        return reached == 0 ? 0 : ((double) executorStatistics.successes[operation]) / reached;
+    }
+
+    /**
+     * Discards all collected statistics.
+     */
+    public void reset() {
+        statistics.clear();
+        executionCount = 0;
+        lastExecutor = null;
+        lastOperation = -1;
+    }
+
+    @Override
+    public void patternMatchingStarted(LocalSearchMatcher lsMatcher) {
+    }
+
+    @Override
+    public void patternMatchingFinished(LocalSearchMatcher lsMatcher) {
+    }
+
+    @Override
+    public void planChanged(SearchPlanExecutor oldPlanExecutor, SearchPlanExecutor newPlanExecutor) {
+    }
+
+    @Override
+    public void executorInitializing(SearchPlanExecutor searchPlanExecutor, MatchingFrame frame) {
+        getStatistics(searchPlanExecutor).initializations++;
+    }
+
+    @Override
+    public void operationExecuted(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+        int operation = planExecutor.getCurrentOperation();
+        getStatistics(planExecutor).executions[operation]++;
+        executionCount++;
+        lastExecutor = planExecutor;
+        lastOperation = operation;
+    }
+
+    @Override
+    public void operationSelected(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+        // the executor selects the next operation after a successful execution
+        if (planExecutor == lastExecutor && planExecutor.getCurrentOperation() == lastOperation + 1) {
+            getStatistics(planExecutor).successes[lastOperation]++;
+        }
+        lastExecutor = null;
+    }
+
+    @Override
+    public void matchFound(SearchPlanExecutor planExecutor, MatchingFrame frame) {
+    }
+
+}
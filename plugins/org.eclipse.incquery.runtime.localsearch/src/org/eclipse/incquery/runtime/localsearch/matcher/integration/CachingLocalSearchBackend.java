@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher.integration;
+
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendHintProvider;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.incquery.runtime.matchers.context.IQueryCacheContext;
+import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+
+import com.google.common.collect.Maps;
+
+/**
+ * A local search backend keeping a single {@link CachingLocalSearchResultProvider} for each query, so the stored
+ * results are shared by all matchers of the query.
+ * 
+ * <p>
+ * The results are not maintained incrementally, only discarded on changes, so the backend does not provide update
+ * notifications and does not count as a caching backend in the sense of {@link #isCaching()}.
+ * 
+ * @author agent
+ * @since 1.2
+ */
+public class CachingLocalSearchBackend extends LocalSearchBackend {
+
+    private final Map<PQuery, CachingLocalSearchResultProvider> resultProviders = Maps.newHashMap();
+
+    public CachingLocalSearchBackend(Logger logger, IQueryRuntimeContext runtimeContext,
+            IQueryCacheContext queryCacheContext, IQueryBackendHintProvider hintProvider) {
+        super(logger, runtimeContext, queryCacheContext, hintProvider);
+    }
+
+    @Override
+    public synchronized IQueryResultProvider getResultProvider(PQuery query) throws QueryProcessingException {
+        CachingLocalSearchResultProvider resultProvider = resultProviders.get(query);
+        if (resultProvider == null) {
+            resultProvider = new CachingLocalSearchResultProvider(this, logger, runtimeContext, queryCacheContext,
+                    hintProvider, query);
+            resultProviders.put(query, resultProvider);
+        }
+        return resultProvider;
+    }
+
+    @Override
+    public synchronized IQueryResultProvider peekExistingResultProvider(PQuery query) {
+        return resultProviders.get(query);
+    }
+
+    @Override
+    public synchronized void dispose() {
+        for (CachingLocalSearchResultProvider resultProvider : resultProviders.values()) {
+            resultProvider.dispose();
+        }
+        resultProviders.clear();
+        super.dispose();
+    }
+
+}
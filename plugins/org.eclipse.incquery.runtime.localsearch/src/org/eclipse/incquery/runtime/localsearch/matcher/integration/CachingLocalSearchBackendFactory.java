@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher.integration;
+
+import org.apache.log4j.Logger;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendHintProvider;
+import org.eclipse.incquery.runtime.matchers.context.IQueryCacheContext;
+import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext;
+
+/**
+ * A local search backend that stores the results of the queries until the model elements they depend on change, see
+ * {@link CachingLocalSearchResultProvider}.
+ * 
+ * @author agent
+ * @since 1.2
+ */
+public enum CachingLocalSearchBackendFactory implements IQueryBackendFactory {
+
+    INSTANCE;
+
+    @Override
+    public IQueryBackend create(Logger logger,
+            IQueryRuntimeContext runtimeContext,
+            IQueryCacheContext queryCacheContext,
+            IQueryBackendHintProvider hintProvider) {
+        return new CachingLocalSearchBackend(
+                logger,
+                runtimeContext,
+                queryCacheContext,
+                hintProvider);
+    }
+
+    @Override
+    public Class<? extends IQueryBackend> getBackendClass() {
+        return CachingLocalSearchBackend.class;
+    }
+
+}
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher.integration;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendHintProvider;
+import org.eclipse.incquery.runtime.matchers.context.IInputKey;
+import org.eclipse.incquery.runtime.matchers.context.IQueryCacheContext;
+import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContextListener;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * A local search result provider memoizing the results of the calls for each combination of bound parameters. The
+ * input keys referenced by the plans of the query are observed through the runtime context, and when the contents of
+ * one of them change, the results depending on it are discarded, so the next call searches the model again.
+ *
+ * <p>
+ * The number of stored match tuples is limited by the {@link LocalSearchHintKeys#RESULT_CACHE_SIZE} hint; when the
+ * limit is exceeded, the least recently used results are evicted. Counting the matches and retrieving an arbitrary
+ * match are answered from the stored matches of the same parameters if there are any.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class CachingLocalSearchResultProvider extends LocalSearchResultProvider {
+
+    private static final int DEFAULT_RESULT_CACHE_SIZE = 100000;
+
+    private enum CallType {
+        ALL_MATCHES, COUNT_MATCHES, ONE_MATCH
+    }
+
+    private static final class CacheKey {
+        private final CallType type;
+        private final List<Object> parameters;
+
+        public CacheKey(CallType type, Object[] parameters) {
+            this.type = type;
+            this.parameters = Arrays.asList(parameters.clone());
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + parameters.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return type == other.type && parameters.equals(other.parameters);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Object result;
+        private final int size;
+        private final Set<IInputKey> inputKeys;
+
+        public CacheEntry(Object result, int size, Set<IInputKey> inputKeys) {
+            this.result = result;
+            this.size = size;
+            this.inputKeys = inputKeys;
+        }
+    }
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final IQueryBackendHintProvider hintProvider;
+    private final PQuery query;
+
+    /**
+     * The stored results in access order; guarded by itself, as the invalidations arrive on the thread modifying the
+     * model
+     */
+    private final LinkedHashMap<CacheKey, CacheEntry> results = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f,
+            true);
+    private final Map<IInputKey, Set<CacheKey>> resultsByInputKey = Maps.newHashMap();
+    private int storedTupleCount;
+    /**
+     * Incremented on each invalidation; a result computed while the model changed is not stored
+     */
+    private long modificationCount;
+
+    private final Map<Set<Integer>, Set<IInputKey>> inputKeysByAdornment = Maps.newConcurrentMap();
+    private final Set<IInputKey> observedKeys = Sets.newHashSet();
+
+    private final IQueryRuntimeContextListener invalidationListener = new IQueryRuntimeContextListener() {
+
+        @Override
+        public void update(IInputKey key, Tuple updateTuple, boolean isInsertion) {
+            invalidate(key);
+        }
+    };
+
+    public CachingLocalSearchResultProvider(IQueryBackend backend, Logger logger, IQueryRuntimeContext runtimeContext,
+            IQueryCacheContext cacheContext, IQueryBackendHintProvider hintProvider, PQuery query) {
+        super(backend, logger, runtimeContext, cacheContext, hintProvider, query);
+        this.runtimeContext = runtimeContext;
+        this.hintProvider = hintProvider;
+        this.query = query;
+    }
+
+    private int getMaxSize() {
+        Integer maxSize = (Integer) hintProvider.getHints(query).get(LocalSearchHintKeys.RESULT_CACHE_SIZE);
+        return maxSize == null ? DEFAULT_RESULT_CACHE_SIZE : maxSize;
+    }
+
+    /**
+     * Returns the input keys the results of the given parameters depend on, and makes sure that their changes are
+     * observed.
+     */
+    private Set<IInputKey> getObservedInputKeys(Object[] parameters) {
+        Set<Integer> adornment = getAdornment(parameters);
+        Set<IInputKey> inputKeys = inputKeysByAdornment.get(adornment);
+        if (inputKeys == null) {
+            inputKeys = getInputKeys(adornment);
+            List<IInputKey> newKeys = Lists.newArrayList();
+            synchronized (observedKeys) {
+                for (IInputKey key : inputKeys) {
+                    if (observedKeys.add(key)) {
+                        newKeys.add(key);
+                    }
+                }
+            }
+            for (IInputKey key : newKeys) {
+                if (runtimeContext.getMetaContext().isEnumerable(key)) {
+                    runtimeContext.addUpdateListener(key, new FlatTuple(new Object[key.getArity()]),
+                            invalidationListener);
+                }
+            }
+            inputKeysByAdornment.put(adornment, inputKeys);
+        }
+        return inputKeys;
+    }
+
+    private void invalidate(IInputKey key) {
+        synchronized (results) {
+            modificationCount++;
+            Set<CacheKey> affectedResults = resultsByInputKey.remove(key);
+            if (affectedResults != null) {
+                for (CacheKey cacheKey : affectedResults) {
+                    remove(cacheKey);
+                }
+            }
+        }
+    }
+
+    private CacheEntry lookup(CacheKey key) {
+        synchronized (results) {
+            return results.get(key);
+        }
+    }
+
+    private long getModificationCount() {
+        synchronized (results) {
+            return modificationCount;
+        }
+    }
+
+    /**
+     * Stores a result unless the model was changed since the given modification count, then evicts the least recently
+     * used results exceeding the size limit.
+     */
+    private void store(CacheKey key, Object result, int size, Set<IInputKey> inputKeys, long expectedModificationCount) {
+        int maxSize = getMaxSize();
+        synchronized (results) {
+            if (modificationCount != expectedModificationCount || size > maxSize) {
+                return;
+            }
+            remove(key);
+            results.put(key, new CacheEntry(result, size, inputKeys));
+            storedTupleCount += size;
+            for (IInputKey inputKey : inputKeys) {
+                Set<CacheKey> keys = resultsByInputKey.get(inputKey);
+                if (keys == null) {
+                    keys = Sets.newHashSet();
+                    resultsByInputKey.put(inputKey, keys);
+                }
+                keys.add(key);
+            }
+            // a lookup would reorder the access-ordered map, so the entries are read by the iterator
+            Iterator<Map.Entry<CacheKey, CacheEntry>> eldestEntries = results.entrySet().iterator();
+            while (storedTupleCount > maxSize && eldestEntries.hasNext()) {
+                Map.Entry<CacheKey, CacheEntry> eldest = eldestEntries.next();
+                eldestEntries.remove();
+                removeFromIndex(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    private void remove(CacheKey key) {
+        CacheEntry entry = results.remove(key);
+        if (entry != null) {
+            removeFromIndex(key, entry);
+        }
+    }
+
+    private void removeFromIndex(CacheKey key, CacheEntry entry) {
+        storedTupleCount -= entry.size;
+        for (IInputKey inputKey : entry.inputKeys) {
+            Set<CacheKey> keys = resultsByInputKey.get(inputKey);
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes all stored results.
+     */
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+            resultsByInputKey.clear();
+            storedTupleCount = 0;
+        }
+    }
+
+    /**
+     * Stops observing the input keys, and removes all stored results.
+     */
+    public void dispose() {
+        synchronized (observedKeys) {
+            for (IInputKey key : observedKeys) {
+                if (runtimeContext.getMetaContext().isEnumerable(key)) {
+                    runtimeContext.removeUpdateListener(key, new FlatTuple(new Object[key.getArity()]),
+                            invalidationListener);
+                }
+            }
+            observedKeys.clear();
+        }
+        inputKeysByAdornment.clear();
+        clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<? extends Tuple> getCachedMatches(Object[] parameters) {
+        CacheEntry entry = lookup(new CacheKey(CallType.ALL_MATCHES, parameters));
+        return entry == null ? null : (Collection<? extends Tuple>) entry.result;
+    }
+
+    @Override
+    public Collection<? extends Tuple> getAllMatches(Object[] parameters) {
+        if (getMaxSize() <= 0) {
+            return super.getAllMatches(parameters);
+        }
+        Collection<? extends Tuple> matches = getCachedMatches(parameters);
+        if (matches == null) {
+            Set<IInputKey> inputKeys = getObservedInputKeys(parameters);
+            long expectedModificationCount = getModificationCount();
+            matches = Collections.unmodifiableList(Lists.newArrayList(super.getAllMatches(parameters)));
+            store(new CacheKey(CallType.ALL_MATCHES, parameters), matches, matches.size(), inputKeys,
+                    expectedModificationCount);
+        }
+        return matches;
+    }
+
+    @Override
+    public int countMatches(Object[] parameters) {
+        if (getMaxSize() <= 0) {
+            return super.countMatches(parameters);
+        }
+        Collection<? extends Tuple> matches = getCachedMatches(parameters);
+        if (matches != null) {
+            return matches.size();
+        }
+        CacheKey key = new CacheKey(CallType.COUNT_MATCHES, parameters);
+        CacheEntry entry = lookup(key);
+        if (entry != null) {
+            return (Integer) entry.result;
+        }
+        Set<IInputKey> inputKeys = getObservedInputKeys(parameters);
+        long expectedModificationCount = getModificationCount();
+        int count = super.countMatches(parameters);
+        store(key, count, 1, inputKeys, expectedModificationCount);
+        return count;
+    }
+
+    @Override
+    public Tuple getOneArbitraryMatch(Object[] parameters) {
+        if (getMaxSize() <= 0) {
+            return super.getOneArbitraryMatch(parameters);
+        }
+        Collection<? extends Tuple> matches = getCachedMatches(parameters);
+        if (matches != null) {
+            return matches.isEmpty() ? null : matches.iterator().next();
+        }
+        CacheKey key = new CacheKey(CallType.ONE_MATCH, parameters);
+        CacheEntry entry = lookup(key);
+        if (entry != null) {
+            // a null result means that there is no match
+            return (Tuple) entry.result;
+        }
+        Set<IInputKey> inputKeys = getObservedInputKeys(parameters);
+        long expectedModificationCount = getModificationCount();
+        Tuple match = super.getOneArbitraryMatch(parameters);
+        store(key, match, 1, inputKeys, expectedModificationCount);
+        return match;
+    }
+
+    @Override
+    public Iterator<? extends Tuple> iterateMatches(Object[] parameters) {
+        // the results of an iteration are not stored, as it may be abandoned before reaching the last match
+        Collection<? extends Tuple> matches = getMaxSize() <= 0 ? null : getCachedMatches(parameters);
+        return matches == null ? super.iterateMatches(parameters) : matches.iterator();
+    }
+
+}
@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.eclipse.incquery.runtime.localsearch.matcher.integration;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.*;
 
@@ -18,6 +22,7 @@ import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendHintProvider;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
@@ -42,6 +47,9 @@ public class LocalSearchBackend implements IQueryBackend {
 	// Cache
 	Table<EDataType, EClass, Set<EAttribute>> eAttributesByTypeForEClass;
     
+    private final Map<Integer, ForkJoinPool> forkJoinPools = Maps.newHashMap();
+    private final Set<CallResultTable> keptCallResultTables = Collections
+            .newSetFromMap(new WeakHashMap<CallResultTable, Boolean>());
 
     public LocalSearchBackend(Logger logger, IQueryRuntimeContext runtimeContext, IQueryCacheContext queryCacheContext, IQueryBackendHintProvider hintProvider) {
         super();
@@ -59,8 +67,41 @@ public class LocalSearchBackend implements IQueryBackend {
         return new LocalSearchResultProvider(this, logger, runtimeContext, queryCacheContext, hintProvider, query);
     }
 
+    /**
+     * Returns the pool executing the parallel searches of the given parallelism for all result providers of this
+     * backend. The pools are shut down when the backend is disposed.
+     * 
+     * @since 1.2
+     */
+    public synchronized ForkJoinPool getForkJoinPool(int parallelism) {
+        ForkJoinPool pool = forkJoinPools.get(parallelism);
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+            forkJoinPools.put(parallelism, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Registers a table keeping the results of called patterns between searches; such tables listen to the base index
+     * until the backend is disposed.
+     * 
+     * @since 1.2
+     */
+    public synchronized void registerKeptCallResultTable(CallResultTable table) {
+        keptCallResultTables.add(table);
+    }
+
     @Override
-    public void dispose() {        
+    public synchronized void dispose() {
+        for (ForkJoinPool pool : forkJoinPools.values()) {
+            pool.shutdown();
+        }
+        forkJoinPools.clear();
+        for (CallResultTable table : keptCallResultTables) {
+            table.dispose();
+        }
+        keptCallResultTables.clear();
     }
 
 	@Override
@@ -20,4 +20,83 @@ public class LocalSearchHintKeys {
 
     // This key can be used to influence the core planner algorithm
     public static final String PLANNER_TABLE_ROW_COUNT = "org.eclipse.incquery.runtime.localsearch - row count";
+
+    /**
+     * If true (default), the compiled search plans are reused between the calls of the result provider with the same
+     * adornment.
+     * 
+     * @since 1.2
+     */
+    public static final String USE_PLAN_CACHE = "org.eclipse.incquery.runtime.localsearch - use plan cache";
+
+    /**
+     * A cached search plan is recompiled if the estimated cardinality of an input key used by the plan changes by more
+     * than the given ratio of its estimate at planning time (a Double, default 1.0).
+     * 
+     * @since 1.2
+     */
+    public static final String PLAN_CACHE_INVALIDATION_THRESHOLD = "org.eclipse.incquery.runtime.localsearch - plan cache invalidation threshold";
+
+    /**
+     * The number of threads used to collect all matches of a query (an Integer, default 1). If greater than 1, the
+     * values of the first extend operation of each body are split between the threads; this is only done if the base
+     * index of the engine is in concurrent read mode, otherwise the search remains sequential.
+     * 
+     * @since 1.2
+     */
+    public static final String PARALLELISM = "org.eclipse.incquery.runtime.localsearch - parallelism";
+
+    /**
+     * If true (default), the search plans are also compiled into nested loops that are used to find all matches, to
+     * count them or to decide if there is a match, unless adapters are attached to the matcher.
+     * 
+     * @since 1.2
+     */
+    public static final String USE_PLAN_COMPILATION = "org.eclipse.incquery.runtime.localsearch - use plan compilation";
+
+    /**
+     * The maximal number of called pattern results (negative applications, counts and transitive closures) stored
+     * during the search (an Integer, default 10000); 0 disables the tabling of called patterns.
+     * 
+     * @since 1.2
+     */
+    public static final String CALL_RESULT_TABLE_SIZE = "org.eclipse.incquery.runtime.localsearch - call result table size";
+
+    /**
+     * If true, the stored results of called patterns are kept between the searches until the contents of the base
+     * index change; otherwise (default) they are cleared at the start of each search.
+     * 
+     * @since 1.2
+     */
+    public static final String KEEP_CALL_RESULTS_BETWEEN_SEARCHES = "org.eclipse.incquery.runtime.localsearch - keep call results between searches";
+
+    /**
+     * If true, the planner estimates the costs of the constraints from the number of instances of the types and the
+     * average and maximal fan-out of the features in the model; otherwise (default), the built-in cost calculation of
+     * the planner is used. The statistics are read from the base index if it is in statistics mode, see
+     * {@link org.eclipse.incquery.runtime.base.api.BaseIndexOptions#withStatisticsMode(boolean)}; otherwise, the
+     * model is scanned for them.
+     * 
+     * @since 1.2
+     */
+    public static final String USE_STATISTICS_BASED_COSTS = "org.eclipse.incquery.runtime.localsearch - use statistics based costs";
+
+    /**
+     * If true, an alternative plan is also created with the other cost model (see {@link #USE_STATISTICS_BASED_COSTS}),
+     * and the matchers switch between the plans based on the observed number of executed operations, converging on
+     * the cheaper plan for the current model. The observations are kept by the cached matchers, so the plan cache
+     * should be enabled. Default: false
+     * 
+     * @since 1.2
+     */
+    public static final String USE_ADAPTIVE_PLANS = "org.eclipse.incquery.runtime.localsearch - use adaptive plans";
+
+    /**
+     * The maximal number of match tuples kept by the result cache of a query in the caching local search backend (an
+     * Integer, default 100000); the least recently used results are evicted first, and 0 disables the caching.
+     * 
+     * @see CachingLocalSearchBackendFactory
+     * @since 1.2
+     */
+    public static final String RESULT_CACHE_SIZE = "org.eclipse.incquery.runtime.localsearch - result cache size";
 }
@@ -13,17 +13,23 @@ package org.eclipse.incquery.runtime.localsearch.matcher.integration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.prefs.BackingStoreException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.incquery.runtime.api.IncQueryEngine;
+import org.eclipse.incquery.runtime.api.scope.IncQueryScope;
+import org.eclipse.incquery.runtime.emf.EMFScope;
 import org.eclipse.incquery.runtime.exception.IncQueryException;
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
@@ -35,22 +41,27 @@ import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendToEStruc
 import org.eclipse.incquery.runtime.localsearch.operations.extend.IterateOverEClassInstances;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.IterateOverEDatatypeInstances;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.IterateOverEStructuralFeatureInstances;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan;
 import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
 import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
 import org.eclipse.incquery.runtime.localsearch.planner.LocalSearchPlanner;
 import org.eclipse.incquery.runtime.localsearch.planner.LocalSearchRuntimeBasedStrategy;
 import org.eclipse.incquery.runtime.localsearch.planner.POperationCompiler;
+import org.eclipse.incquery.runtime.localsearch.planner.SearchPlanCompiler;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendHintProvider;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
 import org.eclipse.incquery.runtime.matchers.backend.IUpdateable;
+import org.eclipse.incquery.runtime.matchers.context.IInputKey;
 import org.eclipse.incquery.runtime.matchers.context.IQueryCacheContext;
 import org.eclipse.incquery.runtime.matchers.context.IQueryMetaContext;
 import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext;
 import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
 import org.eclipse.incquery.runtime.matchers.psystem.PBody;
 import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.PConstraint;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExportedParameter;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
 import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
 import org.eclipse.incquery.runtime.matchers.psystem.rewriters.DefaultFlattenCallPredicate;
 import org.eclipse.incquery.runtime.matchers.psystem.rewriters.IFlattenCallPredicate;
@@ -59,8 +70,11 @@ import org.eclipse.incquery.runtime.matchers.psystem.rewriters.PQueryFlattener;
 import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
 
 import com.google.common.base.Function;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -75,11 +89,19 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
 	private Logger logger;
 	private IQueryRuntimeContext runtimeContext;
 	private IQueryCacheContext cacheContext;
+	private final ConcurrentMap<Set<Integer>, PlanCacheEntry> planCache = new ConcurrentHashMap<Set<Integer>, PlanCacheEntry>();
+
+    private static final double DEFAULT_INVALIDATION_THRESHOLD = 1.0;
+    private static final int DEFAULT_CALL_RESULT_TABLE_SIZE = 10000;
 
     private static class Planner {
+        
+        private LocalSearchPlanner planner;
 
         Map<List<ISearchOperation>, Map<PVariable, Integer>> operationListsWithVarMappings;
         private POperationCompiler compiler;
+        private Map<List<ISearchOperation>, Map<PVariable, Integer>> alternativeOperationLists = Collections.emptyMap();
+        private POperationCompiler alternativeCompiler;
         private IQueryBackend backend;
         private IQueryBackendHintProvider hintProvider;
         private PQuery query;
@@ -105,21 +127,11 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
             LocalSearchRuntimeBasedStrategy strategy = new LocalSearchRuntimeBasedStrategy(allowInverse,useBase);
             compiler = new POperationCompiler(runtimeContext, backend, useBase);
 
-            LocalSearchPlanner planner = new LocalSearchPlanner();
+            planner = new LocalSearchPlanner();
             planner.initializePlanner(flattener, logger, metaContext, runtimeContext, normalizer, strategy, compiler, hints);
             operationListsWithVarMappings = planner.plan(key.getQuery(), key.getAdornment());
 
-            Collection<SearchPlanExecutor> executors = Collections2.transform(operationListsWithVarMappings.entrySet(),
-                    new Function<Entry<List<ISearchOperation>, Map<PVariable, Integer>>, SearchPlanExecutor>() {
-
-                        @Override
-                        public SearchPlanExecutor apply(Entry<List<ISearchOperation>, Map<PVariable, Integer>> input) {
-                            final SearchPlan plan = new SearchPlan();
-                            plan.addOperations(input.getKey());
-
-                            return new SearchPlanExecutor(plan, searchContext, input.getValue());
-                        }
-                    });
+            Collection<SearchPlanExecutor> executors = createExecutors(operationListsWithVarMappings, searchContext);
 
             final Collection<Integer> parameterSizes = Collections2.transform(planner.getNormalizedDisjunction()
                     .getBodies(), new Function<PBody, Integer>() {
@@ -152,12 +164,58 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
 
             int keySize = key.getQuery().getParameters().size();
             final LocalSearchMatcher matcher = new LocalSearchMatcher(key.getQuery(), executors, keySize, Collections.max(parameterSizes));
+            Boolean useCompilation = (Boolean) hints.get(LocalSearchHintKeys.USE_PLAN_COMPILATION);
+            boolean compiled = useCompilation == null || useCompilation;
+            if (compiled) {
+                matcher.setCompiledPlan(compilePlans(operationListsWithVarMappings));
+            }
+            Boolean useAdaptivePlans = (Boolean) hints.get(LocalSearchHintKeys.USE_ADAPTIVE_PLANS);
+            if (useAdaptivePlans != null && useAdaptivePlans) {
+                // The alternative plan is created with the other cost model
+                Map<String, Object> alternativeHints = Maps.newHashMap(hints);
+                Boolean useStatistics = (Boolean) hints.get(LocalSearchHintKeys.USE_STATISTICS_BASED_COSTS);
+                alternativeHints.put(LocalSearchHintKeys.USE_STATISTICS_BASED_COSTS,
+                        useStatistics == null || !useStatistics);
+                alternativeCompiler = new POperationCompiler(runtimeContext, backend, useBase);
+                LocalSearchPlanner alternativePlanner = new LocalSearchPlanner();
+                alternativePlanner.initializePlanner(new PQueryFlattener(flattenCallPredicate), logger, metaContext,
+                        runtimeContext, new PBodyNormalizer(metaContext, false),
+                        new LocalSearchRuntimeBasedStrategy(allowInverse, useBase), alternativeCompiler,
+                        alternativeHints);
+                alternativeOperationLists = alternativePlanner.plan(key.getQuery(), key.getAdornment());
+                matcher.addAlternativePlan(createExecutors(alternativeOperationLists, searchContext),
+                        compiled ? compilePlans(alternativeOperationLists) : null);
+            }
             searchContext.loadMatcher(key, matcher);
         }
 
+        private Collection<SearchPlanExecutor> createExecutors(
+                Map<List<ISearchOperation>, Map<PVariable, Integer>> operationLists, final ISearchContext searchContext) {
+            return Collections2.transform(operationLists.entrySet(),
+                    new Function<Entry<List<ISearchOperation>, Map<PVariable, Integer>>, SearchPlanExecutor>() {
+
+                        @Override
+                        public SearchPlanExecutor apply(Entry<List<ISearchOperation>, Map<PVariable, Integer>> input) {
+                            final SearchPlan plan = new SearchPlan();
+                            plan.addOperations(input.getKey());
+
+                            return new SearchPlanExecutor(plan, searchContext, input.getValue());
+                        }
+                    });
+        }
+
+        private List<CompiledSearchPlan> compilePlans(
+                Map<List<ISearchOperation>, Map<PVariable, Integer>> operationLists) {
+            // the executors are created from the entries of the same map, so the orders match
+            SearchPlanCompiler codeGenerator = new SearchPlanCompiler();
+            codeGenerator.compile(Lists.newArrayList(operationLists.keySet()));
+            return codeGenerator.getCompiledPlans();
+        }
+
         public void collectElementsToIndex(Set<EClass> classesToIndex, Set<EStructuralFeature> featuresToIndex,
                 Set<EDataType> dataTypesToIndex) {
-            for (List<ISearchOperation> plan : operationListsWithVarMappings.keySet()) {
+            for (List<ISearchOperation> plan : Iterables.concat(operationListsWithVarMappings.keySet(),
+                    alternativeOperationLists.keySet())) {
                 for (ISearchOperation operation : plan) {
                     if (operation instanceof ExtendToEStructuralFeatureSource) {
                         featuresToIndex.add(((ExtendToEStructuralFeatureSource) operation).getFeature());
@@ -177,9 +235,90 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
 
         public void collectDependencies(Set<MatcherReference> dependencies) {
             dependencies.addAll(compiler.getDependencies());
+            if (alternativeCompiler != null) {
+                dependencies.addAll(alternativeCompiler.getDependencies());
+            }
 
         }
 
+        public void collectInputKeys(Set<IInputKey> inputKeys) {
+            for (PBody body : planner.getNormalizedDisjunction().getBodies()) {
+                for (PConstraint constraint : body.getConstraints()) {
+                    if (constraint instanceof TypeConstraint) {
+                        inputKeys.add(((TypeConstraint) constraint).getSupplierKey());
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The compiled matchers of a given adornment, together with the hints and the cardinality estimates that were used
+     * for planning. Matchers are not thread-safe, so each caller takes an idle instance, and a new one is compiled if
+     * there is none.
+     */
+    private class PlanCacheEntry {
+
+        private final Set<Integer> adornment;
+        private final Map<String, Object> hints;
+        private final Set<IInputKey> inputKeys;
+        private final Map<IInputKey, Double> cardinalities;
+        private final Queue<LocalSearchMatcher> idleMatchers = new ConcurrentLinkedQueue<LocalSearchMatcher>();
+
+        public PlanCacheEntry(Set<Integer> adornment, Map<String, Object> hints, Set<IInputKey> inputKeys) {
+            this.adornment = adornment;
+            this.hints = hints;
+            this.inputKeys = inputKeys;
+            this.cardinalities = Maps.newHashMap();
+            for (IInputKey inputKey : inputKeys) {
+                double estimate = getCardinality(inputKey);
+                if (estimate >= 0) {
+                    cardinalities.put(inputKey, estimate);
+                }
+            }
+        }
+
+        public boolean isValid(Map<String, Object> currentHints) {
+            if (!hints.equals(currentHints)) {
+                return false;
+            }
+            Double threshold = (Double) currentHints.get(LocalSearchHintKeys.PLAN_CACHE_INVALIDATION_THRESHOLD);
+            threshold = threshold == null ? DEFAULT_INVALIDATION_THRESHOLD : threshold;
+            for (Entry<IInputKey, Double> entry : cardinalities.entrySet()) {
+                double planned = entry.getValue();
+                double current = getCardinality(entry.getKey());
+                if (current >= 0 && Math.abs(current - planned) > threshold * Math.max(planned, 1.0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public LocalSearchMatcher acquire() {
+            LocalSearchMatcher matcher = idleMatchers.poll();
+            return matcher == null ? initializeMatcher(adornment, null) : matcher;
+        }
+
+        public void release(LocalSearchMatcher matcher) {
+            // matchers of an invalidated entry are dropped
+            if (planCache.get(adornment) == this) {
+                idleMatchers.offer(matcher);
+            }
+        }
+    }
+
+    /**
+     * Returns the cardinality of the given input key for detecting when the cached plans become outdated: the estimate
+     * of the runtime context if it maintains statistics, otherwise the exact count if the key is already indexed, or
+     * -1 if neither is available. Keys are never indexed by this method.
+     */
+    private double getCardinality(IInputKey inputKey) {
+        double estimate = runtimeContext.estimateCardinality(inputKey, null);
+        if (estimate < 0 && inputKey.isEnumerable() && runtimeContext.isIndexed(inputKey)) {
+            estimate = runtimeContext.countTuples(inputKey, null);
+        }
+        return estimate;
     }
 
     public LocalSearchResultProvider(IQueryBackend backend, Logger logger, IQueryRuntimeContext runtimeContext,
@@ -193,9 +332,9 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
 
     }
 
-    private LocalSearchMatcher initializeMatcher(Object[] parameters) {
+    private LocalSearchMatcher initializeMatcher(Set<Integer> adornment, Set<IInputKey> inputKeys) {
         try {
-            return newLocalSearchMatcher(parameters);
+            return newLocalSearchMatcher(adornment, inputKeys);
         } catch (QueryProcessingException e) {
             throw new RuntimeException(e);
         } catch (IncQueryException e) {
@@ -206,23 +345,49 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
 
     public LocalSearchMatcher newLocalSearchMatcher(Object[] parameters) throws IncQueryException,
             QueryProcessingException {
+        return newLocalSearchMatcher(getAdornment(parameters), null);
+    }
+
+    static Set<Integer> getAdornment(Object[] parameters) {
+        final Set<Integer> adornment = Sets.newHashSet();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] != null) {
+                adornment.add(Integer.valueOf(i));
+            }
+        }
+        return adornment;
+    }
+
+    /**
+     * @param inputKeys
+     *            if not null, the input keys referenced by the plans of the matcher and its dependencies are collected
+     *            here
+     */
+    private LocalSearchMatcher newLocalSearchMatcher(Set<Integer> adornment, Set<IInputKey> inputKeys)
+            throws IncQueryException, QueryProcessingException {
         // XXX this is a problematic (and in long-term unsupported) solution, see bug 456815
         IncQueryEngine engine = (IncQueryEngine) hintProvider;
 
-        final ISearchContext searchContext = new ISearchContext.SearchContext(engine.getBaseIndex());
+        Map<String, Object> hints = hintProvider.getHints(query);
+        Integer tableSize = (Integer) hints.get(LocalSearchHintKeys.CALL_RESULT_TABLE_SIZE);
+        Boolean keepTable = (Boolean) hints.get(LocalSearchHintKeys.KEEP_CALL_RESULTS_BETWEEN_SEARCHES);
+        final ISearchContext.SearchContext searchContext = new ISearchContext.SearchContext(engine.getBaseIndex(),
+                tableSize == null ? DEFAULT_CALL_RESULT_TABLE_SIZE : tableSize, keepTable != null && keepTable);
+        if (keepTable != null && keepTable) {
+            // the table listens to the base index, which cannot be disposed before the backend
+            ((LocalSearchBackend) backend).registerKeptCallResultTable(searchContext.getCallResultTable());
+        }
+        IncQueryScope scope = engine.getScope();
+        if (scope instanceof EMFScope) {
+            // used by the operations working without the base index
+            searchContext.setScopeRoots(((EMFScope) scope).getScopeRoots(), getParallelism());
+        }
         
         
         Set<EClass> classesToIndex = Sets.newHashSet();
         Set<EStructuralFeature> featuresToIndex = Sets.newHashSet();
         Set<EDataType> dataTypesToIndex = Sets.newHashSet();
         
-        final Set<Integer> adornment = Sets.newHashSet();
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i] != null) {
-                adornment.add(Integer.valueOf(i));
-            }
-        }
-        
         final MatcherReference reference = new MatcherReference(query, adornment);
         Set<MatcherReference> dependencies = Sets.newHashSet(reference);
         Set<MatcherReference> processedDependencies = Sets.newHashSet();
@@ -234,6 +399,9 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
             planner.createPlan(dependency, logger, runtimeContext.getMetaContext(), runtimeContext, searchContext);
             planner.collectElementsToIndex(classesToIndex, featuresToIndex, dataTypesToIndex);
             planner.collectDependencies(dependencies);
+            if (inputKeys != null) {
+                planner.collectInputKeys(inputKeys);
+            }
             processedDependencies.add(dependency);
         }
 
@@ -241,46 +409,207 @@ public class LocalSearchResultProvider implements IQueryResultProvider {
         return searchContext.getMatcher(reference);
     }
 
+    /**
+     * Returns the input keys referenced by the plans of the query and its dependencies for the given adornment.
+     */
+    Set<IInputKey> getInputKeys(Set<Integer> adornment) {
+        PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        if (entry != null) {
+            return entry.inputKeys;
+        }
+        Set<IInputKey> inputKeys = Sets.newHashSet();
+        initializeMatcher(adornment, inputKeys);
+        return inputKeys;
+    }
+
+    /**
+     * Returns the search plans of the bodies of the query that are executed for the given parameter binding; the
+     * plans are taken from the plan cache, and created if they are not cached or no longer valid.
+     * 
+     * @since 1.2
+     */
+    public List<SearchPlan> getSearchPlans(Object[] parameters) {
+        final Set<Integer> adornment = getAdornment(parameters);
+        final PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        final LocalSearchMatcher matcher = entry == null ? initializeMatcher(adornment, null) : entry.acquire();
+        try {
+            List<SearchPlan> plans = Lists.newArrayList();
+            for (SearchPlanExecutor executor : matcher.getPlan()) {
+                plans.add(executor.getSearchPlan());
+            }
+            return plans;
+        } finally {
+            if (entry != null) {
+                entry.release(matcher);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache entry of the given adornment, compiling a new one if there is none or the cached one is no
+     * longer valid; returns null if plan caching is disabled by the hints.
+     */
+    private PlanCacheEntry getPlanCacheEntry(Set<Integer> adornment) {
+        Map<String, Object> hints = hintProvider.getHints(query);
+        Boolean usePlanCache = (Boolean) hints.get(LocalSearchHintKeys.USE_PLAN_CACHE);
+        if (usePlanCache != null && !usePlanCache) {
+            planCache.clear();
+            return null;
+        }
+        PlanCacheEntry entry = planCache.get(adornment);
+        if (entry != null && entry.isValid(hints)) {
+            return entry;
+        }
+        synchronized (planCache) {
+            entry = planCache.get(adornment);
+            if (entry == null || !entry.isValid(hints)) {
+                Set<IInputKey> inputKeys = Sets.newHashSet();
+                LocalSearchMatcher matcher = initializeMatcher(adornment, inputKeys);
+                entry = new PlanCacheEntry(adornment, Maps.newHashMap(hints), inputKeys);
+                entry.idleMatchers.offer(matcher);
+                planCache.put(adornment, entry);
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Returns a matcher for a new top-level search, taken from the cache entry if there is one.
+     */
+    private LocalSearchMatcher acquireMatcher(Set<Integer> adornment, PlanCacheEntry entry) {
+        final LocalSearchMatcher matcher = entry == null ? initializeMatcher(adornment, null) : entry.acquire();
+        if (!matcher.getPlan().isEmpty()) {
+            // all executors of the matcher share the same search context
+            matcher.getPlan().get(0).getContext().searchStarted();
+        }
+        return matcher;
+    }
+
     @Override
     public Tuple getOneArbitraryMatch(Object[] parameters) {
+        final Set<Integer> adornment = getAdornment(parameters);
+        final PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        final LocalSearchMatcher matcher = acquireMatcher(adornment, entry);
         try {
-            final LocalSearchMatcher matcher = initializeMatcher(parameters);
             final MatchingFrame frame = matcher.editableMatchingFrame();
             for (int i = 0; i < parameters.length; i++) {
-                frame.setValue(i, parameters[i]);
+                frame.setValueAt(i, parameters[i]);
             }
             return matcher.getOneArbitraryMatch(frame);
         } catch (LocalSearchException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (entry != null) {
+                entry.release(matcher);
+            }
         }
     }
     
     @Override
     public int countMatches(Object[] parameters) {
+        final Set<Integer> adornment = getAdornment(parameters);
+        final PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        final LocalSearchMatcher matcher = acquireMatcher(adornment, entry);
         try {
-            final LocalSearchMatcher matcher = initializeMatcher(parameters);
             final MatchingFrame frame = matcher.editableMatchingFrame();
             for (int i = 0; i < parameters.length; i++) {
-                frame.setValue(i, parameters[i]);
+                frame.setValueAt(i, parameters[i]);
             }
             return matcher.countMatches(frame);
         } catch (LocalSearchException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (entry != null) {
+                entry.release(matcher);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of threads to be used for collecting all matches, or 1 if the search has to be sequential.
+     */
+    private int getParallelism() {
+        Integer parallelism = (Integer) hintProvider.getHints(query).get(LocalSearchHintKeys.PARALLELISM);
+        if (parallelism == null || parallelism <= 1) {
+            return 1;
+        }
+        // XXX this is a problematic (and in long-term unsupported) solution, see bug 456815
+        IncQueryScope scope = ((IncQueryEngine) hintProvider).getScope();
+        if (scope instanceof EMFScope && ((EMFScope) scope).getOptions().isConcurrentReadMode()) {
+            return parallelism;
+        }
+        return 1;
+    }
+
+    private Collection<? extends Tuple> getAllMatchesInParallel(Object[] parameters, Set<Integer> adornment,
+            PlanCacheEntry entry, int parallelism) {
+        // matchers are compiled or taken from the cache on the calling thread
+        final List<LocalSearchMatcher> matchers = Lists.newArrayList();
+        for (int i = 0; i < parallelism; i++) {
+            matchers.add(acquireMatcher(adornment, entry));
+        }
+        try {
+            return new ParallelMatchCollector(((LocalSearchBackend) backend).getForkJoinPool(parallelism),
+                    matchers).getAllMatches(parameters);
+        } catch (LocalSearchException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (entry != null) {
+                for (LocalSearchMatcher matcher : matchers) {
+                    entry.release(matcher);
+                }
+            }
         }
     }
 
     @Override
     public Collection<? extends Tuple> getAllMatches(Object[] parameters) {
+        final Set<Integer> adornment = getAdornment(parameters);
+        final PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        final int parallelism = getParallelism();
+        if (parallelism > 1) {
+            return getAllMatchesInParallel(parameters, adornment, entry, parallelism);
+        }
+        final LocalSearchMatcher matcher = acquireMatcher(adornment, entry);
         try {
-            final LocalSearchMatcher matcher = initializeMatcher(parameters);
             final MatchingFrame frame = matcher.editableMatchingFrame();
             for (int i = 0; i < parameters.length; i++) {
-                frame.setValue(i, parameters[i]);
+                frame.setValueAt(i, parameters[i]);
             }
             return matcher.getAllMatches(frame);
         } catch (LocalSearchException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (entry != null) {
+                entry.release(matcher);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<? extends Tuple> iterateMatches(Object[] parameters) {
+        final Set<Integer> adornment = getAdornment(parameters);
+        final PlanCacheEntry entry = getPlanCacheEntry(adornment);
+        final LocalSearchMatcher matcher = acquireMatcher(adornment, entry);
+        final MatchingFrame frame = matcher.editableMatchingFrame();
+        for (int i = 0; i < parameters.length; i++) {
+            frame.setValueAt(i, parameters[i]);
         }
+        final Iterator<MatchingFrame> matches = matcher.iterateMatches(frame);
+        if (entry == null) {
+            return matches;
+        }
+        // the matcher is only reused after the search is finished; an abandoned search keeps its matcher
+        return new AbstractIterator<Tuple>() {
+            @Override
+            protected Tuple computeNext() {
+                if (matches.hasNext()) {
+                    return matches.next();
+                }
+                entry.release(matcher);
+                return endOfData();
+            }
+        };
     }
 
     @Override
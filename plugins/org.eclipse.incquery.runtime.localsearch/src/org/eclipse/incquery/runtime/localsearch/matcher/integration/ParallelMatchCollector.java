@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.matcher.integration;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.MatchingTable;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Collects all matches of a query on a fork-join pool. The values of the variable bound by the first extend operation
+ * of each body are enumerated on the calling thread, then split into chunks; each chunk is searched by the rest of the
+ * plan in a separate task.
+ *
+ * <p>
+ * Search operations store the state of the search, so each running task uses a separately compiled matcher, taken from
+ * a fixed set of matchers. The matches of the chunks are merged and de-duplicated on the calling thread. The planner
+ * keeps the order of the bodies, so the plans of the matchers are paired by their index; if the model changed between
+ * the compilation of the matchers and their plans differ, the search falls back to a sequential one.
+ *
+ * @author agent
+ *
+ */
+class ParallelMatchCollector {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final List<LocalSearchMatcher> matchers;
+    private final BlockingQueue<LocalSearchMatcher> idleMatchers;
+
+    /**
+     * @param matchers
+     *            equivalent matchers of the same query and adornment, one for each parallel task; they must not be used
+     *            by others during the collection
+     */
+    public ParallelMatchCollector(ForkJoinPool pool, List<LocalSearchMatcher> matchers) {
+        this.pool = pool;
+        this.matchers = matchers;
+        this.idleMatchers = new ArrayBlockingQueue<LocalSearchMatcher>(matchers.size(), false, matchers);
+    }
+
+    public Collection<MatchingFrame> getAllMatches(Object[] parameters) throws LocalSearchException {
+        final LocalSearchMatcher firstMatcher = matchers.get(0);
+        if (!haveSamePlans(firstMatcher)) {
+            return firstMatcher.getAllMatches(createFrame(firstMatcher, parameters));
+        }
+        final List<ChunkTask> tasks = Lists.newArrayList();
+        final int chunkCount = pool.getParallelism() * CHUNKS_PER_THREAD;
+        for (int planIndex = 0; planIndex < firstMatcher.getPlan().size(); planIndex++) {
+            SearchPlanExecutor executor = firstMatcher.getPlan().get(planIndex);
+            List<Object> domain = executor.enumerateFirstExtension(createFrame(firstMatcher, parameters));
+            if (domain == null) {
+                // the body is searched sequentially in a single task
+                tasks.add(new ChunkTask(parameters, planIndex, -1, -1, null));
+            } else if (!domain.isEmpty()) {
+                int extendIndex = executor.getFirstExtendOperation();
+                int position = ((ExtendOperation<?>) executor.getSearchPlan().getOperations().get(extendIndex))
+                        .getPosition();
+                int chunkSize = (domain.size() + chunkCount - 1) / chunkCount;
+                for (int i = 0; i < domain.size(); i += chunkSize) {
+                    List<Object> chunk = domain.subList(i, Math.min(i + chunkSize, domain.size()));
+                    tasks.add(new ChunkTask(parameters, planIndex, extendIndex, position, chunk));
+                }
+            }
+        }
+
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+
+        MatchingTable results = new MatchingTable();
+        for (ChunkTask task : tasks) {
+            for (MatchingFrame frame : task.join()) {
+                results.put(frame.getKey(), frame);
+            }
+        }
+        return ImmutableList.copyOf(results.iterator());
+    }
+
+    /**
+     * Checks that the plan executors of the matchers correspond to the ones of the first matcher with the same index.
+     * 
+     * @return false if some matcher was planned differently
+     */
+    private boolean haveSamePlans(LocalSearchMatcher firstMatcher) {
+        List<SearchPlanExecutor> plan = firstMatcher.getPlan();
+        for (LocalSearchMatcher matcher : matchers) {
+            List<SearchPlanExecutor> matcherPlan = matcher.getPlan();
+            if (matcherPlan.size() != plan.size()) {
+                return false;
+            }
+            for (int i = 0; i < plan.size(); i++) {
+                if (!isSamePlan(plan.get(i), matcherPlan.get(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The plans are equivalent if they execute the same kind of operations in the same order and store the variables
+     * of the same names at the same frame positions. The positions bound by the operations are compared for the
+     * extend operations, as the chunks are split by them.
+     */
+    private static boolean isSamePlan(SearchPlanExecutor executor, SearchPlanExecutor other) {
+        List<ISearchOperation> operations = executor.getSearchPlan().getOperations();
+        List<ISearchOperation> otherOperations = other.getSearchPlan().getOperations();
+        if (operations.size() != otherOperations.size()
+                || executor.getVariableMapping().size() != other.getVariableMapping().size()) {
+            return false;
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            ISearchOperation operation = operations.get(i);
+            ISearchOperation otherOperation = otherOperations.get(i);
+            if (operation.getClass() != otherOperation.getClass()) {
+                return false;
+            }
+            if (operation instanceof ExtendOperation
+                    && ((ExtendOperation<?>) operation).getPosition() != ((ExtendOperation<?>) otherOperation)
+                            .getPosition()) {
+                return false;
+            }
+        }
+        for (Integer position : executor.getVariableMapping().keySet()) {
+            PVariable variable = executor.getVariableMapping().get(position);
+            PVariable otherVariable = other.getVariableMapping().get(position);
+            if (otherVariable == null || !variable.getName().equals(otherVariable.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MatchingFrame createFrame(LocalSearchMatcher matcher, Object[] parameters) {
+        final MatchingFrame frame = matcher.editableMatchingFrame();
+        for (int i = 0; i < parameters.length; i++) {
+            frame.setValueAt(i, parameters[i]);
+        }
+        return frame;
+    }
+
+    /**
+     * Takes an idle matcher while letting the pool compensate for the blocked worker thread.
+     */
+    private class MatcherTaker implements ManagedBlocker {
+
+        private LocalSearchMatcher matcher;
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (matcher == null) {
+                matcher = idleMatchers.take();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (matcher == null) {
+                matcher = idleMatchers.poll();
+            }
+            return matcher != null;
+        }
+    }
+
+    private class ChunkTask extends RecursiveTask<List<MatchingFrame>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] parameters;
+        private final int planIndex;
+        private final int extendIndex;
+        private final int position;
+        private final List<Object> chunk;
+
+        /**
+         * @param extendIndex
+         *            the index of the first extend operation, or -1 if the whole body is searched
+         * @param position
+         *            the position of the variable bound by the first extend operation, or -1 if the whole body is
+         *            searched
+         * @param chunk
+         *            the values of the variable bound by the first extend operation, or null if the whole body is
+         *            searched
+         */
+        public ChunkTask(Object[] parameters, int planIndex, int extendIndex, int position,
+                List<Object> chunk) {
+            this.parameters = parameters;
+            this.planIndex = planIndex;
+            this.extendIndex = extendIndex;
+            this.position = position;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected List<MatchingFrame> compute() {
+            MatcherTaker taker = new MatcherTaker();
+            try {
+                ForkJoinPool.managedBlock(taker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            LocalSearchMatcher matcher = taker.matcher;
+            SearchPlanExecutor executor = matcher.getPlan().get(planIndex);
+            try {
+                List<MatchingFrame> results = Lists.newArrayList();
+                if (chunk == null) {
+                    executor.resetPlan();
+                    collect(executor, createFrame(matcher, parameters), results);
+                } else {
+                    boolean lastOperation = extendIndex == executor.getSearchPlan().getOperations().size() - 1;
+                    if (!lastOperation) {
+                        executor.setFirstOperation(extendIndex + 1);
+                    }
+                    for (Object value : chunk) {
+                        MatchingFrame frame = createFrame(matcher, parameters);
+                        frame.setValueAt(position, value);
+                        if (lastOperation) {
+                            results.add(frame);
+                        } else {
+                            executor.resetPlan();
+                            collect(executor, frame, results);
+                        }
+                    }
+                }
+                return results;
+            } catch (LocalSearchException e) {
+                throw new RuntimeException(e);
+            } finally {
+                if (chunk != null) {
+                    executor.setFirstOperation(0);
+                }
+                idleMatchers.add(matcher);
+            }
+        }
+
+        private void collect(SearchPlanExecutor executor, MatchingFrame frame, List<MatchingFrame> results)
+                throws LocalSearchException {
+            while (executor.execute(frame)) {
+                results.add(frame.clone());
+            }
+        }
+    }
+}
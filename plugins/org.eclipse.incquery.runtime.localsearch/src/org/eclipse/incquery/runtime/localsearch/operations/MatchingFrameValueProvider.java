@@ -26,7 +26,7 @@ import com.google.common.base.Preconditions;
 public class MatchingFrameValueProvider implements IValueProvider {
     
     final Map<String, Integer> nameMap;
-    final MatchingFrame frame;
+    MatchingFrame frame;
     
     public MatchingFrameValueProvider(MatchingFrame frame, Map<String, Integer> nameMap) {
         super();
@@ -34,6 +34,15 @@ public class MatchingFrameValueProvider implements IValueProvider {
         this.nameMap = nameMap;
     }
 
+    /**
+     * Sets the frame the values are read from, so that a single provider can be reused during the search.
+     * 
+     * @since 1.2
+     */
+    public void setFrame(MatchingFrame frame) {
+        this.frame = frame;
+    }
+
     @Override
     public Object getValue(String variableName) throws IllegalArgumentException {
         Integer index = nameMap.get(variableName);
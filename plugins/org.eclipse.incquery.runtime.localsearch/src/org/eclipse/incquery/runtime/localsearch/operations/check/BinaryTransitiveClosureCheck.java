@@ -15,6 +15,7 @@ import java.util.Set;
 
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
 import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
 import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
 import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
@@ -38,6 +39,7 @@ public class BinaryTransitiveClosureCheck extends CheckOperation implements IMat
     private LocalSearchMatcher matcher;
     private int sourcePosition;
     private int targetPosition;
+    private CallResultTable callResultTable;
 
     @Override
 	public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
@@ -74,6 +76,7 @@ public class BinaryTransitiveClosureCheck extends CheckOperation implements IMat
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         super.onInitialize(frame, context);
 		getAndPrepareCalledMatcher(frame, context);
+		callResultTable = context.getCallResultTable();
     }
     
     @Override
@@ -82,13 +85,13 @@ public class BinaryTransitiveClosureCheck extends CheckOperation implements IMat
         Set<Object> sourcesToEvaluate = Sets.newLinkedHashSet();
         sourcesToEvaluate.add(frame.get(sourcePosition));
         Set<Object> sourceEvaluated = Sets.newHashSet();
+        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
         do {
             Object currentValue = sourcesToEvaluate.iterator().next();
             sourcesToEvaluate.remove(currentValue);
             sourceEvaluated.add(currentValue);
-            final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
-            mappedFrame.setValue(0, currentValue);
-            for (MatchingFrame match : matcher.getAllMatches(mappedFrame)) {
+            mappedFrame.setValueAt(0, currentValue);
+            for (MatchingFrame match : callResultTable.getAllMatches(matcher, mappedFrame)) {
                 Object foundTarget = match.get(1);
                 if (targetValue.equals(foundTarget)) {
                     return true;
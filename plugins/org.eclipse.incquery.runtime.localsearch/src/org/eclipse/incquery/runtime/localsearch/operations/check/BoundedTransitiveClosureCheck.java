@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.operations.check;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
+import org.eclipse.incquery.runtime.localsearch.operations.IMatcherBasedOperation;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Checking for a transitive closure of bounded depth expressed as a local search pattern matcher. The matched pattern
+ * must have two parameters of the same model type. If a distance position is given, the length of the shortest path
+ * must also be equal to the value of the distance variable.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class BoundedTransitiveClosureCheck extends CheckOperation implements IMatcherBasedOperation {
+
+    private PQuery calledQuery;
+    private LocalSearchMatcher matcher;
+    private int sourcePosition;
+    private int targetPosition;
+    private int distancePosition;
+    private int maxDepth;
+    private CallResultTable callResultTable;
+
+    @Override
+    public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
+        //Second parameter is NOT bound during execution, but the first is
+        ImmutableSet<Integer> adornment = ImmutableSet.of(0);
+        matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        return matcher;
+    }
+
+    @Override
+    public LocalSearchMatcher getCalledMatcher(){
+        return matcher;
+    }
+
+    /**
+     * The source position will be matched in the called pattern to the first parameter; while target to the second.
+     *
+     * @param calledQuery
+     * @param sourcePosition
+     * @param targetPosition
+     * @param distancePosition
+     *            the position of the distance variable, or -1 if the distance is not checked
+     * @param maxDepth
+     *            the maximal length of the paths
+     */
+    public BoundedTransitiveClosureCheck(PQuery calledQuery, int sourcePosition, int targetPosition,
+            int distancePosition, int maxDepth) {
+        super();
+        this.calledQuery = calledQuery;
+        this.sourcePosition = sourcePosition;
+        this.targetPosition = targetPosition;
+        this.distancePosition = distancePosition;
+        this.maxDepth = maxDepth;
+    }
+
+    public PQuery getCalledQuery() {
+        return calledQuery;
+    }
+
+    @Override
+    public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
+        super.onInitialize(frame, context);
+        getAndPrepareCalledMatcher(frame, context);
+        callResultTable = context.getCallResultTable();
+    }
+
+    @Override
+    protected boolean check(MatchingFrame frame) throws LocalSearchException {
+        int distance = shortestDistance(matcher, callResultTable, frame.get(sourcePosition), frame.get(targetPosition),
+                maxDepth);
+        if (distance == -1) {
+            return false;
+        }
+        return distancePosition == -1 || Integer.valueOf(distance).equals(frame.get(distancePosition));
+    }
+
+    /**
+     * Computes the length of the shortest path between the source and the target by a level-by-level traversal of the
+     * matches of the given binary matcher, which must be prepared with its first parameter bound. The matches are
+     * looked up through the given call result table.
+     *
+     * @return the length of the shortest non-empty path of at most maxDepth edges, or -1 if there is no such path
+     */
+    public static int shortestDistance(LocalSearchMatcher matcher, CallResultTable callResultTable, Object source,
+            Object target, int maxDepth) throws LocalSearchException {
+        Set<Object> currentLevel = Sets.newLinkedHashSet();
+        currentLevel.add(source);
+        Set<Object> sourceEvaluated = Sets.newHashSet();
+        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
+        for (int depth = 1; depth <= maxDepth && !currentLevel.isEmpty(); depth++) {
+            Set<Object> nextLevel = Sets.newLinkedHashSet();
+            for (Object currentValue : currentLevel) {
+                sourceEvaluated.add(currentValue);
+                mappedFrame.setValueAt(0, currentValue);
+                for (MatchingFrame match : callResultTable.getAllMatches(matcher, mappedFrame)) {
+                    Object foundTarget = match.get(1);
+                    if (target.equals(foundTarget)) {
+                        return depth;
+                    } else if (!sourceEvaluated.contains(foundTarget)) {
+                        nextLevel.add(foundTarget);
+                    }
+                }
+            }
+            currentLevel = nextLevel;
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the lengths of the shortest paths from the given start node by a level-by-level traversal of the
+     * matches of the given binary matcher. The matcher must be prepared with the parameter at the bound index bound;
+     * the paths are followed backwards if the bound index is 1.
+     *
+     * @return the nodes reachable by a non-empty path of at most maxDepth edges, with the lengths of their shortest
+     *         paths, in the order of their distances; the start node is only included if it lies on such a cycle
+     */
+    public static Map<Object, Integer> shortestDistances(LocalSearchMatcher matcher, CallResultTable callResultTable,
+            Object start, int boundIndex, int maxDepth) throws LocalSearchException {
+        Map<Object, Integer> distances = Maps.newLinkedHashMap();
+        List<Object> currentLevel = Lists.newArrayList(start);
+        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
+        for (int depth = 1; depth <= maxDepth && !currentLevel.isEmpty(); depth++) {
+            List<Object> nextLevel = Lists.newArrayList();
+            for (Object currentValue : currentLevel) {
+                mappedFrame.setValueAt(boundIndex, currentValue);
+                for (MatchingFrame match : callResultTable.getAllMatches(matcher, mappedFrame)) {
+                    Object found = match.get(1 - boundIndex);
+                    if (!distances.containsKey(found)) {
+                        distances.put(found, depth);
+                        if (!start.equals(found)) {
+                            nextLevel.add(found);
+                        }
+                    }
+                }
+            }
+            currentLevel = nextLevel;
+        }
+        return distances;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Bounded transitive closure, depth: ").append(maxDepth).append(", pattern: ")
+            .append(calledQuery.getFullyQualifiedName().substring(calledQuery.getFullyQualifiedName().lastIndexOf('.') + 1));
+        return builder.toString();
+    }
+
+    @Override
+    public List<Integer> getVariablePositions() {
+        if (distancePosition == -1) {
+            return Lists.asList(sourcePosition, targetPosition, new Integer[0]);
+        }
+        return Lists.asList(sourcePosition, targetPosition, new Integer[] { distancePosition });
+    }
+
+}
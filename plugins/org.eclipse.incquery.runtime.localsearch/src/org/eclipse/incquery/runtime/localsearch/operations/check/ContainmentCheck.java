@@ -25,7 +25,7 @@ import com.google.common.collect.Lists;
  */
 public class ContainmentCheck extends CheckOperation {
 
-    Integer childPosition, containerPosition;
+    int childPosition, containerPosition;
     private boolean transitive;
 
     public ContainmentCheck(int childPosition, int containerPosition, boolean transitive) {
@@ -38,8 +38,8 @@ public class ContainmentCheck extends CheckOperation {
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
         try {
-            EObject child = (EObject) frame.getValue(childPosition);
-            EObject container = (EObject)frame.getValue(containerPosition);
+            EObject child = (EObject) frame.getValueAt(childPosition);
+            EObject container = (EObject)frame.getValueAt(containerPosition);
             
             if (transitive) {
                 return EcoreUtil.isAncestor(container, child);
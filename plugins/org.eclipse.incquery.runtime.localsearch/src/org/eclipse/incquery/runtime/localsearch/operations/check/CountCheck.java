@@ -17,6 +17,7 @@ import java.util.Set;
 
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
 import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
 import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
 import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
@@ -37,18 +38,24 @@ public class CountCheck extends CheckOperation implements IMatcherBasedOperation
     private PQuery calledQuery;
     private LocalSearchMatcher matcher;
     Map<Integer, Integer> frameMapping;
+    private final int[] sourcePositions;
+    private final int[] targetPositions;
+    private MatchingFrame mappedFrame;
+    private CallResultTable callResultTable;
     private int position;
     
 	@Override
 	public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
 		Set<Integer> adornment = Sets.newHashSet();
-		for (Entry<Integer, Integer> mapping : frameMapping.entrySet()) {
-			Integer source = mapping.getKey();
-			if (frame.get(source) != null) {
-				adornment.add(mapping.getValue());
+		for (int i = 0; i < sourcePositions.length; i++) {
+			if (frame.get(sourcePositions[i]) != null) {
+				adornment.add(targetPositions[i]);
 			}
 		}
 		matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        if (mappedFrame == null || mappedFrame.getSize() != matcher.getFrameSize()) {
+            mappedFrame = matcher.editableMatchingFrame();
+        }
         return matcher;
 	}
 
@@ -61,6 +68,14 @@ public class CountCheck extends CheckOperation implements IMatcherBasedOperation
         super();
         this.calledQuery = calledQuery;
         this.frameMapping = frameMapping;
+        this.sourcePositions = new int[frameMapping.size()];
+        this.targetPositions = new int[frameMapping.size()];
+        int i = 0;
+        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
+            sourcePositions[i] = entry.getKey();
+            targetPositions[i] = entry.getValue();
+            i++;
+        }
         this.position = position;
     }
 
@@ -72,16 +87,24 @@ public class CountCheck extends CheckOperation implements IMatcherBasedOperation
 	public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
 		super.onInitialize(frame, context);
 		getAndPrepareCalledMatcher(frame, context);
+		callResultTable = context.getCallResultTable();
 	}
 
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
-        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
-        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
-            mappedFrame.setValue(entry.getValue(), frame.getValue(entry.getKey()));
+        int count = callResultTable.countMatches(matcher, mapFrame(frame));
+        return ((Integer)frame.getValueAt(position)) == count;
+    }
+
+    /**
+     * Copies the mapped values of the frame to the reused frame of the called matcher; as the called matcher does not
+     * modify its initial frame, every other value of the reused frame remains unset.
+     */
+    private MatchingFrame mapFrame(MatchingFrame frame) {
+        for (int i = 0; i < sourcePositions.length; i++) {
+            mappedFrame.setValueAt(targetPositions[i], frame.getValueAt(sourcePositions[i]));
         }
-        int count = matcher.countMatches(mappedFrame);
-        return ((Integer)frame.getValue(position)) == count;
+        return mappedFrame;
     }
 
     @Override
@@ -28,17 +28,20 @@ public class ExpressionCheck extends CheckOperation {
 
     IExpressionEvaluator evaluator;
     Map<String, Integer> nameMap;
+    private final MatchingFrameValueProvider valueProvider;
 
     public ExpressionCheck(IExpressionEvaluator evaluator, Map<String, Integer> nameMap) {
         super();
         this.evaluator = evaluator;
         this.nameMap = nameMap;
+        this.valueProvider = new MatchingFrameValueProvider(null, nameMap);
     }
 
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
         try {
-            boolean result = (Boolean) evaluator.evaluateExpression(new MatchingFrameValueProvider(frame, nameMap));
+            valueProvider.setFrame(frame);
+            boolean result = (Boolean) evaluator.evaluateExpression(valueProvider);
             return result;
         } catch (Exception e) {
             throw new LocalSearchException("Error while evaluating expression", e);
@@ -23,7 +23,7 @@ import com.google.common.collect.Lists;
  */
 public class InequalityCheck extends CheckOperation {
 
-    Integer sourceLocation, targetLocation;
+    int sourceLocation, targetLocation;
 
     public InequalityCheck(int sourceLocation, int targetLocation) {
         super();
@@ -36,8 +36,8 @@ public class InequalityCheck extends CheckOperation {
      */
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
-        Object source = frame.getValue(sourceLocation);
-        Object target = frame.getValue(targetLocation);
+        Object source = frame.getValueAt(sourceLocation);
+        Object target = frame.getValueAt(targetLocation);
         if (source == null) {
             throw new LocalSearchException("Source not bound.");
         }
@@ -16,7 +16,6 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 
-import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 /**
@@ -25,7 +24,7 @@ import com.google.common.collect.Lists;
  */
 public class InstanceOfClassCheck extends CheckOperation {
 
-    private Integer position;
+    private int position;
     private EClass clazz;
 
     public InstanceOfClassCheck(int position, EClass clazz) {
@@ -36,9 +35,12 @@ public class InstanceOfClassCheck extends CheckOperation {
 
     @Override
     protected boolean check(MatchingFrame frame) {
-        Preconditions.checkNotNull(frame.getValue(position), "Invalid plan, variable %s unbound", position);
-        if (frame.getValue(position) instanceof EObject) {
-            return clazz.isSuperTypeOf(((EObject) frame.getValue(position)).eClass());
+        Object value = frame.getValueAt(position);
+        if (value == null) {
+            throw new NullPointerException(String.format("Invalid plan, variable %s unbound", position));
+        }
+        if (value instanceof EObject) {
+            return clazz.isSuperTypeOf(((EObject) value).eClass());
         }
         return false;
     }
@@ -17,7 +17,6 @@ import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 
-import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 /**
@@ -26,7 +25,7 @@ import com.google.common.collect.Lists;
  */
 public class InstanceOfDataTypeCheck extends CheckOperation {
 
-    private Integer position;
+    private int position;
     private EDataType dataType;
 
     public InstanceOfDataTypeCheck(int position, EDataType dataType) {
@@ -37,8 +36,11 @@ public class InstanceOfDataTypeCheck extends CheckOperation {
 
     @Override
     protected boolean check(MatchingFrame frame) {
-        Preconditions.checkNotNull(frame.getValue(position), "Invalid plan, variable %s unbound", position);
-        return dataType.getInstanceClassName().equals(frame.getValue(position).getClass().getName());
+        Object value = frame.getValueAt(position);
+        if (value == null) {
+            throw new NullPointerException(String.format("Invalid plan, variable %s unbound", position));
+        }
+        return dataType.getInstanceClassName().equals(value.getClass().getName());
     }
 
     @Override
@@ -17,6 +17,7 @@ import java.util.Set;
 
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
 import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
 import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
 import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
@@ -38,13 +39,15 @@ public class NACOperation extends CheckOperation implements IMatcherBasedOperati
 	@Override
 	public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
 		Set<Integer> adornment = Sets.newHashSet();
-		for (Entry<Integer, Integer> mapping : frameMapping.entrySet()) {
-			Integer source = mapping.getKey();
-			if (frame.get(source) != null) {
-				adornment.add(mapping.getValue());
+		for (int i = 0; i < sourcePositions.length; i++) {
+			if (frame.get(sourcePositions[i]) != null) {
+				adornment.add(targetPositions[i]);
 			}
 		}
 		matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        if (mappedFrame == null || mappedFrame.getSize() != matcher.getFrameSize()) {
+            mappedFrame = matcher.editableMatchingFrame();
+        }
         return matcher;
 	}
 
@@ -54,11 +57,23 @@ public class NACOperation extends CheckOperation implements IMatcherBasedOperati
 	}
 
     Map<Integer, Integer> frameMapping;
+    private final int[] sourcePositions;
+    private final int[] targetPositions;
+    private MatchingFrame mappedFrame;
+    private CallResultTable callResultTable;
 
     public NACOperation(PQuery calledQuery, Map<Integer, Integer> frameMapping) {
         super();
         this.calledQuery = calledQuery;
         this.frameMapping = frameMapping;
+        this.sourcePositions = new int[frameMapping.size()];
+        this.targetPositions = new int[frameMapping.size()];
+        int i = 0;
+        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
+            sourcePositions[i] = entry.getKey();
+            targetPositions[i] = entry.getValue();
+            i++;
+        }
     }
     
     public PQuery getCalledQuery() {
@@ -69,15 +84,23 @@ public class NACOperation extends CheckOperation implements IMatcherBasedOperati
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         super.onInitialize(frame, context);
         getAndPrepareCalledMatcher(frame, context);
+        callResultTable = context.getCallResultTable();
     }
 
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
-        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
-        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
-            mappedFrame.setValue(entry.getValue(), frame.getValue(entry.getKey()));
+        return !callResultTable.hasMatch(matcher, mapFrame(frame));
+    }
+
+    /**
+     * Copies the mapped values of the frame to the reused frame of the called matcher; as the called matcher does not
+     * modify its initial frame, every other value of the reused frame remains unset.
+     */
+    private MatchingFrame mapFrame(MatchingFrame frame) {
+        for (int i = 0; i < sourcePositions.length; i++) {
+            mappedFrame.setValueAt(targetPositions[i], frame.getValueAt(sourcePositions[i]));
         }
-        return !matcher.hasMatch(mappedFrame);
+        return mappedFrame;
     }
     
     
@@ -25,7 +25,7 @@ import com.google.common.collect.Lists;
  */
 public class StructuralFeatureCheck extends CheckOperation {
 
-    Integer sourcePosition, targetPosition;
+    int sourcePosition, targetPosition;
     EStructuralFeature feature;
 
     public StructuralFeatureCheck(int sourcePosition, int targetPosition, EStructuralFeature feature) {
@@ -41,8 +41,8 @@ public class StructuralFeatureCheck extends CheckOperation {
     @Override
     protected boolean check(MatchingFrame frame) throws LocalSearchException {
         try {
-            EObject source = (EObject) frame.getValue(sourcePosition);
-            Object target = frame.getValue(targetPosition);
+            EObject source = (EObject) frame.getValueAt(sourcePosition);
+            Object target = frame.getValueAt(targetPosition);
             if (feature.isMany()) {
                 return ((Collection<?>) source.eGet(feature)).contains(target);
             } else {
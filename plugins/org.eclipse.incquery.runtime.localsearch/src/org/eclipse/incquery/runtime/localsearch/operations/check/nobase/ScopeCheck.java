@@ -19,7 +19,6 @@ import org.eclipse.incquery.runtime.emf.EMFScope;
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
 
-import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 /**
@@ -30,7 +29,7 @@ import com.google.common.collect.Lists;
  */
 public class ScopeCheck extends CheckOperation {
 
-    private Integer position;
+    private int position;
     private EMFScope scope;
 
     public ScopeCheck(int position, EMFScope scope) {
@@ -41,8 +40,10 @@ public class ScopeCheck extends CheckOperation {
 
     @Override
     protected boolean check(MatchingFrame frame) {
-        Preconditions.checkNotNull(frame.getValue(position), "Invalid plan, variable %s unbound", position);
-        Object value = frame.getValue(position);
+        Object value = frame.getValueAt(position);
+        if (value == null) {
+            throw new NullPointerException(String.format("Invalid plan, variable %s unbound", position));
+        }
         if(value instanceof EObject){
             EObject eObject = (EObject) value;
             IBaseIndexObjectFilter filterConfiguration = scope.getOptions().getObjectFilterConfiguration();
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.operations.extend;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
+import org.eclipse.incquery.runtime.localsearch.operations.IMatcherBasedOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.BoundedTransitiveClosureCheck;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+/**
+ * Binds the length of the shortest path of a bounded transitive closure between a bound source and target. If the
+ * target is not reachable within the bound, no value is bound.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class BoundedTransitiveClosureDistance extends ExtendOperation<Integer> implements IMatcherBasedOperation {
+
+    private PQuery calledQuery;
+    private LocalSearchMatcher matcher;
+    private int sourcePosition;
+    private int targetPosition;
+    private int maxDepth;
+
+    @Override
+    public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
+        //Second parameter is NOT bound during execution, but the first is
+        ImmutableSet<Integer> adornment = ImmutableSet.of(0);
+        matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        return matcher;
+    }
+
+    @Override
+    public LocalSearchMatcher getCalledMatcher() {
+        return matcher;
+    }
+
+    public BoundedTransitiveClosureDistance(PQuery calledQuery, int sourcePosition, int targetPosition,
+            int maxDepth, int position) {
+        super(position);
+        this.calledQuery = calledQuery;
+        this.sourcePosition = sourcePosition;
+        this.targetPosition = targetPosition;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
+        getAndPrepareCalledMatcher(frame, context);
+        int distance = BoundedTransitiveClosureCheck.shortestDistance(matcher, context.getCallResultTable(),
+                frame.get(sourcePosition), frame.get(targetPosition), maxDepth);
+        if (distance == -1) {
+            it = Collections.<Integer> emptyList().iterator();
+        } else {
+            it = Iterators.singletonIterator(distance);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("BoundedTransitiveClosureDistance, depth: ").append(maxDepth).append(", pattern: ")
+            .append(calledQuery.getFullyQualifiedName().substring(calledQuery.getFullyQualifiedName().lastIndexOf('.') + 1));
+        return builder.toString();
+    }
+
+    @Override
+    public List<Integer> getVariablePositions() {
+        return Lists.asList(sourcePosition, targetPosition, new Integer[] { position });
+    }
+
+}
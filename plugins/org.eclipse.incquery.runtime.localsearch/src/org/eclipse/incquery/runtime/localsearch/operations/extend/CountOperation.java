@@ -37,18 +37,23 @@ public class CountOperation extends ExtendOperation<Integer> implements IMatcher
 
     PQuery calledQuery;
     Map<Integer, Integer> frameMapping;
+    private final int[] sourcePositions;
+    private final int[] targetPositions;
+    private MatchingFrame mappedFrame;
 	private LocalSearchMatcher matcher;
 
 	@Override
 	public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
 		Set<Integer> adornment = Sets.newHashSet();
-		for (Entry<Integer, Integer> mapping : frameMapping.entrySet()) {
-			Integer source = mapping.getKey();
-			if (frame.get(source) != null) {
-				adornment.add(mapping.getValue());
+		for (int i = 0; i < sourcePositions.length; i++) {
+			if (frame.get(sourcePositions[i]) != null) {
+				adornment.add(targetPositions[i]);
 			}
 		}
 		matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        if (mappedFrame == null || mappedFrame.getSize() != matcher.getFrameSize()) {
+            mappedFrame = matcher.editableMatchingFrame();
+        }
         return matcher;
 	}
 
@@ -61,19 +66,34 @@ public class CountOperation extends ExtendOperation<Integer> implements IMatcher
         super(position);
         this.calledQuery = calledQuery;
         this.frameMapping = frameMapping;
+        this.sourcePositions = new int[frameMapping.size()];
+        this.targetPositions = new int[frameMapping.size()];
+        int i = 0;
+        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
+            sourcePositions[i] = entry.getKey();
+            targetPositions[i] = entry.getValue();
+            i++;
+        }
     }
 
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         getAndPrepareCalledMatcher(frame, context);
-        final MatchingFrame mappedFrame = matcher.editableMatchingFrame();
-        for (Entry<Integer, Integer> entry : frameMapping.entrySet()) {
-            mappedFrame.setValue(entry.getValue(), frame.getValue(entry.getKey()));
-        }
-        it = Iterators.singletonIterator(matcher.countMatches(mappedFrame));
+        it = Iterators.singletonIterator(context.getCallResultTable().countMatches(matcher, mapFrame(frame)));
         
     }
 
+    /**
+     * Copies the mapped values of the frame to the reused frame of the called matcher; as the called matcher does not
+     * modify its initial frame, every other value of the reused frame remains unset.
+     */
+    private MatchingFrame mapFrame(MatchingFrame frame) {
+        for (int i = 0; i < sourcePositions.length; i++) {
+            mappedFrame.setValueAt(targetPositions[i], frame.getValueAt(sourcePositions[i]));
+        }
+        return mappedFrame;
+    }
+
     @Override
     public String toString() {
     	StringBuilder builder = new StringBuilder();
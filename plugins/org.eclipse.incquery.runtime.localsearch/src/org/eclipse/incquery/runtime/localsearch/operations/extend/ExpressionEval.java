@@ -32,17 +32,20 @@ public class ExpressionEval extends ExtendOperation<Object> {
 
     IExpressionEvaluator evaluator;
     Map<String, Integer> nameMap;
+    private final MatchingFrameValueProvider valueProvider;
 
     public ExpressionEval(IExpressionEvaluator evaluator, Map<String, Integer> nameMap, int position) {
         super(position);
         this.evaluator = evaluator;
         this.nameMap = nameMap;
+        this.valueProvider = new MatchingFrameValueProvider(null, nameMap);
     }
 
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         try {
-            Object result = evaluator.evaluateExpression(new MatchingFrameValueProvider(frame, nameMap));
+            valueProvider.setFrame(frame);
+            Object result = evaluator.evaluateExpression(valueProvider);
             it = Iterators.singletonIterator(result);
         } catch (Exception e) {
             throw new LocalSearchException("Error while evaluating expression", e);
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.operations.extend;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
+import org.eclipse.incquery.runtime.localsearch.operations.IMatcherBasedOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.BoundedTransitiveClosureCheck;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+/**
+ * Iterates over the nodes reachable from a bound end of a bounded transitive closure, following the paths forwards
+ * from a bound source or backwards from a bound target. If a distance position is given, the length of the shortest
+ * path is bound as well, or checked if the distance is already bound.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class ExtendBoundedTransitiveClosure extends ExtendOperation<Object> implements IMatcherBasedOperation {
+
+    private PQuery calledQuery;
+    private LocalSearchMatcher matcher;
+    private int boundPosition;
+    private int boundIndex;
+    private int distancePosition;
+    private int maxDepth;
+    private Map<Object, Integer> distances;
+    private boolean bindDistance;
+
+    /**
+     * @param calledQuery
+     *            the binary pattern of the edges
+     * @param boundPosition
+     *            the position of the bound end
+     * @param position
+     *            the position of the end bound by this operation
+     * @param backward
+     *            if true, the bound end is the target of the paths; otherwise it is the source
+     * @param distancePosition
+     *            the position of the distance variable, or -1 if the distance is not used
+     * @param maxDepth
+     *            the maximal length of the paths
+     */
+    public ExtendBoundedTransitiveClosure(PQuery calledQuery, int boundPosition, int position, boolean backward,
+            int distancePosition, int maxDepth) {
+        super(position);
+        this.calledQuery = calledQuery;
+        this.boundPosition = boundPosition;
+        this.boundIndex = backward ? 1 : 0;
+        this.distancePosition = distancePosition;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return the position of the distance variable, or -1 if the distance is not used
+     */
+    public int getDistancePosition() {
+        return distancePosition;
+    }
+
+    @Override
+    public LocalSearchMatcher getAndPrepareCalledMatcher(MatchingFrame frame, ISearchContext context) {
+        ImmutableSet<Integer> adornment = ImmutableSet.of(boundIndex);
+        matcher = context.getMatcher(new MatcherReference(calledQuery, adornment));
+        return matcher;
+    }
+
+    @Override
+    public LocalSearchMatcher getCalledMatcher() {
+        return matcher;
+    }
+
+    @Override
+    public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
+        getAndPrepareCalledMatcher(frame, context);
+        distances = BoundedTransitiveClosureCheck.shortestDistances(matcher, context.getCallResultTable(),
+                frame.get(boundPosition), boundIndex, maxDepth);
+        bindDistance = distancePosition != -1 && frame.get(distancePosition) == null;
+        it = distances.keySet().iterator();
+    }
+
+    @Override
+    public boolean execute(MatchingFrame frame, ISearchContext context) {
+        while (it.hasNext()) {
+            Object next = it.next();
+            if (distancePosition != -1) {
+                Integer distance = distances.get(next);
+                if (bindDistance) {
+                    frame.setValueAt(distancePosition, distance);
+                } else if (!distance.equals(frame.get(distancePosition))) {
+                    continue;
+                }
+            }
+            frame.setValueAt(position, next);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void onBacktrack(MatchingFrame frame, ISearchContext context) {
+        super.onBacktrack(frame, context);
+        if (bindDistance) {
+            frame.setValueAt(distancePosition, null);
+        }
+        distances = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("ExtendBoundedTransitiveClosure, depth: ").append(maxDepth)
+            .append(boundIndex == 0 ? ", forward" : ", backward").append(", pattern: ")
+            .append(calledQuery.getFullyQualifiedName().substring(calledQuery.getFullyQualifiedName().lastIndexOf('.') + 1));
+        return builder.toString();
+    }
+
+    @Override
+    public List<Integer> getVariablePositions() {
+        if (distancePosition == -1) {
+            return Lists.asList(boundPosition, position, new Integer[0]);
+        }
+        return Lists.asList(boundPosition, position, new Integer[] { distancePosition });
+    }
+
+}
@@ -22,7 +22,7 @@ import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
  */
 public abstract class ExtendOperation<T> implements ISearchOperation {
 
-    protected Integer position;
+    protected int position;
     protected Iterator<T> it;
 
     /**
@@ -33,9 +33,17 @@ public abstract class ExtendOperation<T> implements ISearchOperation {
         this.position = position;
     }
 
+    /**
+     * @return the position of the variable bound by this operation
+     * @since 1.2
+     */
+    public int getPosition() {
+        return position;
+    }
+
     @Override
     public void onBacktrack(MatchingFrame frame, ISearchContext context) {
-        frame.setValue(position, null);
+        frame.setValueAt(position, null);
         it = null;
 
     }
@@ -44,7 +52,7 @@ public abstract class ExtendOperation<T> implements ISearchOperation {
     public boolean execute(MatchingFrame frame, ISearchContext context) {
         if (it.hasNext()) {
             T next = it.next();
-            frame.setValue(position, next);
+            frame.setValueAt(position, next);
             return true;
         } else {
             return false;
@@ -46,7 +46,7 @@ public class ExtendToEStructuralFeatureSource extends ExtendOperation<EObject> {
      */
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) {
-        final Collection<EObject> values = context.getBaseIndex().findByFeatureValue(frame.getValue(targetPosition), feature);
+        final Collection<EObject> values = context.getBaseIndex().findByFeatureValue(frame.getValueAt(targetPosition), feature);
         // System.out.println("**FeatureSource " + feature.getContainerClass().getName() + "." + feature.getName() + " "
         // + values.size());
         it = values
@@ -47,7 +47,7 @@ public class ExtendToEStructuralFeatureTarget extends ExtendOperation<Object> {
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         try {
-            final EObject value = (EObject) frame.getValue(sourcePosition);
+            final EObject value = (EObject) frame.getValueAt(sourcePosition);
             if(! feature.getEContainingClass().isSuperTypeOf(value.eClass()) ){
                 // TODO planner should ensure the proper supertype relation
                 it = Iterators.emptyIterator();
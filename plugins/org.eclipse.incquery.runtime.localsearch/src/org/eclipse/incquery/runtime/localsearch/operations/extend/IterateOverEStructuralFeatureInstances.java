@@ -35,7 +35,7 @@ import com.google.common.collect.Maps;
 public class IterateOverEStructuralFeatureInstances implements ISearchOperation {
 
     private EStructuralFeature feature;
-    private Integer sourcePosition, targetPosition;
+    private int sourcePosition, targetPosition;
     protected Iterator<Entry<EObject, Object>> it;
     
     public IterateOverEStructuralFeatureInstances(int sourcePosition, int targetPosition, EStructuralFeature feature) {
@@ -50,8 +50,8 @@ public class IterateOverEStructuralFeatureInstances implements ISearchOperation
 
     @Override
     public void onBacktrack(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
-        frame.setValue(sourcePosition, null);
-        frame.setValue(targetPosition, null);
+        frame.setValueAt(sourcePosition, null);
+        frame.setValueAt(targetPosition, null);
         it = null;
     }
 
@@ -73,8 +73,8 @@ public class IterateOverEStructuralFeatureInstances implements ISearchOperation
     public boolean execute(MatchingFrame frame, ISearchContext context) {
         if (it.hasNext()) {
             final Entry<EObject, Object> next = it.next();
-            frame.setValue(sourcePosition, next.getKey());
-            frame.setValue(targetPosition, next.getValue());
+            frame.setValueAt(sourcePosition, next.getKey());
+            frame.setValueAt(targetPosition, next.getValue());
             return true;
         } else {
             return false;
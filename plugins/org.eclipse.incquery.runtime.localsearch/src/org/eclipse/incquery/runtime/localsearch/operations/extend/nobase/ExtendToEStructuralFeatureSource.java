@@ -60,8 +60,8 @@ public class ExtendToEStructuralFeatureSource extends ExtendOperation<Object> {
             throw new LocalSearchException("Feature has no EOpposite, so cannot do inverse navigation " + feature.toString());            
         }
         try {
-            final EObject value = (EObject) frame.getValue(targetPosition);
-            if(! oppositeFeature.getEContainingClass().isSuperTypeOf(value.eClass()) ){
+            final EObject value = (EObject) frame.getValueAt(targetPosition);
+            if(! context.getModelContents().isInstance(value, oppositeFeature.getEContainingClass()) ){
                 // TODO planner should ensure the proper supertype relation
                 it = Iterators.emptyIterator();
                 return;
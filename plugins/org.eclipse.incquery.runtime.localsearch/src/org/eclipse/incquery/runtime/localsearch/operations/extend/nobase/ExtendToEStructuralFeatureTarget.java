@@ -45,9 +45,9 @@ public class ExtendToEStructuralFeatureTarget extends ExtendOperation<Object> {
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) throws LocalSearchException {
         try {
-            final EObject value = (EObject) frame.getValue(sourcePosition);
+            final EObject value = (EObject) frame.getValueAt(sourcePosition);
             // This is to ensure that the feature exists for the given type
-            if(! feature.getEContainingClass().isSuperTypeOf(value.eClass()) ){
+            if(! context.getModelContents().isInstance(value, feature.getEContainingClass()) ){
                 // TODO planner should ensure the proper supertype relation
                 it = Iterators.emptyIterator();
                 return;
@@ -26,18 +26,35 @@ import com.google.common.collect.Lists;
 
 /**
  * Iterates all available {@link EClass} instances without using an {@link NavigationHelper EMF-IncQuery Base indexer}.
+ * The instances are taken from the model contents snapshot of the search context.
  * 
  * @author Zoltan Ujhelyi
  */
 public class IterateOverEClassInstances extends ExtendOperation<EObject> {
 
     private EClass clazz;
+    /**
+     * The instances given to the deprecated constructor, or null if the snapshot of the search context is used
+     */
     private Collection<EObject> contents;
 
-    public IterateOverEClassInstances(int position, EClass clazz, Collection<EObject> allModelContents) {
+    /**
+     * @since 1.2
+     */
+    public IterateOverEClassInstances(int position, EClass clazz) {
         super(position);
         this.clazz = clazz;
-        contents = Collections2.filter(allModelContents, new Predicate<EObject>() {
+    }
+
+    /**
+     * @deprecated the instances are filtered from the given contents on each search, instead of being taken from the
+     *             model contents snapshot of the search context; use {@link #IterateOverEClassInstances(int, EClass)}
+     *             instead
+     */
+    @Deprecated
+    public IterateOverEClassInstances(int position, EClass clazz, Collection<EObject> allModelContents) {
+        this(position, clazz);
+        this.contents = Collections2.filter(allModelContents, new Predicate<EObject>() {
             @Override
             public boolean apply(EObject input) {
                 return IterateOverEClassInstances.this.clazz.isSuperTypeOf(input.eClass());
@@ -51,7 +68,11 @@ public class IterateOverEClassInstances extends ExtendOperation<EObject> {
     
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) {
-        it = contents.iterator();
+        if (contents == null) {
+            it = context.getModelContents().getInstances(clazz).iterator();
+        } else {
+            it = contents.iterator();
+        }
     }
     
     @Override
@@ -14,56 +14,48 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EAttribute;
-import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.incquery.runtime.base.api.NavigationHelper;
 import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
 import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
-import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackend;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
-import com.google.common.collect.Table;
 
 /**
  * Iterates over all {@link EDataType} instances without using an {@link NavigationHelper EMF-IncQuery Base indexer}.
+ * The values are collected from the attributes of the model contents snapshot of the search context.
  * 
  */
 public class IterateOverEDatatypeInstances extends ExtendOperation<Object> {
 
     private EDataType dataType;
-    private Collection<Object> contents;
+    /**
+     * The objects given to the deprecated constructor, or null if the snapshot of the search context is used
+     */
+    private Collection<EObject> contents;
 
-    public IterateOverEDatatypeInstances(int position, EDataType dataType, Collection<EObject> allModelContents, IQueryBackend backend) {
+    /**
+     * @since 1.2
+     */
+    public IterateOverEDatatypeInstances(int position, EDataType dataType) {
         super(position);
         this.dataType = dataType;
+    }
 
-        for (EObject eObject : allModelContents) {
-            EDataType type = IterateOverEDatatypeInstances.this.dataType;
-            LocalSearchBackend lsBackend = (LocalSearchBackend) backend;
-            Table<EDataType, EClass, Set<EAttribute>> cache = lsBackend.geteAttributesByTypeForEClass();
-            if(!cache.contains(type, eObject.eClass())){
-                EList<EAttribute> eAllAttributes = eObject.eClass().getEAllAttributes();
-                for (EAttribute eAttribute : eAllAttributes) {
-                    if (eAttribute.getEType().equals(type)) {
-                        cache.put(type, eObject.eClass(), Sets.<EAttribute>newHashSet());
-                    }
-                }
-            }
-            Set<EAttribute> eAttributes = cache.get(type, eObject.eClass());
-            for (EAttribute eAttribute : eAttributes) {                
-                if (eAttribute.isMany()) {
-                    contents.addAll((Collection<?>) eObject.eGet(eAttribute));
-                } else {
-                    contents.add(eObject.eGet(eAttribute));
-                }
-            }
-        }
+    /**
+     * @deprecated the values are collected from the attributes of the given contents on each search, instead of the
+     *             model contents snapshot of the search context; use
+     *             {@link #IterateOverEDatatypeInstances(int, EDataType)} instead
+     */
+    @Deprecated
+    public IterateOverEDatatypeInstances(int position, EDataType dataType, Collection<EObject> allModelContents, IQueryBackend backend) {
+        this(position, dataType);
+        this.contents = allModelContents;
     }
 
     public EDataType getDataType() {
@@ -72,7 +64,29 @@ public class IterateOverEDatatypeInstances extends ExtendOperation<Object> {
 
     @Override
     public void onInitialize(MatchingFrame frame, ISearchContext context) {
-        it = contents.iterator();
+        if (contents == null) {
+            it = context.getModelContents().getDataTypeInstances(dataType).iterator();
+        } else {
+            it = collectValues().iterator();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> collectValues() {
+        Set<Object> values = Sets.newLinkedHashSet();
+        for (EObject eObject : contents) {
+            for (EAttribute attribute : eObject.eClass().getEAllAttributes()) {
+                if (dataType.equals(attribute.getEType())) {
+                    Object value = eObject.eGet(attribute);
+                    if (attribute.isMany()) {
+                        values.addAll((Collection<Object>) value);
+                    } else if (value != null) {
+                        values.add(value);
+                    }
+                }
+            }
+        }
+        return values;
     }
     
     
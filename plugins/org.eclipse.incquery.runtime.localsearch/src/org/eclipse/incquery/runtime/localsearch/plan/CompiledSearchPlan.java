@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.plan;
+
+import java.util.List;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A search plan compiled into nested loops: each operation binding variables becomes a loop over its values, while
+ * consecutive check operations are evaluated together inside the enclosing loop. Unlike {@link SearchPlanExecutor}, a
+ * compiled plan has no explicit state, and does not notify adapters; it pushes the found matches to a
+ * {@link IMatchCollector} instead of returning them one by one.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class CompiledSearchPlan {
+
+    /**
+     * Receives the matches found by a compiled plan.
+     */
+    public interface IMatchCollector {
+
+        /**
+         * @param frame
+         *            the frame of the match; it is changed when the search continues
+         * @return true if the search should be continued, false to stop it
+         */
+        boolean matchFound(MatchingFrame frame);
+    }
+
+    private abstract static class Step {
+
+        /**
+         * @return false if the search was stopped by the collector
+         */
+        public abstract boolean run(MatchingFrame frame, ISearchContext context, IMatchCollector collector)
+                throws LocalSearchException;
+    }
+
+    /**
+     * Iterates over the values of an operation binding variables
+     */
+    private static class LoopStep extends Step {
+
+        private final ISearchOperation operation;
+        private final Step next;
+
+        public LoopStep(ISearchOperation operation, Step next) {
+            this.operation = operation;
+            this.next = next;
+        }
+
+        @Override
+        public boolean run(MatchingFrame frame, ISearchContext context, IMatchCollector collector)
+                throws LocalSearchException {
+            operation.onInitialize(frame, context);
+            while (operation.execute(frame, context)) {
+                if (!next.run(frame, context, collector)) {
+                    return false;
+                }
+            }
+            operation.onBacktrack(frame, context);
+            return true;
+        }
+    }
+
+    /**
+     * Evaluates consecutive check operations; as a check succeeds at most once, no loop is needed
+     */
+    private static class CheckStep extends Step {
+
+        private final CheckOperation[] checks;
+        private final Step next;
+
+        public CheckStep(List<CheckOperation> checks, Step next) {
+            this.checks = checks.toArray(new CheckOperation[checks.size()]);
+            this.next = next;
+        }
+
+        @Override
+        public boolean run(MatchingFrame frame, ISearchContext context, IMatchCollector collector)
+                throws LocalSearchException {
+            for (CheckOperation check : checks) {
+                check.onInitialize(frame, context);
+                boolean success = check.execute(frame, context);
+                check.onBacktrack(frame, context);
+                if (!success) {
+                    return true;
+                }
+            }
+            return next.run(frame, context, collector);
+        }
+    }
+
+    private static class MatchStep extends Step {
+
+        @Override
+        public boolean run(MatchingFrame frame, ISearchContext context, IMatchCollector collector) {
+            return collector.matchFound(frame);
+        }
+    }
+
+    private final Step firstStep;
+
+    public CompiledSearchPlan(List<ISearchOperation> operations) {
+        Step step = new MatchStep();
+        List<CheckOperation> checks = Lists.newArrayList();
+        for (ISearchOperation operation : Lists.reverse(operations)) {
+            if (operation instanceof CheckOperation) {
+                checks.add(0, (CheckOperation) operation);
+            } else {
+                if (!checks.isEmpty()) {
+                    step = new CheckStep(checks, step);
+                    checks.clear();
+                }
+                step = new LoopStep(operation, step);
+            }
+        }
+        if (!checks.isEmpty()) {
+            step = new CheckStep(checks, step);
+        }
+        this.firstStep = step;
+    }
+
+    /**
+     * Executes the plan on the given frame. If the search is not stopped by the collector, the frame is left unchanged.
+     *
+     * @return false if the search was stopped by the collector
+     */
+    public boolean execute(MatchingFrame frame, ISearchContext context, IMatchCollector collector)
+            throws LocalSearchException {
+        return firstStep.run(frame, context, collector);
+    }
+}
@@ -13,6 +13,7 @@
  package org.eclipse.incquery.runtime.localsearch.plan;
 
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,11 +26,15 @@ import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
 import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
 import org.eclipse.incquery.runtime.localsearch.operations.IMatcherBasedOperation;
 import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendBoundedTransitiveClosure;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
 import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 /**
@@ -38,6 +43,7 @@ import com.google.common.collect.Sets;
 public class SearchPlanExecutor {
 
     private int currentOperation;
+    private int firstOperation;
     SearchPlan plan;
     private List<ISearchOperation> operations;
     private ISearchContext context;
@@ -77,7 +83,7 @@ public class SearchPlanExecutor {
    
 
     private void init(MatchingFrame frame) throws LocalSearchException {
-    	if (currentOperation == -1) {
+    	if (currentOperation == firstOperation - 1) {
             currentOperation++;
             ISearchOperation operation = operations.get(currentOperation);
             for (ILocalSearchAdapter adapter : adapters) {
@@ -105,7 +111,7 @@ public class SearchPlanExecutor {
         int upperBound = operations.size() - 1;
         init(frame);
         operationSelected(frame);
-        while (currentOperation >= 0 && currentOperation <= upperBound) {
+        while (currentOperation >= firstOperation && currentOperation <= upperBound) {
             if (operations.get(currentOperation).execute(frame, context)) {
                 operationExecuted(frame);
                 currentOperation++;
@@ -134,7 +140,77 @@ public class SearchPlanExecutor {
     }
     
     public void resetPlan() {
-    	currentOperation = -1;
+    	currentOperation = firstOperation - 1;
+    }
+
+    /**
+     * Sets the index of the operation the execution starts with. The operations before it are not executed, so the
+     * variables bound by them must already be set in the frames passed to {@link #execute(MatchingFrame)}. The plan
+     * is reset.
+     * 
+     * @since 1.2
+     */
+    public void setFirstOperation(int firstOperation) {
+        Preconditions.checkArgument(firstOperation >= 0 && firstOperation < operations.size(),
+                "Invalid operation index %s", firstOperation);
+        this.firstOperation = firstOperation;
+        resetPlan();
+    }
+
+    /**
+     * Returns the index of the first extend operation of the plan, if it is only preceded by check operations and
+     * binds a single variable.
+     * 
+     * @return the index of the operation, or -1 if there is no such operation
+     * @since 1.2
+     */
+    public int getFirstExtendOperation() {
+        for (int i = 0; i < operations.size(); i++) {
+            ISearchOperation operation = operations.get(i);
+            if (operation instanceof ExtendBoundedTransitiveClosure
+                    && ((ExtendBoundedTransitiveClosure) operation).getDistancePosition() != -1) {
+                // the distance is bound together with the extended variable
+                return -1;
+            } else if (operation instanceof ExtendOperation<?>) {
+                return i;
+            } else if (!(operation instanceof CheckOperation)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Evaluates the check operations before the first extend operation of the plan (see
+     * {@link #getFirstExtendOperation()}) on the given frame, and collects the values bound by the extend operation.
+     * The plan must not be under execution; the frame is left unchanged.
+     * 
+     * @return the values of the extended variable, an empty list if a preceding check fails, or null if there is no
+     *         first extend operation
+     * @since 1.2
+     */
+    public List<Object> enumerateFirstExtension(MatchingFrame frame) throws LocalSearchException {
+        int extendIndex = getFirstExtendOperation();
+        if (extendIndex == -1) {
+            return null;
+        }
+        for (int i = 0; i < extendIndex; i++) {
+            ISearchOperation check = operations.get(i);
+            check.onInitialize(frame, context);
+            boolean success = check.execute(frame, context);
+            check.onBacktrack(frame, context);
+            if (!success) {
+                return Collections.emptyList();
+            }
+        }
+        ExtendOperation<?> extend = (ExtendOperation<?>) operations.get(extendIndex);
+        List<Object> values = Lists.newArrayList();
+        extend.onInitialize(frame, context);
+        while (extend.execute(frame, context)) {
+            values.add(frame.get(extend.getPosition()));
+        }
+        extend.onBacktrack(frame, context);
+        return values;
     }
     
     public void printDebugInformation() {
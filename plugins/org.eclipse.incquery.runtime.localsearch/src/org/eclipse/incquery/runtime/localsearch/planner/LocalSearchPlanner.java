@@ -110,7 +110,8 @@ public class LocalSearchPlanner {
         }
 
         // 3. PConstraint -> POperation compilation step
-        Map<List<ISearchOperation>, Map<PVariable, Integer>> compiledSubPlans = Maps.newHashMap();
+        // The plans keep the order of the bodies, so separately compiled matchers of a query can be paired by index
+        Map<List<ISearchOperation>, Map<PVariable, Integer>> compiledSubPlans = Maps.newLinkedHashMap();
         // TODO finish (revisit?) the implementation of the compile function
         // * Pay extra caution to extend operations, when more than one variables are unbound
         for (SubPlan subPlan : plansForBodies) {
@@ -25,6 +25,8 @@ import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
 import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.localsearch.planner.cost.ICostEstimator;
+import org.eclipse.incquery.runtime.localsearch.planner.cost.impl.StatisticsBasedCostEstimator;
 import org.eclipse.incquery.runtime.localsearch.planner.util.OperationCostComparator;
 import org.eclipse.incquery.runtime.matchers.context.IInputKey;
 import org.eclipse.incquery.runtime.matchers.context.IQueryMetaContext;
@@ -39,6 +41,7 @@ import org.eclipse.incquery.runtime.matchers.psystem.PConstraint;
 import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExportedParameter;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
 
 import com.google.common.base.Preconditions;
@@ -65,6 +68,7 @@ public class LocalSearchRuntimeBasedStrategy {
 
 	private boolean allowInverseNavigation;
 	private boolean useIndex;
+	private StatisticsBasedCostEstimator statisticsBasedCostEstimator;
 	
     public LocalSearchRuntimeBasedStrategy() {
         this(true,true);
@@ -97,7 +101,12 @@ public class LocalSearchRuntimeBasedStrategy {
         SubPlan plan = subPlanFactory.createSubPlan(new PStart(initialBoundVariables));
         // Create mask infos
         Set<PConstraint> constraintSet = pBody.getConstraints();
-        List<PConstraintInfo> constraintInfos = createPConstraintInfos(constraintSet, runtimeContext);
+        ICostEstimator costEstimator = null;
+        Boolean useStatistics = (Boolean) hints.get(LocalSearchHintKeys.USE_STATISTICS_BASED_COSTS);
+        if (useStatistics != null && useStatistics) {
+            costEstimator = getStatisticsBasedCostEstimator(runtimeContext);
+        }
+        List<PConstraintInfo> constraintInfos = createPConstraintInfos(pBody, constraintSet, runtimeContext, costEstimator);
 
         // Calculate the characteristic function
         // The characteristic function tells whether a given adornment is backward reachable from the (B)* state, where
@@ -124,6 +133,16 @@ public class LocalSearchRuntimeBasedStrategy {
         return subPlanFactory.createSubPlan(new PProject(pBody.getSymbolicParameterVariables()), plan);
     }
 
+    /**
+     * The statistics are shared between the bodies planned by this strategy, as they are planned for the same model
+     */
+    private StatisticsBasedCostEstimator getStatisticsBasedCostEstimator(IQueryRuntimeContext runtimeContext) {
+        if (statisticsBasedCostEstimator == null || statisticsBasedCostEstimator.getRuntimeContext() != runtimeContext) {
+            statisticsBasedCostEstimator = new StatisticsBasedCostEstimator(runtimeContext);
+        }
+        return statisticsBasedCostEstimator;
+    }
+
     private PlanState calculateSearchPlan(PBody pBody, Set<PVariable> initialBoundVariables, int k,
             List<Set<PVariable>> reachableBoundVariableSets, List<PConstraintInfo> allMaskInfos) {
 
@@ -277,11 +296,14 @@ public class LocalSearchRuntimeBasedStrategy {
     /**
      * Create all possible application condition for all constraint
      * 
+     * @param pBody the body being planned
      * @param constraintSet the set of constraints
      * @param runtimeContext the model dependent runtime contest
+     * @param costEstimator if not null, the costs of the constraints are calculated by this estimator
      * @return a collection of the wrapper PConstraintInfo objects with all the allowed application conditions
      */
-    private List<PConstraintInfo> createPConstraintInfos(Set<PConstraint> constraintSet, IQueryRuntimeContext runtimeContext) {
+    private List<PConstraintInfo> createPConstraintInfos(PBody pBody, Set<PConstraint> constraintSet,
+            IQueryRuntimeContext runtimeContext, ICostEstimator costEstimator) {
         List<PConstraintInfo> constraintInfos = Lists.newArrayList();
 
         for (PConstraint pConstraint : constraintSet) {
@@ -292,12 +314,12 @@ public class LocalSearchRuntimeBasedStrategy {
             if(pConstraint instanceof TypeConstraint){
                 Set<PVariable> affectedVariables = pConstraint.getAffectedVariables();
                 Set<Set<PVariable>> bindings = Sets.powerSet(affectedVariables);
-                doCreateConstraintInfosForTypeConstraint(runtimeContext, constraintInfos, (TypeConstraint)pConstraint, affectedVariables, bindings);
+                doCreateConstraintInfosForTypeConstraint(pBody, runtimeContext, costEstimator, constraintInfos, (TypeConstraint)pConstraint, affectedVariables, bindings);
             } else {
                 // Create constraint infos so that only single use variables can be unbound
                 Set<PVariable> affectedVariables = pConstraint.getAffectedVariables();
                 
-                Set<PVariable> singleUseVariables = Sets.newHashSet();
+                Set<PVariable> singleUseVariables = Sets.newLinkedHashSet();
                 for (PVariable pVariable : affectedVariables) {
                     Set<PConstraint> allReferringConstraints = pVariable.getReferringConstraints();
                     // Filter out exported parameter constraints
@@ -310,9 +332,9 @@ public class LocalSearchRuntimeBasedStrategy {
                 SetView<PVariable> nonSingleUseVariables = Sets.difference(affectedVariables, singleUseVariables);
                 // Generate bindings by taking the unioning each element of the power set with the set of non-single use variables
                 Set<Set<PVariable>> singleUseVariablesPowerSet = Sets.powerSet(singleUseVariables);
-                Set<Set<PVariable>> bindings = Sets.newHashSet();
+                Set<Set<PVariable>> bindings = Sets.newLinkedHashSet();
                 for (Set<PVariable> set : singleUseVariablesPowerSet) {
-                    bindings.add(Sets.newHashSet(set));
+                    bindings.add(Sets.newLinkedHashSet(set));
                 }
                 for (Set<PVariable> set : bindings) {
                     set.addAll(nonSingleUseVariables);
@@ -321,7 +343,7 @@ public class LocalSearchRuntimeBasedStrategy {
                 if(pConstraint instanceof PatternMatchCounter){
                     // in cases of this type, the deduced variables will contain only the result variable
                     final PVariable resultVariable = pConstraint.getDeducedVariables().iterator().next();
-                    Set<Set<PVariable>> additionalBindings = Sets.newHashSet();
+                    Set<Set<PVariable>> additionalBindings = Sets.newLinkedHashSet();
                     for (Set<PVariable> binding : bindings) {
                         if(binding.contains(resultVariable)){
                             Collection<PVariable> filteredBinding = Collections2.filter(binding, new Predicate<PVariable>() {
@@ -330,21 +352,25 @@ public class LocalSearchRuntimeBasedStrategy {
                                     return input != resultVariable;
                                 }
                             });
-                            additionalBindings.add(Sets.newHashSet(filteredBinding));
+                            additionalBindings.add(Sets.newLinkedHashSet(filteredBinding));
                         }
                         
                     }
                     bindings.addAll(additionalBindings);
                 }
+                if(pConstraint instanceof BoundedTransitiveClosure){
+                    // the paths can only be enumerated from a bound end
+                    bindings = excludeUnboundEndOperationMasks((BoundedTransitiveClosure) pConstraint, bindings);
+                }
                 
-                doCreateConstraintInfos(runtimeContext, constraintInfos, pConstraint, affectedVariables, bindings);
+                doCreateConstraintInfos(pBody, runtimeContext, costEstimator, constraintInfos, pConstraint, affectedVariables, bindings);
             }
         }
         return constraintInfos;
     }
 
-    private void doCreateConstraintInfosForTypeConstraint(IQueryRuntimeContext runtimeContext,
-            List<PConstraintInfo> constraintInfos, TypeConstraint typeConstraint, Set<PVariable> affectedVariables,
+    private void doCreateConstraintInfosForTypeConstraint(PBody pBody, IQueryRuntimeContext runtimeContext,
+            ICostEstimator costEstimator, List<PConstraintInfo> constraintInfos, TypeConstraint typeConstraint, Set<PVariable> affectedVariables,
             Set<Set<PVariable>> bindings) {
         if(!allowInverseNavigation){
             // When inverse navigation is not allowed, filter out operation masks, where
@@ -364,12 +390,12 @@ public class LocalSearchRuntimeBasedStrategy {
                 }
             }
         }
-        doCreateConstraintInfos(runtimeContext, constraintInfos, typeConstraint, affectedVariables, bindings);
+        doCreateConstraintInfos(pBody, runtimeContext, costEstimator, constraintInfos, typeConstraint, affectedVariables, bindings);
     }
     private Set<Set<PVariable>> excludeUnnavigableOperationMasks(TypeConstraint typeConstraint, Set<Set<PVariable>> bindings) {
         PVariable firstVariable = typeConstraint.getVariableInTuple(0);
         Iterator<Set<PVariable>> iterator = bindings.iterator();
-        Set<Set<PVariable>>elementsToRemove = Sets.newHashSet();
+        Set<Set<PVariable>>elementsToRemove = Sets.newLinkedHashSet();
         while (iterator.hasNext()) {
             Set<PVariable> boundVariablesSet = iterator.next();
             if(!boundVariablesSet.isEmpty() && !boundVariablesSet.contains(firstVariable) && !hasEOpposite(typeConstraint)){
@@ -380,6 +406,19 @@ public class LocalSearchRuntimeBasedStrategy {
         return bindings;
     }
     
+    private Set<Set<PVariable>> excludeUnboundEndOperationMasks(BoundedTransitiveClosure boundedTransitiveClosure,
+            Set<Set<PVariable>> bindings) {
+        PVariable sourceVariable = boundedTransitiveClosure.getVariableInTuple(0);
+        PVariable targetVariable = boundedTransitiveClosure.getVariableInTuple(1);
+        Set<Set<PVariable>> filteredBindings = Sets.newLinkedHashSet();
+        for (Set<PVariable> boundVariablesSet : bindings) {
+            if (boundVariablesSet.contains(sourceVariable) || boundVariablesSet.contains(targetVariable)) {
+                filteredBindings.add(boundVariablesSet);
+            }
+        }
+        return filteredBindings;
+    }
+
     private boolean hasEOpposite(TypeConstraint typeConstraint) {
         IInputKey supplierKey = typeConstraint.getSupplierKey();
         if(supplierKey instanceof EStructuralFeatureInstancesKey){
@@ -394,12 +433,13 @@ public class LocalSearchRuntimeBasedStrategy {
         return false;
     }
 
-    private void doCreateConstraintInfos(IQueryRuntimeContext runtimeContext, List<PConstraintInfo> constraintInfos,
-            PConstraint pConstraint, Set<PVariable> affectedVariables, Set<Set<PVariable>> bindings) {
+    private void doCreateConstraintInfos(PBody pBody, IQueryRuntimeContext runtimeContext, ICostEstimator costEstimator,
+            List<PConstraintInfo> constraintInfos, PConstraint pConstraint, Set<PVariable> affectedVariables,
+            Set<Set<PVariable>> bindings) {
         Set<PConstraintInfo> sameWithDifferentBindings = Sets.newHashSet();
         for (Set<PVariable> boundVariables : bindings) {
             PConstraintInfo info = new PConstraintInfo(pConstraint, boundVariables, Sets.difference(
-                    affectedVariables, boundVariables), sameWithDifferentBindings, runtimeContext);
+                    affectedVariables, boundVariables), sameWithDifferentBindings, runtimeContext, pBody, costEstimator);
             constraintInfos.add(info);
             sameWithDifferentBindings.add(info);
         }
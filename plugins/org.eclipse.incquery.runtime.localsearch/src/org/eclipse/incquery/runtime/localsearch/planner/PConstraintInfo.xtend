@@ -14,9 +14,12 @@ import java.util.Collection
 import java.util.List
 import java.util.Map
 import java.util.Set
+import org.eclipse.incquery.runtime.localsearch.planner.cost.ICostEstimator
 import org.eclipse.incquery.runtime.matchers.context.IInputKey
 import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext
 import org.eclipse.incquery.runtime.matchers.context.InputKeyImplication
+import org.eclipse.incquery.runtime.matchers.planning.SubPlan
+import org.eclipse.incquery.runtime.matchers.planning.operations.PStart
 import org.eclipse.incquery.runtime.matchers.psystem.PBody
 import org.eclipse.incquery.runtime.matchers.psystem.PConstraint
 import org.eclipse.incquery.runtime.matchers.psystem.PVariable
@@ -56,14 +59,31 @@ class PConstraintInfo {
 	 */
 	new(PConstraint constraint, Set<PVariable> boundMaskVariables, Set<PVariable> freeMaskVariables,
 		Set<PConstraintInfo> sameWithDifferentBindings, IQueryRuntimeContext runtimeContext) {
+		this(constraint, boundMaskVariables, freeMaskVariables, sameWithDifferentBindings, runtimeContext, null, null)
+	}
+
+	/** 
+	 * Instantiates the wrapper, calculating the cost with the given estimator
+	 * @param pBody the body containing the constraint, in which the bound variables of the operation mask are evaluated
+	 * @param costEstimator if not null, it is used to calculate the cost instead of the built-in cost calculation
+	 * @since 1.2
+	 */
+	new(PConstraint constraint, Set<PVariable> boundMaskVariables, Set<PVariable> freeMaskVariables,
+		Set<PConstraintInfo> sameWithDifferentBindings, IQueryRuntimeContext runtimeContext, PBody pBody,
+		ICostEstimator costEstimator) {
 		this.constraint = constraint
 		this.boundMaskVariables = boundMaskVariables
 		this.freeMaskVariables = freeMaskVariables
 		this.sameWithDifferentBindings = sameWithDifferentBindings
 		this.runtimeContext = runtimeContext
 
-		// Calculate cost of the constraint based on its type
-		calculateCost(constraint);
+		if (costEstimator != null) {
+			val boundVariablesPlan = new SubPlan(pBody, new PStart(boundMaskVariables))
+			cost = costEstimator.getCost(boundVariablesPlan, constraint) as float
+		} else {
+			// Calculate cost of the constraint based on its type
+			calculateCost(constraint);
+		}
 	}
 
 	protected def dispatch void calculateCost(ConstantValue constant) {
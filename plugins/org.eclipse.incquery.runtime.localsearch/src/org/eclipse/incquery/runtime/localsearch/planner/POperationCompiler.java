@@ -14,21 +14,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.emf.common.notify.Notifier;
-import org.eclipse.emf.common.util.EList;
-import org.eclipse.emf.common.util.TreeIterator;
-import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
-import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.incquery.runtime.emf.EMFQueryRuntimeContext;
-import org.eclipse.incquery.runtime.emf.EMFScope;
 import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
 import org.eclipse.incquery.runtime.emf.types.EDataTypeInSlotsKey;
 import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
 import org.eclipse.incquery.runtime.localsearch.matcher.MatcherReference;
 import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
 import org.eclipse.incquery.runtime.localsearch.operations.check.BinaryTransitiveClosureCheck;
+import org.eclipse.incquery.runtime.localsearch.operations.check.BoundedTransitiveClosureCheck;
 import org.eclipse.incquery.runtime.localsearch.operations.check.CheckConstant;
 import org.eclipse.incquery.runtime.localsearch.operations.check.CountCheck;
 import org.eclipse.incquery.runtime.localsearch.operations.check.ExpressionCheck;
@@ -38,8 +32,10 @@ import org.eclipse.incquery.runtime.localsearch.operations.check.InstanceOfDataT
 import org.eclipse.incquery.runtime.localsearch.operations.check.NACOperation;
 import org.eclipse.incquery.runtime.localsearch.operations.check.StructuralFeatureCheck;
 import org.eclipse.incquery.runtime.localsearch.operations.check.nobase.ScopeCheck;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.BoundedTransitiveClosureDistance;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.CountOperation;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.ExpressionEval;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendBoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendConstant;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendToEStructuralFeatureSource;
 import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendToEStructuralFeatureTarget;
@@ -63,6 +59,7 @@ import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.Inequality;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.NegativePatternCall;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BinaryTransitiveClosure;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.ConstantValue;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.PositivePatternCall;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
@@ -87,7 +84,6 @@ public class POperationCompiler {
 	private Map<PVariable, Integer> variableMappings;
     private boolean baseIndexAvailable;
     private EMFQueryRuntimeContext runtimeContext;
-    private Set<EObject> allModelContents;
     private IQueryBackend backend;
 
     public POperationCompiler(IQueryRuntimeContext runtimeContext, IQueryBackend backend) {
@@ -98,28 +94,7 @@ public class POperationCompiler {
         this.backend = backend;
         this.runtimeContext = (EMFQueryRuntimeContext) runtimeContext;
         this.baseIndexAvailable = baseIndexAvailable;
-        if(!baseIndexAvailable){
-            // TODO obtain here the contents of the scope and pass it to operations that need it
-            allModelContents = Sets.newHashSet();
-            EMFScope emfScope = this.runtimeContext.getEmfScope();
-            Set<? extends Notifier> scopeRoots = emfScope.getScopeRoots();
-            for (Notifier notifier : scopeRoots) {
-                if(notifier instanceof ResourceSet){
-                    EList<Resource> allResources = ((ResourceSet) notifier).getResources();
-                    for (Resource resource : allResources) {
-                           storeAllEObjects(resource);
-                    }
-                }
-                else if(notifier instanceof Resource){
-                    storeAllEObjects((Resource) notifier);
-                }
-            }
-        }
-    }
-
-    private void storeAllEObjects(Resource resource) {
-        TreeIterator<EObject> allContents = resource.getAllContents();
-        this.allModelContents.addAll(Sets.newHashSet(allContents));
+        // without the base index, the operations take the model contents from the search context
     }
 
 	/**
@@ -198,6 +173,8 @@ public class POperationCompiler {
 
         if (pConstraint instanceof BinaryTransitiveClosure) {
             createCheck((BinaryTransitiveClosure) pConstraint, variableMapping);
+        } else if (pConstraint instanceof BoundedTransitiveClosure) {
+            createCheck((BoundedTransitiveClosure) pConstraint, variableMapping);
         } else if (pConstraint instanceof ConstantValue) {
             createCheck((ConstantValue) pConstraint, variableMapping);
         } else if (pConstraint instanceof PositivePatternCall) {
@@ -245,6 +222,21 @@ public class POperationCompiler {
         dependencies.add(new MatcherReference(referredQuery, adornment));
     }
 
+    private void createCheck(BoundedTransitiveClosure boundedTransitiveClosure, Map<PVariable, Integer> variableMapping) {
+        int sourcePosition = variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(0));
+        int targetPosition = variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(1));
+        int distancePosition = boundedTransitiveClosure.hasDistanceVariable()
+                ? variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(2)) : -1;
+
+        PQuery referredQuery = boundedTransitiveClosure.getReferredQuery();
+
+        operations.add(new BoundedTransitiveClosureCheck(referredQuery, sourcePosition, targetPosition,
+                distancePosition, boundedTransitiveClosure.getMaxDepth()));
+        //The second parameter is NOT bound during execution!
+        Set<Integer> adornment = ImmutableSet.of(0);
+        dependencies.add(new MatcherReference(referredQuery, adornment));
+    }
+
 
     private void createCheck(ExpressionEvaluation expressionEvaluation, Map<PVariable, Integer> variableMapping) {
         // Technically same as extend
@@ -303,6 +295,8 @@ public class POperationCompiler {
 
         if (pConstraint instanceof BinaryTransitiveClosure) {
             createExtend((BinaryTransitiveClosure) pConstraint, variableMapping);
+        } else if (pConstraint instanceof BoundedTransitiveClosure) {
+            createExtend((BoundedTransitiveClosure) pConstraint, variableMapping);
         } else if (pConstraint instanceof ConstantValue) {
             createExtend((ConstantValue) pConstraint, variableMapping);
         } else if (pConstraint instanceof TypeConstraint) {
@@ -324,7 +318,7 @@ public class POperationCompiler {
                 int position = variableMapping.get(typeConstraint.getVariableInTuple(0));
                 operations
                         .add(new org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.IterateOverEDatatypeInstances(position,
-                                ((EDataTypeInSlotsKey) inputKey).getEmfKey(), allModelContents, backend));
+                                ((EDataTypeInSlotsKey) inputKey).getEmfKey()));
                 operations.add(new ScopeCheck(position, runtimeContext.getEmfScope()));
             }
     	} else if (inputKey instanceof EClassTransitiveInstancesKey) {
@@ -336,7 +330,7 @@ public class POperationCompiler {
                 operations
                         .add(new org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.IterateOverEClassInstances(
                                 position,
-                                ((EClassTransitiveInstancesKey) inputKey).getEmfKey(), allModelContents));
+                                ((EClassTransitiveInstancesKey) inputKey).getEmfKey()));
                 operations.add(new ScopeCheck(position, runtimeContext.getEmfScope()));
             }
 	    } else if (inputKey instanceof EStructuralFeatureInstancesKey) {
@@ -376,7 +370,7 @@ public class POperationCompiler {
                 } else {
                     operations
                             .add(new org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.IterateOverEClassInstances(
-                                    sourcePosition, feature.getEContainingClass(), allModelContents));
+                                    sourcePosition, feature.getEContainingClass()));
                     operations.add(new ScopeCheck(sourcePosition, runtimeContext.getEmfScope()));
                     operations
                             .add(new org.eclipse.incquery.runtime.localsearch.operations.extend.nobase.ExtendToEStructuralFeatureTarget(
@@ -394,6 +388,37 @@ public class POperationCompiler {
         throw new UnsupportedOperationException("Binary transitive closures must be checks");
     }
 
+    private void createExtend(BoundedTransitiveClosure boundedTransitiveClosure, Map<PVariable, Integer> variableMapping) {
+        final Set<Integer> bindings = variableBindings.get(boundedTransitiveClosure);
+        int sourcePosition = variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(0));
+        int targetPosition = variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(1));
+        int distancePosition = boundedTransitiveClosure.hasDistanceVariable()
+                ? variableMapping.get(boundedTransitiveClosure.getVariablesTuple().get(2)) : -1;
+        boolean sourceBound = bindings.contains(sourcePosition);
+        boolean targetBound = bindings.contains(targetPosition);
+
+        PQuery referredQuery = boundedTransitiveClosure.getReferredQuery();
+
+        if (sourceBound && targetBound) {
+            operations.add(new BoundedTransitiveClosureDistance(referredQuery, sourcePosition, targetPosition,
+                    boundedTransitiveClosure.getMaxDepth(), distancePosition));
+            //The second parameter is NOT bound during execution!
+            dependencies.add(new MatcherReference(referredQuery, ImmutableSet.of(0)));
+        } else if (sourceBound) {
+            operations.add(new ExtendBoundedTransitiveClosure(referredQuery, sourcePosition, targetPosition, false,
+                    distancePosition, boundedTransitiveClosure.getMaxDepth()));
+            dependencies.add(new MatcherReference(referredQuery, ImmutableSet.of(0)));
+        } else if (targetBound) {
+            //The paths are followed backwards, so only the second parameter is bound
+            operations.add(new ExtendBoundedTransitiveClosure(referredQuery, targetPosition, sourcePosition, true,
+                    distancePosition, boundedTransitiveClosure.getMaxDepth()));
+            dependencies.add(new MatcherReference(referredQuery, ImmutableSet.of(1)));
+        } else {
+            // Excluded by the planner
+            throw new UnsupportedOperationException("Bounded transitive closures require a bound end");
+        }
+    }
+
     private void createExtend(ExportedParameter exportedParameter, Map<PVariable, Integer> variableMapping) {
         // Such PConstraints are only metadata
     }
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.planner;
+
+import java.util.List;
+
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Compiles the search plans of a query into {@link CompiledSearchPlan} instances, in the order of the plans.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class SearchPlanCompiler implements ISearchPlanCodeGenerator {
+
+    private ImmutableList<CompiledSearchPlan> compiledPlans = ImmutableList.of();
+
+    @Override
+    public void compile(List<List<ISearchOperation>> plans) {
+        ImmutableList.Builder<CompiledSearchPlan> builder = ImmutableList.builder();
+        for (List<ISearchOperation> plan : plans) {
+            builder.add(new CompiledSearchPlan(plan));
+        }
+        compiledPlans = builder.build();
+    }
+
+    /**
+     * @return the plans compiled by the last call of {@link #compile(List)}
+     */
+    public List<CompiledSearchPlan> getCompiledPlans() {
+        return compiledPlans;
+    }
+}
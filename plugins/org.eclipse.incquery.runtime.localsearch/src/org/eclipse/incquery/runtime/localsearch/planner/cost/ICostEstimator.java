@@ -14,13 +14,13 @@ import org.eclipse.incquery.runtime.matchers.planning.SubPlan;
 import org.eclipse.incquery.runtime.matchers.psystem.PConstraint;
 
 /**
+ * Estimates the cost of applying a constraint in a search plan. The variables bound before the application of the
+ * constraint are the deduced variables of the given sub plan.
  * 
  * @author Marton Bur
  *
- * @deprecated This is used by {@link org.eclipse.incquery.runtime.localsearch.planner.LocalSearchPlannerStrategy}. 
- * Use the {@link org.eclipse.incquery.runtime.localsearch.planner.LocalSearchRuntimeBasedStrategy} and its belonging components instead.
+ * @see org.eclipse.incquery.runtime.localsearch.planner.cost.impl.StatisticsBasedCostEstimator
  */
-@Deprecated
 public interface ICostEstimator {
 
     /**
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.localsearch.planner.cost.impl;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.emf.EMFQueryRuntimeContext;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.localsearch.planner.cost.ICostEstimator;
+import org.eclipse.incquery.runtime.matchers.context.IInputKey;
+import org.eclipse.incquery.runtime.matchers.context.IQueryRuntimeContext;
+import org.eclipse.incquery.runtime.matchers.planning.SubPlan;
+import org.eclipse.incquery.runtime.matchers.psystem.PConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExportedParameter;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.ConstantValue;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Sets;
+
+/**
+ * Estimates the cost of constraints from statistics of the instance model: the number of instances of the types and
+ * the average and maximal fan-out of the features in both directions. The cost of a constraint is the expected number
+ * of values it enumerates for its free variables, so the planner prefers navigating along edges with small branching
+ * factors.
+ *
+ * <p>
+ * As the maximal fan-out is also considered, features with a few very large value sets are more expensive than
+ * features with the same average but a uniform distribution.
+ *
+ * <p>
+ * The statistics are read from {@link IQueryRuntimeContext#estimateCardinality(IInputKey, Tuple)} and, for the
+ * maximal fan-out of EMF features, from the base index of an {@link EMFQueryRuntimeContext}; these are available
+ * without indexing the keys if the base index is in statistics mode. Otherwise, as a fallback, the keys are indexed
+ * and the tuples are counted, which takes time proportional to the size of the model; in this case, the fan-out is
+ * averaged over the sources (or, in the inverse direction, the targets) that have at least one value.
+ *
+ * <p>
+ * The statistics are collected when first needed, and are kept for the lifetime of the estimator; the estimator
+ * should therefore not be reused after the model has changed.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public class StatisticsBasedCostEstimator implements ICostEstimator {
+
+    /**
+     * The fan-out statistics of a binary input key in one direction
+     */
+    public static final class FanOutStatistics {
+        private final double averageFanOut;
+        private final int maximalFanOut;
+
+        public FanOutStatistics(double averageFanOut, int maximalFanOut) {
+            this.averageFanOut = averageFanOut;
+            this.maximalFanOut = maximalFanOut;
+        }
+
+        /**
+         * @return the expected number of tuples with a given value at the source position
+         */
+        public double getAverageFanOut() {
+            return averageFanOut;
+        }
+
+        /**
+         * @return the largest number of tuples sharing a value at the source position
+         */
+        public int getMaximalFanOut() {
+            return maximalFanOut;
+        }
+    }
+
+    /**
+     * Constraints enumerating values not covered by the statistics are estimated with this cost, similar to the
+     * default cost of the runtime based planner.
+     */
+    public static final double DEFAULT_COST = 150.0;
+    private static final double MAX_COST = 250.0;
+    private static final double CHECK_COST = 1.0;
+    private static final double TYPE_CHECK_COST = 0.9;
+    /**
+     * The weight of the maximal fan-out in the estimated fan-out of a feature
+     */
+    private static final double MAXIMAL_FAN_OUT_WEIGHT = 0.1;
+    /**
+     * Marks the bound positions of the seeds passed to {@link IQueryRuntimeContext#estimateCardinality(IInputKey, Tuple)}
+     */
+    private static final Object BOUND_VALUE = new Object();
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final Map<IInputKey, Integer> instanceCounts = Maps.newHashMap();
+    private final Map<IInputKey, FanOutStatistics> forwardStatistics = Maps.newHashMap();
+    private final Map<IInputKey, FanOutStatistics> inverseStatistics = Maps.newHashMap();
+
+    public StatisticsBasedCostEstimator(IQueryRuntimeContext runtimeContext) {
+        this.runtimeContext = runtimeContext;
+    }
+
+    public IQueryRuntimeContext getRuntimeContext() {
+        return runtimeContext;
+    }
+
+    @Override
+    public double getCost(SubPlan currentPlan, PConstraint constraint) {
+        Set<PVariable> freeVariables = Sets.difference(constraint.getAffectedVariables(),
+                currentPlan.getAllDeducedVariables());
+        if (constraint instanceof ExportedParameter) {
+            return MAX_COST;
+        } else if (constraint instanceof ConstantValue) {
+            return CHECK_COST;
+        } else if (constraint instanceof TypeConstraint) {
+            return getTypeConstraintCost((TypeConstraint) constraint, freeVariables);
+        } else if (freeVariables.isEmpty()) {
+            return CHECK_COST;
+        } else {
+            return DEFAULT_COST;
+        }
+    }
+
+    private double getTypeConstraintCost(TypeConstraint constraint, Set<PVariable> freeVariables) {
+        IInputKey key = constraint.getSupplierKey();
+        int arity = key.getArity();
+        if (arity == 1) {
+            return freeVariables.isEmpty() ? TYPE_CHECK_COST : getInstanceCount(key);
+        } else if (arity == 2) {
+            boolean sourceFree = freeVariables.contains(constraint.getVariableInTuple(0));
+            boolean targetFree = freeVariables.contains(constraint.getVariableInTuple(1));
+            if (sourceFree && targetFree) {
+                return getInstanceCount(key);
+            } else if (sourceFree || targetFree) {
+                return getEstimatedFanOut(getFanOutStatistics(key, sourceFree));
+            } else {
+                return CHECK_COST;
+            }
+        } else {
+            return freeVariables.isEmpty() ? CHECK_COST : DEFAULT_COST;
+        }
+    }
+
+    private double getEstimatedFanOut(FanOutStatistics statistics) {
+        double average = statistics.getAverageFanOut();
+        return average + MAXIMAL_FAN_OUT_WEIGHT * (statistics.getMaximalFanOut() - average);
+    }
+
+    /**
+     * @return the number of tuples of the given input key in the model
+     */
+    public int getInstanceCount(IInputKey key) {
+        Integer count = instanceCounts.get(key);
+        if (count == null) {
+            final double estimate = runtimeContext.estimateCardinality(key, null);
+            if (estimate >= 0) {
+                count = (int) Math.round(estimate);
+            } else {
+                // fallback: indexes the key
+                count = runtimeContext.countTuples(key, null);
+            }
+            instanceCounts.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the fan-out statistics of a binary input key.
+     *
+     * @param inverse
+     *            if true, the number of sources of the targets is measured instead of the number of targets of the
+     *            sources
+     */
+    public FanOutStatistics getFanOutStatistics(IInputKey key, boolean inverse) {
+        final Map<IInputKey, FanOutStatistics> statistics = inverse ? inverseStatistics : forwardStatistics;
+        FanOutStatistics result = statistics.get(key);
+        if (result == null) {
+            result = estimateFanOutStatistics(key, inverse);
+            if (result != null) {
+                statistics.put(key, result);
+            } else {
+                scanFanOutStatistics(key);
+                result = statistics.get(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the fan-out statistics from the estimates of the runtime context, without indexing the key.
+     *
+     * @return the statistics, or null if no estimates are available
+     */
+    private FanOutStatistics estimateFanOutStatistics(IInputKey key, boolean inverse) {
+        final Object[] seed = new Object[2];
+        seed[inverse ? 1 : 0] = BOUND_VALUE;
+        final double averageFanOut = runtimeContext.estimateCardinality(key, new FlatTuple(seed));
+        if (averageFanOut < 0) {
+            return null;
+        }
+        int maximalFanOut = -1;
+        if (runtimeContext instanceof EMFQueryRuntimeContext && key instanceof EStructuralFeatureInstancesKey) {
+            maximalFanOut = ((EMFQueryRuntimeContext) runtimeContext).getBaseIndex().estimateMaximalFanOut(
+                    ((EStructuralFeatureInstancesKey) key).getEmfKey(), inverse);
+        }
+        if (maximalFanOut < 0) {
+            // not known, so the fan-out is assumed to be uniform
+            maximalFanOut = (int) Math.ceil(averageFanOut);
+        }
+        return new FanOutStatistics(averageFanOut, maximalFanOut);
+    }
+
+    /**
+     * Fallback if the runtime context cannot estimate the fan-out, e.g. as the base index is not in statistics mode:
+     * indexes the key and enumerates all of its tuples, which takes time and memory proportional to the number of
+     * tuples.
+     */
+    private void scanFanOutStatistics(IInputKey key) {
+        Multiset<Object> sources = HashMultiset.create();
+        Multiset<Object> targets = HashMultiset.create();
+        for (Tuple tuple : runtimeContext.enumerateTuples(key, null)) {
+            sources.add(tuple.get(0));
+            targets.add(tuple.get(1));
+        }
+        forwardStatistics.put(key, createStatistics(sources));
+        inverseStatistics.put(key, createStatistics(targets));
+        instanceCounts.put(key, sources.size());
+    }
+
+    /**
+     * @return the statistics of the given ends of the tuples, averaged over the distinct ends
+     */
+    private FanOutStatistics createStatistics(Multiset<Object> values) {
+        int maximalFanOut = 0;
+        for (Multiset.Entry<Object> entry : values.entrySet()) {
+            maximalFanOut = Math.max(maximalFanOut, entry.getCount());
+        }
+        final int sourceCount = values.elementSet().size();
+        return new FanOutStatistics(sourceCount == 0 ? 0 : ((double) values.size()) / sourceCount, maximalFanOut);
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExportedParam
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.NegativePatternCall;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BinaryTransitiveClosure;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.ConstantValue;
 
 /**
@@ -68,7 +69,7 @@ public class VariableBindingBasedCostEstimator implements ICostEstimator {
         // * exported parameter - only a metadata
         if (constraint instanceof ConstantValue) {
             cost = constantCost;
-        } else if (constraint instanceof BinaryTransitiveClosure) {
+        } else if (constraint instanceof BinaryTransitiveClosure || constraint instanceof BoundedTransitiveClosure) {
             cost = binaryTransitiveClosureCost;
         } else if (constraint instanceof NegativePatternCall) {
             cost = nacCost;
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.incquery.runtime.localsearch.planner.util;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,7 +53,15 @@ public class CompilerHelper {
         for (PConstraint pConstraint : allEnforcedConstraints) {
             allVariables.addAll(pConstraint.getAffectedVariables());
         }
-        for (PVariable pVariable : allVariables) {
+        // The variables are ordered by name, so separately compiled plans of the same body share the frame layout
+        List<PVariable> orderedVariables = Lists.newArrayList(allVariables);
+        Collections.sort(orderedVariables, new Comparator<PVariable>() {
+            @Override
+            public int compare(PVariable o1, PVariable o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        for (PVariable pVariable : orderedVariables) {
             if (!variableMapping.containsKey(pVariable)) {
                 variableMapping.put(pVariable, variableNumber++);
             }
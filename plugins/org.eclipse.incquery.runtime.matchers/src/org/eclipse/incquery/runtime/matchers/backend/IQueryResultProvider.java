@@ -11,6 +11,7 @@
 package org.eclipse.incquery.runtime.matchers.backend;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
 
@@ -52,6 +53,19 @@ public interface IQueryResultProvider {
      */
 	public Collection<? extends Tuple> getAllMatches(Object[] parameters); 
 	
+    /**
+     * Returns an iterator over all matches of the pattern that conform to the given fixed values of some parameters.
+     * Backends that do not cache their results compute the matches as the iterator advances, so clients only
+     * interested in some of the matches may stop iterating at any time.
+     *
+     * @param parameters
+     *            array where each non-null element binds the corresponding pattern parameter to a fixed value.
+     * @pre size of input array must be equal to the number of parameters.
+     * @return an iterator of matches represented in the internal {@link Tuple} representation.
+     * @since 1.2
+     */
+	public Iterator<? extends Tuple> iterateMatches(Object[] parameters); 
+	
 	
 	/**
 	 * The underlying query evaluator backend.
@@ -79,6 +79,22 @@ public interface IQueryRuntimeContext {
 	 */
 	public int countTuples(IInputKey key, Tuple seed);
 	
+	/**
+	 * Gives a cheap estimate of the number of tuples in the extensional relation identified by the input key, 
+	 * 	optionally seeded with the given tuple, to be used by query planners.
+	 * 
+	 * <p> Unlike {@link #countTuples(IInputKey, Tuple)}, this method never causes the key to be indexed 
+	 * 	and never triggers a model traversal.
+	 * 
+	 * @param key an input key
+	 * @param seed can be null or a tuple with matching arity; 
+	 * 	if non-null, the average number of tuples is estimated 
+	 * 	that match a seed with non-null values at the same positions.
+	 * @return the estimated number of tuples, or a negative value if no estimate is available
+	 * @since 1.2
+	 */
+	public double estimateCardinality(IInputKey key, Tuple seed);
+	
 	/**
 	 * Returns the tuples in the extensional relation identified by the input key, optionally seeded with the given tuple.
 	 * 
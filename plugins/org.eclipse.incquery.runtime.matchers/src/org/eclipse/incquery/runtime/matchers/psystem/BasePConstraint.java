@@ -12,7 +12,7 @@
 package org.eclipse.incquery.runtime.matchers.psystem;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,7 +37,7 @@ public abstract class BasePConstraint implements PConstraint {
     public BasePConstraint(PBody pBody, Set<PVariable> affectedVariables) {
         super();
         this.pBody = pBody;
-        this.affectedVariables = new HashSet<PVariable>(affectedVariables);
+        this.affectedVariables = new LinkedHashSet<PVariable>(affectedVariables);
 
         for (PVariable pVariable : affectedVariables) {
             pVariable.refer(this);
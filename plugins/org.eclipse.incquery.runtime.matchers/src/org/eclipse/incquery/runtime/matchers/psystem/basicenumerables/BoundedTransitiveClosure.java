@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.matchers.psystem.basicenumerables;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.matchers.context.IQueryMetaContext;
+import org.eclipse.incquery.runtime.matchers.psystem.IQueryReference;
+import org.eclipse.incquery.runtime.matchers.psystem.KeyedEnumerablePConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+
+/**
+ * For a binary base pattern, computes the pairs of the irreflexive transitive closure (base)+ that are connected by a
+ * path of at most maxDepth base pattern matches. The variables tuple is either (source, target), or (source, target,
+ * distance), where distance is bound to the length of the shortest such path as an {@link Integer}.
+ *
+ * <p>
+ * Closures restricted to edges passing a filter can be expressed by filtering in the base pattern.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class BoundedTransitiveClosure extends KeyedEnumerablePConstraint<PQuery> implements IQueryReference {
+
+    private final int maxDepth;
+
+    /**
+     * @param variablesTuple
+     *            the source and target variables, optionally followed by the distance variable
+     * @param pattern
+     *            the binary base pattern
+     * @param maxDepth
+     *            the maximal length of the paths, at least 1
+     */
+    public BoundedTransitiveClosure(PBody pBody, Tuple variablesTuple, PQuery pattern, int maxDepth) {
+        super(pBody, variablesTuple, pattern);
+        if (variablesTuple.getSize() != 2 && variablesTuple.getSize() != 3) {
+            throw new IllegalArgumentException("Bounded transitive closure requires 2 or 3 variables, got "
+                    + variablesTuple);
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Bounded transitive closure requires a positive depth, got " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return the maximal length of the paths
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return true if the distance of the pairs is also an output of the constraint
+     */
+    public boolean hasDistanceVariable() {
+        return variablesTuple.getSize() == 3;
+    }
+
+    @Override
+    public Map<Set<PVariable>, Set<PVariable>> getFunctionalDependencies(IQueryMetaContext context) {
+        final Map<Set<PVariable>, Set<PVariable>> result = new HashMap<Set<PVariable>, Set<PVariable>>();
+        if (hasDistanceVariable()) {
+            // the shortest distance is determined by the endpoints
+            Set<PVariable> endpoints = new HashSet<PVariable>();
+            endpoints.add(getVariableInTuple(0));
+            endpoints.add(getVariableInTuple(1));
+            Set<PVariable> distance = new HashSet<PVariable>();
+            distance.add(getVariableInTuple(2));
+            result.put(endpoints, distance);
+        }
+        return result;
+    }
+
+    @Override
+    protected String keyToString() {
+        return supplierKey.getFullyQualifiedName() + "+{1," + maxDepth + "}";
+    }
+
+    @Override
+    public PQuery getReferredQuery() {
+        return supplierKey;
+    }
+
+}
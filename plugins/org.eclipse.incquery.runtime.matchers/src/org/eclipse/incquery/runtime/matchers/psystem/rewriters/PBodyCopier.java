@@ -28,6 +28,7 @@ import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternCallBa
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.TypeFilterConstraint;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BinaryTransitiveClosure;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.ConstantValue;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.PositivePatternCall;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
@@ -143,6 +144,8 @@ public class PBodyCopier {
             copyNegativePatternCallConstraint((NegativePatternCall) constraint);
         } else if (constraint instanceof BinaryTransitiveClosure) {
             copyBinaryTransitiveClosureConstraint((BinaryTransitiveClosure) constraint);
+        } else if (constraint instanceof BoundedTransitiveClosure) {
+            copyBoundedTransitiveClosureConstraint((BoundedTransitiveClosure) constraint);
         } else if (constraint instanceof PatternMatchCounter) {
             copyPatternMatchCounterConstraint((PatternMatchCounter) constraint);
         } else if (constraint instanceof ExpressionEvaluation) {
@@ -208,6 +211,16 @@ public class PBodyCopier {
         new BinaryTransitiveClosure(body, variablesTuple, binaryTransitiveClosure.getReferredQuery());
     }
 
+    /**
+     * @since 1.2
+     */
+    protected void copyBoundedTransitiveClosureConstraint(BoundedTransitiveClosure boundedTransitiveClosure) {
+        PVariable[] mappedVariables = extractMappedVariables(boundedTransitiveClosure);
+        FlatTuple variablesTuple = new FlatTuple((Object[])mappedVariables);
+        new BoundedTransitiveClosure(body, variablesTuple, boundedTransitiveClosure.getReferredQuery(),
+                boundedTransitiveClosure.getMaxDepth());
+    }
+
     protected void copyPatternMatchCounterConstraint(PatternMatchCounter patternMatchCounter) {
         PVariable[] mappedVariables = extractMappedVariables(patternMatchCounter);
         PVariable mappedResultVariable = variableMapping.get(patternMatchCounter.getResultVariable());
@@ -63,7 +63,7 @@ public class PBodyNormalizer extends PDisjunctionRewriter {
     }
     @Override
     public PDisjunction rewrite(PDisjunction disjunction) throws RewriterException {
-        Set<PBody> normalizedBodies = Sets.newHashSet();
+        Set<PBody> normalizedBodies = Sets.newLinkedHashSet();
         for (PBody body : disjunction.getBodies()) {
             PBodyCopier copier = new PBodyCopier(body);
             PBody modifiedBody = copier.getCopiedBody();
@@ -109,7 +109,7 @@ public class PQueryFlattener extends PDisjunctionRewriter {
 
 				PDisjunction disjunction = (PDisjunction) item;
 				// First check if any of the bodies need flattening
-				Set<PBody> flatBodies = Sets.newHashSet();
+				Set<PBody> flatBodies = Sets.newLinkedHashSet();
 				if (isFlatteningNeeded(disjunction)) {
 					// Push to schedule the contained bodies for processing
 					for (PBody pBody : disjunction.getBodies()) {
@@ -199,7 +199,7 @@ public class PQueryFlattener extends PDisjunctionRewriter {
         Set<List<PBody>> conjunctBodyLists = Sets.cartesianProduct(flattenedBodies);
         
         // The result set containing the merged conjuncted bodies
-        Set<PBody> conjunctedBodies = Sets.<PBody> newHashSet();
+        Set<PBody> conjunctedBodies = Sets.<PBody> newLinkedHashSet();
 
         for (List<PBody> bodyList : conjunctBodyLists) {
             PBodyCopier copier = createBodyCopier(pQuery, flattenedCalls, bodyList); 
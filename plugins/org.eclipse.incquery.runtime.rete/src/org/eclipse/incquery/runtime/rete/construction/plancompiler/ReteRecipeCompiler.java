@@ -49,6 +49,7 @@ import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.NegativePatte
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
 import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.TypeFilterConstraint;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BinaryTransitiveClosure;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.ConstantValue;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.PositivePatternCall;
 import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
@@ -61,6 +62,7 @@ import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
 import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
 import org.eclipse.incquery.runtime.rete.construction.plancompiler.CompilerHelper.JoinHelper;
 import org.eclipse.incquery.runtime.rete.recipes.AntiJoinRecipe;
+import org.eclipse.incquery.runtime.rete.recipes.BoundedTransitiveClosureRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.ConstantRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.CountAggregatorRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.EqualityFilterRecipe;
@@ -577,6 +579,8 @@ public class ReteRecipeCompiler {
 	private PlanningTrace doEnumerateDispatch(SubPlan plan, EnumerablePConstraint constraint) throws QueryProcessingException {
         if (constraint instanceof BinaryTransitiveClosure) {
             return compileEnumerable(plan, (BinaryTransitiveClosure) constraint);
+        } else if (constraint instanceof BoundedTransitiveClosure) {
+            return compileEnumerable(plan, (BoundedTransitiveClosure) constraint);
         } else if (constraint instanceof ConstantValue) {
             return compileEnumerable(plan, (ConstantValue) constraint);
 //        } else if (constraint instanceof Containment) {
@@ -604,6 +608,20 @@ public class ReteRecipeCompiler {
 		return new PlanningTrace(plan, CompilerHelper.convertVariablesTuple(constraint), recipe, callTrace);
 	}
 
+	private PlanningTrace compileEnumerable(SubPlan plan,
+			BoundedTransitiveClosure constraint) throws QueryProcessingException {
+		final PQuery referredQuery = constraint.getSupplierKey();
+		final Tuple edgeVariables = new FlatTuple(constraint.getVariableInTuple(0), constraint.getVariableInTuple(1));
+		final PlanningTrace callTrace = referQuery(referredQuery, plan, edgeVariables);
+		
+		final BoundedTransitiveClosureRecipe recipe = FACTORY.createBoundedTransitiveClosureRecipe();
+		recipe.setMaxDepth(constraint.getMaxDepth());
+		recipe.setDistanceOutput(constraint.hasDistanceVariable());
+		recipe.setParent(callTrace.getRecipe());
+
+		return new PlanningTrace(plan, CompilerHelper.convertVariablesTuple(constraint), recipe, callTrace);
+	}
+
 	private PlanningTrace compileEnumerable(SubPlan plan, PositivePatternCall constraint) throws QueryProcessingException {
 		final PQuery referredQuery = constraint.getReferredQuery();
 		return referQuery(referredQuery, plan, constraint.getVariablesTuple());
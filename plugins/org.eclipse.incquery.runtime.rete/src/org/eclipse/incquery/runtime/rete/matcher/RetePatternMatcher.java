@@ -13,6 +13,7 @@ package org.eclipse.incquery.runtime.rete.matcher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
@@ -336,6 +337,12 @@ public class RetePatternMatcher extends TransformerNode implements IQueryResultP
 	public Collection<? extends Tuple> getAllMatches(Object[] parameters) {
 		return matchAll(parameters, notNull(parameters));
 	}
+
+	@Override
+	public Iterator<? extends Tuple> iterateMatches(Object[] parameters) {
+		// the matches are already cached by the production node, there is nothing to compute lazily
+		return matchAll(parameters, notNull(parameters)).iterator();
+	}
 	
 	/* (non-Javadoc)
 	 * @see org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider#getQueryBackend()
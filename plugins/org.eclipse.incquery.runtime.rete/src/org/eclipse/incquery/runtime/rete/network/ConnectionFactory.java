@@ -23,6 +23,7 @@ import org.eclipse.incquery.runtime.rete.index.IterableIndexer;
 import org.eclipse.incquery.runtime.rete.index.ProjectionIndexer;
 import org.eclipse.incquery.runtime.rete.recipes.AggregatorRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.BetaRecipe;
+import org.eclipse.incquery.runtime.rete.recipes.BoundedTransitiveClosureRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.ConstantRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.ExpressionEnforcerRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.IndexerRecipe;
@@ -57,6 +58,7 @@ class ConnectionFactory {
 				recipe instanceof AggregatorRecipe ||
 				recipe instanceof ExpressionEnforcerRecipe ||
 				recipe instanceof TransitiveClosureRecipe ||
+				recipe instanceof BoundedTransitiveClosureRecipe ||
 				recipe instanceof ProductionRecipe ||
 				recipe instanceof UniquenessEnforcerRecipe;
 		
@@ -31,6 +31,7 @@ import org.eclipse.incquery.runtime.rete.index.JoinNode;
 import org.eclipse.incquery.runtime.rete.misc.ConstantNode;
 import org.eclipse.incquery.runtime.rete.recipes.AggregatorIndexerRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.AntiJoinRecipe;
+import org.eclipse.incquery.runtime.rete.recipes.BoundedTransitiveClosureRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.CheckRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.ConstantRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.CountAggregatorRecipe;
@@ -51,6 +52,7 @@ import org.eclipse.incquery.runtime.rete.recipes.TransitiveClosureRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.TransparentRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.TrimmerRecipe;
 import org.eclipse.incquery.runtime.rete.recipes.UniquenessEnforcerRecipe;
+import org.eclipse.incquery.runtime.rete.single.BoundedTransitiveClosureNode;
 import org.eclipse.incquery.runtime.rete.single.DefaultProductionNode;
 import org.eclipse.incquery.runtime.rete.single.EqualityFilterNode;
 import org.eclipse.incquery.runtime.rete.single.InequalityFilterNode;
@@ -132,6 +134,8 @@ class NodeFactory {
 			return instantiateNode(reteContainer, (TrimmerRecipe)recipe);
 		if (recipe instanceof TransitiveClosureRecipe) 
 			return instantiateNode(reteContainer, (TransitiveClosureRecipe)recipe);
+		if (recipe instanceof BoundedTransitiveClosureRecipe) 
+			return instantiateNode(reteContainer, (BoundedTransitiveClosureRecipe)recipe);
 		if (recipe instanceof CheckRecipe) 
 			return instantiateNode(reteContainer, (CheckRecipe)recipe);
 		if (recipe instanceof EvalRecipe) 
@@ -199,6 +203,10 @@ class NodeFactory {
 		return new TransitiveClosureNode(reteContainer);
 	}
 
+	private Supplier instantiateNode(ReteContainer reteContainer, BoundedTransitiveClosureRecipe recipe) {
+		return new BoundedTransitiveClosureNode(reteContainer, recipe.getMaxDepth(), recipe.isDistanceOutput());
+	}
+
 	private Supplier instantiateNode(ReteContainer reteContainer, ProductionRecipe recipe) {
 		return new DefaultProductionNode(reteContainer, toStringIndexMap(recipe.getMappedIndices()));
 	}
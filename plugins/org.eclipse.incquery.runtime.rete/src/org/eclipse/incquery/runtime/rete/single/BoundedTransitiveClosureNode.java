@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.rete.single;
+
+import java.util.Collection;
+import java.util.Map.Entry;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.IDistanceObserver;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.WitnessPathIndex;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.DenseGraph;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.rete.network.Direction;
+import org.eclipse.incquery.runtime.rete.network.ReteContainer;
+import org.eclipse.incquery.runtime.rete.tuple.Clearable;
+
+/**
+ * This class represents a bounded transitive closure node in the rete net. It receives (source, target) edges and
+ * emits the pairs connected by a path of at most maxDepth edges, optionally extended with the length of the shortest
+ * such path.
+ *
+ * <p>
+ * The shortest paths are only maintained from the nodes that have outgoing edges, so the cost of the node depends on
+ * the bound instead of the size of the whole closure.
+ *
+ * @author agent
+ * @since 1.2
+ *
+ */
+public class BoundedTransitiveClosureNode extends SingleInputNode implements Clearable, IDistanceObserver<Object> {
+
+    private final int maxDepth;
+    private final boolean distanceOutput;
+    private DenseGraph<Object> graphDataSource;
+    private WitnessPathIndex<Object> pathIndex;
+
+    /**
+     * @param reteContainer
+     *            the rete container of the node
+     * @param maxDepth
+     *            the maximal length of the paths
+     * @param distanceOutput
+     *            if true, the length of the shortest path is emitted as the third element of the tuples
+     */
+    public BoundedTransitiveClosureNode(ReteContainer reteContainer, int maxDepth, boolean distanceOutput) {
+        super(reteContainer);
+        this.maxDepth = maxDepth;
+        this.distanceOutput = distanceOutput;
+        initialize();
+        reteContainer.registerClearable(this);
+    }
+
+    private void initialize() {
+        graphDataSource = new DenseGraph<Object>();
+        pathIndex = new WitnessPathIndex<Object>(graphDataSource, maxDepth);
+        pathIndex.attachObserver(this);
+    }
+
+    @Override
+    public void pullInto(Collection<Tuple> collector) {
+        for (Object source : pathIndex.getRegisteredSources()) {
+            for (Entry<Object, Integer> entry : pathIndex.getDistances(source).entrySet()) {
+                collector.add(createTuple(source, entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    @Override
+    public void update(Direction direction, Tuple updateElement) {
+        if (updateElement.getSize() == 2) {
+            Object source = updateElement.get(0);
+            Object target = updateElement.get(1);
+
+            if (direction == Direction.INSERT) {
+                graphDataSource.insertNode(source);
+                graphDataSource.insertNode(target);
+                // registered before the edge, so the edge is propagated incrementally
+                pathIndex.registerSource(source);
+                graphDataSource.insertEdge(source, target);
+            }
+            if (direction == Direction.REVOKE) {
+                graphDataSource.deleteEdge(source, target);
+
+                if (graphDataSource.getTargetNodes(source) == null) {
+                    pathIndex.unregisterSource(source);
+                }
+                deleteIfIsolated(source);
+                if (!source.equals(target)) {
+                    deleteIfIsolated(target);
+                }
+            }
+        }
+    }
+
+    private void deleteIfIsolated(Object node) {
+        if (graphDataSource.getTargetNodes(node) == null && graphDataSource.getSourceNodes(node) == null) {
+            graphDataSource.deleteNode(node);
+        }
+    }
+
+    @Override
+    public void distanceChanged(Object source, Object target, int oldDistance, int newDistance) {
+        if (distanceOutput) {
+            if (oldDistance != -1) {
+                propagateUpdate(Direction.REVOKE, createTuple(source, target, oldDistance));
+            }
+            if (newDistance != -1) {
+                propagateUpdate(Direction.INSERT, createTuple(source, target, newDistance));
+            }
+        } else if (oldDistance == -1) {
+            propagateUpdate(Direction.INSERT, createTuple(source, target, newDistance));
+        } else if (newDistance == -1) {
+            propagateUpdate(Direction.REVOKE, createTuple(source, target, oldDistance));
+        }
+    }
+
+    private Tuple createTuple(Object source, Object target, int distance) {
+        return distanceOutput ? new FlatTuple(source, target, distance) : new FlatTuple(source, target);
+    }
+
+    @Override
+    public void clear() {
+        pathIndex.dispose();
+        initialize();
+    }
+
+}
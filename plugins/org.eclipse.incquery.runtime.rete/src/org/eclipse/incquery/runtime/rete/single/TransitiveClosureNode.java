@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.incquery.runtime.rete.single;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
 import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
-import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.DenseGraph;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcDataSource;
 import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
 import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
@@ -32,7 +34,7 @@ import org.eclipse.incquery.runtime.rete.tuple.Clearable;
  */
 public class TransitiveClosureNode extends SingleInputNode implements Clearable, ITcObserver<Object> {
 
-    private Graph<Object> graphDataSource;
+    private DenseGraph<Object> graphDataSource;
     private ITcDataSource<Object> transitiveClosureAlgorithm;
 
     /**
@@ -46,7 +48,7 @@ public class TransitiveClosureNode extends SingleInputNode implements Clearable,
      */
     public TransitiveClosureNode(ReteContainer reteContainer) {
         super(reteContainer);
-        graphDataSource = new Graph<Object>();
+        graphDataSource = new DenseGraph<Object>();
         transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
         transitiveClosureAlgorithm.attachObserver(this);
         reteContainer.registerClearable(this);
@@ -60,11 +62,14 @@ public class TransitiveClosureNode extends SingleInputNode implements Clearable,
     public void reinitializeWith(Collection<org.eclipse.incquery.runtime.matchers.tuple.Tuple> tuples) {
     	clear();
     	
+        List<Tuple<Object>> edges = new ArrayList<Tuple<Object>>(tuples.size());
         for (org.eclipse.incquery.runtime.matchers.tuple.Tuple t : tuples) {
             graphDataSource.insertNode(t.get(0));
             graphDataSource.insertNode(t.get(1));
-            graphDataSource.insertEdge(t.get(0), t.get(1));
+            edges.add(new Tuple<Object>(t.get(0), t.get(1)));
         }
+        // a large initial batch is processed by a single recomputation instead of edge by edge
+        graphDataSource.insertEdges(edges);
         transitiveClosureAlgorithm.attachObserver(this);    	
     }
 
@@ -102,7 +107,7 @@ public class TransitiveClosureNode extends SingleInputNode implements Clearable,
     @Override
     public void clear() {
         transitiveClosureAlgorithm.dispose();
-        graphDataSource = new Graph<Object>();
+        graphDataSource = new DenseGraph<Object>();
         transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
     }
 
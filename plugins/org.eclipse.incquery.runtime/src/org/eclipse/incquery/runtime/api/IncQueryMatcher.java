@@ -12,6 +12,7 @@
 package org.eclipse.incquery.runtime.api;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -56,6 +57,43 @@ public interface IncQueryMatcher<Match extends IPatternMatch> {
 
     // variant(s) with input binding as pattern-specific parameters: not declared in interface
 
+    // ITERATING MATCHES
+    /**
+     * Returns an iterator over all pattern matches. Depending on the query backend, the matches may be computed as the
+     * iterator advances, so iteration may be stopped early without enumerating all matches.
+     * 
+     * @return an iterator of matches represented as Match objects.
+     * @since 1.2
+     */
+    public abstract Iterator<Match> iterateMatches();
+
+    /**
+     * Returns an iterator over all matches of the pattern that conform to the given fixed values of some parameters.
+     * Depending on the query backend, the matches may be computed as the iterator advances, so iteration may be
+     * stopped early without enumerating all matches.
+     * 
+     * @param partialMatch
+     *            a partial match of the pattern where each non-null field binds the corresponding pattern parameter to
+     *            a fixed value.
+     * @return an iterator of matches represented as Match objects.
+     * @since 1.2
+     */
+    public abstract Iterator<Match> iterateMatches(Match partialMatch);
+
+    /**
+     * Returns at most the given number of matches of the pattern that conform to the given fixed values of some
+     * parameters. Neither determinism nor randomness of selection is guaranteed.
+     * 
+     * @param partialMatch
+     *            a partial match of the pattern where each non-null field binds the corresponding pattern parameter to
+     *            a fixed value.
+     * @param limit
+     *            the maximal number of matches to return
+     * @return matches represented as a Match object.
+     * @since 1.2
+     */
+    public abstract List<Match> getMatches(Match partialMatch, int limit);
+
     // SINGLE MATCH
     /**
      * Returns an arbitrarily chosen pattern match. Neither determinism nor randomness of selection is guaranteed.
@@ -14,6 +14,7 @@ package org.eclipse.incquery.runtime.api.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -31,7 +32,10 @@ import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery.PQueryStatus
 import org.eclipse.incquery.runtime.matchers.psystem.queries.QueryInitializationException;
 import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
 
+import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
 /**
  * Base implementation of IncQueryMatcher.
@@ -140,6 +144,42 @@ public abstract class BaseMatcher<Match extends IPatternMatch> extends QueryResu
 
     // with input binding as pattern-specific parameters: not declared in interface
 
+    @Override
+    public Iterator<Match> iterateMatches() {
+        return rawIterateMatches(emptyArray());
+    }
+
+    @Override
+    public Iterator<Match> iterateMatches(Match partialMatch) {
+        return rawIterateMatches(partialMatch.toArray());
+    }
+
+    /**
+     * Returns an iterator over the matches of the pattern that conform to the given fixed values of some parameters.
+     *
+     * @param parameters
+     *            array where each non-null element binds the corresponding pattern parameter to a fixed value.
+     * @pre size of input array must be equal to the number of parameters.
+     * @return an iterator of matches represented as Match objects.
+     * @since 1.2
+     */
+    protected Iterator<Match> rawIterateMatches(Object[] parameters) {
+        Iterator<? extends Tuple> m = backend.iterateMatches(parameters);
+        // clones the tuples into a match object to protect the Tuples from modifications outside of the ReteMatcher
+        return Iterators.transform(m, new Function<Tuple, Match>() {
+            @Override
+            public Match apply(Tuple t) {
+                return tupleToMatch(t);
+            }
+        });
+    }
+
+    @Override
+    public List<Match> getMatches(Match partialMatch, int limit) {
+        Preconditions.checkArgument(limit >= 0, "Limit must not be negative");
+        return Lists.newArrayList(Iterators.limit(rawIterateMatches(partialMatch.toArray()), limit));
+    }
+
     @Override
     public Match getOneArbitraryMatch() {
         return rawGetOneArbitraryMatch(emptyArray());
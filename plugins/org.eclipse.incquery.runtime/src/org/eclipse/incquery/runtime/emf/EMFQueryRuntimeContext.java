@@ -17,11 +17,13 @@ import java.util.HashSet;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.incquery.runtime.base.api.DataTypeListener;
 import org.eclipse.incquery.runtime.base.api.FeatureListener;
@@ -49,31 +51,48 @@ import com.google.common.collect.Iterables;
  *
  * <p> TODO: {@link #containsTuple(IInputKey, Tuple)} and {@link #countTuples(IInputKey, Tuple)} are inefficient as they first enumerate the collections.
  * <p> TODO: {@link #ensureIndexed(EClass)} may be inefficient if supertype already cached.
+ * <p> If the base index is in concurrent read mode, lookups may be issued from multiple threads; 
+ * 	the bookkeeping of indexed types is thread-safe, and a type is only considered indexed once its registration has completed.
+ * <p> If the base index uses lazy resource indexing, the resource of each model element appearing in a lookup seed 
+ * 	is indexed on demand, see {@link NavigationHelper#indexResource(org.eclipse.emf.ecore.resource.Resource)}. 
+ * 	Unseeded lookups do not demand any resources, so they only return the contents of resources already indexed.
  */
 public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
 	protected final NavigationHelper baseIndex;
     //private BaseIndexListener listener;
     
-	protected final Set<EClass> indexedClasses = new HashSet<EClass>();
-	protected final Set<EDataType> indexedDataTypes = new HashSet<EDataType>();
-	protected final Set<EStructuralFeature> indexedFeatures = new HashSet<EStructuralFeature>();
+	protected final Set<EClass> indexedClasses = Collections.newSetFromMap(new ConcurrentHashMap<EClass, Boolean>());
+	protected final Set<EDataType> indexedDataTypes = Collections.newSetFromMap(new ConcurrentHashMap<EDataType, Boolean>());
+	protected final Set<EStructuralFeature> indexedFeatures = Collections.newSetFromMap(new ConcurrentHashMap<EStructuralFeature, Boolean>());
     
 	protected final EMFQueryMetaContext metaContext = EMFQueryMetaContext.INSTANCE;
 
 	protected Logger logger;
 
     private EMFScope emfScope;
+    
+    private final boolean lazyResourceIndexing;
 
     public EMFQueryRuntimeContext(NavigationHelper baseIndex, Logger logger, EMFScope emfScope) {
         this.baseIndex = baseIndex;
         this.logger = logger;
         //this.listener = new BaseIndexListener(iqEngine);
         this.emfScope = emfScope;
+        this.lazyResourceIndexing = emfScope != null && emfScope.getOptions().isLazyResourceIndexing();
     }
     
     public EMFScope getEmfScope() {
         return emfScope;
     }
+
+    /**
+     * @return the base index used by this context, e.g. for reading statistics not covered by
+     *         {@link #estimateCardinality(IInputKey, Tuple)}
+     * @since 1.2
+     */
+    public NavigationHelper getBaseIndex() {
+        return baseIndex;
+    }
     
     public void dispose() {
         //baseIndex.removeFeatureListener(indexedFeatures, listener);
@@ -149,6 +168,7 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
 				return false;
     	} else {
     		ensureIndexed(key);
+    		demandResources(seed);
     		if (key instanceof EClassTransitiveInstancesKey) {
     			EClass eClass = ((EClassTransitiveInstancesKey) key).getEmfKey();
     			// instance check not enough, must lookup from index
@@ -180,6 +200,7 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
     @Override
     public Iterable<Tuple> enumerateTuples(IInputKey key, Tuple seed) {
 		ensureIndexed(key);
+		demandResources(seed);
 		final Collection<Tuple> result = new HashSet<Tuple>();
 		
 		if (key instanceof EClassTransitiveInstancesKey) {
@@ -250,6 +271,7 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
     @Override
     public Iterable<? extends Object> enumerateValues(IInputKey key, Tuple seed) {
 		ensureIndexed(key);
+		demandResources(seed);
 		
 		if (key instanceof EClassTransitiveInstancesKey) {
 			EClass eClass = ((EClassTransitiveInstancesKey) key).getEmfKey();
@@ -293,6 +315,7 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
     @Override
     public int countTuples(IInputKey key, Tuple seed) {
 		ensureIndexed(key);
+		demandResources(seed);
 		
 		if (key instanceof EClassTransitiveInstancesKey) {
 			EClass eClass = ((EClassTransitiveInstancesKey) key).getEmfKey();
@@ -339,6 +362,63 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
     
     
     
+    @Override
+    public double estimateCardinality(IInputKey key, Tuple seed) {
+    	ensureValidKey(key);
+    	if (key instanceof JavaTransitiveInstancesKey) 
+    		return -1;
+    	
+		if (key instanceof EClassTransitiveInstancesKey) {
+			EClass eClass = ((EClassTransitiveInstancesKey) key).getEmfKey();
+			
+			final int count = baseIndex.estimateInstanceCount(eClass);
+			Object seedInstance = getFromSeed(seed, 0);
+			if (seedInstance == null || count <= 0) { // unseeded or unknown
+				return count;
+			} else { // fully seeded
+				return 1;
+			}
+		} else if (key instanceof EDataTypeInSlotsKey) {
+			EDataType dataType = ((EDataTypeInSlotsKey) key).getEmfKey();
+			
+			final int count = baseIndex.estimateDataTypeInstanceCount(dataType);
+			Object seedInstance = getFromSeed(seed, 0);
+			if (seedInstance == null || count <= 0) { // unseeded or unknown
+				return count;
+			} else { // fully seeded
+				return 1;
+			}
+		} else if (key instanceof EStructuralFeatureInstancesKey) {
+			EStructuralFeature feature = ((EStructuralFeatureInstancesKey) key).getEmfKey();
+			
+			final int count = baseIndex.estimateFeatureInstanceCount(feature);
+			final Object seedSource = getFromSeed(seed, 0);
+			final Object seedTarget = getFromSeed(seed, 1);
+			if ((seedSource == null && seedTarget == null) || count <= 0) { // fully unseeded or unknown
+				return count;
+			} else if (seedSource != null && seedTarget == null) { 
+				return baseIndex.estimateAverageFanOut(feature);
+			} else if (seedSource == null && seedTarget != null) { 
+				if (feature instanceof EReference) {
+					final int targetCount = baseIndex.estimateInstanceCount(((EReference) feature).getEReferenceType());
+					return targetCount <= 0 ? targetCount : ((double) count) / targetCount;
+				} else {
+					// the number of distinct values is only known from the fan-out histogram
+					int valueCount = 0;
+					for (Integer holders : baseIndex.estimateFanOutHistogram(feature, true).values()) {
+						valueCount += holders;
+					}
+					return valueCount == 0 ? 0 : ((double) count) / valueCount;
+				}
+			} else { // fully seeded
+				return 1;
+			}
+		} else {
+			illegalInputKey(key);
+		}
+		return -1;
+    }
+    
 	public void ensureEnumerableKey(IInputKey key) {
 		ensureValidKey(key);
 		if (! metaContext.isEnumerable(key))
@@ -356,30 +436,34 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
 		throw new IllegalArgumentException("Must have exactly one unseeded element in enumerateValues() invocation, received instead: " + seed);
 	}
 
+	// the type is marked as indexed only after registration, so that concurrent readers never skip registration
 	public void ensureIndexed(EClass eClass) {
-        if (indexedClasses.add(eClass)) {
+        if (!indexedClasses.contains(eClass)) {
             final Set<EClass> newClasses = Collections.singleton(eClass);
             if (!baseIndex.isInWildcardMode())
                 baseIndex.registerEClasses(newClasses);
             //baseIndex.addInstanceListener(newClasses, listener);
+            indexedClasses.add(eClass);
         }
     }
 
     public void ensureIndexed(EDataType eDataType) {
-        if (indexedDataTypes.add(eDataType)) {
+        if (!indexedDataTypes.contains(eDataType)) {
             final Set<EDataType> newDataTypes = Collections.singleton(eDataType);
             if (!baseIndex.isInWildcardMode())
                 baseIndex.registerEDataTypes(newDataTypes);
             //baseIndex.addDataTypeListener(newDataTypes, listener);
+            indexedDataTypes.add(eDataType);
         }
     }
 
     public void ensureIndexed(EStructuralFeature feature) {
-        if (indexedFeatures.add(feature)) {
+        if (!indexedFeatures.contains(feature)) {
             final Set<EStructuralFeature> newFeatures = Collections.singleton(feature);
             if (!baseIndex.isInWildcardMode())
                 baseIndex.registerEStructuralFeatures(newFeatures);
             //baseIndex.addFeatureListener(newFeatures, listener);
+            indexedFeatures.add(feature);
         }
     }
     
@@ -564,6 +648,26 @@ public class EMFQueryRuntimeContext implements IQueryRuntimeContext {
     	return seed == null ? null : seed.get(index);
     }
     
+    /**
+     * If the base index uses lazy resource indexing, makes sure that the resources of model elements in the seed 
+     * are indexed before they are looked up; has no effect otherwise.
+     * 
+     * <p> Unbound seed positions do not demand anything: an unseeded lookup does not promote the pending resources, 
+     * 	as that would index the entire model upon the first enumeration. 
+     * <p> Indexing a resource synchronously notifies the index listeners (e.g. the Rete network) about its contents. 
+     * 	Therefore, if a lookup is issued while iterating over the results of a previous lookup, 
+     * 	those results may change, unless they are snapshots (as in concurrent read mode).
+     */
+    protected void demandResources(Tuple seed) {
+    	if (!lazyResourceIndexing || seed == null) 
+    		return;
+    	for (int i = 0; i < seed.getSize(); ++i) {
+    		final Object element = seed.get(i);
+    		if (element instanceof EObject) 
+    			baseIndex.indexResource(((EObject) element).eResource());
+    	}
+    }
+    
     // TODO wrap / unwrap enum literals 
     // TODO use this in all other public methods (maybe wrap & delegate?)
     
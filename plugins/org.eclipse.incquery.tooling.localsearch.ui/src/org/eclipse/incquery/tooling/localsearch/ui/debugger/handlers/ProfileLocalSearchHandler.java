@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.tooling.localsearch.ui.debugger.handlers;
+
+import org.apache.log4j.Level;
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.api.IQuerySpecification;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchResultProvider;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackend;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.util.IncQueryLoggingUtil;
+import org.eclipse.incquery.tooling.localsearch.ui.debugger.views.LocalSearchProfilerView;
+import org.eclipse.incquery.tooling.ui.queryexplorer.content.matcher.PatternMatcherContent;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+/**
+ * Executes the local search matcher of the query selected in the query explorer with a {@link LocalSearchProfiler}
+ * attached, and displays the collected profiles in the {@link LocalSearchProfilerView}.
+ *
+ * @author agent
+ *
+ */
+public class ProfileLocalSearchHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		final ISelection selection = HandlerUtil.getCurrentSelection(event);
+		if (!(selection instanceof IStructuredSelection) || selection.isEmpty()) {
+			return null;
+		}
+		final Object obj = ((IStructuredSelection) selection).getFirstElement();
+		if (!(obj instanceof PatternMatcherContent)) {
+			return null;
+		}
+		PatternMatcherContent content = (PatternMatcherContent) obj;
+		final IQuerySpecification<?> specification = content.getSpecification();
+		final AdvancedIncQueryEngine engine = content.getParent().getKey().getEngine();
+		final Object[] adornment = content.getFilter();
+
+		final LocalSearchProfilerView view;
+		final LocalSearchResultProvider lsResultProvider;
+		try {
+			view = (LocalSearchProfilerView) HandlerUtil.getActiveWorkbenchWindowChecked(event).getActivePage()
+					.showView(LocalSearchProfilerView.ID);
+			final IQueryBackend lsBackend = engine.getQueryBackend(LocalSearchBackendFactory.INSTANCE);
+			lsResultProvider = (LocalSearchResultProvider) lsBackend.getResultProvider(specification
+					.getInternalQueryRepresentation());
+		} catch (PartInitException e) {
+			throw new ExecutionException("Cannot open the local search profiler view", e);
+		} catch (IncQueryException e) {
+			throw new ExecutionException("Cannot initialize the local search backend", e);
+		} catch (QueryProcessingException e) {
+			throw new ExecutionException("Cannot initialize the local search backend", e);
+		}
+
+		// The matching is executed outside of the UI thread, as it may take a long time
+		Thread profilerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				LocalSearchProfiler profiler = new LocalSearchProfiler();
+				try {
+					LocalSearchMatcher localSearchMatcher = lsResultProvider.newLocalSearchMatcher(adornment);
+					localSearchMatcher.addAdapter(profiler);
+					localSearchMatcher.getAllMatches();
+				} catch (Exception e) {
+					IncQueryLoggingUtil.getDefaultLogger().log(Level.ERROR,
+							"Error while profiling the local search matcher: " + e.getMessage(), e);
+				}
+				view.setProfiler(profiler);
+			}
+		});
+		profilerThread.start();
+
+		return null;
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.tooling.localsearch.ui.debugger.provider;
+
+import java.util.Collection;
+
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler.PlanProfile;
+import org.eclipse.incquery.tooling.localsearch.ui.debugger.provider.viewelement.ProfiledOperationNode;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Content provider class for the profiler tree viewer: the profiled plans are the top level elements, their operations
+ * are the children.
+ *
+ * @author agent
+ *
+ */
+public class ProfilerContentProvider implements ITreeContentProvider {
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+	}
+
+	@Override
+	public Object[] getElements(Object inputElement) {
+		if (inputElement instanceof LocalSearchProfiler) {
+			Collection<PlanProfile> profiles = ((LocalSearchProfiler) inputElement).getProfiles();
+			return profiles.toArray(new Object[profiles.size()]);
+		}
+		return new Object[0];
+	}
+
+	@Override
+	public Object[] getChildren(Object parentElement) {
+		if (parentElement instanceof PlanProfile) {
+			PlanProfile profile = (PlanProfile) parentElement;
+			int operationCount = profile.getOperations().size();
+			Object[] nodes = new Object[operationCount];
+			for (int i = 0; i < operationCount; i++) {
+				nodes[i] = new ProfiledOperationNode(profile, i);
+			}
+			return nodes;
+		}
+		return null;
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		if (element instanceof ProfiledOperationNode) {
+			return ((ProfiledOperationNode) element).getProfile();
+		}
+		return null;
+	}
+
+	@Override
+	public boolean hasChildren(Object element) {
+		return element instanceof PlanProfile && !((PlanProfile) element).getOperations().isEmpty();
+	}
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.tooling.localsearch.ui.debugger.provider;
+
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler.PlanProfile;
+import org.eclipse.incquery.tooling.localsearch.ui.debugger.provider.viewelement.ProfiledOperationNode;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * Label provider class for the profiler tree viewer, displaying the counters of the operations next to the search plan
+ *
+ * @author agent
+ *
+ */
+public class ProfilerLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+	public static final String[] COLUMN_NAMES = { "Operation", "Calls", "Bindings", "Backtracks", "Time (ms)" };
+
+	@Override
+	public Image getColumnImage(Object element, int columnIndex) {
+		return null;
+	}
+
+	@Override
+	public String getColumnText(Object element, int columnIndex) {
+		if (element instanceof PlanProfile) {
+			return getPlanText((PlanProfile) element, columnIndex);
+		} else if (element instanceof ProfiledOperationNode) {
+			return getOperationText((ProfiledOperationNode) element, columnIndex);
+		}
+		return "";
+	}
+
+	private String getPlanText(PlanProfile profile, int columnIndex) {
+		switch (columnIndex) {
+		case 0:
+			String queryName = profile.getQuery() == null ? "<unknown query>" : profile.getQuery()
+					.getFullyQualifiedName();
+			return queryName + " (" + profile.getAdornment() + ")";
+		case 1:
+			return Long.toString(profile.getTotalInvocationCount());
+		case 2:
+			return profile.getMatchCount() + " matches";
+		default:
+			return "";
+		}
+	}
+
+	private String getOperationText(ProfiledOperationNode node, int columnIndex) {
+		switch (columnIndex) {
+		case 0:
+			return node.getOperation().toString();
+		case 1:
+			return Long.toString(node.getInvocationCount());
+		case 2:
+			return Long.toString(node.getBindingCount());
+		case 3:
+			return Long.toString(node.getBacktrackCount());
+		case 4:
+			return String.format("%.3f", node.getElapsedTime() / 1000000.0);
+		default:
+			return "";
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.tooling.localsearch.ui.debugger.provider.viewelement;
+
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler.PlanProfile;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+
+/**
+ * An operation of a profiled search plan, as displayed in the profiler view
+ *
+ * @author agent
+ *
+ */
+public class ProfiledOperationNode {
+
+	private final PlanProfile profile;
+	private final int index;
+
+	public ProfiledOperationNode(PlanProfile profile, int index) {
+		this.profile = profile;
+		this.index = index;
+	}
+
+	public PlanProfile getProfile() {
+		return profile;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public ISearchOperation getOperation() {
+		return profile.getOperations().get(index);
+	}
+
+	public long getInvocationCount() {
+		return profile.getInvocationCount(index);
+	}
+
+	public long getBindingCount() {
+		return profile.getBindingCount(index);
+	}
+
+	public long getBacktrackCount() {
+		return profile.getBacktrackCount(index);
+	}
+
+	public long getElapsedTime() {
+		return profile.getElapsedTime(index);
+	}
+
+	/*
+	 * The nodes are recreated on each refresh of the viewer, so equality is needed to keep their expansion state
+	 */
+
+	@Override
+	public int hashCode() {
+		return 31 * profile.hashCode() + index;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ProfiledOperationNode)) {
+			return false;
+		}
+		ProfiledOperationNode other = (ProfiledOperationNode) obj;
+		return profile == other.profile && index == other.index;
+	}
+
+}
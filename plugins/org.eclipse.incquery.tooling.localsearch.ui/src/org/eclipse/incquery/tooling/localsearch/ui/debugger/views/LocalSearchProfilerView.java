@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.tooling.localsearch.ui.debugger.views;
+
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler;
+import org.eclipse.incquery.tooling.localsearch.ui.debugger.provider.ProfilerContentProvider;
+import org.eclipse.incquery.tooling.localsearch.ui.debugger.provider.ProfilerLabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * A view displaying the search plans profiled by a {@link LocalSearchProfiler}, with the invocation, binding and
+ * backtrack counters and the elapsed time shown next to each operation of the plans
+ *
+ * @author agent
+ *
+ */
+public class LocalSearchProfilerView extends ViewPart {
+
+	public static final String ID = "org.eclipse.incquery.tooling.localsearch.ui.LocalSearchProfilerView";
+
+	private static final int[] COLUMN_WIDTHS = { 400, 80, 80, 80, 80 };
+
+	private TreeViewer profileViewer;
+
+	@Override
+	public void createPartControl(Composite parent) {
+		profileViewer = new TreeViewer(parent, SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+		Tree tree = profileViewer.getTree();
+		tree.setHeaderVisible(true);
+		tree.setLinesVisible(true);
+		for (int i = 0; i < ProfilerLabelProvider.COLUMN_NAMES.length; i++) {
+			TreeColumn column = new TreeColumn(tree, i == 0 ? SWT.LEFT : SWT.RIGHT);
+			column.setText(ProfilerLabelProvider.COLUMN_NAMES[i]);
+			column.setWidth(COLUMN_WIDTHS[i]);
+		}
+		profileViewer.setContentProvider(new ProfilerContentProvider());
+		profileViewer.setLabelProvider(new ProfilerLabelProvider());
+	}
+
+	/**
+	 * Displays the profiles collected by the given profiler; can be called from any thread.
+	 */
+	public void setProfiler(final LocalSearchProfiler profiler) {
+		PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+			@Override
+			public void run() {
+				if (!profileViewer.getControl().isDisposed()) {
+					profileViewer.setInput(profiler);
+					profileViewer.expandAll();
+				}
+			}
+		});
+	}
+
+	public TreeViewer getProfileViewer() {
+		return profileViewer;
+	}
+
+	@Override
+	public void setFocus() {
+		profileViewer.getControl().setFocus();
+	}
+
+}
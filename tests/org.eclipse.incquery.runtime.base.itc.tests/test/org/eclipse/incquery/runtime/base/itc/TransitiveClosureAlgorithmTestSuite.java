@@ -11,13 +11,19 @@
 
 package org.eclipse.incquery.runtime.base.itc;
 
+import org.eclipse.incquery.runtime.base.itc.counting.BitmapCountingTestCase;
 import org.eclipse.incquery.runtime.base.itc.counting.CountingCompleteGraphTestCase;
 import org.eclipse.incquery.runtime.base.itc.dfs.DFSCompleteGraphTestCase;
 import org.eclipse.incquery.runtime.base.itc.dred.DRedCompleteGraphTestCase;
 import org.eclipse.incquery.runtime.base.itc.dred.DRedGraphsTestCase;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.DenseGraphTestCase;
+import org.eclipse.incquery.runtime.base.itc.incscc.BatchUpdateTestCase;
 import org.eclipse.incquery.runtime.base.itc.incscc.IncSCCCompleteGraphTestCase;
 import org.eclipse.incquery.runtime.base.itc.incscc.IncSCCGraphsTestCase;
 import org.eclipse.incquery.runtime.base.itc.incscc.IncSCCPathConstructionTestCase;
+import org.eclipse.incquery.runtime.base.itc.incscc.ParallelBuildTestCase;
+import org.eclipse.incquery.runtime.base.itc.labeling.LabelingReachabilityTestCase;
+import org.eclipse.incquery.runtime.base.itc.misc.WitnessPathTestCase;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -30,7 +36,13 @@ import org.junit.runners.Suite.SuiteClasses;
 		CountingCompleteGraphTestCase.class,
 		IncSCCGraphsTestCase.class,
 		IncSCCCompleteGraphTestCase.class,
-		IncSCCPathConstructionTestCase.class
+		IncSCCPathConstructionTestCase.class,
+		DenseGraphTestCase.class,
+		BitmapCountingTestCase.class,
+		BatchUpdateTestCase.class,
+		ParallelBuildTestCase.class,
+		LabelingReachabilityTestCase.class,
+		WitnessPathTestCase.class
 })
 public class TransitiveClosureAlgorithmTestSuite {
 
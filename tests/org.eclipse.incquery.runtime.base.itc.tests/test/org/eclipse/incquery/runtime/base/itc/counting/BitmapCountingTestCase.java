@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.counting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingTcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.counting.ICountingTcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
+import org.junit.Test;
+
+public class BitmapCountingTestCase {
+
+	@Test
+	public void testCompleteGraph() {
+		int nodeCount = 10;
+		Graph<Integer> g = new Graph<Integer>();
+		CountingAlg<Integer> ca = new CountingAlg<Integer>(g, true);
+
+		for (int i = 0; i < nodeCount; i++) {
+			g.insertNode(i);
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = i + 1; j < nodeCount; j++) {
+				g.insertEdge(i, j);
+				assertSameCounts(CountingTcRelation.createFrom(g), ca, nodeCount);
+			}
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = i + 1; j < nodeCount; j++) {
+				g.deleteEdge(i, j);
+				assertSameCounts(CountingTcRelation.createFrom(g), ca, nodeCount);
+			}
+		}
+	}
+
+	@Test
+	public void testRandomUpdatesWithCycles() {
+		final int nodeCount = 20;
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(g);
+		IncSCCAlg<Integer> incsccAlg = new IncSCCAlg<Integer>(g, true);
+		final Set<Tuple<Integer>> notified = new HashSet<Tuple<Integer>>();
+		incsccAlg.attachObserver(new ITcObserver<Integer>() {
+			@Override
+			public void tupleInserted(Integer source, Integer target) {
+				assertTrue(notified.add(new Tuple<Integer>(source, target)));
+			}
+
+			@Override
+			public void tupleDeleted(Integer source, Integer target) {
+				assertTrue(notified.remove(new Tuple<Integer>(source, target)));
+			}
+		});
+
+		for (int i = 0; i < nodeCount; i++) {
+			g.insertNode(i);
+		}
+
+		for (int step = 0; step < 1000; step++) {
+			int source = random.nextInt(nodeCount);
+			int target = random.nextInt(nodeCount);
+			if (random.nextInt(3) == 0) {
+				g.deleteEdge(source, target);
+			} else {
+				g.insertEdge(source, target);
+			}
+			assertTrue(incsccAlg.checkTcRelation(dfsAlg.getTcRelation()));
+
+			// reflexive tuples are not compared, as DFSAlg does not derive them from cycles
+			Set<Tuple<Integer>> expected = new HashSet<Tuple<Integer>>();
+			Set<Tuple<Integer>> actual = new HashSet<Tuple<Integer>>();
+			for (int i = 0; i < nodeCount; i++) {
+				for (int j = 0; j < nodeCount; j++) {
+					if (i != j && dfsAlg.getTcRelation().containsTuple(i, j)) {
+						expected.add(new Tuple<Integer>(i, j));
+					}
+				}
+			}
+			for (Tuple<Integer> tuple : notified) {
+				if (!tuple.getSource().equals(tuple.getTarget())) {
+					actual.add(tuple);
+				}
+			}
+			assertEquals(expected, actual);
+		}
+	}
+
+	private static void assertSameCounts(ICountingTcRelation<Integer> expected, CountingAlg<Integer> ca, int nodeCount) {
+		ICountingTcRelation<Integer> actual = (ICountingTcRelation<Integer>) ca.getTcRelation();
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = 0; j < nodeCount; j++) {
+				assertEquals(expected.getCount(i, j), actual.getCount(i, j));
+			}
+		}
+	}
+}
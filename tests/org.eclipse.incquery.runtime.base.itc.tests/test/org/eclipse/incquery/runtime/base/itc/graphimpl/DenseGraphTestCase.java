@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.graphimpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.junit.Test;
+
+public class DenseGraphTestCase {
+
+	@Test
+	public void testMultiplicities() {
+		DenseGraph<Integer> graph = new DenseGraph<Integer>();
+		graph.insertNode(1);
+		graph.insertNode(2);
+		assertNull(graph.getTargetNodes(1));
+
+		graph.insertEdge(1, 2);
+		graph.insertEdge(1, 2);
+		graph.insertEdge(1, 1);
+		assertEquals(2, graph.getEdgeCount(1, 2));
+		assertEquals(sorted(1, 2, 2), sorted(graph.getTargetNodes(1)));
+		assertEquals(sorted(1, 1), sorted(graph.getSourceNodes(2)));
+
+		graph.deleteEdge(1, 2);
+		assertEquals(sorted(1, 2), sorted(graph.getTargetNodes(1)));
+		graph.deleteNode(1);
+		assertNull(graph.getSourceNodes(2));
+		assertEquals(Collections.singleton(2), graph.getAllNodes());
+	}
+
+	@Test
+	public void testPositionalAccess() {
+		DenseGraph<Integer> graph = new DenseGraph<Integer>();
+		graph.insertEdge(1, 2);
+		graph.insertEdge(1, 3);
+		List<Integer> targets = graph.getTargetNodes(1);
+		assertEquals(new ArrayList<Integer>(targets), positional(targets));
+
+		graph.insertEdge(1, 3);
+		graph.insertEdge(1, 2);
+		graph.insertEdge(1, 3);
+		assertEquals(sorted(2, 2, 3, 3, 3), sorted(positional(targets)));
+		assertEquals(new ArrayList<Integer>(targets), positional(targets));
+
+		// the expanded neighbours must be refreshed after a modification
+		graph.deleteEdge(1, 3);
+		graph.deleteEdge(1, 2);
+		assertEquals(sorted(2, 3, 3), sorted(positional(targets)));
+		try {
+			targets.get(3);
+			fail("Index out of the bounds of the neighbours");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	private static List<Integer> positional(List<Integer> nodes) {
+		List<Integer> result = new ArrayList<Integer>();
+		for (int i = 0; i < nodes.size(); i++) {
+			result.add(nodes.get(i));
+		}
+		return result;
+	}
+
+	@Test
+	public void testRandomUpdatesAgainstGraph() {
+		final int nodeCount = 20;
+		Random random = new Random(42);
+		Graph<Integer> graph = new Graph<Integer>();
+		DenseGraph<Integer> denseGraph = new DenseGraph<Integer>();
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(graph);
+		IncSCCAlg<Integer> incsccAlg = new IncSCCAlg<Integer>(denseGraph);
+
+		for (int i = 0; i < nodeCount; i++) {
+			graph.insertNode(i);
+			denseGraph.insertNode(i);
+		}
+
+		for (int step = 0; step < 1000; step++) {
+			int source = random.nextInt(nodeCount);
+			int target = random.nextInt(nodeCount);
+			if (random.nextInt(3) == 0) {
+				graph.deleteEdge(source, target);
+				denseGraph.deleteEdge(source, target);
+			} else {
+				graph.insertEdge(source, target);
+				denseGraph.insertEdge(source, target);
+			}
+			for (int i = 0; i < nodeCount; i++) {
+				assertEquals(sorted(graph.getTargetNodes(i)), sorted(denseGraph.getTargetNodes(i)));
+				assertEquals(sorted(graph.getSourceNodes(i)), sorted(denseGraph.getSourceNodes(i)));
+			}
+			assertTrue(incsccAlg.checkTcRelation(dfsAlg.getTcRelation()));
+		}
+	}
+
+	private static List<Integer> sorted(Integer... nodes) {
+		List<Integer> result = new ArrayList<Integer>();
+		Collections.addAll(result, nodes);
+		Collections.sort(result);
+		return result;
+	}
+
+	private static List<Integer> sorted(List<Integer> nodes) {
+		List<Integer> result = new ArrayList<Integer>();
+		if (nodes != null) {
+			result.addAll(nodes);
+		}
+		Collections.sort(result);
+		return result;
+	}
+}
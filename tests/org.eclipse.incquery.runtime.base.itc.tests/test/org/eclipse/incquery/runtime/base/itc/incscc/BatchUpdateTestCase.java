@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.incscc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingTcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.dred.DRedAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.ITcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.eclipse.incquery.runtime.base.itc.igraph.ITcObserver;
+import org.junit.Test;
+
+public class BatchUpdateTestCase {
+
+	private static final int NODE_COUNT = 30;
+
+	@Test
+	public void testRandomBatches() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(g);
+		IncSCCAlg<Integer> incsccAlg = new IncSCCAlg<Integer>(g);
+		DRedAlg<Integer> dredAlg = new DRedAlg<Integer>(g);
+		Set<Tuple<Integer>> incsccTuples = new HashSet<Tuple<Integer>>();
+		Set<Tuple<Integer>> dredTuples = new HashSet<Tuple<Integer>>();
+		incsccAlg.attachObserver(new CollectingObserver(incsccTuples));
+		dredAlg.attachObserver(new CollectingObserver(dredTuples));
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 40; step++) {
+			// alternate small batches (processed edge by edge) with large ones (recomputed)
+			int batchSize = step % 2 == 0 ? 5 : 100;
+			List<Tuple<Integer>> batch = new ArrayList<Tuple<Integer>>();
+			if (random.nextInt(3) == 0 && !edges.isEmpty()) {
+				for (int i = 0; i < batchSize && !edges.isEmpty(); i++) {
+					batch.add(edges.remove(random.nextInt(edges.size())));
+				}
+				g.deleteEdges(batch);
+			} else {
+				for (int i = 0; i < batchSize; i++) {
+					batch.add(new Tuple<Integer>(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT)));
+				}
+				edges.addAll(batch);
+				g.insertEdges(batch);
+			}
+
+			assertTrue(incsccAlg.checkTcRelation(dfsAlg.getTcRelation()));
+			assertEquals(dfsAlg.getTcRelation(), dredAlg.getTcRelation());
+			assertEquals(nonReflexive(dredTuples), nonReflexive(incsccTuples));
+			assertEquals(tuplesOf(dfsAlg), nonReflexive(dredTuples));
+			// including the reflexive tuples of self-loops changed by the batch
+			assertEquals(incsccAlg.getTcRelation(), incsccTuples);
+		}
+	}
+
+	@Test
+	public void testCountingBatches() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		CountingAlg<Integer> countingAlg = new CountingAlg<Integer>(g);
+		Set<Tuple<Integer>> countingTuples = new HashSet<Tuple<Integer>>();
+		countingAlg.attachObserver(new CollectingObserver(countingTuples));
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 20; step++) {
+			int batchSize = step % 2 == 0 ? 5 : 100;
+			List<Tuple<Integer>> batch = new ArrayList<Tuple<Integer>>();
+			if (random.nextInt(3) == 0 && !edges.isEmpty()) {
+				for (int i = 0; i < batchSize && !edges.isEmpty(); i++) {
+					batch.add(edges.remove(random.nextInt(edges.size())));
+				}
+				g.deleteEdges(batch);
+			} else {
+				// the counting algorithm requires an acyclic graph
+				for (int i = 0; i < batchSize; i++) {
+					int source = random.nextInt(NODE_COUNT - 1);
+					int target = source + 1 + random.nextInt(NODE_COUNT - source - 1);
+					batch.add(new Tuple<Integer>(source, target));
+				}
+				edges.addAll(batch);
+				g.insertEdges(batch);
+			}
+			assertEquals(CountingTcRelation.createFrom(g), countingAlg.getTcRelation());
+			assertEquals(tuplesOf(countingAlg), countingTuples);
+		}
+	}
+
+	private static Set<Tuple<Integer>> tuplesOf(DFSAlg<Integer> dfsAlg) {
+		return tuplesOf(dfsAlg.getTcRelation());
+	}
+
+	private static Set<Tuple<Integer>> tuplesOf(CountingAlg<Integer> countingAlg) {
+		return tuplesOf(countingAlg.getTcRelation());
+	}
+
+	private static Set<Tuple<Integer>> tuplesOf(ITcRelation<Integer> relation) {
+		Set<Tuple<Integer>> tuples = new HashSet<Tuple<Integer>>();
+		for (Integer source : relation.getTupleStarts()) {
+			for (Integer target : relation.getTupleEnds(source)) {
+				tuples.add(new Tuple<Integer>(source, target));
+			}
+		}
+		return tuples;
+	}
+
+	private static Set<Tuple<Integer>> nonReflexive(Set<Tuple<Integer>> tuples) {
+		Set<Tuple<Integer>> result = new HashSet<Tuple<Integer>>();
+		for (Tuple<Integer> tuple : tuples) {
+			if (!tuple.getSource().equals(tuple.getTarget())) {
+				result.add(tuple);
+			}
+		}
+		return result;
+	}
+
+	private static class CollectingObserver implements ITcObserver<Integer> {
+		private final Set<Tuple<Integer>> tuples;
+
+		public CollectingObserver(Set<Tuple<Integer>> tuples) {
+			this.tuples = tuples;
+		}
+
+		@Override
+		public void tupleInserted(Integer source, Integer target) {
+			assertTrue(tuples.add(new Tuple<Integer>(source, target)));
+		}
+
+		@Override
+		public void tupleDeleted(Integer source, Integer target) {
+			assertTrue(tuples.remove(new Tuple<Integer>(source, target)));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.incscc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.counting.CountingTcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.incscc.IncSCCAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.scc.ParallelSCC;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.scc.SCC;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.junit.Test;
+
+public class ParallelBuildTestCase {
+
+	@Test
+	public void testParallelSCC() {
+		// a large strongly connected part followed by many small cycles
+		Graph<Integer> g = createGraph(5000, 2000, new Random(42));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(SCC.computeSCC(g).getSccs(), ParallelSCC.computeSCC(g, pool).getSccs());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelCounting() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < 300; i++) {
+			g.insertNode(i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			int source = random.nextInt(299);
+			g.insertEdge(source, source + 1 + random.nextInt(299 - source));
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			CountingAlg<Integer> ca = new CountingAlg<Integer>(g, false, pool);
+			assertEquals(CountingTcRelation.createFrom(g), ca.getTcRelation());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelBuildThenUpdates() {
+		Random random = new Random(42);
+		Graph<Integer> g = createGraph(300, 50, random);
+		IncSCCAlg<Integer> sequentialAlg = new IncSCCAlg<Integer>(g, false, Integer.MAX_VALUE);
+		IncSCCAlg<Integer> parallelAlg = new IncSCCAlg<Integer>(g, false, 1);
+		IncSCCAlg<Integer> compressedParallelAlg = new IncSCCAlg<Integer>(g, true, 1);
+		assertEquals(sequentialAlg.getTcRelation(), parallelAlg.getTcRelation());
+		assertEquals(sequentialAlg.getTcRelation(), compressedParallelAlg.getTcRelation());
+
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(g);
+		for (int step = 0; step < 100; step++) {
+			int source = random.nextInt(300);
+			int target = random.nextInt(300);
+			if (random.nextBoolean()) {
+				g.deleteEdge(source, target);
+			} else {
+				g.insertEdge(source, target);
+			}
+			assertTrue(parallelAlg.checkTcRelation(dfsAlg.getTcRelation()));
+			assertTrue(compressedParallelAlg.checkTcRelation(dfsAlg.getTcRelation()));
+		}
+	}
+
+	private static Graph<Integer> createGraph(int nodeCount, int cycleLength, Random random) {
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < nodeCount; i++) {
+			g.insertNode(i);
+		}
+		for (int i = 0; i < cycleLength; i++) {
+			g.insertEdge(i, (i + 1) % cycleLength);
+		}
+		for (int i = cycleLength; i < nodeCount - 1; i++) {
+			g.insertEdge(i, i + 1 + random.nextInt(Math.min(5, nodeCount - i - 1)));
+			if (random.nextInt(4) == 0) {
+				g.insertEdge(i, i - random.nextInt(3));
+			}
+		}
+		return g;
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.labeling;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.base.itc.alg.dred.DRedTcRelation;
+import org.eclipse.incquery.runtime.base.itc.alg.labeling.LabelingReachabilityAlg;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.dfs.DFSAlg;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.junit.Test;
+
+public class LabelingReachabilityTestCase {
+
+	private static final int NODE_COUNT = 40;
+
+	@Test
+	public void testRandomUpdates() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(g);
+		LabelingReachabilityAlg<Integer> labelingAlg = new LabelingReachabilityAlg<Integer>(g);
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 300; step++) {
+			if (random.nextInt(3) == 0 && !edges.isEmpty()) {
+				Tuple<Integer> edge = edges.remove(random.nextInt(edges.size()));
+				g.deleteEdge(edge.getSource(), edge.getTarget());
+			} else {
+				Tuple<Integer> edge = new Tuple<Integer>(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT));
+				edges.add(edge);
+				g.insertEdge(edge.getSource(), edge.getTarget());
+			}
+			// query only every few steps, so that some changes accumulate before a rebuild
+			if (step % 3 == 0) {
+				checkReachability(g, dfsAlg.getTcRelation(), labelingAlg);
+			}
+		}
+	}
+
+	@Test
+	public void testBatchUpdates() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		DFSAlg<Integer> dfsAlg = new DFSAlg<Integer>(g);
+		LabelingReachabilityAlg<Integer> labelingAlg = new LabelingReachabilityAlg<Integer>(g);
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 20; step++) {
+			List<Tuple<Integer>> batch = new ArrayList<Tuple<Integer>>();
+			if (step % 3 == 2) {
+				for (int i = 0; i < 10 && !edges.isEmpty(); i++) {
+					batch.add(edges.remove(random.nextInt(edges.size())));
+				}
+				g.deleteEdges(batch);
+			} else {
+				for (int i = 0; i < 10; i++) {
+					batch.add(new Tuple<Integer>(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT)));
+				}
+				edges.addAll(batch);
+				g.insertEdges(batch);
+			}
+			checkReachability(g, dfsAlg.getTcRelation(), labelingAlg);
+		}
+	}
+
+	private static void checkReachability(Graph<Integer> g, DRedTcRelation<Integer> expected,
+			LabelingReachabilityAlg<Integer> labelingAlg) {
+		for (int source = 0; source < NODE_COUNT; source++) {
+			Set<Integer> expectedTargets = new HashSet<Integer>();
+			for (int target = 0; target < NODE_COUNT; target++) {
+				if (isReachable(g, expected, source, target)) {
+					expectedTargets.add(target);
+				}
+				assertEquals(source + " -> " + target, isReachable(g, expected, source, target),
+						labelingAlg.isReachable(source, target));
+			}
+			assertEquals(expectedTargets, labelingAlg.getAllReachableTargets(source));
+		}
+	}
+
+	// the DFS relation does not contain the reflexive tuples derived from cycles
+	private static boolean isReachable(Graph<Integer> g, DRedTcRelation<Integer> relation, int source, int target) {
+		if (source != target) {
+			return relation.containsTuple(source, target);
+		}
+		if (GraphHelper.getEdgeCount(source, g) > 0) {
+			return true;
+		}
+		Set<Integer> targets = relation.getTupleEnds(source);
+		if (targets != null) {
+			for (Integer other : targets) {
+				if (relation.containsTuple(other, source)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
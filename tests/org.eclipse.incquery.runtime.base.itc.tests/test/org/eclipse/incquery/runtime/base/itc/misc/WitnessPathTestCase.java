@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.incquery.runtime.base.itc.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.incquery.runtime.base.itc.alg.misc.GraphHelper;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.Tuple;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.IDistanceObserver;
+import org.eclipse.incquery.runtime.base.itc.alg.misc.bfs.WitnessPathIndex;
+import org.eclipse.incquery.runtime.base.itc.graphimpl.Graph;
+import org.junit.Test;
+
+public class WitnessPathTestCase {
+
+	private static final int NODE_COUNT = 30;
+
+	@Test
+	public void testRandomUpdates() {
+		Random random = new Random(42);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		WitnessPathIndex<Integer> index = new WitnessPathIndex<Integer>(g);
+		index.registerSource(0);
+		index.registerSource(1);
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 300; step++) {
+			if (random.nextInt(3) == 0 && !edges.isEmpty()) {
+				Tuple<Integer> edge = edges.remove(random.nextInt(edges.size()));
+				g.deleteEdge(edge.getSource(), edge.getTarget());
+			} else {
+				Tuple<Integer> edge = new Tuple<Integer>(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT));
+				edges.add(edge);
+				g.insertEdge(edge.getSource(), edge.getTarget());
+			}
+			if (step == 100) {
+				// registered on a non-empty graph
+				index.registerSource(2);
+			}
+			if (step == 200) {
+				index.unregisterSource(0);
+			}
+			if (step == 250) {
+				// the trees of the unregistered source must not be visited by the updates in between
+				index.registerSource(0);
+			}
+			for (Integer source : index.getRegisteredSources()) {
+				checkPaths(g, index, source);
+			}
+		}
+	}
+
+	@Test
+	public void testBoundedDepthWithObserver() {
+		final int maxDepth = 3;
+		Random random = new Random(7);
+		Graph<Integer> g = new Graph<Integer>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			g.insertNode(i);
+		}
+		WitnessPathIndex<Integer> index = new WitnessPathIndex<Integer>(g, maxDepth);
+		final Map<Tuple<Integer>, Integer> observed = new HashMap<Tuple<Integer>, Integer>();
+		index.attachObserver(new IDistanceObserver<Integer>() {
+			@Override
+			public void distanceChanged(Integer source, Integer target, int oldDistance, int newDistance) {
+				Tuple<Integer> pair = new Tuple<Integer>(source, target);
+				Integer previous = newDistance == -1 ? observed.remove(pair) : observed.put(pair, newDistance);
+				assertEquals(oldDistance, previous == null ? -1 : previous.intValue());
+			}
+		});
+		index.registerSource(0);
+		index.registerSource(1);
+
+		List<Tuple<Integer>> edges = new ArrayList<Tuple<Integer>>();
+		for (int step = 0; step < 300; step++) {
+			if (random.nextInt(3) == 0 && !edges.isEmpty()) {
+				Tuple<Integer> edge = edges.remove(random.nextInt(edges.size()));
+				g.deleteEdge(edge.getSource(), edge.getTarget());
+			} else {
+				Tuple<Integer> edge = new Tuple<Integer>(random.nextInt(NODE_COUNT), random.nextInt(NODE_COUNT));
+				edges.add(edge);
+				g.insertEdge(edge.getSource(), edge.getTarget());
+			}
+			if (step == 150) {
+				index.unregisterSource(1);
+				index.registerSource(2);
+			}
+			int expectedCount = 0;
+			for (Integer source : index.getRegisteredSources()) {
+				Map<Integer, Integer> distances = bfsDistances(g, source);
+				for (int target = 0; target < NODE_COUNT; target++) {
+					Integer distance = distances.get(target);
+					int expected = distance == null || distance > maxDepth ? -1 : distance;
+					assertEquals(expected, index.getDistance(source, target));
+					if (expected != -1) {
+						expectedCount++;
+						assertEquals(Integer.valueOf(expected), observed.get(new Tuple<Integer>(source, target)));
+					}
+				}
+			}
+			assertEquals(expectedCount, observed.size());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnregisteredSource() {
+		Graph<Integer> g = new Graph<Integer>();
+		g.insertNode(0);
+		WitnessPathIndex<Integer> index = new WitnessPathIndex<Integer>(g);
+		index.registerSource(0);
+		index.unregisterSource(0);
+		index.getWitnessPath(0, 0);
+	}
+
+	private static void checkPaths(Graph<Integer> g, WitnessPathIndex<Integer> index, int source) {
+		Map<Integer, Integer> distances = bfsDistances(g, source);
+		for (int target = 0; target < NODE_COUNT; target++) {
+			List<Integer> path = index.getWitnessPath(source, target);
+			Integer distance = distances.get(target);
+			if (distance == null) {
+				assertNull(path);
+			} else {
+				assertEquals(distance + 1, path.size());
+				assertEquals(Integer.valueOf(source), path.get(0));
+				assertEquals(Integer.valueOf(target), path.get(path.size() - 1));
+				for (int i = 0; i < path.size() - 1; i++) {
+					assertTrue(GraphHelper.getEdgeCount(path.get(i), path.get(i + 1), g) > 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Distances of the nodes from the source; the distance of the source itself is the length of the shortest cycle.
+	 */
+	private static Map<Integer, Integer> bfsDistances(Graph<Integer> g, int source) {
+		Map<Integer, Integer> distances = new HashMap<Integer, Integer>();
+		Deque<Integer> queue = new ArrayDeque<Integer>();
+		queue.add(source);
+		Map<Integer, Integer> visited = new HashMap<Integer, Integer>();
+		visited.put(source, 0);
+		while (!queue.isEmpty()) {
+			Integer node = queue.poll();
+			List<Integer> targets = g.getTargetNodes(node);
+			if (targets != null) {
+				for (Integer target : targets) {
+					if (target == source && !distances.containsKey(source)) {
+						distances.put(source, visited.get(node) + 1);
+					}
+					if (!visited.containsKey(target)) {
+						visited.put(target, visited.get(node) + 1);
+						distances.put(target, visited.get(node) + 1);
+						queue.add(target);
+					}
+				}
+			}
+		}
+		return distances;
+	}
+}
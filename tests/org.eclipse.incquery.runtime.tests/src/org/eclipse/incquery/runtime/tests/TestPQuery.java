@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.incquery.runtime.matchers.backend.QueryEvaluationHint;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExportedParameter;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.BasePQuery;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PParameter;
+
+/**
+ * A single-body query built programmatically, for constraints that have no pattern language syntax. The parameters
+ * are the variables of the body with the same names.
+ */
+public abstract class TestPQuery extends BasePQuery {
+
+    private final String name;
+    private final List<PParameter> parameters = new ArrayList<PParameter>();
+
+    public TestPQuery(String name, String... parameterNames) {
+        this(name, null, null, parameterNames);
+    }
+
+    /**
+     * @param backendFactory
+     *            if not null, the query is evaluated by the given backend with the given hints
+     */
+    public TestPQuery(String name, IQueryBackendFactory backendFactory, Map<String, Object> hints,
+            String... parameterNames) {
+        this.name = name;
+        for (String parameterName : parameterNames) {
+            parameters.add(new PParameter(parameterName));
+        }
+        if (backendFactory != null) {
+            setEvaluationHints(new QueryEvaluationHint(backendFactory, hints));
+        }
+    }
+
+    @Override
+    public String getFullyQualifiedName() {
+        return "test." + name;
+    }
+
+    @Override
+    public List<PParameter> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    protected Set<PBody> doGetContainedBodies() {
+        PBody body = createBody();
+        createConstraints(body);
+        return Collections.singleton(body);
+    }
+
+    /**
+     * Creates a body with the parameter variables; queries with several bodies may override
+     * {@link #doGetContainedBodies()} to create each of them with this method.
+     */
+    protected PBody createBody() {
+        PBody body = new PBody(this);
+        List<ExportedParameter> exported = new ArrayList<ExportedParameter>();
+        for (PParameter parameter : parameters) {
+            PVariable variable = body.getOrCreateVariableByName(parameter.getName());
+            exported.add(new ExportedParameter(body, variable, parameter.getName()));
+        }
+        body.setSymbolicParameters(exported);
+        return body;
+    }
+
+    /**
+     * Adds the constraints to the body; the parameter variables are already created.
+     */
+    protected abstract void createConstraints(PBody body);
+
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IEClassifierProcessor.IEClassProcessor;
+import org.eclipse.incquery.runtime.base.api.IEMFIndexingErrorListener;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+public class ConcurrentReadModeTest {
+
+    private static final int CLASS_COUNT = 500;
+
+    private EPackage ePackage;
+    private NavigationHelper navigationHelper;
+
+    @Before
+    public void setUp() throws IncQueryBaseException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        addEClass("Initial");
+
+        BaseIndexOptions options = new BaseIndexOptions().withConcurrentReadMode(true);
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet, options,
+                Logger.getLogger(ConcurrentReadModeTest.class));
+        navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.ECLASS));
+    }
+
+    @After
+    public void tearDown() {
+        navigationHelper.dispose();
+    }
+
+    private EClass addEClass(String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    @Test(timeout = 30000)
+    public void readersDuringUpdates() throws Exception {
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int lastSize = 0;
+                        boolean lastRead;
+                        do {
+                            // one more lookup after the updates have finished
+                            lastRead = finished.get();
+                            Set<EObject> instances = navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS);
+                            // the returned set is a snapshot, iterating it must not fail while updates happen
+                            int size = 0;
+                            for (EObject instance : instances) {
+                                assertTrue(instance instanceof EClass);
+                                size++;
+                            }
+                            assertTrue("Instances must not disappear", size >= lastSize);
+                            lastSize = size;
+                        } while (!lastRead);
+                        return lastSize;
+                    }
+                }));
+            }
+            for (int i = 0; i < CLASS_COUNT; i++) {
+                addEClass("Class" + i);
+            }
+            finished.set(true);
+            for (Future<Integer> reader : readers) {
+                assertEquals(CLASS_COUNT + 1, reader.get().intValue());
+            }
+        } finally {
+            finished.set(true);
+            executor.shutdownNow();
+        }
+        assertEquals(CLASS_COUNT + 1, navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS).size());
+    }
+
+    @Test(timeout = 30000)
+    public void updateFromLookupCallbackFailsFast() {
+        final AtomicReference<IllegalStateException> exception = new AtomicReference<IllegalStateException>();
+        navigationHelper.processAllInstances(EcorePackage.Literals.ECLASS, new IEClassProcessor() {
+            @Override
+            public void process(EClass type, EObject instance) {
+                try {
+                    navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.EPACKAGE));
+                } catch (IllegalStateException e) {
+                    exception.set(e);
+                }
+            }
+        });
+        assertTrue("Upgrading the read lock must be refused", exception.get() != null);
+        // the failed attempt must not leave the index locked
+        navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.EPACKAGE));
+        assertEquals(1, navigationHelper.getAllInstances(EcorePackage.Literals.EPACKAGE).size());
+    }
+
+    @Test(timeout = 30000)
+    public void modelChangeFromLookupCallbackIsReported() {
+        final AtomicReference<Throwable> fatalError = new AtomicReference<Throwable>();
+        navigationHelper.addIndexingErrorListener(new IEMFIndexingErrorListener() {
+            @Override
+            public void fatal(String description, Throwable t) {
+                fatalError.set(t);
+            }
+
+            @Override
+            public void error(String description, Throwable t) {
+            }
+        });
+        navigationHelper.processAllInstances(EcorePackage.Literals.ECLASS, new IEClassProcessor() {
+            @Override
+            public void process(EClass type, EObject instance) {
+                // the notification cannot be processed while the thread holds the read lock
+                ((EClass) instance).setAbstract(true);
+            }
+        });
+        assertTrue("The index must report the notification it could not process",
+                fatalError.get() instanceof IllegalStateException);
+    }
+
+    @Test(timeout = 30000)
+    public void dynamicCanonicalizationFromLookupCallback() throws IncQueryBaseException {
+        navigationHelper.dispose();
+        BaseIndexOptions options = new BaseIndexOptions().withDynamicEMFMode(true).withConcurrentReadMode(true);
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(ePackage.eResource()
+                .getResourceSet(), options, Logger.getLogger(ConcurrentReadModeTest.class));
+        navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.ECLASS));
+        EEnum eEnum = EcoreFactory.eINSTANCE.createEEnum();
+        eEnum.setName("Kind");
+        final EEnumLiteral literal = EcoreFactory.eINSTANCE.createEEnumLiteral();
+        literal.setName("KIND");
+        literal.setLiteral("KIND");
+        eEnum.getELiterals().add(literal);
+        ePackage.setNsURI("http://test");
+        ePackage.getEClassifiers().add(eEnum);
+
+        final AtomicReference<Object> canonical = new AtomicReference<Object>();
+        navigationHelper.processAllInstances(EcorePackage.Literals.ECLASS, new IEClassProcessor() {
+            @Override
+            public void process(EClass type, EObject instance) {
+                // would appoint a canonical literal, which needs write access
+                canonical.set(navigationHelper.toCanonicalValueRepresentation(literal));
+            }
+        });
+        assertEquals(literal, canonical.get());
+        assertEquals(literal, navigationHelper.toCanonicalValueRepresentation(literal));
+    }
+
+    @Test
+    public void updateWithoutReadingIsAllowed() {
+        try {
+            addEClass("Other");
+        } catch (IllegalStateException e) {
+            fail("Updates outside of lookups must be allowed");
+        }
+        assertEquals(2, navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS).size());
+    }
+
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.ETypedElement;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.EMFBaseIndexChangeListener;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.InstanceListener;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Checks the update of the base index, where the change visitors and the listener dispatch are reused between the
+ * notifications.
+ */
+public class ContentAdapterTest {
+
+    private ResourceSetImpl resourceSet;
+    private EPackage ePackage;
+    private NavigationHelper navigationHelper;
+
+    @Before
+    public void setUp() {
+        resourceSet = new ResourceSetImpl();
+        ePackage = createPackage("test");
+    }
+
+    @After
+    public void tearDown() {
+        if (navigationHelper != null) {
+            navigationHelper.dispose();
+        }
+    }
+
+    private EPackage createPackage(String name) {
+        Resource resource = new ResourceImpl(URI.createURI(name + ".ecore"));
+        resourceSet.getResources().add(resource);
+        EPackage result = EcoreFactory.eINSTANCE.createEPackage();
+        result.setName(name);
+        resource.getContents().add(result);
+        return result;
+    }
+
+    private EClass addEClass(EPackage container, String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        container.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    private void createNavigationHelper(boolean wildcardMode) throws IncQueryBaseException {
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions().withWildcardMode(wildcardMode), Logger.getLogger(ContentAdapterTest.class));
+    }
+
+    private static class RecordingInstanceListener implements InstanceListener {
+        final List<EObject> inserted = new ArrayList<EObject>();
+
+        @Override
+        public void instanceInserted(EClass clazz, EObject instance) {
+            inserted.add(instance);
+        }
+
+        @Override
+        public void instanceDeleted(EClass clazz, EObject instance) {
+        }
+    }
+
+    private static class RecordingChangeListener implements EMFBaseIndexChangeListener {
+        int changes;
+
+        @Override
+        public boolean onlyOnIndexChange() {
+            return true;
+        }
+
+        @Override
+        public void notifyChanged(boolean indexChanged) {
+            changes++;
+        }
+    }
+
+    @Test
+    public void listenersAddedDuringNotificationReceiveTheLaterChanges() throws IncQueryBaseException {
+        createNavigationHelper(true);
+        final RecordingInstanceListener lateListener = new RecordingInstanceListener();
+        RecordingInstanceListener listener = new RecordingInstanceListener() {
+            @Override
+            public void instanceInserted(EClass clazz, EObject instance) {
+                super.instanceInserted(clazz, instance);
+                navigationHelper.addInstanceListener(Collections.singleton(EcorePackage.Literals.ECLASS),
+                        lateListener);
+            }
+        };
+        navigationHelper.addInstanceListener(Collections.singleton(EcorePackage.Literals.ECLASS), listener);
+        final RecordingChangeListener lateChangeListener = new RecordingChangeListener();
+        RecordingChangeListener changeListener = new RecordingChangeListener() {
+            @Override
+            public void notifyChanged(boolean indexChanged) {
+                super.notifyChanged(indexChanged);
+                navigationHelper.addBaseIndexChangeListener(lateChangeListener);
+            }
+        };
+        navigationHelper.addBaseIndexChangeListener(changeListener);
+
+        EClass first = addEClass(ePackage, "First");
+        assertEquals(Collections.singletonList(first), listener.inserted);
+        // the listeners were added while the notification was dispatched
+        assertTrue(lateListener.inserted.isEmpty());
+        assertEquals(1, changeListener.changes);
+        assertEquals(0, lateChangeListener.changes);
+
+        EClass second = addEClass(ePackage, "Second");
+        assertEquals(ImmutableSet.of(first, second), ImmutableSet.copyOf(listener.inserted));
+        assertEquals(Collections.singletonList(second), lateListener.inserted);
+        assertEquals(2, changeListener.changes);
+        assertEquals(1, lateChangeListener.changes);
+
+        navigationHelper.removeInstanceListener(Collections.singleton(EcorePackage.Literals.ECLASS), listener);
+        navigationHelper.removeInstanceListener(Collections.singleton(EcorePackage.Literals.ECLASS), lateListener);
+        navigationHelper.removeBaseIndexChangeListener(changeListener);
+        navigationHelper.removeBaseIndexChangeListener(lateChangeListener);
+    }
+
+    @Test
+    public void typesRegisteredAfterChangesAreIndexed() throws IncQueryBaseException {
+        createNavigationHelper(false);
+        navigationHelper.registerEClasses(Collections.singleton(EcorePackage.Literals.ECLASS));
+        // the change visitors are created and reused
+        EClass first = addEClass(ePackage, "First");
+        EClass second = addEClass(ePackage, "Second");
+        assertEquals(ImmutableSet.of(first, second), navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS));
+
+        navigationHelper.registerEClasses(Collections.singleton(EcorePackage.Literals.EDATA_TYPE));
+        navigationHelper.registerEStructuralFeatures(Collections.singleton(EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+        EDataType dataType = EcoreFactory.eINSTANCE.createEDataType();
+        dataType.setName("Data");
+        ePackage.getEClassifiers().add(dataType);
+        EClass third = addEClass(ePackage, "Third");
+
+        assertEquals(Collections.singleton(dataType), navigationHelper.getAllInstances(EcorePackage.Literals.EDATA_TYPE));
+        assertEquals(ImmutableSet.of(first, second, third),
+                navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS));
+        assertEquals(Collections.singleton(dataType),
+                navigationHelper.findByFeatureValue("Data", EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+        assertEquals(Collections.singleton(third),
+                navigationHelper.findByFeatureValue("Third", EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+    }
+
+    @Test
+    public void proxiesAddedTogetherAreResolvedAtTheirPositions() throws IncQueryBaseException {
+        // a dynamic metamodel of nodes with cross references
+        EClass node = EcoreFactory.eINSTANCE.createEClass();
+        node.setName("Node");
+        EReference links = EcoreFactory.eINSTANCE.createEReference();
+        links.setName("links");
+        links.setEType(node);
+        links.setUpperBound(ETypedElement.UNBOUNDED_MULTIPLICITY);
+        node.getEStructuralFeatures().add(links);
+        ePackage.getEClassifiers().add(node);
+
+        Resource library = new ResourceImpl(URI.createURI("library.xmi"));
+        resourceSet.getResources().add(library);
+        List<EObject> proxies = new ArrayList<EObject>();
+        for (int i = 0; i < 3; i++) {
+            EObject target = EcoreUtil.create(node);
+            library.getContents().add(target);
+            EObject proxy = EcoreUtil.create(node);
+            ((InternalEObject) proxy).eSetProxyURI(EcoreUtil.getURI(target));
+            proxies.add(proxy);
+        }
+        Resource resource = new ResourceImpl(URI.createURI("source.xmi"));
+        resourceSet.getResources().add(resource);
+        EObject source = EcoreUtil.create(node);
+        resource.getContents().add(source);
+        @SuppressWarnings("unchecked")
+        InternalEList<EObject> targets = (InternalEList<EObject>) source.eGet(links);
+        // the proxies are not added at the beginning of the list
+        targets.add(library.getContents().get(0));
+        createNavigationHelper(true);
+
+        targets.addAll(proxies);
+
+        assertEquals(4, targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            assertFalse("Unresolved proxy at " + i, targets.basicGet(i).eIsProxy());
+        }
+    }
+
+}
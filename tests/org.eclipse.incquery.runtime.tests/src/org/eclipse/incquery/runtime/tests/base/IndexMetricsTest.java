@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexMetricEntry;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Checks the metrics collected by a base index with index metrics enabled, and their registration in the platform
+ * MBean server.
+ */
+public class IndexMetricsTest {
+
+    private static final String CLASSIFIERS = "http://www.eclipse.org/emf/2002/Ecore##EPackage##EClassifier##eClassifiers";
+    private static final String NAME = "http://www.eclipse.org/emf/2002/Ecore##ENamedElement##EString##name";
+    private static final String ECLASS = "http://www.eclipse.org/emf/2002/Ecore##EClass";
+
+    private MBeanServer server;
+    private ObjectName query;
+
+    @Before
+    public void setUp() throws JMException {
+        server = ManagementFactory.getPlatformMBeanServer();
+        query = new ObjectName("org.eclipse.incquery.runtime.base:type=BaseIndexMetrics,*");
+    }
+
+    private static EPackage createPackage(ResourceSet resourceSet) {
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        return ePackage;
+    }
+
+    private static NavigationHelper createNavigationHelper(ResourceSet resourceSet) throws IncQueryBaseException {
+        return IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions().withWildcardMode(true).withIndexMetrics(true),
+                Logger.getLogger(IndexMetricsTest.class));
+    }
+
+    /**
+     * Creates an index with metrics, and returns the name of its MBean.
+     */
+    private ObjectName register(NavigationHelper[] navigationHelper, ResourceSet resourceSet)
+            throws IncQueryBaseException {
+        Set<ObjectName> before = server.queryNames(query, null);
+        navigationHelper[0] = createNavigationHelper(resourceSet);
+        Set<ObjectName> registered = Sets.difference(server.queryNames(query, null), before);
+        assertEquals(1, registered.size());
+        return registered.iterator().next();
+    }
+
+    private static Map<String, BaseIndexMetricEntry> byName(List<BaseIndexMetricEntry> entries) {
+        Map<String, BaseIndexMetricEntry> result = new HashMap<String, BaseIndexMetricEntry>();
+        for (BaseIndexMetricEntry entry : entries) {
+            result.put(entry.getTypeName(), entry);
+        }
+        return result;
+    }
+
+    @Test
+    public void updatesAreCountedPerType() throws IncQueryBaseException, JMException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        EPackage ePackage = createPackage(resourceSet);
+        NavigationHelper[] navigationHelper = new NavigationHelper[1];
+        ObjectName name = register(navigationHelper, resourceSet);
+        try {
+            for (int i = 0; i < 3; i++) {
+                EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+                eClass.setName("Class" + i);
+                ePackage.getEClassifiers().add(eClass);
+            }
+            ((EClass) ePackage.getEClassifiers().get(0)).setName("Renamed");
+
+            Map<String, BaseIndexMetricEntry> entries = byName(navigationHelper[0].getIndexMetrics());
+            BaseIndexMetricEntry classifiers = entries.get(CLASSIFIERS);
+            assertEquals(3, classifiers.getNotificationCount());
+            assertEquals(3, classifiers.getInsertionCount());
+            assertEquals(3, classifiers.getIndexSize());
+            BaseIndexMetricEntry names = entries.get(NAME);
+            assertEquals(1, names.getNotificationCount());
+            // the name of the package when the index was built, the names of the new classes, then the new name
+            assertEquals(5, names.getInsertionCount());
+            assertEquals(1, names.getRemovalCount());
+            // the package and the classes are named
+            assertEquals(4, names.getIndexSize());
+            BaseIndexMetricEntry classes = entries.get(ECLASS);
+            assertEquals(0, classes.getNotificationCount());
+            assertEquals(3, classes.getInsertionCount());
+            assertEquals(3, classes.getIndexSize());
+
+            // the totals are published in the MBean
+            assertEquals(4L, server.getAttribute(name, "NotificationCount"));
+            // the old name is removed both from the feature and from the data type index
+            assertEquals(2L, server.getAttribute(name, "RemovalCount"));
+            String report = (String) server.invoke(name, "reportTop", new Object[] { 1 },
+                    new String[] { int.class.getName() });
+            assertTrue(report, report.startsWith(CLASSIFIERS + ": notifications=3"));
+            assertEquals(report, 1, report.split("\n").length);
+
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0L, server.getAttribute(name, "NotificationCount"));
+            assertTrue(navigationHelper[0].getIndexMetrics().isEmpty());
+        } finally {
+            navigationHelper[0].dispose();
+        }
+    }
+
+    @Test
+    public void mBeanIsUnregisteredOnDispose() throws IncQueryBaseException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        createPackage(resourceSet);
+        NavigationHelper[] navigationHelper = new NavigationHelper[1];
+        ObjectName name = register(navigationHelper, resourceSet);
+        assertTrue(server.isRegistered(name));
+        navigationHelper[0].dispose();
+        assertFalse(server.isRegistered(name));
+    }
+
+    /**
+     * Creates an index that is never disposed, and that is only reachable from the returned name
+     */
+    private ObjectName registerUndisposed() throws IncQueryBaseException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        createPackage(resourceSet);
+        return register(new NavigationHelper[1], resourceSet);
+    }
+
+    @Test
+    public void mBeanOfCollectedIndexIsUnregistered() throws IncQueryBaseException, InterruptedException {
+        ObjectName name = registerUndisposed();
+        assertTrue(server.isRegistered(name));
+        // the registrations of collected indexes are removed when the next index registers its metrics
+        for (int i = 0; i < 50 && server.isRegistered(name); i++) {
+            System.gc();
+            Thread.sleep(10);
+            ResourceSet resourceSet = new ResourceSetImpl();
+            createPackage(resourceSet);
+            createNavigationHelper(resourceSet).dispose();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+}
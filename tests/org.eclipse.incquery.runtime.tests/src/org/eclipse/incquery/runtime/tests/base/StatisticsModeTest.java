@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SortedMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.emf.EMFQueryRuntimeContext;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EDataTypeInSlotsKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Checks the counts maintained in statistics mode, on an Ecore model of classes where a single class has many super
+ * types, and the estimates of the runtime context derived from them.
+ */
+public class StatisticsModeTest {
+
+    private static final int CLASS_COUNT = 10;
+
+    private ResourceSetImpl resourceSet;
+    private EPackage ePackage;
+    private EClass hub;
+    private NavigationHelper navigationHelper;
+
+    @Before
+    public void setUp() throws IncQueryBaseException {
+        resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        // the first class is the sub type of all the others
+        hub = addEClass("Hub");
+        for (int i = 1; i < CLASS_COUNT; i++) {
+            hub.getESuperTypes().add(addEClass("Class" + i));
+        }
+        navigationHelper = createNavigationHelper(true);
+    }
+
+    @After
+    public void tearDown() {
+        navigationHelper.dispose();
+    }
+
+    private NavigationHelper createNavigationHelper(boolean statisticsMode) throws IncQueryBaseException {
+        return IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions().withStatisticsMode(statisticsMode), Logger.getLogger(StatisticsModeTest.class));
+    }
+
+    private EClass addEClass(String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    @Test
+    public void modelContentsAreCounted() {
+        assertEquals(CLASS_COUNT, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+        // the package and the classes, through the super types
+        assertEquals(CLASS_COUNT + 1, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ENAMED_ELEMENT));
+        assertEquals(CLASS_COUNT - 1,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+        assertEquals(CLASS_COUNT + 1,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+        assertTrue(navigationHelper.estimateDataTypeInstanceCount(EcorePackage.Literals.ESTRING) >= CLASS_COUNT + 1);
+        assertEquals(0, navigationHelper.estimateInstanceCount(EcorePackage.Literals.EREFERENCE));
+    }
+
+    @Test
+    public void countsFollowTheChanges() {
+        EClass eClass = addEClass("Added");
+        eClass.getESuperTypes().add(hub);
+        assertEquals(CLASS_COUNT + 1, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+        assertEquals(CLASS_COUNT,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+
+        ePackage.getEClassifiers().remove(eClass);
+        assertEquals(CLASS_COUNT, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+        assertEquals(CLASS_COUNT - 1,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+
+        hub.getESuperTypes().remove(0);
+        assertEquals(CLASS_COUNT - 2,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+        assertEquals(CLASS_COUNT - 2,
+                navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+    }
+
+    @Test
+    public void registeredTypesAreNotCountedTwice() {
+        navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.ECLASS));
+        navigationHelper.registerEStructuralFeatures(
+                ImmutableSet.<EStructuralFeature> of(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+        assertEquals(CLASS_COUNT, navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS).size());
+        assertEquals(CLASS_COUNT, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+        assertEquals(CLASS_COUNT - 1,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+        assertEquals(CLASS_COUNT - 1,
+                navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+
+        addEClass("Added").getESuperTypes().add(hub);
+        assertEquals(CLASS_COUNT + 1, navigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+        assertEquals(CLASS_COUNT,
+                navigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+    }
+
+    @Test
+    public void fanOutIsMeasuredInBothDirections() {
+        // a single class with all the others as super types
+        assertEquals(CLASS_COUNT - 1,
+                navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+        assertEquals(1, navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+        assertEquals(ImmutableMap.of(CLASS_COUNT - 1, 1),
+                navigationHelper.estimateFanOutHistogram(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+        assertEquals(ImmutableMap.of(1, CLASS_COUNT - 1),
+                navigationHelper.estimateFanOutHistogram(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+
+        // a second sub type of the first super type
+        EClass eClass = addEClass("Added");
+        eClass.getESuperTypes().add(hub.getESuperTypes().get(0));
+        SortedMap<Integer, Integer> forward = navigationHelper.estimateFanOutHistogram(
+                EcorePackage.Literals.ECLASS__ESUPER_TYPES, false);
+        assertEquals(ImmutableMap.of(1, 1, CLASS_COUNT - 1, 1), forward);
+        assertEquals(ImmutableMap.of(1, CLASS_COUNT - 2, 2, 1),
+                navigationHelper.estimateFanOutHistogram(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+        assertEquals(2, navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+
+        hub.getESuperTypes().clear();
+        assertEquals(1, navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+        assertEquals(ImmutableMap.of(1, 1),
+                navigationHelper.estimateFanOutHistogram(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+
+        // attribute values are counted as targets
+        assertEquals(1, navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ENAMED_ELEMENT__NAME, true));
+        addEClass("Added");
+        assertEquals(2, navigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ENAMED_ELEMENT__NAME, true));
+        assertTrue(navigationHelper.estimateFanOutHistogram(EcorePackage.Literals.EREFERENCE__EOPPOSITE, false)
+                .isEmpty());
+    }
+
+    @Test
+    public void estimatesAreUnavailableWithoutStatisticsMode() throws IncQueryBaseException {
+        NavigationHelper plainNavigationHelper = createNavigationHelper(false);
+        try {
+            assertEquals(-1, plainNavigationHelper.estimateInstanceCount(EcorePackage.Literals.ECLASS));
+            assertEquals(-1, plainNavigationHelper.estimateDataTypeInstanceCount(EcorePackage.Literals.ESTRING));
+            assertEquals(-1,
+                    plainNavigationHelper.estimateFeatureInstanceCount(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+            assertEquals(-1, plainNavigationHelper.estimateAverageFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES),
+                    0);
+            assertEquals(-1,
+                    plainNavigationHelper.estimateMaximalFanOut(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false));
+            assertNull(plainNavigationHelper.estimateFanOutHistogram(EcorePackage.Literals.ECLASS__ESUPER_TYPES, true));
+
+            EMFQueryRuntimeContext context = new EMFQueryRuntimeContext(plainNavigationHelper,
+                    Logger.getLogger(StatisticsModeTest.class), null);
+            assertEquals(-1, context.estimateCardinality(new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS),
+                    null), 0);
+            // no statistics are kept for the unregistered types
+            assertTrue(plainNavigationHelper.getAllInstances(EcorePackage.Literals.ECLASS).isEmpty());
+        } finally {
+            plainNavigationHelper.dispose();
+        }
+    }
+
+    @Test
+    public void runtimeContextEstimatesCardinalities() {
+        EMFQueryRuntimeContext context = new EMFQueryRuntimeContext(navigationHelper,
+                Logger.getLogger(StatisticsModeTest.class), null);
+        EClassTransitiveInstancesKey classKey = new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS);
+        assertEquals(CLASS_COUNT, context.estimateCardinality(classKey, null), 0);
+        assertEquals(1, context.estimateCardinality(classKey, new FlatTuple(hub)), 0);
+
+        EDataTypeInSlotsKey dataTypeKey = new EDataTypeInSlotsKey(EcorePackage.Literals.ESTRING);
+        assertEquals(navigationHelper.estimateDataTypeInstanceCount(EcorePackage.Literals.ESTRING),
+                context.estimateCardinality(dataTypeKey, null), 0);
+        assertEquals(1, context.estimateCardinality(dataTypeKey, new FlatTuple("Hub")), 0);
+
+        EStructuralFeatureInstancesKey superTypesKey = new EStructuralFeatureInstancesKey(
+                EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+        assertEquals(CLASS_COUNT - 1, context.estimateCardinality(superTypesKey, null), 0);
+        assertEquals(CLASS_COUNT - 1, context.estimateCardinality(superTypesKey, new FlatTuple(null, null)), 0);
+        // averaged over all classes in both directions
+        assertEquals((CLASS_COUNT - 1.0) / CLASS_COUNT,
+                context.estimateCardinality(superTypesKey, new FlatTuple(hub, null)), 0.0001);
+        assertEquals((CLASS_COUNT - 1.0) / CLASS_COUNT,
+                context.estimateCardinality(superTypesKey, new FlatTuple(null, hub)), 0.0001);
+        assertEquals(1, context.estimateCardinality(superTypesKey, new FlatTuple(hub, hub)), 0);
+
+        // the names are distinct, so each value has a single holder
+        EStructuralFeatureInstancesKey nameKey = new EStructuralFeatureInstancesKey(
+                EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+        assertEquals(1, context.estimateCardinality(nameKey, new FlatTuple(null, "Hub")), 0);
+        addEClass("Hub");
+        assertEquals((CLASS_COUNT + 2.0) / (CLASS_COUNT + 1),
+                context.estimateCardinality(nameKey, new FlatTuple(null, "Hub")), 0.0001);
+
+        // a feature without instances
+        EStructuralFeatureInstancesKey oppositeKey = new EStructuralFeatureInstancesKey(
+                EcorePackage.Literals.EREFERENCE__EOPPOSITE);
+        assertEquals(0, context.estimateCardinality(oppositeKey, null), 0);
+        assertEquals(0, context.estimateCardinality(oppositeKey, new FlatTuple(hub, null)), 0);
+    }
+
+}
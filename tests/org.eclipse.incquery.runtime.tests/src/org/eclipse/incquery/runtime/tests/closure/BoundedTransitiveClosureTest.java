@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.closure;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.BoundedTransitiveClosure;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.rete.matcher.ReteBackendFactory;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Evaluates bounded transitive closures over the supertype references of classes. The constraint has no pattern
+ * language syntax, so the queries are built programmatically.
+ */
+public class BoundedTransitiveClosureTest {
+
+    private static final int MAX_DEPTH = 2;
+
+    private static final PQuery SUPER_TYPE = new TestPQuery("superType", "c", "s") {
+        @Override
+        protected void createConstraints(PBody body) {
+            new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                    body.getOrCreateVariableByName("s")), new EStructuralFeatureInstancesKey(
+                    EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+        }
+    };
+
+    /**
+     * The source is bound by a type constraint, the target and the distance by the closure.
+     */
+    private static final PQuery SUPER_TYPE_DISTANCE = new TestPQuery("superTypeDistance", "c", "s", "d") {
+        @Override
+        protected void createConstraints(PBody body) {
+            new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c")),
+                    new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+            new BoundedTransitiveClosure(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                    body.getOrCreateVariableByName("s"), body.getOrCreateVariableByName("d")), SUPER_TYPE, MAX_DEPTH);
+        }
+    };
+
+    /**
+     * The target is bound by a type constraint, so the source is reached by following the paths backwards.
+     */
+    private static final PQuery SUB_TYPE = new TestPQuery("subType", "c", "s") {
+        @Override
+        protected void createConstraints(PBody body) {
+            new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("s")),
+                    new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+            new BoundedTransitiveClosure(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                    body.getOrCreateVariableByName("s")), SUPER_TYPE, MAX_DEPTH);
+        }
+    };
+
+    private EPackage ePackage;
+    private Map<String, EClass> classes;
+    private AdvancedIncQueryEngine engine;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        classes = new HashMap<String, EClass>();
+        for (String name : new String[] { "A", "B", "C", "D", "E", "F" }) {
+            EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+            eClass.setName(name);
+            ePackage.getEClassifiers().add(eClass);
+            classes.put(name, eClass);
+        }
+        // a diamond, so the shortest paths differ from the first found ones, and a path longer than the bound
+        addSuperType("A", "B");
+        addSuperType("B", "C");
+        addSuperType("A", "C");
+        addSuperType("C", "D");
+        addSuperType("D", "E");
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    private void addSuperType(String subType, String superType) {
+        classes.get(subType).getESuperTypes().add(classes.get(superType));
+    }
+
+    @Test
+    public void reteDistances() throws IncQueryException, QueryProcessingException {
+        checkDistances(new ReteBackendFactory());
+    }
+
+    @Test
+    public void localSearchDistances() throws IncQueryException, QueryProcessingException {
+        checkDistances(LocalSearchBackendFactory.INSTANCE);
+    }
+
+    @Test
+    public void reteBackwards() throws IncQueryException, QueryProcessingException {
+        checkBackwards(new ReteBackendFactory());
+    }
+
+    @Test
+    public void localSearchBackwards() throws IncQueryException, QueryProcessingException {
+        checkBackwards(LocalSearchBackendFactory.INSTANCE);
+    }
+
+    @Test
+    public void reteBoundParameters() throws IncQueryException, QueryProcessingException {
+        checkBoundParameters(new ReteBackendFactory());
+    }
+
+    @Test
+    public void localSearchBoundParameters() throws IncQueryException, QueryProcessingException {
+        checkBoundParameters(LocalSearchBackendFactory.INSTANCE);
+    }
+
+    private void checkDistances(IQueryBackendFactory factory) throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = engine.getQueryBackend(factory).getResultProvider(SUPER_TYPE_DISTANCE);
+        assertEquals(expectedMatches(true), matches(provider, new Object[3]));
+        // a shortcut changes the distance of an existing pair, and a cycle makes a class its own supertype
+        addSuperType("C", "E");
+        addSuperType("E", "C");
+        assertEquals(expectedMatches(true), matches(provider, new Object[3]));
+        classes.get("A").getESuperTypes().clear();
+        assertEquals(expectedMatches(true), matches(provider, new Object[3]));
+    }
+
+    private void checkBackwards(IQueryBackendFactory factory) throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = engine.getQueryBackend(factory).getResultProvider(SUB_TYPE);
+        assertEquals(expectedMatches(false), matches(provider, new Object[2]));
+        addSuperType("F", "A");
+        assertEquals(expectedMatches(false), matches(provider, new Object[2]));
+    }
+
+    private void checkBoundParameters(IQueryBackendFactory factory) throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = engine.getQueryBackend(factory).getResultProvider(SUPER_TYPE_DISTANCE);
+        EClass a = classes.get("A");
+        EClass c = classes.get("C");
+        EClass d = classes.get("D");
+        assertEquals(1, provider.countMatches(new Object[] { a, c, null }));
+        assertEquals(1, provider.countMatches(new Object[] { a, c, 1 }));
+        assertEquals(0, provider.countMatches(new Object[] { a, c, 2 }));
+        assertEquals(1, provider.countMatches(new Object[] { a, d, 2 }));
+        assertEquals(0, provider.countMatches(new Object[] { a, classes.get("E"), null }));
+        assertEquals(3, provider.countMatches(new Object[] { a, null, null }));
+        assertEquals(3, provider.countMatches(new Object[] { null, d, null }));
+    }
+
+    private static Set<Tuple> matches(IQueryResultProvider provider, Object[] parameters) {
+        // the backends may return different tuple implementations
+        Set<Tuple> result = new HashSet<Tuple>();
+        for (Tuple match : provider.getAllMatches(parameters)) {
+            Object[] elements = new Object[parameters.length];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = match.get(i);
+            }
+            result.add(new FlatTuple(elements));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the pairs connected by at most {@link #MAX_DEPTH} supertype references by breadth-first search.
+     */
+    private Set<Tuple> expectedMatches(boolean withDistance) {
+        Set<Tuple> result = new HashSet<Tuple>();
+        for (EClass source : classes.values()) {
+            Map<EClass, Integer> distances = new HashMap<EClass, Integer>();
+            Deque<EClass> queue = new ArrayDeque<EClass>();
+            queue.add(source);
+            Map<EClass, Integer> visited = new HashMap<EClass, Integer>();
+            visited.put(source, 0);
+            while (!queue.isEmpty()) {
+                EClass node = queue.poll();
+                int distance = visited.get(node) + 1;
+                if (distance > MAX_DEPTH) {
+                    continue;
+                }
+                for (EClass target : node.getESuperTypes()) {
+                    if (!distances.containsKey(target)) {
+                        distances.put(target, distance);
+                    }
+                    if (!visited.containsKey(target)) {
+                        visited.put(target, distance);
+                        queue.add(target);
+                    }
+                }
+            }
+            for (Map.Entry<EClass, Integer> entry : distances.entrySet()) {
+                result.add(withDistance ? new FlatTuple(source, entry.getKey(), entry.getValue()) : new FlatTuple(
+                        source, entry.getKey()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.evm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.incquery.runtime.evm.api.Activation;
+import org.eclipse.incquery.runtime.evm.api.ActivationLifeCycle;
+import org.eclipse.incquery.runtime.evm.api.Agenda;
+import org.eclipse.incquery.runtime.evm.api.Agenda.IAgendaFactory;
+import org.eclipse.incquery.runtime.evm.api.Job;
+import org.eclipse.incquery.runtime.evm.api.LinkedActivationAgenda;
+import org.eclipse.incquery.runtime.evm.api.RuleBase;
+import org.eclipse.incquery.runtime.evm.api.RuleInstance;
+import org.eclipse.incquery.runtime.evm.api.RuleSpecification;
+import org.eclipse.incquery.runtime.evm.api.event.AbstractRuleInstanceBuilder;
+import org.eclipse.incquery.runtime.evm.api.event.ActivationState;
+import org.eclipse.incquery.runtime.evm.api.event.ActivationState.DynamicActivationState;
+import org.eclipse.incquery.runtime.evm.api.event.EventFilter;
+import org.eclipse.incquery.runtime.evm.api.event.EventRealm;
+import org.eclipse.incquery.runtime.evm.api.event.EventSourceSpecification;
+import org.eclipse.incquery.runtime.evm.api.event.EventType.DynamicEventType;
+import org.eclipse.incquery.runtime.evm.api.event.EventType.RuleEngineEventType;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+
+/**
+ * Moves the activations of a single rule between the states of a dynamic life-cycle, and checks the views of the
+ * linked agenda against the default agenda.
+ */
+public class LinkedActivationAgendaTest {
+
+    private static final EventFilter<String> EMPTY_FILTER = new EventFilter<String>() {
+        @Override
+        public boolean isProcessable(String eventAtom) {
+            return true;
+        }
+    };
+
+    /**
+     * The activations are created by the test instead of an event source.
+     */
+    private static final EventSourceSpecification<String> SOURCE = new EventSourceSpecification<String>() {
+
+        @Override
+        public EventFilter<String> createEmptyFilter() {
+            return EMPTY_FILTER;
+        }
+
+        @Override
+        public AbstractRuleInstanceBuilder<String> getRuleInstanceBuilder(EventRealm realm) {
+            return new AbstractRuleInstanceBuilder<String>() {
+                @Override
+                public void prepareRuleInstance(RuleInstance<String> ruleInstance, EventFilter<? super String> filter) {
+                }
+            };
+        }
+    };
+
+    private static final class TestRuleBase extends RuleBase {
+
+        public TestRuleBase(IAgendaFactory agendaFactory) {
+            super(new EventRealm() {
+            }, agendaFactory);
+        }
+
+        public RuleInstance<String> addRule(RuleSpecification<String> specification) {
+            return instantiateRule(specification, specification.createEmptyFilter());
+        }
+    }
+
+    private RuleSpecification<String> specification;
+    private Agenda agenda;
+    private RuleInstance<String> rule;
+
+    @Before
+    public void setUp() {
+        ActivationLifeCycle lifeCycle = ActivationLifeCycle.create(DynamicActivationState.INACTIVE);
+        lifeCycle.addStateTransition(DynamicActivationState.INACTIVE, DynamicEventType.APPEARED,
+                DynamicActivationState.APPEARED);
+        lifeCycle.addStateTransition(DynamicActivationState.APPEARED, RuleEngineEventType.FIRE,
+                DynamicActivationState.FIRED);
+        lifeCycle.addStateTransition(DynamicActivationState.APPEARED, DynamicEventType.DISAPPEARED,
+                DynamicActivationState.INACTIVE);
+        lifeCycle.addStateTransition(DynamicActivationState.FIRED, DynamicEventType.UPDATED,
+                DynamicActivationState.UPDATED);
+        lifeCycle.addStateTransition(DynamicActivationState.FIRED, DynamicEventType.DISAPPEARED,
+                DynamicActivationState.INACTIVE);
+        lifeCycle.addStateTransition(DynamicActivationState.UPDATED, RuleEngineEventType.FIRE,
+                DynamicActivationState.FIRED);
+        lifeCycle.addStateTransition(DynamicActivationState.UPDATED, DynamicEventType.DISAPPEARED,
+                DynamicActivationState.INACTIVE);
+        specification = new RuleSpecification<String>(SOURCE, lifeCycle, Collections.<Job<String>> emptySet());
+
+        TestRuleBase ruleBase = new TestRuleBase(LinkedActivationAgenda.FACTORY);
+        agenda = ruleBase.getAgenda();
+        rule = ruleBase.addRule(specification);
+    }
+
+    private Activation<String> appear(String atom) {
+        Activation<String> activation = rule.createActivation(atom);
+        rule.activationStateTransition(activation, DynamicEventType.APPEARED);
+        return activation;
+    }
+
+    private static List<Activation<?>> list(Collection<Activation<?>> activations) {
+        return Lists.newArrayList(activations);
+    }
+
+    @Test
+    public void activationsMoveBetweenTheStates() {
+        Activation<String> a = appear("a");
+        Activation<String> b = appear("b");
+        Activation<String> c = appear("c");
+        // in the order of the arrival
+        assertEquals(Arrays.<Activation<?>> asList(a, b, c), list(agenda.getActivations(DynamicActivationState.APPEARED)));
+
+        rule.activationStateTransition(b, RuleEngineEventType.FIRE);
+        assertEquals(Arrays.<Activation<?>> asList(a, c), list(agenda.getActivations(DynamicActivationState.APPEARED)));
+        assertEquals(Arrays.<Activation<?>> asList(b), list(agenda.getActivations(DynamicActivationState.FIRED)));
+        assertFalse(agenda.getActivations(DynamicActivationState.APPEARED).contains(b));
+        assertTrue(agenda.getActivations(DynamicActivationState.FIRED).contains(b));
+
+        rule.activationStateTransition(b, DynamicEventType.UPDATED);
+        rule.activationStateTransition(a, RuleEngineEventType.FIRE);
+        rule.activationStateTransition(b, RuleEngineEventType.FIRE);
+        // a moved activation is appended to the end of its new state
+        assertEquals(Arrays.<Activation<?>> asList(a, b), list(agenda.getActivations(DynamicActivationState.FIRED)));
+        assertTrue(agenda.getActivations(DynamicActivationState.UPDATED).isEmpty());
+        assertEquals(3, agenda.getAllActivations().size());
+    }
+
+    @Test
+    public void inactiveActivationsAreRemoved() {
+        Activation<String> a = appear("a");
+        Activation<String> b = appear("b");
+        rule.activationStateTransition(b, RuleEngineEventType.FIRE);
+
+        rule.activationStateTransition(a, DynamicEventType.DISAPPEARED);
+        rule.activationStateTransition(b, DynamicEventType.DISAPPEARED);
+        assertTrue(agenda.getActivations(DynamicActivationState.APPEARED).isEmpty());
+        assertTrue(agenda.getActivations(DynamicActivationState.FIRED).isEmpty());
+        assertFalse(agenda.getAllActivations().contains(a));
+        assertFalse(agenda.getAllActivations().contains(b));
+        assertTrue(agenda.getAllActivations().isEmpty());
+
+        // a removed activation can appear again
+        rule.activationStateTransition(a, DynamicEventType.APPEARED);
+        assertEquals(Arrays.<Activation<?>> asList(a), list(agenda.getActivations(DynamicActivationState.APPEARED)));
+    }
+
+    @Test
+    public void eventsWithoutTransitionKeepTheOrder() {
+        Activation<String> a = appear("a");
+        Activation<String> b = appear("b");
+        // no transition defined for the appeared state
+        assertEquals(DynamicActivationState.APPEARED, rule.activationStateTransition(a, DynamicEventType.UPDATED));
+        assertEquals(Arrays.<Activation<?>> asList(a, b), list(agenda.getActivations(DynamicActivationState.APPEARED)));
+    }
+
+    @Test
+    public void stateViewsAreLive() {
+        Collection<Activation<?>> appeared = agenda.getActivations(DynamicActivationState.APPEARED);
+        Collection<Activation<?>> fired = agenda.getActivations(DynamicActivationState.FIRED);
+        Collection<Activation<?>> all = agenda.getAllActivations();
+        assertTrue(appeared.isEmpty());
+
+        Activation<String> a = appear("a");
+        Activation<String> b = appear("b");
+        assertEquals(2, appeared.size());
+        assertEquals(2, all.size());
+        assertTrue(all.contains(a));
+
+        rule.activationStateTransition(a, RuleEngineEventType.FIRE);
+        assertEquals(Arrays.<Activation<?>> asList(b), list(appeared));
+        assertEquals(Arrays.<Activation<?>> asList(a), list(fired));
+        assertEquals(new HashSet<Activation<?>>(Arrays.asList(a, b)), new HashSet<Activation<?>>(all));
+
+        rule.activationStateTransition(b, DynamicEventType.DISAPPEARED);
+        assertTrue(appeared.isEmpty());
+        assertFalse(all.contains(b));
+        assertEquals(1, all.size());
+    }
+
+    @Test
+    public void activationMultimapIsASnapshot() {
+        Activation<String> a = appear("a");
+        Activation<String> b = appear("b");
+        Multimap<ActivationState, Activation<?>> snapshot = agenda.getActivations();
+        assertEquals(2, snapshot.size());
+        assertEquals(Arrays.<Activation<?>> asList(a, b), list(snapshot.get(DynamicActivationState.APPEARED)));
+
+        rule.activationStateTransition(a, RuleEngineEventType.FIRE);
+        appear("c");
+        assertEquals(2, snapshot.size());
+        assertEquals(Arrays.<Activation<?>> asList(a, b), list(snapshot.get(DynamicActivationState.APPEARED)));
+        assertTrue(snapshot.get(DynamicActivationState.FIRED).isEmpty());
+    }
+
+    @Test
+    public void iteratorsFailOnChanges() {
+        Activation<String> a = appear("a");
+        appear("b");
+        Iterator<Activation<?>> iterator = agenda.getActivations(DynamicActivationState.APPEARED).iterator();
+        iterator.next();
+        try {
+            iterator.remove();
+            fail("Activations removed through the view");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        rule.activationStateTransition(a, RuleEngineEventType.FIRE);
+        try {
+            iterator.next();
+            fail("Iteration continued after a change of the state");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        // the changes of the other states do not affect the iteration
+        iterator = agenda.getActivations(DynamicActivationState.APPEARED).iterator();
+        rule.activationStateTransition(a, DynamicEventType.UPDATED);
+        assertEquals("b", iterator.next().getAtom());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void contentsMatchTheDefaultAgenda() {
+        TestRuleBase defaultRuleBase = new TestRuleBase(Agenda.DEFAULT_FACTORY);
+        RuleInstance<String> defaultRule = defaultRuleBase.addRule(specification);
+        List<RuleInstance<String>> rules = Arrays.asList(rule, defaultRule);
+        for (RuleInstance<String> instance : rules) {
+            for (String atom : Arrays.asList("a", "b", "c", "d")) {
+                instance.activationStateTransition(instance.createActivation(atom), DynamicEventType.APPEARED);
+            }
+            instance.activationStateTransition(instance.getActivations().get(DynamicActivationState.APPEARED, "a"),
+                    RuleEngineEventType.FIRE);
+            instance.activationStateTransition(instance.getActivations().get(DynamicActivationState.APPEARED, "b"),
+                    RuleEngineEventType.FIRE);
+            instance.activationStateTransition(instance.getActivations().get(DynamicActivationState.FIRED, "b"),
+                    DynamicEventType.UPDATED);
+            instance.activationStateTransition(instance.getActivations().get(DynamicActivationState.APPEARED, "c"),
+                    DynamicEventType.DISAPPEARED);
+        }
+
+        Agenda defaultAgenda = defaultRuleBase.getAgenda();
+        for (DynamicActivationState state : DynamicActivationState.values()) {
+            assertEquals(state.toString(), atoms(defaultAgenda.getActivations(state)),
+                    atoms(agenda.getActivations(state)));
+            assertEquals(state.toString(), atoms(defaultAgenda.getActivations().get(state)),
+                    atoms(agenda.getActivations().get(state)));
+        }
+        assertEquals(atoms(defaultAgenda.getAllActivations()), atoms(agenda.getAllActivations()));
+    }
+
+    private static HashSet<Object> atoms(Collection<Activation<?>> activations) {
+        HashSet<Object> atoms = new HashSet<Object>();
+        for (Activation<?> activation : activations) {
+            atoms.add(activation.getAtom());
+        }
+        return atoms;
+    }
+
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.emf.EMFBaseIndexWrapper;
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the selection between the alternative plans of a matcher. Both plans find the single value 1, but the cost
+ * of a plan depends on the number of values it enumerates and filters, which can be changed between the searches.
+ */
+public class AdaptivePlanSelectionTest {
+
+    /**
+     * The number of measured searches of a plan, and the interval of the monitored searches of the selected plan
+     */
+    private static final int SAMPLE_SIZE = 8;
+    private static final int MONITORING_INTERVAL = 16;
+
+    private static final class IterateValues extends ExtendOperation<Integer> {
+
+        private List<Integer> values;
+        private int initializations;
+
+        public IterateValues(int valueCount) {
+            super(0);
+            setValueCount(valueCount);
+        }
+
+        public void setValueCount(int valueCount) {
+            values = new ArrayList<Integer>();
+            for (int i = 1; i <= valueCount; i++) {
+                values.add(i);
+            }
+        }
+
+        @Override
+        public void onInitialize(MatchingFrame frame, ISearchContext context) {
+            initializations++;
+            it = values.iterator();
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(position);
+        }
+    }
+
+    private static final class IsOne extends CheckOperation {
+
+        @Override
+        protected boolean check(MatchingFrame frame) {
+            return Integer.valueOf(1).equals(frame.getValueAt(0));
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(0);
+        }
+    }
+
+    private NavigationHelper navigationHelper;
+    private ISearchContext context;
+    private TestPQuery query;
+
+    @Before
+    public void setUp() throws IncQueryBaseException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions(), Logger.getLogger(AdaptivePlanSelectionTest.class));
+        context = new ISearchContext.SearchContext(new EMFBaseIndexWrapper(navigationHelper));
+        query = new TestPQuery("one", "value") {
+            @Override
+            protected void createConstraints(PBody body) {
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        navigationHelper.dispose();
+    }
+
+    private SearchPlanExecutor executor(IterateValues operation) {
+        SearchPlan plan = new SearchPlan();
+        plan.addOperations(Arrays.<ISearchOperation> asList(operation, new IsOne()));
+        return new SearchPlanExecutor(plan, context, Collections.<PVariable, Integer> emptyMap());
+    }
+
+    private LocalSearchMatcher matcher(IterateValues primary, IterateValues alternative) {
+        LocalSearchMatcher matcher = new LocalSearchMatcher(query, executor(primary), 1, 1);
+        matcher.addAlternativePlan(Collections.singletonList(executor(alternative)), null);
+        return matcher;
+    }
+
+    private static void search(LocalSearchMatcher matcher, int count) throws LocalSearchException {
+        for (int i = 0; i < count; i++) {
+            // the results must not depend on the selected plan
+            assertEquals(1, matcher.countMatches());
+        }
+    }
+
+    @Test
+    public void cheaperAlternativeIsSelected() throws LocalSearchException {
+        IterateValues expensive = new IterateValues(10);
+        IterateValues cheap = new IterateValues(1);
+        LocalSearchMatcher matcher = matcher(expensive, cheap);
+
+        search(matcher, 2 * SAMPLE_SIZE);
+        assertEquals(SAMPLE_SIZE, expensive.initializations);
+        assertEquals(SAMPLE_SIZE, cheap.initializations);
+
+        search(matcher, MONITORING_INTERVAL);
+        assertEquals(SAMPLE_SIZE, expensive.initializations);
+        assertEquals(SAMPLE_SIZE + MONITORING_INTERVAL, cheap.initializations);
+    }
+
+    @Test
+    public void selectedPrimaryPlanIsKept() throws LocalSearchException {
+        IterateValues cheap = new IterateValues(1);
+        // less than twice as expensive, so it is measured completely
+        IterateValues expensive = new IterateValues(2);
+        LocalSearchMatcher matcher = matcher(cheap, expensive);
+
+        search(matcher, 2 * SAMPLE_SIZE + MONITORING_INTERVAL);
+        assertEquals(SAMPLE_SIZE + MONITORING_INTERVAL, cheap.initializations);
+        assertEquals(SAMPLE_SIZE, expensive.initializations);
+    }
+
+    @Test
+    public void muchMoreExpensiveAlternativeIsAbandonedEarly() throws LocalSearchException {
+        IterateValues cheap = new IterateValues(1);
+        IterateValues expensive = new IterateValues(100);
+        LocalSearchMatcher matcher = matcher(cheap, expensive);
+
+        search(matcher, 2 * SAMPLE_SIZE + MONITORING_INTERVAL);
+        // a single search costs more than twice the cost of all sampled searches of the cheap plan
+        assertEquals(1, expensive.initializations);
+        assertEquals(2 * SAMPLE_SIZE + MONITORING_INTERVAL - 1, cheap.initializations);
+    }
+
+    @Test
+    public void changedCostsRestartTheSelection() throws LocalSearchException {
+        IterateValues primary = new IterateValues(1);
+        IterateValues alternative = new IterateValues(2);
+        LocalSearchMatcher matcher = matcher(primary, alternative);
+        search(matcher, 2 * SAMPLE_SIZE);
+
+        // the selected plan becomes expensive, which is noticed after the monitored searches
+        primary.setValueCount(100);
+        alternative.setValueCount(1);
+        search(matcher, SAMPLE_SIZE * MONITORING_INTERVAL);
+        assertEquals(SAMPLE_SIZE, alternative.initializations);
+
+        // the selected plan is measured again first, then the alternative
+        search(matcher, 2 * SAMPLE_SIZE);
+        assertEquals(2 * SAMPLE_SIZE, alternative.initializations);
+        int primaryInitializations = primary.initializations;
+        search(matcher, MONITORING_INTERVAL);
+        assertEquals(primaryInitializations, primary.initializations);
+        assertEquals(2 * SAMPLE_SIZE + MONITORING_INTERVAL, alternative.initializations);
+    }
+
+}
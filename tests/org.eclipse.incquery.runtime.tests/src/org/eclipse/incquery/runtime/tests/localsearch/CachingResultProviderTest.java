@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.CachingLocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.IExpressionEvaluator;
+import org.eclipse.incquery.runtime.matchers.psystem.IValueProvider;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.ExpressionEvaluation;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Checks which calls of the caching local search backend search the model. The query selects the classes with a name
+ * starting with "Selected" through an expression, which counts its evaluations.
+ */
+public class CachingResultProviderTest {
+
+    private static final String PREFIX = "Selected";
+
+    private ResourceSetImpl resourceSet;
+    private EPackage ePackage;
+    private EClass selected1;
+    private EClass selected2;
+    private EClass other;
+    private AdvancedIncQueryEngine engine;
+    private int evaluations;
+    /**
+     * Executed by the next evaluation of the expression
+     */
+    private Runnable duringEvaluation;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        selected1 = addEClass(PREFIX + 1);
+        selected2 = addEClass(PREFIX + 2);
+        other = addEClass("Other");
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+        // the stored results must stop observing the model
+        assertTrue("The base index was not disposed", resourceSet.eAdapters().isEmpty());
+    }
+
+    private EClass addEClass(String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    private IQueryResultProvider getResultProvider(Object... hints) throws IncQueryException,
+            QueryProcessingException {
+        Map<String, Object> hintMap = new HashMap<String, Object>();
+        for (int i = 0; i < hints.length; i += 2) {
+            hintMap.put((String) hints[i], hints[i + 1]);
+        }
+        TestPQuery query = new TestPQuery("selectedClasses", CachingLocalSearchBackendFactory.INSTANCE, hintMap, "c") {
+            @Override
+            protected void createConstraints(PBody body) {
+                PVariable c = body.getOrCreateVariableByName("c");
+                new TypeConstraint(body, new FlatTuple(c), new EClassTransitiveInstancesKey(
+                        EcorePackage.Literals.ECLASS));
+                new ExpressionEvaluation(body, new IExpressionEvaluator() {
+
+                    @Override
+                    public String getShortDescription() {
+                        return "name starts with " + PREFIX;
+                    }
+
+                    @Override
+                    public Iterable<String> getInputParameterNames() {
+                        return Collections.singleton("c");
+                    }
+
+                    @Override
+                    public Object evaluateExpression(IValueProvider provider) {
+                        evaluations++;
+                        if (duringEvaluation != null) {
+                            Runnable action = duringEvaluation;
+                            duringEvaluation = null;
+                            action.run();
+                        }
+                        return ((EClass) provider.getValue("c")).getName().startsWith(PREFIX);
+                    }
+                }, null);
+            }
+        };
+        return engine.getQueryBackend(CachingLocalSearchBackendFactory.INSTANCE).getResultProvider(query);
+    }
+
+    private static Set<Object> matchedClasses(Collection<? extends Tuple> matches) {
+        Set<Object> classes = new HashSet<Object>();
+        for (Tuple match : matches) {
+            classes.add(match.get(0));
+        }
+        return classes;
+    }
+
+    private static Set<Object> classes(Object... classes) {
+        Set<Object> result = new HashSet<Object>();
+        Collections.addAll(result, classes);
+        return result;
+    }
+
+    private static Object[] bound(EClass eClass) {
+        return new Object[] { eClass };
+    }
+
+    private static Object[] unbound() {
+        return new Object[1];
+    }
+
+    @Test
+    public void allMatchesAreStored() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        Collection<? extends Tuple> matches = provider.getAllMatches(unbound());
+        assertEquals(classes(selected1, selected2), matchedClasses(matches));
+        assertEquals(3, evaluations);
+
+        assertSame(matches, provider.getAllMatches(unbound()));
+        // counts, single matches and iterations are answered from the stored matches
+        assertEquals(2, provider.countMatches(unbound()));
+        assertTrue(classes(selected1, selected2).contains(provider.getOneArbitraryMatch(unbound()).get(0)));
+        assertEquals(matchedClasses(matches), matchedClasses(Lists.newArrayList(provider.iterateMatches(unbound()))));
+        assertEquals(3, evaluations);
+    }
+
+    @Test
+    public void countsAreStored() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        assertEquals(2, provider.countMatches(unbound()));
+        assertEquals(2, provider.countMatches(unbound()));
+        assertEquals(3, evaluations);
+    }
+
+    @Test
+    public void resultsAreStoredForEachBinding() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        assertEquals(1, provider.countMatches(bound(selected1)));
+        assertEquals(1, provider.countMatches(bound(selected1)));
+        assertEquals(1, evaluations);
+        assertEquals(1, provider.countMatches(bound(selected2)));
+        assertEquals(2, evaluations);
+    }
+
+    @Test
+    public void missingMatchIsStored() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        assertNull(provider.getOneArbitraryMatch(bound(other)));
+        // a stored null must not be mistaken for a missing result
+        assertNull(provider.getOneArbitraryMatch(bound(other)));
+        assertEquals(1, evaluations);
+
+        assertEquals(selected1, provider.getOneArbitraryMatch(bound(selected1)).get(0));
+        assertEquals(selected1, provider.getOneArbitraryMatch(bound(selected1)).get(0));
+        assertEquals(2, evaluations);
+    }
+
+    @Test
+    public void modelChangesDiscardTheResults() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        Collection<? extends Tuple> matches = provider.getAllMatches(unbound());
+        assertEquals(2, provider.countMatches(bound(selected1)) + provider.countMatches(bound(selected2)));
+        assertNull(provider.getOneArbitraryMatch(bound(other)));
+
+        EClass selected3 = addEClass(PREFIX + 3);
+        Collection<? extends Tuple> newMatches = provider.getAllMatches(unbound());
+        assertNotSame(matches, newMatches);
+        assertEquals(classes(selected1, selected2, selected3), matchedClasses(newMatches));
+        assertEquals(3, provider.countMatches(unbound()));
+        assertEquals(1, provider.countMatches(bound(selected3)));
+
+        ePackage.getEClassifiers().remove(selected1);
+        assertEquals(classes(selected2, selected3), matchedClasses(provider.getAllMatches(unbound())));
+        assertEquals(2, provider.countMatches(unbound()));
+        assertNull(provider.getOneArbitraryMatch(bound(other)));
+    }
+
+    @Test
+    public void unrelatedChangesKeepTheResults() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        Collection<? extends Tuple> matches = provider.getAllMatches(unbound());
+        // the name of a package is not used by the query
+        ePackage.setName("renamed");
+        assertSame(matches, provider.getAllMatches(unbound()));
+        assertEquals(3, evaluations);
+    }
+
+    @Test
+    public void changeDuringSearchIsNotStored() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider();
+        duringEvaluation = new Runnable() {
+            @Override
+            public void run() {
+                addEClass(PREFIX + 3);
+            }
+        };
+        assertEquals(1, provider.countMatches(bound(selected1)));
+        assertEquals(1, evaluations);
+        // the result may be outdated, so it is computed again
+        assertEquals(1, provider.countMatches(bound(selected1)));
+        assertEquals(2, evaluations);
+        assertEquals(1, provider.countMatches(bound(selected1)));
+        assertEquals(2, evaluations);
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsAreEvicted() throws IncQueryException, QueryProcessingException {
+        EClass selected3 = addEClass(PREFIX + 3);
+        IQueryResultProvider provider = getResultProvider(LocalSearchHintKeys.RESULT_CACHE_SIZE, 2);
+        provider.getAllMatches(bound(selected1));
+        provider.getAllMatches(bound(selected2));
+        // selected1 becomes the most recently used one, so selected2 is evicted by the third result
+        provider.getAllMatches(bound(selected1));
+        provider.getAllMatches(bound(selected3));
+        assertEquals(3, evaluations);
+        provider.getAllMatches(bound(selected1));
+        assertEquals(3, evaluations);
+        provider.getAllMatches(bound(selected2));
+        assertEquals(4, evaluations);
+    }
+
+    @Test
+    public void limitIsCountedInTuples() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(LocalSearchHintKeys.RESULT_CACHE_SIZE, 2);
+        provider.getAllMatches(bound(selected1));
+        provider.countMatches(bound(other));
+        assertEquals(2, evaluations);
+        // the two matches evict both stored results
+        provider.getAllMatches(unbound());
+        assertEquals(5, evaluations);
+        provider.getAllMatches(unbound());
+        assertEquals(5, evaluations);
+        provider.countMatches(bound(other));
+        assertEquals(6, evaluations);
+        // the stored count evicted the matches again
+        assertEquals(2, provider.countMatches(unbound()));
+        assertEquals(9, evaluations);
+    }
+
+    @Test
+    public void resultsWithoutMatchesDoNotCountToTheLimit() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(LocalSearchHintKeys.RESULT_CACHE_SIZE, 1);
+        provider.getAllMatches(bound(selected1));
+        provider.getAllMatches(bound(other));
+        provider.getAllMatches(bound(selected1));
+        provider.getAllMatches(bound(other));
+        assertEquals(2, evaluations);
+    }
+
+    @Test
+    public void resultsLargerThanTheLimitAreNotStored() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(LocalSearchHintKeys.RESULT_CACHE_SIZE, 1);
+        provider.getAllMatches(unbound());
+        provider.getAllMatches(unbound());
+        assertEquals(6, evaluations);
+    }
+
+    @Test
+    public void zeroSizeDisablesTheCache() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(LocalSearchHintKeys.RESULT_CACHE_SIZE, 0);
+        provider.countMatches(bound(selected1));
+        provider.countMatches(bound(selected1));
+        assertEquals(2, evaluations);
+    }
+
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.emf.EMFBaseIndexWrapper;
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.CallResultTable;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Checks which calls of a called matcher are answered by the table. The called matcher binds a single variable to the
+ * values 1, 2 and 3 from a bound argument, and counts its evaluations.
+ */
+public class CallResultTableTest {
+
+    private static final class CountedValues extends ExtendOperation<Integer> {
+
+        private int evaluations;
+
+        public CountedValues() {
+            super(1);
+        }
+
+        @Override
+        public void onInitialize(MatchingFrame frame, ISearchContext context) {
+            evaluations++;
+            it = Arrays.asList(1, 2, 3).iterator();
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(position);
+        }
+    }
+
+    private EPackage ePackage;
+    private NavigationHelper navigationHelper;
+    private ISearchContext context;
+    private CountedValues operation;
+    private LocalSearchMatcher matcher;
+
+    @Before
+    public void setUp() throws IncQueryBaseException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions(), Logger.getLogger(CallResultTableTest.class));
+        navigationHelper.registerEClasses(ImmutableSet.of(EcorePackage.Literals.ECLASS));
+        context = new ISearchContext.SearchContext(new EMFBaseIndexWrapper(navigationHelper));
+
+        operation = new CountedValues();
+        SearchPlan plan = new SearchPlan();
+        plan.addOperations(Collections.<ISearchOperation> singletonList(operation));
+        TestPQuery query = new TestPQuery("values", "argument") {
+            @Override
+            protected void createConstraints(PBody body) {
+            }
+        };
+        matcher = new LocalSearchMatcher(query, new SearchPlanExecutor(plan, context,
+                Collections.<PVariable, Integer> emptyMap()), 2, 2);
+    }
+
+    @After
+    public void tearDown() {
+        // fails if a table kept listening to the index
+        navigationHelper.dispose();
+    }
+
+    private MatchingFrame frame(Object argument) {
+        MatchingFrame frame = matcher.editableMatchingFrame();
+        frame.setValueAt(0, argument);
+        return frame;
+    }
+
+    private void addEClass() {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName("Class" + ePackage.getEClassifiers().size());
+        ePackage.getEClassifiers().add(eClass);
+    }
+
+    @Test
+    public void resultsAreStoredForEachArgument() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10);
+        assertEquals(3, table.countMatches(matcher, frame("a")));
+        assertEquals(3, table.countMatches(matcher, frame("a")));
+        assertEquals(1, operation.evaluations);
+        assertEquals(3, table.countMatches(matcher, frame("b")));
+        assertEquals(2, operation.evaluations);
+    }
+
+    @Test
+    public void callTypesAreStoredSeparately() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10);
+        assertTrue(table.hasMatch(matcher, frame("a")));
+        assertEquals(3, table.countMatches(matcher, frame("a")));
+        assertEquals(3, table.getAllMatches(matcher, frame("a")).size());
+        int evaluations = operation.evaluations;
+        assertTrue(table.hasMatch(matcher, frame("a")));
+        assertEquals(3, table.countMatches(matcher, frame("a")));
+        assertEquals(3, table.getAllMatches(matcher, frame("a")).size());
+        assertEquals(evaluations, operation.evaluations);
+    }
+
+    @Test
+    public void leastRecentlyUsedResultIsEvicted() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(2);
+        table.countMatches(matcher, frame("a"));
+        table.countMatches(matcher, frame("b"));
+        // a becomes the most recently used one, so b is evicted by c
+        table.countMatches(matcher, frame("a"));
+        table.countMatches(matcher, frame("c"));
+        assertEquals(3, operation.evaluations);
+        table.countMatches(matcher, frame("a"));
+        assertEquals(3, operation.evaluations);
+        table.countMatches(matcher, frame("b"));
+        assertEquals(4, operation.evaluations);
+    }
+
+    @Test
+    public void zeroSizeDisablesTheTable() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(0);
+        table.countMatches(matcher, frame("a"));
+        table.countMatches(matcher, frame("a"));
+        assertEquals(2, operation.evaluations);
+    }
+
+    @Test
+    public void resultsAreClearedAtTheStartOfASearch() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10);
+        table.countMatches(matcher, frame("a"));
+        table.searchStarted();
+        table.countMatches(matcher, frame("a"));
+        assertEquals(2, operation.evaluations);
+    }
+
+    @Test
+    public void keptResultsAreClearedByIndexChanges() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10, navigationHelper);
+        table.countMatches(matcher, frame("a"));
+        table.searchStarted();
+        table.countMatches(matcher, frame("a"));
+        assertEquals(1, operation.evaluations);
+
+        addEClass();
+        table.countMatches(matcher, frame("a"));
+        assertEquals(2, operation.evaluations);
+        // the listener is registered again by the new result
+        addEClass();
+        table.countMatches(matcher, frame("a"));
+        assertEquals(3, operation.evaluations);
+        table.dispose();
+    }
+
+    @Test
+    public void unrelatedChangesKeepTheResults() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10, navigationHelper);
+        table.countMatches(matcher, frame("a"));
+        // the name of a package is not indexed
+        ePackage.setName("renamed");
+        table.countMatches(matcher, frame("a"));
+        assertEquals(1, operation.evaluations);
+        assertFalse(table.getAllMatches(matcher, frame("a")).isEmpty());
+        table.dispose();
+    }
+
+    @Test
+    public void disposedTableStopsListening() throws LocalSearchException {
+        CallResultTable table = new CallResultTable(10, navigationHelper);
+        table.countMatches(matcher, frame("a"));
+        table.dispose();
+        table.countMatches(matcher, frame("a"));
+        assertEquals(2, operation.evaluations);
+        // the index can only be disposed in tearDown if the table stops listening again
+        table.dispose();
+    }
+
+}
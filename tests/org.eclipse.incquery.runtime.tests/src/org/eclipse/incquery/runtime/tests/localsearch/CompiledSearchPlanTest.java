@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.CompiledSearchPlan.IMatchCollector;
+import org.junit.Test;
+
+/**
+ * Runs compiled plans of simple operations over integers, without a model.
+ */
+public class CompiledSearchPlanTest {
+
+    private static final class IterateValues extends ExtendOperation<Integer> {
+
+        private final List<Integer> values;
+        private int initializations;
+
+        public IterateValues(int position, Integer... values) {
+            super(position);
+            this.values = Arrays.asList(values);
+        }
+
+        @Override
+        public void onInitialize(MatchingFrame frame, ISearchContext context) {
+            initializations++;
+            it = values.iterator();
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(position);
+        }
+    }
+
+    /**
+     * Checks that the value at the second position is larger than the one at the first
+     */
+    private static final class LessThan extends CheckOperation {
+
+        private final int first;
+        private final int second;
+        private int executions;
+
+        public LessThan(int first, int second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        protected boolean check(MatchingFrame frame) {
+            executions++;
+            return (Integer) frame.getValueAt(first) < (Integer) frame.getValueAt(second);
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(first, second);
+        }
+    }
+
+    private static final class CollectAll implements IMatchCollector {
+
+        private final List<List<Object>> matches = new ArrayList<List<Object>>();
+        private final int limit;
+
+        public CollectAll(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean matchFound(MatchingFrame frame) {
+            matches.add(Arrays.asList(frame.getValueAt(0), frame.getValueAt(1), frame.getValueAt(2)));
+            return matches.size() < limit;
+        }
+    }
+
+    private static List<List<Object>> execute(List<ISearchOperation> operations, MatchingFrame frame, int limit)
+            throws LocalSearchException {
+        CollectAll collector = new CollectAll(limit);
+        boolean finished = new CompiledSearchPlan(operations).execute(frame, null, collector);
+        assertEquals(collector.matches.size() < limit, finished);
+        return collector.matches;
+    }
+
+    private static List<Object> match(Object... values) {
+        return Arrays.asList(values);
+    }
+
+    @Test
+    public void nestedLoopsEnumerateAllCombinations() throws LocalSearchException {
+        List<ISearchOperation> operations = Arrays.<ISearchOperation> asList(new IterateValues(0, 1, 2),
+                new IterateValues(1, 3, 4));
+        List<List<Object>> matches = execute(operations, new MatchingFrame(null, 2, 3), Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(match(1, 3, null), match(1, 4, null), match(2, 3, null), match(2, 4, null)),
+                matches);
+    }
+
+    @Test
+    public void checksFilterTheEnclosingLoop() throws LocalSearchException {
+        LessThan firstCheck = new LessThan(0, 1);
+        LessThan secondCheck = new LessThan(1, 2);
+        List<ISearchOperation> operations = Arrays.<ISearchOperation> asList(new IterateValues(0, 1, 2, 3),
+                new IterateValues(1, 1, 2, 3), firstCheck, new IterateValues(2, 1, 2, 3), secondCheck);
+        List<List<Object>> matches = execute(operations, new MatchingFrame(null, 3, 3), Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(match(1, 2, 3)), matches);
+        assertEquals(9, firstCheck.executions);
+        // the second check only runs for the pairs accepted by the first one
+        assertEquals(9, secondCheck.executions);
+    }
+
+    @Test
+    public void consecutiveChecksStopAtTheFirstFailure() throws LocalSearchException {
+        LessThan failingCheck = new LessThan(1, 0);
+        LessThan skippedCheck = new LessThan(0, 1);
+        List<ISearchOperation> operations = Arrays.<ISearchOperation> asList(failingCheck, skippedCheck);
+        MatchingFrame frame = new MatchingFrame(null, 2, 3);
+        frame.setValueAt(0, Integer.valueOf(1));
+        frame.setValueAt(1, Integer.valueOf(2));
+        assertTrue(execute(operations, frame, Integer.MAX_VALUE).isEmpty());
+        assertEquals(1, failingCheck.executions);
+        assertEquals(0, skippedCheck.executions);
+    }
+
+    @Test
+    public void collectorStopsTheSearch() throws LocalSearchException {
+        IterateValues inner = new IterateValues(1, 3, 4);
+        List<ISearchOperation> operations = Arrays.<ISearchOperation> asList(new IterateValues(0, 1, 2), inner);
+        List<List<Object>> matches = execute(operations, new MatchingFrame(null, 2, 3), 3);
+        assertEquals(Arrays.asList(match(1, 3, null), match(1, 4, null), match(2, 3, null)), matches);
+        assertEquals(2, inner.initializations);
+    }
+
+    @Test
+    public void finishedSearchRestoresTheFrame() throws LocalSearchException {
+        List<ISearchOperation> operations = Arrays.<ISearchOperation> asList(new IterateValues(1, 3, 4),
+                new IterateValues(2, 5));
+        MatchingFrame frame = new MatchingFrame(null, 2, 3);
+        frame.setValueAt(0, Integer.valueOf(1));
+        assertEquals(2, execute(operations, frame, Integer.MAX_VALUE).size());
+        assertEquals(1, frame.getValueAt(0));
+        assertNull(frame.getValueAt(1));
+        assertNull(frame.getValueAt(2));
+    }
+
+    @Test
+    public void planWithoutOperationsHasOneMatch() throws LocalSearchException {
+        MatchingFrame frame = new MatchingFrame(null, 1, 3);
+        frame.setValueAt(0, Integer.valueOf(1));
+        List<List<Object>> matches = execute(new ArrayList<ISearchOperation>(), frame, Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(match(1, null, null)), matches);
+        assertFalse(execute(new ArrayList<ISearchOperation>(), frame, 1).isEmpty());
+    }
+
+}
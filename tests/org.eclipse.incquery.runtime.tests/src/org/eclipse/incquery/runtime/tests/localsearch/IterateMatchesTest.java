@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.api.GenericPatternMatch;
+import org.eclipse.incquery.runtime.api.GenericPatternMatcher;
+import org.eclipse.incquery.runtime.api.GenericQuerySpecification;
+import org.eclipse.incquery.runtime.api.IncQueryEngine;
+import org.eclipse.incquery.runtime.api.scope.IncQueryScope;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IterateMatchesTest {
+
+    private static final int CLASS_COUNT = 4;
+    private static final int ATTRIBUTE_COUNT = 3;
+
+    private EPackage ePackage;
+    private AdvancedIncQueryEngine engine;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+            eClass.setName("Class" + i);
+            ePackage.getEClassifiers().add(eClass);
+            for (int j = 0; j < ATTRIBUTE_COUNT; j++) {
+                EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+                attribute.setName("attribute" + j);
+                eClass.getEStructuralFeatures().add(attribute);
+            }
+        }
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    /**
+     * The classes with their attributes.
+     */
+    private static PQuery attributesQuery(Map<String, Object> hints) {
+        return new TestPQuery("attributes", LocalSearchBackendFactory.INSTANCE, hints, "c", "a") {
+            @Override
+            protected void createConstraints(PBody body) {
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c")),
+                        new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                        body.getOrCreateVariableByName("a")), new EStructuralFeatureInstancesKey(
+                        EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES));
+            }
+        };
+    }
+
+    /**
+     * The classes having an attribute; the attribute is local to the body, so every class is found once for each of
+     * its attributes.
+     */
+    private static PQuery attributedClassesQuery(Map<String, Object> hints) {
+        return new TestPQuery("attributedClasses", LocalSearchBackendFactory.INSTANCE, hints, "c") {
+            @Override
+            protected void createConstraints(PBody body) {
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                        body.getOrCreateVariableByName("a")), new EStructuralFeatureInstancesKey(
+                        EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES));
+            }
+        };
+    }
+
+    private IQueryResultProvider getResultProvider(PQuery query) throws IncQueryException,
+            QueryProcessingException {
+        return engine.getQueryBackend(LocalSearchBackendFactory.INSTANCE).getResultProvider(query);
+    }
+
+    private GenericPatternMatcher getMatcher(PQuery query) throws IncQueryException {
+        return engine.getMatcher(new GenericQuerySpecification<GenericPatternMatcher>(query) {
+            @Override
+            protected GenericPatternMatcher instantiate(IncQueryEngine engine) throws IncQueryException {
+                return defaultInstantiate(engine);
+            }
+
+            @Override
+            public Class<? extends IncQueryScope> getPreferredScopeClass() {
+                return EMFScope.class;
+            }
+        });
+    }
+
+    /**
+     * Local search returns its matching frames, which may contain local variables after the parameters.
+     */
+    private static Set<Tuple> toParameterTuples(Iterator<? extends Tuple> matches, int parameterCount) {
+        Set<Tuple> tuples = new HashSet<Tuple>();
+        while (matches.hasNext()) {
+            Tuple match = matches.next();
+            Object[] elements = new Object[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                elements[i] = match.get(i);
+            }
+            assertTrue("Duplicate match " + match, tuples.add(new FlatTuple(elements)));
+        }
+        return tuples;
+    }
+
+    private static Set<Tuple> toParameterTuples(Iterable<? extends Tuple> matches, int parameterCount) {
+        return toParameterTuples(matches.iterator(), parameterCount);
+    }
+
+    @Test
+    public void iterationReturnsAllMatches() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(attributesQuery(new HashMap<String, Object>()));
+        Set<Tuple> matches = toParameterTuples(provider.iterateMatches(new Object[2]), 2);
+        assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT, matches.size());
+        assertEquals(toParameterTuples(provider.getAllMatches(new Object[2]), 2), matches);
+    }
+
+    @Test
+    public void iterationWithBoundParameter() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(attributesQuery(new HashMap<String, Object>()));
+        EClass eClass = (EClass) ePackage.getEClassifiers().get(1);
+        Set<Tuple> matches = toParameterTuples(provider.iterateMatches(new Object[] { eClass, null }), 2);
+        assertEquals(ATTRIBUTE_COUNT, matches.size());
+        for (Tuple match : matches) {
+            assertEquals(eClass, match.get(0));
+        }
+    }
+
+    @Test
+    public void iterationFiltersDuplicateFrames() throws IncQueryException, QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(attributedClassesQuery(new HashMap<String, Object>()));
+        // the duplicates would fail the conversion
+        assertEquals(CLASS_COUNT, toParameterTuples(provider.iterateMatches(new Object[1]), 1).size());
+    }
+
+    @Test
+    public void abandonedIterationDoesNotAffectLaterSearches() throws IncQueryException, QueryProcessingException {
+        for (boolean usePlanCache : new boolean[] { true, false }) {
+            Map<String, Object> hints = new HashMap<String, Object>();
+            hints.put(LocalSearchHintKeys.USE_PLAN_CACHE, usePlanCache);
+            IQueryResultProvider provider = getResultProvider(attributesQuery(hints));
+            Iterator<? extends Tuple> abandoned = provider.iterateMatches(new Object[2]);
+            assertTrue(abandoned.hasNext());
+            abandoned.next();
+            // a new search while the first one is still suspended
+            assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT, toParameterTuples(provider.iterateMatches(new Object[2]), 2)
+                    .size());
+            assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT, provider.countMatches(new Object[2]));
+            // the suspended search can still be continued
+            assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT - 1, toParameterTuples(abandoned, 2).size());
+            assertFalse(abandoned.hasNext());
+        }
+    }
+
+    @Test
+    public void matcherIteration() throws IncQueryException {
+        GenericPatternMatcher matcher = getMatcher(attributesQuery(new HashMap<String, Object>()));
+        Set<GenericPatternMatch> matches = new HashSet<GenericPatternMatch>();
+        Iterator<GenericPatternMatch> iterator = matcher.iterateMatches();
+        while (iterator.hasNext()) {
+            assertTrue(matches.add(iterator.next()));
+        }
+        assertEquals(new HashSet<GenericPatternMatch>(matcher.getAllMatches()), matches);
+    }
+
+    @Test
+    public void getMatchesRespectsTheLimit() throws IncQueryException {
+        GenericPatternMatcher matcher = getMatcher(attributesQuery(new HashMap<String, Object>()));
+        GenericPatternMatch unbound = matcher.newEmptyMatch();
+        Set<GenericPatternMatch> allMatches = new HashSet<GenericPatternMatch>(matcher.getAllMatches());
+        for (int limit : new int[] { 0, 1, 5, CLASS_COUNT * ATTRIBUTE_COUNT }) {
+            List<GenericPatternMatch> matches = matcher.getMatches(unbound, limit);
+            assertEquals(limit, matches.size());
+            assertEquals(limit, new HashSet<GenericPatternMatch>(matches).size());
+            assertTrue(allMatches.containsAll(matches));
+        }
+        assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT, matcher.getMatches(unbound, Integer.MAX_VALUE).size());
+
+        GenericPatternMatch partialMatch = matcher.newMatch(ePackage.getEClassifiers().get(0), null);
+        List<GenericPatternMatch> boundMatches = matcher.getMatches(partialMatch, CLASS_COUNT * ATTRIBUTE_COUNT);
+        assertEquals(ATTRIBUTE_COUNT, boundMatches.size());
+        for (GenericPatternMatch match : boundMatches) {
+            assertTrue(partialMatch.isCompatibleWith(match));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeLimitIsRejected() throws IncQueryException {
+        GenericPatternMatcher matcher = getMatcher(attributesQuery(new HashMap<String, Object>()));
+        matcher.getMatches(matcher.newEmptyMatch(), -1);
+    }
+
+}
@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.CachingLocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryBackendFactory;
+import org.eclipse.incquery.runtime.matchers.backend.IQueryResultProvider;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.NegativePatternCall;
+import org.eclipse.incquery.runtime.matchers.psystem.basicdeferred.PatternMatchCounter;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableList.Builder;
+
+/**
+ * Evaluates the same queries with each optional mode of the local search backend, and compares the results with the
+ * ones computed directly from the model. Every mode also has to follow the changes of the model.
+ */
+@RunWith(Parameterized.class)
+public class LocalSearchModesTest {
+
+    private static final int CLASS_COUNT = 12;
+
+    @Parameters(name = "{index}: {0}")
+    public static Collection<Object[]> data() {
+        Builder<Object[]> builder = ImmutableList.builder();
+        builder.add(mode("interpreted", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.USE_PLAN_COMPILATION, false, LocalSearchHintKeys.USE_PLAN_CACHE, false));
+        builder.add(mode("compiled", LocalSearchBackendFactory.INSTANCE, LocalSearchHintKeys.USE_PLAN_COMPILATION,
+                true));
+        builder.add(mode("parallel", LocalSearchBackendFactory.INSTANCE, LocalSearchHintKeys.PARALLELISM, 3));
+        builder.add(mode("without tabling", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.CALL_RESULT_TABLE_SIZE, 0));
+        builder.add(mode("tabling between searches", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.CALL_RESULT_TABLE_SIZE, 2, LocalSearchHintKeys.KEEP_CALL_RESULTS_BETWEEN_SEARCHES,
+                true));
+        builder.add(mode("adaptive plans", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.USE_ADAPTIVE_PLANS, true));
+        builder.add(mode("caching", CachingLocalSearchBackendFactory.INSTANCE));
+        builder.add(mode("caching with evictions", CachingLocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.RESULT_CACHE_SIZE, 5));
+        builder.add(mode("caching with tabling between searches", CachingLocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.CALL_RESULT_TABLE_SIZE, 2, LocalSearchHintKeys.KEEP_CALL_RESULTS_BETWEEN_SEARCHES,
+                true));
+        builder.add(mode("without base index", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.USE_BASE_INDEX, false));
+        builder.add(mode("parallel without base index", LocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.USE_BASE_INDEX, false, LocalSearchHintKeys.PARALLELISM, 3));
+        builder.add(mode("caching without base index", CachingLocalSearchBackendFactory.INSTANCE,
+                LocalSearchHintKeys.USE_BASE_INDEX, false));
+        return builder.build();
+    }
+
+    private static Object[] mode(String name, IQueryBackendFactory factory, Object... hints) {
+        Map<String, Object> hintMap = new HashMap<String, Object>();
+        for (int i = 0; i < hints.length; i += 2) {
+            hintMap.put((String) hints[i], hints[i + 1]);
+        }
+        return new Object[] { name, factory, hintMap };
+    }
+
+    @Parameter
+    public String modeName;
+
+    @Parameter(value = 1)
+    public IQueryBackendFactory backendFactory;
+
+    @Parameter(value = 2)
+    public Map<String, Object> hints;
+
+    private ResourceSetImpl resourceSet;
+    private EPackage ePackage;
+    private AdvancedIncQueryEngine engine;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        EClass previous = null;
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            EClass eClass = addEClass("Class" + i, i % 3);
+            if (previous != null && i % 2 == 0) {
+                eClass.getESuperTypes().add(previous);
+            }
+            previous = eClass;
+        }
+        // the parallel mode needs concurrent read mode; the others are not affected by it
+        BaseIndexOptions options = new BaseIndexOptions().withConcurrentReadMode(true);
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet, options));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+        // no mode may keep listeners on the base index after the engine is disposed
+        assertTrue("The base index was not disposed", resourceSet.eAdapters().isEmpty());
+    }
+
+    private EClass addEClass(String name, int attributeCount) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        for (int j = 0; j < attributeCount; j++) {
+            EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+            attribute.setName(name + "_attribute" + j);
+            eClass.getEStructuralFeatures().add(attribute);
+        }
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    private static void classAndFeature(PBody body, String classVariable, String featureVariable,
+            EStructuralFeature feature) {
+        new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName(classVariable)),
+                new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+        new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName(classVariable),
+                body.getOrCreateVariableByName(featureVariable)), new EStructuralFeatureInstancesKey(feature));
+    }
+
+    private static PQuery featuresQuery(Map<String, Object> hints) {
+        return new TestPQuery("features", LocalSearchBackendFactory.INSTANCE, hints, "c", "f") {
+            @Override
+            protected void createConstraints(PBody body) {
+                classAndFeature(body, "c", "f", EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES);
+            }
+        };
+    }
+
+    private static PQuery superTypesQuery(Map<String, Object> hints) {
+        return new TestPQuery("superTypes", LocalSearchBackendFactory.INSTANCE, hints, "c", "s") {
+            @Override
+            protected void createConstraints(PBody body) {
+                classAndFeature(body, "c", "s", EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+            }
+        };
+    }
+
+    /**
+     * The features and the supertypes of the classes, in two bodies
+     */
+    private PQuery relatedQuery() {
+        return new TestPQuery("related", backendFactory, hints, "c", "r") {
+            @Override
+            protected Set<PBody> doGetContainedBodies() {
+                Set<PBody> bodies = new LinkedHashSet<PBody>();
+                PBody featuresBody = createBody();
+                classAndFeature(featuresBody, "c", "r", EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES);
+                bodies.add(featuresBody);
+                PBody superTypesBody = createBody();
+                classAndFeature(superTypesBody, "c", "r", EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+                bodies.add(superTypesBody);
+                return bodies;
+            }
+
+            @Override
+            protected void createConstraints(PBody body) {
+            }
+        };
+    }
+
+    /**
+     * The classes without supertypes, through a negative pattern call
+     */
+    private PQuery rootClassesQuery() {
+        final PQuery superTypes = superTypesQuery(hints);
+        return new TestPQuery("rootClasses", backendFactory, hints, "c") {
+            @Override
+            protected void createConstraints(PBody body) {
+                PVariable c = body.getOrCreateVariableByName("c");
+                new TypeConstraint(body, new FlatTuple(c), new EClassTransitiveInstancesKey(
+                        EcorePackage.Literals.ECLASS));
+                new NegativePatternCall(body, new FlatTuple(c, body.getOrCreateVariableByName("_s")), superTypes);
+            }
+        };
+    }
+
+    /**
+     * The classes with the number of their features, through a counted pattern call
+     */
+    private PQuery featureCountQuery() {
+        final PQuery features = featuresQuery(hints);
+        return new TestPQuery("featureCount", backendFactory, hints, "c", "n") {
+            @Override
+            protected void createConstraints(PBody body) {
+                PVariable c = body.getOrCreateVariableByName("c");
+                new TypeConstraint(body, new FlatTuple(c), new EClassTransitiveInstancesKey(
+                        EcorePackage.Literals.ECLASS));
+                new PatternMatchCounter(body, new FlatTuple(c, body.getOrCreateVariableByName("_f")), features,
+                        body.getOrCreateVariableByName("n"));
+            }
+        };
+    }
+
+    private Set<Tuple> expectedRelated() {
+        Set<Tuple> expected = new HashSet<Tuple>();
+        for (EClass eClass : getClasses()) {
+            for (EStructuralFeature feature : eClass.getEStructuralFeatures()) {
+                expected.add(new FlatTuple(eClass, feature));
+            }
+            for (EClass superType : eClass.getESuperTypes()) {
+                expected.add(new FlatTuple(eClass, superType));
+            }
+        }
+        return expected;
+    }
+
+    private Set<Tuple> expectedRootClasses() {
+        Set<Tuple> expected = new HashSet<Tuple>();
+        for (EClass eClass : getClasses()) {
+            if (eClass.getESuperTypes().isEmpty()) {
+                expected.add(new FlatTuple(eClass));
+            }
+        }
+        return expected;
+    }
+
+    private Set<Tuple> expectedFeatureCounts() {
+        Set<Tuple> expected = new HashSet<Tuple>();
+        for (EClass eClass : getClasses()) {
+            expected.add(new FlatTuple(eClass, eClass.getEStructuralFeatures().size()));
+        }
+        return expected;
+    }
+
+    private Set<EClass> getClasses() {
+        Set<EClass> classes = new LinkedHashSet<EClass>();
+        for (EClassifier classifier : ePackage.getEClassifiers()) {
+            classes.add((EClass) classifier);
+        }
+        return classes;
+    }
+
+    private IQueryResultProvider getResultProvider(PQuery query) throws IncQueryException,
+            QueryProcessingException {
+        return engine.getQueryBackend(backendFactory).getResultProvider(query);
+    }
+
+    private static Set<Tuple> toParameterTuples(Collection<? extends Tuple> matches, int parameterCount) {
+        Set<Tuple> tuples = new HashSet<Tuple>();
+        for (Tuple match : matches) {
+            tuples.add(toParameterTuple(match, parameterCount));
+        }
+        assertEquals("Duplicate matches", matches.size(), tuples.size());
+        return tuples;
+    }
+
+    private static Tuple toParameterTuple(Tuple match, int parameterCount) {
+        Object[] elements = new Object[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            elements[i] = match.get(i);
+        }
+        return new FlatTuple(elements);
+    }
+
+    /**
+     * Checks all matches, the matches of each class, and the number of matches
+     */
+    private void assertResults(IQueryResultProvider provider, Set<Tuple> expected, int parameterCount) {
+        assertEquals(expected, toParameterTuples(provider.getAllMatches(new Object[parameterCount]), parameterCount));
+        assertEquals(expected.size(), provider.countMatches(new Object[parameterCount]));
+        for (EClass eClass : getClasses()) {
+            Object[] parameters = new Object[parameterCount];
+            parameters[0] = eClass;
+            Set<Tuple> expectedForClass = new HashSet<Tuple>();
+            for (Tuple tuple : expected) {
+                if (tuple.get(0) == eClass) {
+                    expectedForClass.add(tuple);
+                }
+            }
+            assertEquals(expectedForClass, toParameterTuples(provider.getAllMatches(parameters), parameterCount));
+            assertEquals(expectedForClass.size(), provider.countMatches(parameters));
+            Tuple match = provider.getOneArbitraryMatch(parameters);
+            if (expectedForClass.isEmpty()) {
+                assertNull(match);
+            } else {
+                assertTrue(expectedForClass.contains(toParameterTuple(match, parameterCount)));
+            }
+        }
+    }
+
+    /**
+     * Checks the results twice, so the reused plans and stored results are also used, then changes the model and
+     * checks them again.
+     */
+    private void assertResultsFollowTheModel(PQuery query, ExpectedResults expected) throws IncQueryException,
+            QueryProcessingException {
+        IQueryResultProvider provider = getResultProvider(query);
+        int parameterCount = query.getParameters().size();
+        assertResults(provider, expected.compute(), parameterCount);
+        assertResults(provider, expected.compute(), parameterCount);
+
+        EClass newClass = addEClass("NewClass", 2);
+        assertResults(provider, expected.compute(), parameterCount);
+        ((EClass) ePackage.getEClassifiers().get(0)).getESuperTypes().add(newClass);
+        ((EClass) ePackage.getEClassifiers().get(1)).getEStructuralFeatures().clear();
+        assertResults(provider, expected.compute(), parameterCount);
+    }
+
+    private interface ExpectedResults {
+        Set<Tuple> compute();
+    }
+
+    @Test
+    public void disjunction() throws IncQueryException, QueryProcessingException {
+        assertResultsFollowTheModel(relatedQuery(), new ExpectedResults() {
+            @Override
+            public Set<Tuple> compute() {
+                return expectedRelated();
+            }
+        });
+    }
+
+    @Test
+    public void negativeCall() throws IncQueryException, QueryProcessingException {
+        assertResultsFollowTheModel(rootClassesQuery(), new ExpectedResults() {
+            @Override
+            public Set<Tuple> compute() {
+                return expectedRootClasses();
+            }
+        });
+    }
+
+    @Test
+    public void countedCall() throws IncQueryException, QueryProcessingException {
+        assertResultsFollowTheModel(featureCountQuery(), new ExpectedResults() {
+            @Override
+            public Set<Tuple> compute() {
+                return expectedFeatureCounts();
+            }
+        });
+    }
+
+}
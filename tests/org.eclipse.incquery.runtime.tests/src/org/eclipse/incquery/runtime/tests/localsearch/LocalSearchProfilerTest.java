@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.emf.EMFBaseIndexWrapper;
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.exceptions.LocalSearchException;
+import org.eclipse.incquery.runtime.localsearch.matcher.ISearchContext;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchMatcher;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler;
+import org.eclipse.incquery.runtime.localsearch.matcher.LocalSearchProfiler.PlanProfile;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.check.CheckOperation;
+import org.eclipse.incquery.runtime.localsearch.operations.extend.ExtendOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlanExecutor;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Profiles a plan enumerating the values 1, 2 and 3, and keeping the value 1 only.
+ */
+public class LocalSearchProfilerTest {
+
+    private static final class IterateValues extends ExtendOperation<Integer> {
+
+        public IterateValues() {
+            super(0);
+        }
+
+        @Override
+        public void onInitialize(MatchingFrame frame, ISearchContext context) {
+            it = Arrays.asList(1, 2, 3).iterator();
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(position);
+        }
+    }
+
+    private static final class IsOne extends CheckOperation {
+
+        @Override
+        protected boolean check(MatchingFrame frame) {
+            return Integer.valueOf(1).equals(frame.getValueAt(0));
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return Arrays.asList(0);
+        }
+    }
+
+    private NavigationHelper navigationHelper;
+    private TestPQuery query;
+    private SearchPlanExecutor executor;
+    private LocalSearchMatcher matcher;
+
+    @Before
+    public void setUp() throws IncQueryBaseException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        navigationHelper = IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions(), Logger.getLogger(LocalSearchProfilerTest.class));
+        ISearchContext context = new ISearchContext.SearchContext(new EMFBaseIndexWrapper(navigationHelper));
+        query = new TestPQuery("one", "value") {
+            @Override
+            protected void createConstraints(PBody body) {
+            }
+        };
+        // the profiler finds the query through the constraints of the mapped variables
+        PBody body = query.getDisjunctBodies().getBodies().iterator().next();
+        PVariable value = body.getVariableByNameChecked("value");
+
+        SearchPlan plan = new SearchPlan();
+        plan.addOperations(Arrays.<ISearchOperation> asList(new IterateValues(), new IsOne()));
+        executor = new SearchPlanExecutor(plan, context, ImmutableMap.of(value, 0));
+        matcher = new LocalSearchMatcher(query, executor, 1, 1);
+    }
+
+    @After
+    public void tearDown() {
+        navigationHelper.dispose();
+    }
+
+    private MatchingFrame boundFrame() {
+        MatchingFrame frame = matcher.editableMatchingFrame();
+        frame.setValueAt(0, Integer.valueOf(1));
+        return frame;
+    }
+
+    @Test
+    public void operationsAreCounted() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        assertEquals(1, matcher.countMatches());
+
+        PlanProfile profile = profiler.getProfiles().iterator().next();
+        assertSame(query, profile.getQuery());
+        assertSame(executor, profile.getExecutor());
+        assertEquals(1, profile.getInitializationCount());
+        assertEquals(1, profile.getMatchCount());
+        // three values and the exhausted iterator
+        assertEquals(4, profile.getInvocationCount(0));
+        assertEquals(3, profile.getBindingCount(0));
+        assertEquals(1, profile.getBacktrackCount(0));
+        // the match, the repeated check when searching for the next match, and the two other values
+        assertEquals(4, profile.getInvocationCount(1));
+        assertEquals(1, profile.getBindingCount(1));
+        assertEquals(3, profile.getBacktrackCount(1));
+        assertEquals(8, profile.getTotalInvocationCount());
+        assertEquals(0, profile.getElapsedTime(0));
+    }
+
+    @Test
+    public void countersAreAggregatedOverSearches() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+        matcher.countMatches();
+
+        assertEquals(1, profiler.getProfiles().size());
+        PlanProfile profile = profiler.getProfiles(executor).iterator().next();
+        assertEquals(2, profile.getInitializationCount());
+        assertEquals(2, profile.getMatchCount());
+        assertEquals(16, profile.getTotalInvocationCount());
+    }
+
+    @Test
+    public void adornmentsAreProfiledSeparately() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+        matcher.countMatches(boundFrame());
+
+        List<String> adornments = new ArrayList<String>();
+        for (PlanProfile profile : profiler.getProfiles(executor)) {
+            adornments.add(profile.getAdornment());
+            assertEquals(1, profile.getInitializationCount());
+        }
+        // in the order of the first execution
+        assertEquals(Arrays.asList("f", "b"), adornments);
+    }
+
+    @Test
+    public void resetDiscardsTheProfiles() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+        profiler.reset();
+        assertTrue(profiler.getProfiles().isEmpty());
+        assertTrue(profiler.getProfiles(executor).isEmpty());
+
+        matcher.countMatches();
+        Iterator<PlanProfile> profiles = profiler.getProfiles().iterator();
+        assertEquals(1, profiles.next().getInitializationCount());
+        assertFalse(profiles.hasNext());
+    }
+
+    @Test
+    public void detachedProfilerStopsCounting() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+        matcher.removeAdapter(profiler);
+        matcher.countMatches();
+        assertEquals(1, profiler.getProfiles().iterator().next().getInitializationCount());
+    }
+
+    @Test
+    public void reportListsTheOperations() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+
+        String report = profiler.getReport();
+        assertTrue(report, report.startsWith("test.one (f), plan "));
+        assertTrue(report, report.contains("1 executions, 1 matches"));
+        assertTrue(report, report.contains("[0]"));
+        assertTrue(report, report.contains("[1]"));
+        assertFalse(report, report.contains(" ms"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.dumpReport(new PrintStream(out, true));
+        assertEquals(report, out.toString());
+    }
+
+    @Test
+    public void elapsedTimeIsReported() throws LocalSearchException {
+        LocalSearchProfiler profiler = new LocalSearchProfiler();
+        matcher.addAdapter(profiler);
+        matcher.countMatches();
+
+        PlanProfile profile = profiler.getProfiles().iterator().next();
+        assertTrue(profile.getElapsedTime(0) >= 0);
+        assertTrue(profiler.getReport().contains(" ms"));
+    }
+
+    @Test
+    public void plansWithoutQueryAreProfiled() throws LocalSearchException {
+        SearchPlan plan = new SearchPlan();
+        plan.addOperations(Collections.<ISearchOperation> singletonList(new IterateValues()));
+        SearchPlanExecutor unmappedExecutor = new SearchPlanExecutor(plan, executor.getContext(),
+                Collections.<PVariable, Integer> emptyMap());
+        LocalSearchMatcher unmappedMatcher = new LocalSearchMatcher(query, unmappedExecutor, 1, 1);
+        LocalSearchProfiler profiler = new LocalSearchProfiler(false);
+        unmappedMatcher.addAdapter(profiler);
+        assertEquals(3, unmappedMatcher.countMatches());
+
+        PlanProfile profile = profiler.getProfiles().iterator().next();
+        assertEquals(null, profile.getQuery());
+        assertEquals("", profile.getAdornment());
+        assertEquals(3, profile.getMatchCount());
+        assertTrue(profiler.getReport().startsWith("<unknown query> ()"));
+    }
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.incquery.runtime.localsearch.MatchingFrame;
+import org.eclipse.incquery.runtime.localsearch.MatchingKey;
+import org.junit.Test;
+
+public class MatchingFrameTest {
+
+    private static MatchingFrame createFrame(Object... values) {
+        MatchingFrame frame = new MatchingFrame(null, 2, 4);
+        for (int i = 0; i < values.length; i++) {
+            frame.setValueAt(i, values[i]);
+        }
+        return frame;
+    }
+
+    @Test
+    public void valuesAreStoredByPosition() {
+        MatchingFrame frame = createFrame("a", "b", "c");
+        assertEquals("a", frame.getValueAt(0));
+        assertEquals("c", frame.get(2));
+        assertNull(frame.getValueAt(3));
+        assertEquals(4, frame.getSize());
+    }
+
+    @Test
+    public void testAndSetOnlyBindsFreePositions() {
+        MatchingFrame frame = createFrame("a");
+        assertTrue(frame.testAndSetValueAt(0, "a"));
+        assertFalse(frame.testAndSetValueAt(0, "b"));
+        assertEquals("a", frame.getValueAt(0));
+        assertTrue(frame.testAndSetValueAt(1, "b"));
+        assertEquals("b", frame.getValueAt(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void invalidPositionIsRejected() {
+        createFrame().getValueAt(4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void negativePositionIsRejected() {
+        createFrame().setValueAt(-1, "a");
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void boxedPositionsAreStillAccepted() {
+        MatchingFrame frame = createFrame();
+        Integer position = Integer.valueOf(1);
+        frame.setValue(position, "a");
+        assertEquals("a", frame.getValue(position));
+        assertFalse(frame.testAndSetValue(position, "b"));
+        assertTrue(frame.testAndSetValue(Integer.valueOf(2), "b"));
+        assertEquals("b", frame.getValueAt(2));
+    }
+
+    @Test
+    public void cloneDoesNotShareTheValues() {
+        MatchingFrame frame = createFrame("a", "b", "c");
+        MatchingFrame clone = frame.clone();
+        frame.setValueAt(0, "x");
+        clone.setValueAt(3, "d");
+        assertEquals("a", clone.getValueAt(0));
+        assertEquals("c", clone.getValueAt(2));
+        assertNull(frame.getValueAt(3));
+        assertEquals(frame.getPattern(), clone.getPattern());
+    }
+
+    @Test
+    public void keyIsASnapshotOfTheParameters() {
+        MatchingFrame frame = createFrame("a", "b", "c");
+        MatchingKey key = frame.getKey();
+        assertEquals(createFrame("a", "b", "other").getKey(), key);
+        assertEquals(createFrame("a", "b").getKey().hashCode(), key.hashCode());
+        // the frame is reused by the search after the key is taken
+        frame.setValueAt(0, "x");
+        assertArrayEquals(new Object[] { "a", "b" }, key.toArray());
+        assertFalse(key.equals(frame.getKey()));
+    }
+
+    @Test
+    public void elementsAreTrimmedToTheParameters() {
+        MatchingFrame frame = createFrame("a", "b", "c");
+        Object[] elements = frame.getElements();
+        assertArrayEquals(new Object[] { "a", "b" }, elements);
+        elements[0] = "x";
+        assertEquals("a", frame.getValueAt(0));
+    }
+
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.incquery.runtime.localsearch.matcher.ModelContentsSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Collects the contents of Ecore models, spread over several resources of a resource set.
+ */
+public class ModelContentsSnapshotTest {
+
+    private static final int RESOURCE_COUNT = 5;
+
+    private ResourceSetImpl resourceSet;
+    private List<EPackage> packages;
+
+    @Before
+    public void setUp() {
+        resourceSet = new ResourceSetImpl();
+        packages = Lists.newArrayList();
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            packages.add(addPackage("package" + i));
+        }
+    }
+
+    private EPackage addPackage(String name) {
+        Resource resource = new ResourceImpl(URI.createURI(name + ".ecore"));
+        resourceSet.getResources().add(resource);
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName(name);
+        resource.getContents().add(ePackage);
+        EClass eClass = addEClass(ePackage, name + "_Class");
+        eClass.setAbstract(true);
+        EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+        attribute.setName(name + "_attribute");
+        eClass.getEStructuralFeatures().add(attribute);
+        EDataType dataType = EcoreFactory.eINSTANCE.createEDataType();
+        dataType.setName(name + "_DataType");
+        ePackage.getEClassifiers().add(dataType);
+        return ePackage;
+    }
+
+    private static EClass addEClass(EPackage ePackage, String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    private static Set<EObject> instances(ModelContentsSnapshot snapshot, EClass type) {
+        Set<EObject> instances = new HashSet<EObject>();
+        for (EObject instance : snapshot.getInstances(type)) {
+            assertTrue("Duplicate instance " + instance, instances.add(instance));
+        }
+        return instances;
+    }
+
+    /**
+     * @return the instances of the type found by traversing the contents of the resource set
+     */
+    private Set<EObject> expectedInstances(EClass type) {
+        Set<EObject> instances = new HashSet<EObject>();
+        for (Resource resource : resourceSet.getResources()) {
+            for (EObject eObject : (Iterable<EObject>) Lists.newArrayList(resource.getAllContents())) {
+                if (type.isInstance(eObject)) {
+                    instances.add(eObject);
+                }
+            }
+        }
+        return instances;
+    }
+
+    private ModelContentsSnapshot snapshot(int parallelism) {
+        return new ModelContentsSnapshot(Collections.singleton(resourceSet), parallelism);
+    }
+
+    @Test
+    public void instancesIncludeTheSubtypes() {
+        ModelContentsSnapshot snapshot = snapshot(1);
+        assertEquals(RESOURCE_COUNT, instances(snapshot, EcorePackage.Literals.EPACKAGE).size());
+        assertEquals(RESOURCE_COUNT, instances(snapshot, EcorePackage.Literals.ECLASS).size());
+        // the classes and the data types
+        assertEquals(expectedInstances(EcorePackage.Literals.ECLASSIFIER),
+                instances(snapshot, EcorePackage.Literals.ECLASSIFIER));
+        assertEquals(2 * RESOURCE_COUNT, instances(snapshot, EcorePackage.Literals.ECLASSIFIER).size());
+        assertEquals(expectedInstances(EcorePackage.Literals.ENAMED_ELEMENT),
+                instances(snapshot, EcorePackage.Literals.ENAMED_ELEMENT));
+        assertTrue(instances(snapshot, EcorePackage.Literals.EREFERENCE).isEmpty());
+    }
+
+    @Test
+    public void instanceChecksFollowTheSubtypes() {
+        ModelContentsSnapshot snapshot = snapshot(1);
+        EClass eClass = (EClass) packages.get(0).getEClassifiers().get(0);
+        // the check does not need the contents
+        assertTrue(snapshot.isInstance(eClass, EcorePackage.Literals.ECLASSIFIER));
+        assertTrue(snapshot.isInstance(eClass, EcorePackage.Literals.ECLASS));
+        assertFalse(snapshot.isInstance(eClass, EcorePackage.Literals.EDATA_TYPE));
+        assertFalse(snapshot.isInstance(packages.get(0), EcorePackage.Literals.ECLASSIFIER));
+
+        instances(snapshot, EcorePackage.Literals.ECLASSIFIER);
+        EObject eEnum = EcoreFactory.eINSTANCE.createEEnum();
+        // a class encountered after the contents are collected
+        assertTrue(snapshot.isInstance(eEnum, EcorePackage.Literals.EDATA_TYPE));
+        assertTrue(snapshot.isInstance(eEnum, EcorePackage.Literals.ECLASSIFIER));
+        assertFalse(snapshot.isInstance(eEnum, EcorePackage.Literals.ECLASS));
+    }
+
+    @Test
+    public void dataTypeValuesAreDistinct() {
+        ModelContentsSnapshot snapshot = snapshot(1);
+        Set<Object> names = new HashSet<Object>();
+        for (EObject element : expectedInstances(EcorePackage.Literals.ENAMED_ELEMENT)) {
+            names.add(((ENamedElement) element).getName());
+        }
+        assertEquals(names, new HashSet<Object>(snapshot.getDataTypeInstances(EcorePackage.Literals.ESTRING)));
+        // the classes are abstract, the other attributes keep their default value
+        assertEquals(Sets.<Object> newHashSet(true, false),
+                new HashSet<Object>(snapshot.getDataTypeInstances(EcorePackage.Literals.EBOOLEAN)));
+    }
+
+    @Test
+    public void manyValuedAttributesAreCollected() {
+        EPackage dynamicPackage = packages.get(0);
+        EClass item = addEClass(dynamicPackage, "Item");
+        EAttribute tags = EcoreFactory.eINSTANCE.createEAttribute();
+        tags.setName("tags");
+        // the bounds of the typed elements are integers too
+        tags.setEType(EcorePackage.Literals.ELONG);
+        tags.setUpperBound(-1);
+        item.getEStructuralFeatures().add(tags);
+        Resource itemResource = new ResourceImpl(URI.createURI("items.xmi"));
+        resourceSet.getResources().add(itemResource);
+        for (int i = 0; i < 3; i++) {
+            EObject instance = EcoreUtil.create(item);
+            @SuppressWarnings("unchecked")
+            List<Object> values = (List<Object>) instance.eGet(tags);
+            values.addAll(Arrays.asList((long) i, (long) i + 1));
+            itemResource.getContents().add(instance);
+        }
+
+        ModelContentsSnapshot snapshot = snapshot(1);
+        assertEquals(Sets.<Object> newHashSet(0L, 1L, 2L, 3L),
+                new HashSet<Object>(snapshot.getDataTypeInstances(EcorePackage.Literals.ELONG)));
+        assertEquals(3, instances(snapshot, item).size());
+    }
+
+    @Test
+    public void snapshotDoesNotFollowTheModel() {
+        ModelContentsSnapshot snapshot = snapshot(1);
+        Set<EObject> classes = instances(snapshot, EcorePackage.Literals.ECLASS);
+        EClass newClass = addEClass(packages.get(0), "NewClass");
+        assertEquals(classes, instances(snapshot, EcorePackage.Literals.ECLASS));
+        assertTrue(instances(snapshot(1), EcorePackage.Literals.ECLASS).contains(newClass));
+    }
+
+    @Test
+    public void parallelTraversalCollectsTheSameContents() {
+        for (int parallelism : new int[] { 2, 3, RESOURCE_COUNT + 1 }) {
+            ModelContentsSnapshot snapshot = snapshot(parallelism);
+            assertEquals(expectedInstances(EcorePackage.Literals.EMODEL_ELEMENT),
+                    instances(snapshot, EcorePackage.Literals.EMODEL_ELEMENT));
+            assertEquals(expectedInstances(EcorePackage.Literals.ECLASS),
+                    instances(snapshot, EcorePackage.Literals.ECLASS));
+        }
+    }
+
+    @Test
+    public void resourcesNotLoadedAreTraversedToo() {
+        // e.g. a resource being loaded
+        Resource resource = new ResourceImpl(URI.createURI("notLoaded.ecore")) {
+            @Override
+            public boolean isLoaded() {
+                return false;
+            }
+        };
+        resourceSet.getResources().add(resource);
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        resource.getContents().add(ePackage);
+
+        assertTrue(instances(snapshot(1), EcorePackage.Literals.EPACKAGE).contains(ePackage));
+        assertTrue(instances(snapshot(3), EcorePackage.Literals.EPACKAGE).contains(ePackage));
+        assertEquals(RESOURCE_COUNT + 1, instances(snapshot(3), EcorePackage.Literals.EPACKAGE).size());
+    }
+
+    @Test
+    public void rootObjectsAreCollectedOnce() {
+        EPackage detached = EcoreFactory.eINSTANCE.createEPackage();
+        EClass detachedClass = addEClass(detached, "Detached");
+        List<Notifier> roots = Lists.<Notifier> newArrayList(resourceSet, detached, packages.get(0));
+        ModelContentsSnapshot snapshot = new ModelContentsSnapshot(roots, 1);
+
+        Set<EObject> expected = expectedInstances(EcorePackage.Literals.ECLASS);
+        expected.add(detachedClass);
+        // the package contained by a traversed resource is not collected again
+        assertEquals(expected, instances(snapshot, EcorePackage.Literals.ECLASS));
+        assertEquals(RESOURCE_COUNT + 1, instances(snapshot, EcorePackage.Literals.EPACKAGE).size());
+    }
+
+}
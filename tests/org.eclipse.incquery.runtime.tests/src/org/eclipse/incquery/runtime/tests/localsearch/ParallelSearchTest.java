@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchResultProvider;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.matchers.tuple.Tuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelSearchTest {
+
+    private static final int CLASS_COUNT = 60;
+    private static final int ATTRIBUTE_COUNT = 3;
+
+    private AdvancedIncQueryEngine engine;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        EClass previous = null;
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+            eClass.setName("Class" + i);
+            ePackage.getEClassifiers().add(eClass);
+            for (int j = 0; j < ATTRIBUTE_COUNT; j++) {
+                EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+                attribute.setName("attribute" + j);
+                eClass.getEStructuralFeatures().add(attribute);
+            }
+            if (previous != null && i % 2 == 0) {
+                eClass.getESuperTypes().add(previous);
+            }
+            previous = eClass;
+        }
+        BaseIndexOptions options = new BaseIndexOptions().withConcurrentReadMode(true);
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet, options));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    /**
+     * The features and the supertypes of the classes, in two bodies.
+     */
+    private static PQuery relatedQuery(Map<String, Object> hints) {
+        return new TestPQuery("related", LocalSearchBackendFactory.INSTANCE, hints, "c", "r") {
+            @Override
+            protected Set<PBody> doGetContainedBodies() {
+                Set<PBody> bodies = new LinkedHashSet<PBody>();
+                bodies.add(createBody(EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES));
+                bodies.add(createBody(EcorePackage.Literals.ECLASS__ESUPER_TYPES));
+                return bodies;
+            }
+
+            private PBody createBody(EStructuralFeature feature) {
+                PBody body = createBody();
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c")),
+                        new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                        body.getOrCreateVariableByName("r")), new EStructuralFeatureInstancesKey(feature));
+                return body;
+            }
+
+            @Override
+            protected void createConstraints(PBody body) {
+            }
+        };
+    }
+
+    private static Map<String, Object> parallelHints(int parallelism) {
+        Map<String, Object> hints = new HashMap<String, Object>();
+        hints.put(LocalSearchHintKeys.PARALLELISM, parallelism);
+        return hints;
+    }
+
+    private LocalSearchResultProvider getResultProvider(PQuery query) throws IncQueryException,
+            QueryProcessingException {
+        return (LocalSearchResultProvider) engine.getQueryBackend(LocalSearchBackendFactory.INSTANCE)
+                .getResultProvider(query);
+    }
+
+    private static Set<Tuple> toParameterTuples(Collection<? extends Tuple> matches) {
+        Set<Tuple> tuples = new HashSet<Tuple>();
+        for (Tuple match : matches) {
+            tuples.add(new FlatTuple(match.get(0), match.get(1)));
+        }
+        assertEquals("Duplicate matches", matches.size(), tuples.size());
+        return tuples;
+    }
+
+    private static List<String> describe(List<SearchPlan> plans) {
+        List<String> operations = new ArrayList<String>();
+        for (SearchPlan plan : plans) {
+            for (ISearchOperation operation : plan.getOperations()) {
+                operations.add(operation.toString());
+            }
+            operations.add("--");
+        }
+        return operations;
+    }
+
+    @Test
+    public void parallelSearchFindsTheSequentialMatches() throws IncQueryException, QueryProcessingException {
+        Set<Tuple> expected = toParameterTuples(getResultProvider(relatedQuery(new HashMap<String, Object>()))
+                .getAllMatches(new Object[2]));
+        assertEquals(CLASS_COUNT * ATTRIBUTE_COUNT + CLASS_COUNT / 2 - 1, expected.size());
+        for (int parallelism : new int[] { 2, 4 }) {
+            LocalSearchResultProvider provider = getResultProvider(relatedQuery(parallelHints(parallelism)));
+            // the second run reuses the matchers of the plan cache
+            for (int i = 0; i < 2; i++) {
+                assertEquals(expected, toParameterTuples(provider.getAllMatches(new Object[2])));
+            }
+        }
+    }
+
+    @Test
+    public void parallelSearchWithBoundParameter() throws IncQueryException, QueryProcessingException {
+        LocalSearchResultProvider provider = getResultProvider(relatedQuery(parallelHints(2)));
+        LocalSearchResultProvider sequentialProvider = getResultProvider(relatedQuery(new HashMap<String, Object>()));
+        Object[] parameters = new Object[] { null, EcorePackage.Literals.ESTRING };
+        assertEquals(toParameterTuples(sequentialProvider.getAllMatches(parameters)),
+                toParameterTuples(provider.getAllMatches(parameters)));
+    }
+
+    @Test
+    public void parallelSearchWithoutPlanCache() throws IncQueryException, QueryProcessingException {
+        Map<String, Object> hints = parallelHints(3);
+        hints.put(LocalSearchHintKeys.USE_PLAN_CACHE, false);
+        Set<Tuple> expected = toParameterTuples(getResultProvider(relatedQuery(new HashMap<String, Object>()))
+                .getAllMatches(new Object[2]));
+        assertEquals(expected, toParameterTuples(getResultProvider(relatedQuery(hints)).getAllMatches(new Object[2])));
+    }
+
+    @Test
+    public void separatelyCompiledPlansHaveTheSameOrder() throws IncQueryException, QueryProcessingException {
+        // the parallel workers are paired with the plans of the first matcher by index
+        Map<String, Object> hints = new HashMap<String, Object>();
+        hints.put(LocalSearchHintKeys.USE_PLAN_CACHE, false);
+        LocalSearchResultProvider provider = getResultProvider(relatedQuery(hints));
+        List<String> plans = describe(provider.getSearchPlans(new Object[2]));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(plans, describe(provider.getSearchPlans(new Object[2])));
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackend;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchResultProvider;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlanCacheTest {
+
+    private EPackage ePackage;
+    private AdvancedIncQueryEngine engine;
+
+    @Before
+    public void setUp() throws IncQueryException {
+        ResourceSetImpl resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        EClass eClass = addEClass("Attributed");
+        for (int i = 0; i < 5; i++) {
+            EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+            attribute.setName("attribute" + i);
+            eClass.getEStructuralFeatures().add(attribute);
+        }
+        engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet));
+    }
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    private EClass addEClass(String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    /**
+     * The classes with their attributes; the plan starts with the type having fewer instances.
+     */
+    private static PQuery attributesQuery(Map<String, Object> hints) {
+        return new TestPQuery("attributes", LocalSearchBackendFactory.INSTANCE, hints, "c", "a") {
+            @Override
+            protected void createConstraints(PBody body) {
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c")),
+                        new EClassTransitiveInstancesKey(EcorePackage.Literals.ECLASS));
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("a")),
+                        new EClassTransitiveInstancesKey(EcorePackage.Literals.EATTRIBUTE));
+                new TypeConstraint(body, new FlatTuple(body.getOrCreateVariableByName("c"),
+                        body.getOrCreateVariableByName("a")), new EStructuralFeatureInstancesKey(
+                        EcorePackage.Literals.ECLASS__ESTRUCTURAL_FEATURES));
+            }
+        };
+    }
+
+    private LocalSearchResultProvider getResultProvider(PQuery query) throws IncQueryException,
+            QueryProcessingException {
+        return (LocalSearchResultProvider) engine.getQueryBackend(LocalSearchBackendFactory.INSTANCE)
+                .getResultProvider(query);
+    }
+
+    private static List<String> describe(List<SearchPlan> plans) {
+        List<String> operations = new ArrayList<String>();
+        for (SearchPlan plan : plans) {
+            for (ISearchOperation operation : plan.getOperations()) {
+                operations.add(operation.toString());
+            }
+        }
+        return operations;
+    }
+
+    @Test
+    public void planIsReusedWhileTheModelIsUnchanged() throws IncQueryException, QueryProcessingException {
+        LocalSearchResultProvider provider = getResultProvider(attributesQuery(new HashMap<String, Object>()));
+        List<SearchPlan> plans = provider.getSearchPlans(new Object[2]);
+        assertEquals(5, provider.countMatches(new Object[2]));
+        List<SearchPlan> cachedPlans = provider.getSearchPlans(new Object[2]);
+        assertEquals(plans.size(), cachedPlans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            assertSame(plans.get(i), cachedPlans.get(i));
+        }
+    }
+
+    @Test
+    public void planChangesWhenTheModelGrows() throws IncQueryException, QueryProcessingException {
+        // no statistics are maintained, so the drift is detected by counting the indexed instances
+        LocalSearchResultProvider provider = getResultProvider(attributesQuery(new HashMap<String, Object>()));
+        List<String> plan = describe(provider.getSearchPlans(new Object[2]));
+        assertEquals(5, provider.countMatches(new Object[2]));
+        for (int i = 0; i < 50; i++) {
+            addEClass("Empty" + i);
+        }
+        List<String> replannedPlan = describe(provider.getSearchPlans(new Object[2]));
+        assertFalse("The plan should start from the attributes instead of the classes",
+                plan.equals(replannedPlan));
+        assertEquals(5, provider.countMatches(new Object[2]));
+    }
+
+    @Test
+    public void plansAreRecreatedWhenTheCacheIsDisabled() throws IncQueryException, QueryProcessingException {
+        Map<String, Object> hints = new HashMap<String, Object>();
+        hints.put(LocalSearchHintKeys.USE_PLAN_CACHE, false);
+        LocalSearchResultProvider provider = getResultProvider(attributesQuery(hints));
+        List<SearchPlan> plans = provider.getSearchPlans(new Object[2]);
+        List<SearchPlan> newPlans = provider.getSearchPlans(new Object[2]);
+        assertFalse(plans.get(0) == newPlans.get(0));
+        assertEquals(describe(plans), describe(newPlans));
+    }
+
+    @Test
+    public void disposingTheBackendShutsDownItsPools() throws IncQueryException, QueryProcessingException {
+        LocalSearchBackend backend = (LocalSearchBackend) engine.getQueryBackend(LocalSearchBackendFactory.INSTANCE);
+        ForkJoinPool pool = backend.getForkJoinPool(2);
+        assertSame(pool, backend.getForkJoinPool(2));
+        engine.dispose();
+        assertTrue(pool.isShutdown());
+    }
+
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026, agent
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.incquery.runtime.tests.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.incquery.runtime.api.AdvancedIncQueryEngine;
+import org.eclipse.incquery.runtime.base.api.BaseIndexOptions;
+import org.eclipse.incquery.runtime.base.api.IncQueryBaseFactory;
+import org.eclipse.incquery.runtime.base.api.NavigationHelper;
+import org.eclipse.incquery.runtime.base.exception.IncQueryBaseException;
+import org.eclipse.incquery.runtime.emf.EMFQueryRuntimeContext;
+import org.eclipse.incquery.runtime.emf.EMFScope;
+import org.eclipse.incquery.runtime.emf.types.EClassTransitiveInstancesKey;
+import org.eclipse.incquery.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.incquery.runtime.exception.IncQueryException;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchBackendFactory;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchHintKeys;
+import org.eclipse.incquery.runtime.localsearch.matcher.integration.LocalSearchResultProvider;
+import org.eclipse.incquery.runtime.localsearch.operations.ISearchOperation;
+import org.eclipse.incquery.runtime.localsearch.plan.SearchPlan;
+import org.eclipse.incquery.runtime.localsearch.planner.cost.impl.StatisticsBasedCostEstimator;
+import org.eclipse.incquery.runtime.localsearch.planner.cost.impl.StatisticsBasedCostEstimator.FanOutStatistics;
+import org.eclipse.incquery.runtime.matchers.planning.QueryProcessingException;
+import org.eclipse.incquery.runtime.matchers.psystem.PBody;
+import org.eclipse.incquery.runtime.matchers.psystem.PVariable;
+import org.eclipse.incquery.runtime.matchers.psystem.basicenumerables.TypeConstraint;
+import org.eclipse.incquery.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.incquery.runtime.matchers.tuple.FlatTuple;
+import org.eclipse.incquery.runtime.tests.TestPQuery;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Estimates the costs on a skewed model of classes: a single hub class has all the other classes as super types, the
+ * other classes have a few super types each.
+ */
+public class StatisticsBasedCostEstimatorTest {
+
+    private static final int CLASS_COUNT = 20;
+    private static final int SUPER_TYPE_COUNT = 3;
+    private static final int EDGE_COUNT = (CLASS_COUNT - 1) * (SUPER_TYPE_COUNT + 1);
+
+    private static final EClassTransitiveInstancesKey CLASS_KEY = new EClassTransitiveInstancesKey(
+            EcorePackage.Literals.ECLASS);
+    private static final EStructuralFeatureInstancesKey SUPER_TYPES_KEY = new EStructuralFeatureInstancesKey(
+            EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+
+    private ResourceSetImpl resourceSet;
+
+    @Before
+    public void setUp() {
+        resourceSet = new ResourceSetImpl();
+        Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+        resourceSet.getResources().add(resource);
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        resource.getContents().add(ePackage);
+        List<EClass> classes = new ArrayList<EClass>();
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+            eClass.setName("Class" + i);
+            ePackage.getEClassifiers().add(eClass);
+            classes.add(eClass);
+        }
+        EClass hub = classes.get(0);
+        for (int i = 1; i < CLASS_COUNT; i++) {
+            hub.getESuperTypes().add(classes.get(i));
+            for (int j = 1; j <= SUPER_TYPE_COUNT; j++) {
+                // the following classes, apart from the hub
+                classes.get(i).getESuperTypes().add(classes.get(1 + (i - 1 + j) % (CLASS_COUNT - 1)));
+            }
+        }
+        // a classifier that is not a class, so that there are more classifiers than classes
+        ePackage.getEClassifiers().add(EcoreFactory.eINSTANCE.createEDataType());
+    }
+
+    private NavigationHelper createNavigationHelper(boolean statisticsMode) throws IncQueryBaseException {
+        return IncQueryBaseFactory.getInstance().createNavigationHelper(resourceSet,
+                new BaseIndexOptions().withStatisticsMode(statisticsMode),
+                Logger.getLogger(StatisticsBasedCostEstimatorTest.class));
+    }
+
+    private static EMFQueryRuntimeContext createRuntimeContext(NavigationHelper navigationHelper) {
+        return new EMFQueryRuntimeContext(navigationHelper, Logger.getLogger(StatisticsBasedCostEstimatorTest.class),
+                null);
+    }
+
+    @Test
+    public void statisticsAreReadFromTheBaseIndex() throws IncQueryBaseException {
+        NavigationHelper navigationHelper = createNavigationHelper(true);
+        try {
+            EMFQueryRuntimeContext context = createRuntimeContext(navigationHelper);
+            StatisticsBasedCostEstimator estimator = new StatisticsBasedCostEstimator(context);
+            assertEquals(CLASS_COUNT, estimator.getInstanceCount(CLASS_KEY));
+            assertEquals(EDGE_COUNT, estimator.getInstanceCount(SUPER_TYPES_KEY));
+
+            // averaged over all classes
+            FanOutStatistics forward = estimator.getFanOutStatistics(SUPER_TYPES_KEY, false);
+            assertEquals(((double) EDGE_COUNT) / CLASS_COUNT, forward.getAverageFanOut(), 0.0001);
+            assertEquals(CLASS_COUNT - 1, forward.getMaximalFanOut());
+            FanOutStatistics inverse = estimator.getFanOutStatistics(SUPER_TYPES_KEY, true);
+            assertEquals(((double) EDGE_COUNT) / CLASS_COUNT, inverse.getAverageFanOut(), 0.0001);
+            assertEquals(SUPER_TYPE_COUNT + 1, inverse.getMaximalFanOut());
+
+            // neither the types nor the features were indexed
+            assertFalse(context.isIndexed(CLASS_KEY));
+            assertFalse(context.isIndexed(SUPER_TYPES_KEY));
+            assertTrue(navigationHelper.getAllInstances(EcorePackage.Literals.ECLASS).isEmpty());
+        } finally {
+            navigationHelper.dispose();
+        }
+    }
+
+    @Test
+    public void modelIsScannedWithoutStatisticsMode() throws IncQueryBaseException {
+        NavigationHelper navigationHelper = createNavigationHelper(false);
+        try {
+            EMFQueryRuntimeContext context = createRuntimeContext(navigationHelper);
+            StatisticsBasedCostEstimator estimator = new StatisticsBasedCostEstimator(context);
+            FanOutStatistics forward = estimator.getFanOutStatistics(SUPER_TYPES_KEY, false);
+            assertEquals(((double) EDGE_COUNT) / CLASS_COUNT, forward.getAverageFanOut(), 0.0001);
+            assertEquals(CLASS_COUNT - 1, forward.getMaximalFanOut());
+            // averaged over the classes having sub types, which excludes the hub
+            FanOutStatistics inverse = estimator.getFanOutStatistics(SUPER_TYPES_KEY, true);
+            assertEquals(((double) EDGE_COUNT) / (CLASS_COUNT - 1), inverse.getAverageFanOut(), 0.0001);
+            assertEquals(SUPER_TYPE_COUNT + 1, inverse.getMaximalFanOut());
+            assertEquals(EDGE_COUNT, estimator.getInstanceCount(SUPER_TYPES_KEY));
+            assertTrue(context.isIndexed(SUPER_TYPES_KEY));
+        } finally {
+            navigationHelper.dispose();
+        }
+    }
+
+    /**
+     * The classes with the super types of their super types
+     */
+    private static PQuery superTypesQuery(boolean useStatistics) {
+        Map<String, Object> hints = new HashMap<String, Object>();
+        hints.put(LocalSearchHintKeys.USE_STATISTICS_BASED_COSTS, useStatistics);
+        return new TestPQuery("superTypes", LocalSearchBackendFactory.INSTANCE, hints, "c", "t") {
+            @Override
+            protected void createConstraints(PBody body) {
+                PVariable c = body.getOrCreateVariableByName("c");
+                PVariable s = body.getOrCreateVariableByName("s");
+                PVariable t = body.getOrCreateVariableByName("t");
+                new TypeConstraint(body, new FlatTuple(c), CLASS_KEY);
+                new TypeConstraint(body, new FlatTuple(c, s), SUPER_TYPES_KEY);
+                new TypeConstraint(body, new FlatTuple(s, t), SUPER_TYPES_KEY);
+            }
+        };
+    }
+
+    private List<String> plan(BaseIndexOptions options, boolean useStatistics) throws IncQueryException,
+            QueryProcessingException {
+        AdvancedIncQueryEngine engine = AdvancedIncQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet,
+                options));
+        try {
+            LocalSearchResultProvider provider = (LocalSearchResultProvider) engine.getQueryBackend(
+                    LocalSearchBackendFactory.INSTANCE).getResultProvider(superTypesQuery(useStatistics));
+            List<String> operations = new ArrayList<String>();
+            for (SearchPlan plan : provider.getSearchPlans(new Object[2])) {
+                for (ISearchOperation operation : plan.getOperations()) {
+                    operations.add(operation.toString());
+                }
+            }
+            return operations;
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    @Test
+    public void hintChangesThePlanOnASkewedModel() throws IncQueryException, QueryProcessingException {
+        BaseIndexOptions options = new BaseIndexOptions().withStatisticsMode(true);
+        // the built-in costs only consider the average fan-out, so the super types are navigated from the classes
+        assertEquals(Arrays.asList("extend EClass", "extend to target EClass.eSuperTypes",
+                "extend to target EClass.eSuperTypes"), plan(options, false));
+        // the large fan-out of the hub makes the second forward navigation expensive, so the classes are reached
+        // backwards from their super types
+        List<String> statisticsPlan = plan(options, true);
+        assertEquals(Arrays.asList("extend EClass", "extend to target EClass.eSuperTypes",
+                "extend to source EClass.eSuperTypes", "InstanceOfCheck"), statisticsPlan);
+
+        // the same plan is created from the scanned statistics
+        assertEquals(statisticsPlan, plan(new BaseIndexOptions(), true));
+    }
+
+}